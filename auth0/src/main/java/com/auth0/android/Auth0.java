@@ -26,14 +26,21 @@ package com.auth0.android;
 
 
 import android.content.Context;
+import android.support.annotation.IntRange;
 import android.support.annotation.NonNull;
 import android.support.annotation.Nullable;
 
 import com.auth0.android.auth0.BuildConfig;
 import com.auth0.android.authentication.AuthenticationAPIClient;
+import com.auth0.android.callback.CallbackExecutors;
+import com.auth0.android.request.NetworkEventListener;
+import com.auth0.android.request.ProfileCache;
+import com.auth0.android.request.RetryPolicy;
 import com.auth0.android.util.Telemetry;
 import com.squareup.okhttp.HttpUrl;
 
+import java.util.concurrent.Executor;
+
 /**
  * Represents your Auth0 account information (clientId {@literal &} domain),
  * and it's used to obtain clients for Auth0's APIs.
@@ -62,6 +69,14 @@ public class Auth0 {
     private boolean oidcConformant;
     private boolean loggingEnabled;
     private boolean tls12Enforced;
+    private boolean http2Enabled;
+    private int connectTimeoutInSeconds;
+    private int readTimeoutInSeconds;
+    private int writeTimeoutInSeconds;
+    private RetryPolicy retryPolicy = RetryPolicy.NONE;
+    private Executor callbackExecutor;
+    private ProfileCache profileCache;
+    private NetworkEventListener networkEventListener;
 
     /**
      * Creates a new Auth0 instance with the 'com_auth0_client_id' and 'com_auth0_domain' values
@@ -223,6 +238,177 @@ public class Auth0 {
         tls12Enforced = enforced;
     }
 
+    /**
+     * Getter for whether HTTP/2 can be negotiated with the Auth0 APIs.
+     *
+     * @return whether HTTP/2 can be negotiated with the Auth0 APIs.
+     */
+    public boolean isHttp2Enabled() {
+        return http2Enabled;
+    }
+
+    /**
+     * Set whether to negotiate HTTP/2 with the Auth0 APIs when the device supports it.
+     * Requests sent in parallel to the same domain will then be multiplexed over a single connection.
+     *
+     * @param enabled whether HTTP/2 can be negotiated with the Auth0 APIs.
+     */
+    public void setHttp2Enabled(boolean enabled) {
+        http2Enabled = enabled;
+    }
+
+    /**
+     * Getter for the connection timeout of the requests to the Auth0 APIs.
+     *
+     * @return the connection timeout in seconds, or 0 if the default one is used.
+     */
+    public int getConnectTimeoutInSeconds() {
+        return connectTimeoutInSeconds;
+    }
+
+    /**
+     * Set the time to wait for a connection to the Auth0 APIs to be established before failing the request.
+     *
+     * @param timeout the connection timeout in seconds, or 0 to use the default one.
+     * @throws IllegalArgumentException if the timeout is negative.
+     */
+    public void setConnectTimeoutInSeconds(@IntRange(from = 0) int timeout) {
+        connectTimeoutInSeconds = requireValidTimeout(timeout);
+    }
+
+    /**
+     * Getter for the read timeout of the requests to the Auth0 APIs.
+     *
+     * @return the read timeout in seconds, or 0 if the default one is used.
+     */
+    public int getReadTimeoutInSeconds() {
+        return readTimeoutInSeconds;
+    }
+
+    /**
+     * Set the maximum time to wait for data from the Auth0 APIs before failing the request.
+     *
+     * @param timeout the read timeout in seconds, or 0 to use the default one.
+     * @throws IllegalArgumentException if the timeout is negative.
+     */
+    public void setReadTimeoutInSeconds(@IntRange(from = 0) int timeout) {
+        readTimeoutInSeconds = requireValidTimeout(timeout);
+    }
+
+    /**
+     * Getter for the write timeout of the requests to the Auth0 APIs.
+     *
+     * @return the write timeout in seconds, or 0 if the default one is used.
+     */
+    public int getWriteTimeoutInSeconds() {
+        return writeTimeoutInSeconds;
+    }
+
+    /**
+     * Set the maximum time to wait while sending data to the Auth0 APIs before failing the request.
+     *
+     * @param timeout the write timeout in seconds, or 0 to use the default one.
+     * @throws IllegalArgumentException if the timeout is negative.
+     */
+    public void setWriteTimeoutInSeconds(@IntRange(from = 0) int timeout) {
+        writeTimeoutInSeconds = requireValidTimeout(timeout);
+    }
+
+    /**
+     * Getter for the policy used to retry requests that are safe to send more than once.
+     *
+     * @return the retry policy of the Auth0 APIs.
+     */
+    @NonNull
+    public RetryPolicy getRetryPolicy() {
+        return retryPolicy;
+    }
+
+    /**
+     * Set the policy used to retry requests that are safe to send more than once after a transient network failure.
+     * It applies to the user information, the user profile and the renewal of credentials requests.
+     * Each request can override it with {@link com.auth0.android.request.RetryableRequest#setRetryPolicy(RetryPolicy)}.
+     * By default requests are not retried.
+     *
+     * @param retryPolicy the retry policy to use, or {@link RetryPolicy#NONE} to never retry.
+     * @throws IllegalArgumentException if the retry policy is null.
+     */
+    public void setRetryPolicy(@NonNull RetryPolicy retryPolicy) {
+        //noinspection ConstantConditions
+        if (retryPolicy == null) {
+            throw new IllegalArgumentException("The retry policy must not be null. Use RetryPolicy.NONE to disable retries.");
+        }
+        this.retryPolicy = retryPolicy;
+    }
+
+    /**
+     * Getter for the executor used to call the callbacks of the requests to the Auth0 APIs.
+     *
+     * @return the callback executor, or null if the callbacks are called on the network threads.
+     */
+    @Nullable
+    public Executor getCallbackExecutor() {
+        return callbackExecutor;
+    }
+
+    /**
+     * Set the executor used to call the callbacks of the requests to the Auth0 APIs, i.e. {@link CallbackExecutors#mainThread()}
+     * to receive the results on the main thread without posting them again. API clients created afterwards use it
+     * unless they are given their own. By default callbacks are called on the network threads.
+     *
+     * @param executor the callback executor, or null to call the callbacks on the network threads.
+     */
+    public void setCallbackExecutor(@Nullable Executor executor) {
+        this.callbackExecutor = executor;
+    }
+
+    /**
+     * Getter for the cache of the user profiles fetched from the Auth0 APIs.
+     *
+     * @return the profile cache, or null if profiles are not cached.
+     */
+    @Nullable
+    public ProfileCache getProfileCache() {
+        return profileCache;
+    }
+
+    /**
+     * Set the cache used by the user information and the user profile requests, so that fetching an unchanged profile
+     * again costs a 304 response or no request at all. API clients created afterwards use it. By default profiles are not cached.
+     *
+     * @param profileCache the profile cache, or null to disable caching.
+     */
+    public void setProfileCache(@Nullable ProfileCache profileCache) {
+        this.profileCache = profileCache;
+    }
+
+    /**
+     * Getter for the listener that receives the timing of the requests to the Auth0 APIs.
+     *
+     * @return the network event listener, or null if requests are not instrumented.
+     */
+    @Nullable
+    public NetworkEventListener getNetworkEventListener() {
+        return networkEventListener;
+    }
+
+    /**
+     * Set the listener that receives the timing and the outcome of every request sent to the Auth0 APIs, tagged with
+     * the operation it belongs to. API clients created afterwards use it. Requests are not instrumented when it's null.
+     *
+     * @param listener the network event listener, or null to stop instrumenting the requests.
+     */
+    public void setNetworkEventListener(@Nullable NetworkEventListener listener) {
+        this.networkEventListener = listener;
+    }
+
+    private static int requireValidTimeout(int timeout) {
+        if (timeout < 0) {
+            throw new IllegalArgumentException("The timeout must be a positive value or 0.");
+        }
+        return timeout;
+    }
+
     private HttpUrl resolveConfiguration(@Nullable String configurationDomain, @NonNull HttpUrl domainUrl) {
         HttpUrl url = ensureValidUrl(configurationDomain);
         if (url == null) {
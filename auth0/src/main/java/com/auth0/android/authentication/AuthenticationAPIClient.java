@@ -26,6 +26,7 @@ package com.auth0.android.authentication;
 
 import android.content.Context;
 import android.support.annotation.NonNull;
+import android.support.annotation.Nullable;
 import android.support.annotation.VisibleForTesting;
 
 import com.auth0.android.Auth0;
@@ -37,9 +38,12 @@ import com.auth0.android.authentication.request.TokenRequest;
 import com.auth0.android.request.AuthenticationRequest;
 import com.auth0.android.request.ErrorBuilder;
 import com.auth0.android.request.ParameterizableRequest;
+import com.auth0.android.request.ProfileCache;
 import com.auth0.android.request.Request;
+import com.auth0.android.request.RetryableRequest;
 import com.auth0.android.request.internal.AuthenticationErrorBuilder;
 import com.auth0.android.request.internal.GsonProvider;
+import com.auth0.android.request.internal.HttpClientOptions;
 import com.auth0.android.request.internal.OkHttpClientFactory;
 import com.auth0.android.request.internal.RequestFactory;
 import com.auth0.android.result.Credentials;
@@ -48,10 +52,13 @@ import com.auth0.android.result.Delegation;
 import com.auth0.android.result.UserProfile;
 import com.auth0.android.util.Telemetry;
 import com.google.gson.Gson;
+import com.google.gson.reflect.TypeToken;
 import com.squareup.okhttp.HttpUrl;
 import com.squareup.okhttp.OkHttpClient;
 
+import java.security.PublicKey;
 import java.util.Map;
+import java.util.concurrent.Executor;
 
 import static com.auth0.android.authentication.ParameterBuilder.GRANT_TYPE_AUTHORIZATION_CODE;
 import static com.auth0.android.authentication.ParameterBuilder.GRANT_TYPE_MFA_OTP;
@@ -97,6 +104,8 @@ public class AuthenticationAPIClient {
     private static final String TOKEN_INFO_PATH = "tokeninfo";
     private static final String USER_INFO_PATH = "userinfo";
     private static final String REVOKE_PATH = "revoke";
+    private static final String WELL_KNOWN_PATH = ".well-known";
+    private static final String JWKS_FILE_PATH = "jwks.json";
     private static final String HEADER_AUTHORIZATION = "Authorization";
 
     private final Auth0 auth0;
@@ -105,7 +114,7 @@ public class AuthenticationAPIClient {
     private final Gson gson;
     private final RequestFactory factory;
     private final ErrorBuilder<AuthenticationException> authErrorBuilder;
-
+    private volatile Endpoints endpoints;
 
     /**
      * Creates a new API client instance providing Auth0 account info.
@@ -133,10 +142,12 @@ public class AuthenticationAPIClient {
 
     private AuthenticationAPIClient(Auth0 auth0, RequestFactory factory, OkHttpClientFactory clientFactory, Gson gson) {
         this.auth0 = auth0;
-        this.client = clientFactory.createClient(auth0.isLoggingEnabled(), auth0.isTLS12Enforced());
+        this.client = clientFactory.getSharedClient(HttpClientOptions.from(auth0));
         this.gson = gson;
         this.factory = factory;
         this.authErrorBuilder = new AuthenticationErrorBuilder();
+        factory.setCallbackExecutor(auth0.getCallbackExecutor());
+        factory.setNetworkEventListener(auth0.getNetworkEventListener());
         final Telemetry telemetry = auth0.getTelemetry();
         if (telemetry != null) {
             factory.setClientInfo(telemetry.getValue());
@@ -161,6 +172,26 @@ public class AuthenticationAPIClient {
         factory.setUserAgent(userAgent);
     }
 
+    /**
+     * Set the executor used to call the callbacks of the requests to Auth0 Authentication API, overriding the one set in {@link Auth0#setCallbackExecutor(Executor)}
+     *
+     * @param executor the callback executor, or null to call the callbacks on the network threads.
+     * @see com.auth0.android.callback.CallbackExecutors
+     */
+    public void setCallbackExecutor(@Nullable Executor executor) {
+        factory.setCallbackExecutor(executor);
+    }
+
+    /**
+     * Getter for the executor used to call the callbacks of the requests to Auth0 Authentication API.
+     *
+     * @return the callback executor, or null if the callbacks are called on the network threads.
+     */
+    @Nullable
+    public Executor getCallbackExecutor() {
+        return factory.getCallbackExecutor();
+    }
+
     /**
      * Log in a user with email/username and password for a connection/realm.
      * In OIDC conformant mode ({@link Auth0#isOIDCConformant()}) it will use the password-realm grant type for the {@code /oauth/token} endpoint
@@ -189,6 +220,7 @@ public class AuthenticationAPIClient {
     public AuthenticationRequest login(@NonNull String usernameOrEmail, @NonNull String password, @NonNull String realmOrConnection) {
 
         ParameterBuilder builder = ParameterBuilder.newBuilder()
+                .setClientId(getClientId())
                 .set(USERNAME_KEY, usernameOrEmail)
                 .set(PASSWORD_KEY, password);
 
@@ -231,6 +263,7 @@ public class AuthenticationAPIClient {
     @SuppressWarnings("WeakerAccess")
     public AuthenticationRequest login(@NonNull String usernameOrEmail, @NonNull String password) {
         Map<String, Object> requestParameters = ParameterBuilder.newBuilder()
+                .setClientId(getClientId())
                 .set(USERNAME_KEY, usernameOrEmail)
                 .set(PASSWORD_KEY, password)
                 .setGrantType(GRANT_TYPE_PASSWORD)
@@ -264,6 +297,7 @@ public class AuthenticationAPIClient {
     @SuppressWarnings("WeakerAccess")
     public AuthenticationRequest loginWithOTP(@NonNull String mfaToken, @NonNull String otp) {
         Map<String, Object> parameters = ParameterBuilder.newBuilder()
+                .setClientId(getClientId())
                 .setGrantType(GRANT_TYPE_MFA_OTP)
                 .set(MFA_TOKEN_KEY, mfaToken)
                 .set(ONE_TIME_PASSWORD_KEY, otp)
@@ -295,10 +329,7 @@ public class AuthenticationAPIClient {
      */
     @SuppressWarnings("WeakerAccess")
     public AuthenticationRequest loginWithOAuthAccessToken(@NonNull String token, @NonNull String connection) {
-        HttpUrl url = HttpUrl.parse(auth0.getDomainUrl()).newBuilder()
-                .addPathSegment(OAUTH_PATH)
-                .addPathSegment(ACCESS_TOKEN_PATH)
-                .build();
+        HttpUrl url = endpoints().accessToken;
 
         Map<String, Object> parameters = ParameterBuilder.newAuthenticationBuilder()
                 .setClientId(getClientId())
@@ -475,19 +506,35 @@ public class AuthenticationAPIClient {
      *
      * @param idToken used to fetch it's information
      * @return a request to start
-     * @deprecated Please use {@link AuthenticationAPIClient#userInfo(String)} instead.
+     * @deprecated Please use {@link AuthenticationAPIClient#userInfo(String)} instead. To validate an ID token
+     * use a {@link com.auth0.android.provider.IdTokenVerifier}, which doesn't need a request per token.
      */
     @SuppressWarnings("WeakerAccess")
     @Deprecated
     public Request<UserProfile, AuthenticationException> tokenInfo(@NonNull String idToken) {
-        HttpUrl url = HttpUrl.parse(auth0.getDomainUrl()).newBuilder()
-                .addPathSegment(TOKEN_INFO_PATH)
-                .build();
+        HttpUrl url = endpoints().tokenInfo;
 
         return factory.POST(url, client, gson, UserProfile.class, authErrorBuilder)
                 .addParameter(ID_TOKEN_KEY, idToken);
     }
 
+    /**
+     * Fetch the public keys used by the Auth0 tenant to sign the RS256 tokens, from the
+     * <a href="https://auth0.com/docs/tokens/concepts/jwks">'/.well-known/jwks.json' endpoint</a>.
+     * Only the RSA signing keys are returned. Prefer a {@link com.auth0.android.provider.JsonWebKeyCache}, which keeps them between calls.
+     *
+     * @return a request to start that yields the public keys indexed by key id
+     */
+    @SuppressWarnings("WeakerAccess")
+    public Request<Map<String, PublicKey>, AuthenticationException> fetchJsonWebKeys() {
+        HttpUrl url = endpoints().jsonWebKeys;
+
+        TypeToken<Map<String, PublicKey>> jwksType = new TypeToken<Map<String, PublicKey>>() {
+        };
+        return factory.GET(url, client, gson, jwksType, authErrorBuilder)
+                .setRetryPolicy(auth0.getRetryPolicy());
+    }
+
     /**
      * Creates a user in a DB connection using <a href="https://auth0.com/docs/api/authentication#signup">'/dbconnections/signup' endpoint</a>
      * Example usage:
@@ -512,10 +559,7 @@ public class AuthenticationAPIClient {
      */
     @SuppressWarnings("WeakerAccess")
     public DatabaseConnectionRequest<DatabaseUser, AuthenticationException> createUser(@NonNull String email, @NonNull String password, @NonNull String username, @NonNull String connection) {
-        HttpUrl url = HttpUrl.parse(auth0.getDomainUrl()).newBuilder()
-                .addPathSegment(DB_CONNECTIONS_PATH)
-                .addPathSegment(SIGN_UP_PATH)
-                .build();
+        HttpUrl url = endpoints().signUp;
 
         final Map<String, Object> parameters = ParameterBuilder.newBuilder()
                 .set(USERNAME_KEY, username)
@@ -639,10 +683,7 @@ public class AuthenticationAPIClient {
      */
     @SuppressWarnings("WeakerAccess")
     public DatabaseConnectionRequest<Void, AuthenticationException> resetPassword(@NonNull String email, @NonNull String connection) {
-        HttpUrl url = HttpUrl.parse(auth0.getDomainUrl()).newBuilder()
-                .addPathSegment(DB_CONNECTIONS_PATH)
-                .addPathSegment(CHANGE_PASSWORD_PATH)
-                .build();
+        HttpUrl url = endpoints().changePassword;
 
         final Map<String, Object> parameters = ParameterBuilder.newBuilder()
                 .set(EMAIL_KEY, email)
@@ -682,10 +723,7 @@ public class AuthenticationAPIClient {
                 .set(TOKEN_KEY, refreshToken)
                 .asDictionary();
 
-        HttpUrl url = HttpUrl.parse(auth0.getDomainUrl()).newBuilder()
-                .addPathSegment(OAUTH_PATH)
-                .addPathSegment(REVOKE_PATH)
-                .build();
+        HttpUrl url = endpoints().revoke;
 
         return factory.POST(url, client, gson, authErrorBuilder)
                 .addParameters(parameters);
@@ -721,19 +759,10 @@ public class AuthenticationAPIClient {
                 .setGrantType(auth0.isOIDCConformant() ? ParameterBuilder.GRANT_TYPE_REFRESH_TOKEN : ParameterBuilder.GRANT_TYPE_JWT)
                 .asDictionary();
 
-        HttpUrl url;
-        if (auth0.isOIDCConformant()) {
-            url = HttpUrl.parse(auth0.getDomainUrl()).newBuilder()
-                    .addPathSegment(OAUTH_PATH)
-                    .addPathSegment(TOKEN_PATH)
-                    .build();
-        } else {
-            url = HttpUrl.parse(auth0.getDomainUrl()).newBuilder()
-                    .addPathSegment(DELEGATION_PATH)
-                    .build();
-        }
+        final HttpUrl url = auth0.isOIDCConformant() ? endpoints().token : endpoints().delegation;
 
         return factory.POST(url, client, gson, Credentials.class, authErrorBuilder)
+                .setRetryPolicy(auth0.getRetryPolicy())
                 .addParameters(parameters);
     }
 
@@ -966,9 +995,7 @@ public class AuthenticationAPIClient {
      */
     @SuppressWarnings("WeakerAccess")
     public ParameterizableRequest<Map<String, Object>, AuthenticationException> delegation() {
-        HttpUrl url = HttpUrl.parse(auth0.getDomainUrl()).newBuilder()
-                .addPathSegment(DELEGATION_PATH)
-                .build();
+        HttpUrl url = endpoints().delegation;
 
         final Map<String, Object> parameters = ParameterBuilder.newBuilder()
                 .setClientId(getClientId())
@@ -980,9 +1007,7 @@ public class AuthenticationAPIClient {
     }
 
     private <T> ParameterizableRequest<T, AuthenticationException> delegation(Class<T> clazz) {
-        HttpUrl url = HttpUrl.parse(auth0.getDomainUrl()).newBuilder()
-                .addPathSegment(DELEGATION_PATH)
-                .build();
+        HttpUrl url = endpoints().delegation;
 
         final Map<String, Object> parameters = ParameterBuilder.newBuilder()
                 .setClientId(getClientId())
@@ -1000,10 +1025,7 @@ public class AuthenticationAPIClient {
      */
     @SuppressWarnings("WeakerAccess")
     private ParameterizableRequest<Void, AuthenticationException> passwordless() {
-        HttpUrl url = HttpUrl.parse(auth0.getDomainUrl()).newBuilder()
-                .addPathSegment(PASSWORDLESS_PATH)
-                .addPathSegment(START_PATH)
-                .build();
+        HttpUrl url = endpoints().passwordlessStart;
 
         final Map<String, Object> parameters = ParameterBuilder.newBuilder()
                 .setClientId(getClientId())
@@ -1061,10 +1083,7 @@ public class AuthenticationAPIClient {
                 .set(REDIRECT_URI_KEY, redirectUri)
                 .asDictionary();
 
-        HttpUrl url = HttpUrl.parse(auth0.getDomainUrl()).newBuilder()
-                .addPathSegment(OAUTH_PATH)
-                .addPathSegment(TOKEN_PATH)
-                .build();
+        HttpUrl url = endpoints().token;
 
         ParameterizableRequest<Credentials, AuthenticationException> request = factory.POST(url, client, gson, Credentials.class, authErrorBuilder);
         request.addParameters(parameters);
@@ -1072,39 +1091,67 @@ public class AuthenticationAPIClient {
     }
 
     private AuthenticationRequest loginWithToken(Map<String, Object> parameters) {
-        HttpUrl url = HttpUrl.parse(auth0.getDomainUrl()).newBuilder()
-                .addPathSegment(OAUTH_PATH)
-                .addPathSegment(TOKEN_PATH)
-                .build();
+        HttpUrl url = endpoints().token;
 
-        final Map<String, Object> requestParameters = ParameterBuilder.newBuilder()
-                .setClientId(getClientId())
-                .addAll(parameters)
-                .asDictionary();
         return factory.authenticationPOST(url, client, gson)
-                .addAuthenticationParameters(requestParameters);
+                .addAuthenticationParameters(parameters);
     }
 
     private AuthenticationRequest loginWithResourceOwner(Map<String, Object> parameters) {
-        HttpUrl url = HttpUrl.parse(auth0.getDomainUrl()).newBuilder()
-                .addPathSegment(OAUTH_PATH)
-                .addPathSegment(RESOURCE_OWNER_PATH)
-                .build();
+        HttpUrl url = endpoints().resourceOwner;
 
-        final Map<String, Object> requestParameters = ParameterBuilder.newBuilder()
-                .setClientId(getClientId())
-                .addAll(parameters)
-                .asDictionary();
         return factory.authenticationPOST(url, client, gson)
-                .addAuthenticationParameters(requestParameters);
+                .addAuthenticationParameters(parameters);
     }
 
     private ParameterizableRequest<UserProfile, AuthenticationException> profileRequest() {
-        HttpUrl url = HttpUrl.parse(auth0.getDomainUrl()).newBuilder()
-                .addPathSegment(USER_INFO_PATH)
-                .build();
+        HttpUrl url = endpoints().userInfo;
+
+        final ProfileCache cache = auth0.getProfileCache();
+        final RetryableRequest<UserProfile, AuthenticationException> request = cache != null
+                ? factory.GET(url, client, gson, cache, authErrorBuilder)
+                : factory.GET(url, client, gson, UserProfile.class, authErrorBuilder);
+        return request.setRetryPolicy(auth0.getRetryPolicy());
+    }
 
-        return factory.GET(url, client, gson, UserProfile.class, authErrorBuilder);
+    private Endpoints endpoints() {
+        Endpoints endpoints = this.endpoints;
+        if (endpoints == null) {
+            endpoints = new Endpoints(HttpUrl.parse(auth0.getDomainUrl()));
+            this.endpoints = endpoints;
+        }
+        return endpoints;
+    }
+
+    /**
+     * The URLs of the Authentication API endpoints, which are immutable and shared by every request of the client.
+     */
+    private static final class Endpoints {
+        final HttpUrl token;
+        final HttpUrl resourceOwner;
+        final HttpUrl accessToken;
+        final HttpUrl revoke;
+        final HttpUrl tokenInfo;
+        final HttpUrl userInfo;
+        final HttpUrl delegation;
+        final HttpUrl passwordlessStart;
+        final HttpUrl signUp;
+        final HttpUrl changePassword;
+        final HttpUrl jsonWebKeys;
+
+        Endpoints(HttpUrl domainUrl) {
+            token = domainUrl.newBuilder().addPathSegment(OAUTH_PATH).addPathSegment(TOKEN_PATH).build();
+            resourceOwner = domainUrl.newBuilder().addPathSegment(OAUTH_PATH).addPathSegment(RESOURCE_OWNER_PATH).build();
+            accessToken = domainUrl.newBuilder().addPathSegment(OAUTH_PATH).addPathSegment(ACCESS_TOKEN_PATH).build();
+            revoke = domainUrl.newBuilder().addPathSegment(OAUTH_PATH).addPathSegment(REVOKE_PATH).build();
+            tokenInfo = domainUrl.newBuilder().addPathSegment(TOKEN_INFO_PATH).build();
+            userInfo = domainUrl.newBuilder().addPathSegment(USER_INFO_PATH).build();
+            delegation = domainUrl.newBuilder().addPathSegment(DELEGATION_PATH).build();
+            passwordlessStart = domainUrl.newBuilder().addPathSegment(PASSWORDLESS_PATH).addPathSegment(START_PATH).build();
+            signUp = domainUrl.newBuilder().addPathSegment(DB_CONNECTIONS_PATH).addPathSegment(SIGN_UP_PATH).build();
+            changePassword = domainUrl.newBuilder().addPathSegment(DB_CONNECTIONS_PATH).addPathSegment(CHANGE_PASSWORD_PATH).build();
+            jsonWebKeys = domainUrl.newBuilder().addPathSegment(WELL_KNOWN_PATH).addPathSegment(JWKS_FILE_PATH).build();
+        }
     }
 
 }
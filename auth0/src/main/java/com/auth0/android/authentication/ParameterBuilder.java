@@ -77,6 +77,10 @@ public class ParameterBuilder {
         this.parameters = new HashMap<>(parameters);
     }
 
+    private ParameterBuilder() {
+        this.parameters = new HashMap<>();
+    }
+
     /**
      * Sets the 'client_id' parameter
      *
@@ -201,9 +205,9 @@ public class ParameterBuilder {
      */
     public ParameterBuilder addAll(Map<String, Object> parameters) {
         if (parameters != null) {
-            for (String k : parameters.keySet()) {
-                if (parameters.get(k) != null) {
-                    this.parameters.put(k, parameters.get(k));
+            for (Map.Entry<String, Object> entry : parameters.entrySet()) {
+                if (entry.getValue() != null) {
+                    this.parameters.put(entry.getKey(), entry.getValue());
                 }
             }
         }
@@ -246,7 +250,7 @@ public class ParameterBuilder {
      * @return a new builder
      */
     public static ParameterBuilder newBuilder() {
-        return newBuilder(new HashMap<String, Object>());
+        return new ParameterBuilder();
     }
 
     /**
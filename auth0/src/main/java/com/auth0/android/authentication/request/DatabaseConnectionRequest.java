@@ -3,7 +3,9 @@ package com.auth0.android.authentication.request;
 import com.auth0.android.Auth0Exception;
 import com.auth0.android.authentication.ParameterBuilder;
 import com.auth0.android.callback.BaseCallback;
+import com.auth0.android.request.Cancellable;
 import com.auth0.android.request.ParameterizableRequest;
+import com.auth0.android.request.internal.CancellableChain;
 
 import java.util.Map;
 
@@ -69,6 +71,17 @@ public class DatabaseConnectionRequest<T, U extends Auth0Exception> {
         request.start(callback);
     }
 
+    /**
+     * Executes the request async and returns its results via callback
+     * @param callback called on success or failure of the request
+     * @return a handle that can be used to cancel the request.
+     */
+    public Cancellable startCancellable(BaseCallback<T, U> callback) {
+        final CancellableChain chain = new CancellableChain();
+        chain.start(request, callback);
+        return chain;
+    }
+
     /**
      * Executes the request synchronously
      * @return the request result
@@ -28,8 +28,10 @@ import com.auth0.android.Auth0Exception;
 import com.auth0.android.authentication.AuthenticationException;
 import com.auth0.android.authentication.ParameterBuilder;
 import com.auth0.android.callback.BaseCallback;
+import com.auth0.android.request.Cancellable;
+import com.auth0.android.request.CancellableRequest;
 import com.auth0.android.request.ParameterizableRequest;
-import com.auth0.android.request.Request;
+import com.auth0.android.request.internal.CancellableChain;
 import com.auth0.android.result.Delegation;
 
 import java.util.Map;
@@ -42,7 +44,7 @@ import java.util.Map;
  *            use {@link Delegation}, otherwise you'll need to provide an object that can be created from the JSON
  *            payload or just use {@code Map<String, Object>}
  */
-public class DelegationRequest<T> implements Request<T, AuthenticationException> {
+public class DelegationRequest<T> implements CancellableRequest<T, AuthenticationException> {
 
     private static final String API_TYPE_KEY = "api_type";
     public static final String DEFAULT_API_TYPE = "app";
@@ -109,6 +111,19 @@ public class DelegationRequest<T> implements Request<T, AuthenticationException>
         request.start(callback);
     }
 
+    /**
+     * Starts the delegation request against Auth0 API
+     *
+     * @param callback called either on success or failure
+     * @return a handle that can be used to cancel the request.
+     */
+    @Override
+    public Cancellable startCancellable(BaseCallback<T, AuthenticationException> callback) {
+        final CancellableChain chain = new CancellableChain();
+        chain.start(request, callback);
+        return chain;
+    }
+
     /**
      * Executes the delegation request against Auth0 API
      *
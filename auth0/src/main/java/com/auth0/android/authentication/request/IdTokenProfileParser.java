@@ -0,0 +1,93 @@
+package com.auth0.android.authentication.request;
+
+import android.support.annotation.NonNull;
+import android.support.annotation.Nullable;
+
+import com.auth0.android.jwt.Claim;
+import com.auth0.android.jwt.DecodeException;
+import com.auth0.android.jwt.JWT;
+import com.auth0.android.request.internal.GsonProvider;
+import com.auth0.android.result.UserProfile;
+import com.google.gson.Gson;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParseException;
+
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Builds a UserProfile from the claims of an OpenID Connect ID token, as an alternative to calling /userinfo.
+ * The token signature is not verified here: the token was just received from the token endpoint over TLS.
+ * The profile has the standard OpenID Connect profile claims plus the required ones. Claims whose value is a
+ * JSON object, such as "address", are left out, and numbers are kept as text.
+ */
+class IdTokenProfileParser {
+
+    private static final String CLAIM_SUBJECT = "sub";
+    private static final List<String> BOOLEAN_CLAIMS = Arrays.asList("email_verified", "phone_number_verified");
+    private static final String[] PROFILE_CLAIMS = {CLAIM_SUBJECT, "name", "given_name", "family_name", "middle_name", "nickname",
+            "preferred_username", "profile", "picture", "website", "email", "email_verified", "gender", "birthdate", "zoneinfo",
+            "locale", "phone_number", "phone_number_verified", "updated_at"};
+
+    private final Gson gson;
+
+    IdTokenProfileParser() {
+        this(GsonHolder.GSON);
+    }
+
+    IdTokenProfileParser(@NonNull Gson gson) {
+        this.gson = gson;
+    }
+
+    /**
+     * Parses the profile of the user out of the given ID token.
+     *
+     * @param idToken        the decoded ID token received on login.
+     * @param requiredClaims the claims that must be present in the token for the profile to be built.
+     * @return the profile, or null if the token is missing or doesn't have the "sub" claim or all the required claims.
+     */
+    @Nullable
+    UserProfile parse(@Nullable JWT idToken, @NonNull String[] requiredClaims) {
+        if (idToken == null || idToken.getSubject() == null) {
+            return null;
+        }
+        final Set<String> names = new LinkedHashSet<>(Arrays.asList(PROFILE_CLAIMS));
+        names.addAll(Arrays.asList(requiredClaims));
+        final JsonObject claims = new JsonObject();
+        try {
+            for (String name : names) {
+                addClaim(claims, name, idToken.getClaim(name));
+            }
+            for (String claim : requiredClaims) {
+                if (!claims.has(claim)) {
+                    return null;
+                }
+            }
+            return gson.fromJson(claims, UserProfile.class);
+        } catch (DecodeException | JsonParseException e) {
+            return null;
+        }
+    }
+
+    private void addClaim(JsonObject claims, String name, Claim claim) throws DecodeException {
+        final String value = claim.asString();
+        if (value != null) {
+            if (BOOLEAN_CLAIMS.contains(name)) {
+                claims.addProperty(name, claim.asBoolean());
+            } else {
+                claims.addProperty(name, value);
+            }
+            return;
+        }
+        final List<Object> values = claim.asList(Object.class);
+        if (!values.isEmpty()) {
+            claims.add(name, gson.toJsonTree(values));
+        }
+    }
+
+    private static class GsonHolder {
+        private static final Gson GSON = GsonProvider.buildGson();
+    }
+}
@@ -28,8 +28,10 @@ import com.auth0.android.Auth0Exception;
 import com.auth0.android.authentication.AuthenticationException;
 import com.auth0.android.callback.BaseCallback;
 import com.auth0.android.request.AuthenticationRequest;
+import com.auth0.android.request.Cancellable;
+import com.auth0.android.request.CancellableRequest;
 import com.auth0.android.request.ParameterizableRequest;
-import com.auth0.android.request.Request;
+import com.auth0.android.request.internal.CancellableChain;
 import com.auth0.android.result.Authentication;
 import com.auth0.android.result.Credentials;
 import com.auth0.android.result.UserProfile;
@@ -37,18 +39,26 @@ import com.auth0.android.result.UserProfile;
 import java.util.Map;
 
 /**
- * Request to fetch a profile after a successful authentication with Auth0 Authentication API
+ * Request to fetch a profile after a successful authentication with Auth0 Authentication API.
+ * By default the profile is fetched from /userinfo. Call {@link #useIdTokenClaims(String...)} to build it from the ID token instead.
  */
-public class ProfileRequest implements Request<Authentication, AuthenticationException> {
+public class ProfileRequest implements CancellableRequest<Authentication, AuthenticationException> {
 
     private static final String HEADER_AUTHORIZATION = "Authorization";
 
     private final AuthenticationRequest credentialsRequest;
     private final ParameterizableRequest<UserProfile, AuthenticationException> userInfoRequest;
+    private final IdTokenProfileParser idTokenParser;
+    private String[] requiredClaims;
 
     public ProfileRequest(AuthenticationRequest credentialsRequest, ParameterizableRequest<UserProfile, AuthenticationException> userInfoRequest) {
+        this(credentialsRequest, userInfoRequest, new IdTokenProfileParser());
+    }
+
+    ProfileRequest(AuthenticationRequest credentialsRequest, ParameterizableRequest<UserProfile, AuthenticationException> userInfoRequest, IdTokenProfileParser idTokenParser) {
         this.credentialsRequest = credentialsRequest;
         this.userInfoRequest = userInfoRequest;
+        this.idTokenParser = idTokenParser;
     }
 
     /**
@@ -84,19 +94,53 @@ public class ProfileRequest implements Request<Authentication, AuthenticationExc
         return this;
     }
 
+    /**
+     * Builds the profile from the claims of the ID token received on login, saving the call to /userinfo.
+     * The profile is still fetched from /userinfo when no ID token is received, when it can't be decoded or when
+     * it lacks the "sub" claim or any of the given claims. Request the "openid" scope, plus the scopes of the claims
+     * you need, i.e. "openid profile email". Besides the standard profile claims, only the required claims are added
+     * to the profile.
+     *
+     * @param requiredClaims the claims the profile must have to skip /userinfo, i.e. "email".
+     * @return itself
+     */
+    public ProfileRequest useIdTokenClaims(String... requiredClaims) {
+        this.requiredClaims = requiredClaims;
+        return this;
+    }
+
     /**
      * Starts the log in request and then fetches the user's profile
      *
      * @param callback called on either success or failure
      */
     @Override
-    public void start(final BaseCallback<Authentication, AuthenticationException> callback) {
-        credentialsRequest.start(new BaseCallback<Credentials, AuthenticationException>() {
+    public void start(BaseCallback<Authentication, AuthenticationException> callback) {
+        startCancellable(callback);
+    }
+
+    /**
+     * Starts the log in request and then fetches the user's profile
+     *
+     * @param callback called on either success or failure
+     * @return a handle that cancels whichever of the two requests is in progress.
+     */
+    @Override
+    public Cancellable startCancellable(final BaseCallback<Authentication, AuthenticationException> callback) {
+        final CancellableChain chain = new CancellableChain();
+        chain.start(credentialsRequest, new BaseCallback<Credentials, AuthenticationException>() {
             @Override
             public void onSuccess(final Credentials credentials) {
-                userInfoRequest
-                        .addHeader(HEADER_AUTHORIZATION, "Bearer " + credentials.getAccessToken())
-                        .start(new BaseCallback<UserProfile, AuthenticationException>() {
+                if (chain.isCancelled()) {
+                    return;
+                }
+                UserProfile profile = profileFromIdToken(credentials);
+                if (profile != null) {
+                    callback.onSuccess(new Authentication(profile, credentials));
+                    return;
+                }
+                chain.start(userInfoRequest.addHeader(HEADER_AUTHORIZATION, "Bearer " + credentials.getAccessToken()),
+                        new BaseCallback<UserProfile, AuthenticationException>() {
                             @Override
                             public void onSuccess(UserProfile profile) {
                                 callback.onSuccess(new Authentication(profile, credentials));
@@ -114,6 +158,7 @@ public class ProfileRequest implements Request<Authentication, AuthenticationExc
                 callback.onFailure(error);
             }
         });
+        return chain;
     }
 
     /**
@@ -125,9 +170,19 @@ public class ProfileRequest implements Request<Authentication, AuthenticationExc
     @Override
     public Authentication execute() throws Auth0Exception {
         Credentials credentials = credentialsRequest.execute();
-        UserProfile profile = userInfoRequest
-                .addHeader(HEADER_AUTHORIZATION, "Bearer " + credentials.getAccessToken())
-                .execute();
+        UserProfile profile = profileFromIdToken(credentials);
+        if (profile == null) {
+            profile = userInfoRequest
+                    .addHeader(HEADER_AUTHORIZATION, "Bearer " + credentials.getAccessToken())
+                    .execute();
+        }
         return new Authentication(profile, credentials);
     }
+
+    private UserProfile profileFromIdToken(Credentials credentials) {
+        if (requiredClaims == null) {
+            return null;
+        }
+        return idTokenParser.parse(credentials.getDecodedIdToken(), requiredClaims);
+    }
 }
@@ -29,7 +29,9 @@ import com.auth0.android.authentication.AuthenticationException;
 import com.auth0.android.authentication.ParameterBuilder;
 import com.auth0.android.callback.BaseCallback;
 import com.auth0.android.request.AuthenticationRequest;
-import com.auth0.android.request.Request;
+import com.auth0.android.request.Cancellable;
+import com.auth0.android.request.CancellableRequest;
+import com.auth0.android.request.internal.CancellableChain;
 import com.auth0.android.result.Credentials;
 import com.auth0.android.result.DatabaseUser;
 
@@ -38,7 +40,7 @@ import java.util.Map;
 /**
  * Represent a request that creates a user in a Auth0 Database connection and then logs in.
  */
-public class SignUpRequest implements Request<Credentials, AuthenticationException>, AuthenticationRequest {
+public class SignUpRequest implements CancellableRequest<Credentials, AuthenticationException>, AuthenticationRequest {
 
     private final DatabaseConnectionRequest<DatabaseUser, AuthenticationException> signUpRequest;
     private final AuthenticationRequest authenticationRequest;
@@ -123,18 +125,34 @@ public class SignUpRequest implements Request<Credentials, AuthenticationExcepti
      * @param callback called on either success or failure.
      */
     @Override
-    public void start(final BaseCallback<Credentials, AuthenticationException> callback) {
-        signUpRequest.start(new BaseCallback<DatabaseUser, AuthenticationException>() {
+    public void start(BaseCallback<Credentials, AuthenticationException> callback) {
+        startCancellable(callback);
+    }
+
+    /**
+     * Starts to execute create user request and then logs the user in.
+     *
+     * @param callback called on either success or failure.
+     * @return a handle that cancels whichever of the two requests is in progress.
+     */
+    @Override
+    public Cancellable startCancellable(final BaseCallback<Credentials, AuthenticationException> callback) {
+        final CancellableChain chain = new CancellableChain();
+        chain.add(signUpRequest.startCancellable(new BaseCallback<DatabaseUser, AuthenticationException>() {
             @Override
             public void onSuccess(final DatabaseUser user) {
-                authenticationRequest.start(callback);
+                if (chain.isCancelled()) {
+                    return;
+                }
+                chain.start(authenticationRequest, callback);
             }
 
             @Override
             public void onFailure(AuthenticationException error) {
                 callback.onFailure(error);
             }
-        });
+        }));
+        return chain;
     }
 
     /**
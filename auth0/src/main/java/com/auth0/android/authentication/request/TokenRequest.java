@@ -3,15 +3,17 @@ package com.auth0.android.authentication.request;
 import com.auth0.android.Auth0Exception;
 import com.auth0.android.authentication.AuthenticationException;
 import com.auth0.android.callback.BaseCallback;
+import com.auth0.android.request.Cancellable;
+import com.auth0.android.request.CancellableRequest;
 import com.auth0.android.request.ParameterizableRequest;
-import com.auth0.android.request.Request;
+import com.auth0.android.request.internal.CancellableChain;
 import com.auth0.android.result.Credentials;
 
 /**
  * Auth Request to obtain tokens using OAuth2 {@literal /oauth/token} method
  */
 @SuppressWarnings("WeakerAccess")
-public class TokenRequest implements Request<Credentials, AuthenticationException> {
+public class TokenRequest implements CancellableRequest<Credentials, AuthenticationException> {
 
     private static final String OAUTH_CODE_VERIFIER_KEY = "code_verifier";
 
@@ -38,6 +40,13 @@ public class TokenRequest implements Request<Credentials, AuthenticationExceptio
         request.start(callback);
     }
 
+    @Override
+    public Cancellable startCancellable(BaseCallback<Credentials, AuthenticationException> callback) {
+        final CancellableChain chain = new CancellableChain();
+        chain.start(request, callback);
+        return chain;
+    }
+
     @Override
     public Credentials execute() throws Auth0Exception {
         return request.execute();
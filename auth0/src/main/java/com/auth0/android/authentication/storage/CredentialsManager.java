@@ -1,11 +1,13 @@
 package com.auth0.android.authentication.storage;
 
+import android.content.Context;
+import android.support.annotation.FloatRange;
+import android.support.annotation.IntRange;
 import android.support.annotation.NonNull;
+import android.support.annotation.Nullable;
 import android.support.annotation.VisibleForTesting;
 
 import com.auth0.android.authentication.AuthenticationAPIClient;
-import com.auth0.android.authentication.AuthenticationException;
-import com.auth0.android.callback.AuthenticationCallback;
 import com.auth0.android.callback.BaseCallback;
 import com.auth0.android.result.Credentials;
 
@@ -27,6 +29,12 @@ public class CredentialsManager {
 
     private final AuthenticationAPIClient authClient;
     private final Storage storage;
+    private final RefreshCoordinator refreshCoordinator;
+
+    private volatile boolean inMemoryCacheEnabled;
+    private volatile CredentialsSnapshot snapshot;
+    private volatile RefreshScheduler refreshScheduler;
+    private volatile long revalidationWindow;
 
     /**
      * Creates a new instance of the manager that will store the credentials in the given Storage.
@@ -37,6 +45,85 @@ public class CredentialsManager {
     public CredentialsManager(@NonNull AuthenticationAPIClient authenticationClient, @NonNull Storage storage) {
         this.authClient = authenticationClient;
         this.storage = storage;
+        this.refreshCoordinator = new RefreshCoordinator(authenticationClient, new RefreshCoordinator.CredentialsSaver() {
+            @Override
+            public void saveCredentials(@NonNull Credentials credentials) {
+                CredentialsManager.this.saveCredentials(credentials);
+            }
+        });
+    }
+
+    /**
+     * Keep an in-memory copy of the stored credentials so that {@link #getCredentials(BaseCallback)} and
+     * {@link #hasValidCredentials()} don't need to read the Storage on every call. The copy is loaded on first
+     * access and updated every time the credentials are saved or cleared through this manager.
+     * Only enable this when this manager is the sole writer of the credentials in the given Storage.
+     * This feature is disabled by default.
+     *
+     * @param enabled whether the stored credentials should be kept in memory or not.
+     */
+    public synchronized void setInMemoryCacheEnabled(boolean enabled) {
+        this.inMemoryCacheEnabled = enabled;
+        this.snapshot = null;
+    }
+
+    /**
+     * Renew the stored credentials in the background before they expire, so that {@link #getCredentials(BaseCallback)}
+     * doesn't have to wait for a renewal. The renewal happens after the given fraction of the remaining lifetime of the
+     * credentials has passed, plus a random delay of up to the given jitter. Renewals are paused while the application is
+     * in the background, and join any renewal already in progress. Only credentials with a Refresh Token are renewed.
+     * This feature is disabled by default.
+     *
+     * @param context          a valid context.
+     * @param lifetimeFraction the fraction of the remaining lifetime after which the credentials are renewed. Must be a value between 0 and 1.
+     * @param maxJitterSeconds the maximum random delay in seconds added to each renewal.
+     */
+    public void enableProactiveRefresh(@NonNull Context context, @FloatRange(from = 0, to = 1, fromInclusive = false, toInclusive = false) float lifetimeFraction, @IntRange(from = 0) long maxJitterSeconds) {
+        RefreshScheduler scheduler = RefreshScheduler.start(context, new RefreshScheduler.RenewableCredentials() {
+            @Nullable
+            @Override
+            public Long getRenewableExpiresAt() {
+                final CredentialsSnapshot current = readSnapshot();
+                return current.refreshToken != null ? current.expiresAt : null;
+            }
+
+            @Override
+            public long getCurrentTimeInMillis() {
+                return CredentialsManager.this.getCurrentTimeInMillis();
+            }
+
+            @Override
+            public void renew(@NonNull BaseCallback<Credentials, CredentialsManagerException> callback) {
+                final String refreshToken = readSnapshot().refreshToken;
+                if (refreshToken == null) {
+                    return;
+                }
+                refreshCoordinator.renew(refreshToken, callback);
+            }
+        }, lifetimeFraction, maxJitterSeconds);
+        setRefreshScheduler(scheduler);
+    }
+
+    /**
+     * Stop renewing the stored credentials in the background.
+     */
+    public void disableProactiveRefresh() {
+        setRefreshScheduler(null);
+    }
+
+    /**
+     * Sets a window before the expiration of the credentials in which {@link #getCredentials(BaseCallback)} returns the
+     * stored credentials right away and renews them in the background, so that the next call receives fresh ones.
+     * Only credentials that have already expired make the caller wait for a renewal. By default is 0, meaning that the
+     * credentials are only renewed once they have expired.
+     *
+     * @param seconds the time in seconds before the expiration in which the credentials are renewed in the background.
+     */
+    public void setRevalidationWindow(@IntRange(from = 0) long seconds) {
+        if (seconds < 0) {
+            throw new IllegalArgumentException("The revalidation window must be a positive value or 0.");
+        }
+        this.revalidationWindow = seconds * 1000;
     }
 
     /**
@@ -48,34 +135,51 @@ public class CredentialsManager {
         if ((isEmpty(credentials.getAccessToken()) && isEmpty(credentials.getIdToken())) || credentials.getExpiresAt() == null) {
             throw new CredentialsManagerException("Credentials must have a valid date of expiration and a valid access_token or id_token value.");
         }
-        storage.store(KEY_ACCESS_TOKEN, credentials.getAccessToken());
-        storage.store(KEY_REFRESH_TOKEN, credentials.getRefreshToken());
-        storage.store(KEY_ID_TOKEN, credentials.getIdToken());
-        storage.store(KEY_TOKEN_TYPE, credentials.getType());
-        storage.store(KEY_EXPIRES_AT, credentials.getExpiresAt().getTime());
-        storage.store(KEY_SCOPE, credentials.getScope());
+        synchronized (this) {
+            SequentialStorageTransaction.begin(storage)
+                    .store(KEY_ACCESS_TOKEN, credentials.getAccessToken())
+                    .store(KEY_REFRESH_TOKEN, credentials.getRefreshToken())
+                    .store(KEY_ID_TOKEN, credentials.getIdToken())
+                    .store(KEY_TOKEN_TYPE, credentials.getType())
+                    .store(KEY_EXPIRES_AT, credentials.getExpiresAt().getTime())
+                    .store(KEY_SCOPE, credentials.getScope())
+                    .commit();
+            if (inMemoryCacheEnabled) {
+                snapshot = new CredentialsSnapshot(credentials);
+            }
+        }
+        final RefreshScheduler scheduler = refreshScheduler;
+        if (scheduler != null) {
+            scheduler.onCredentialsSaved(credentials.getExpiresAt().getTime());
+        }
     }
 
     /**
      * Retrieves the credentials from the storage and refresh them if they have already expired.
      * It will fail with {@link CredentialsManagerException} if the saved access_token or id_token is null,
      * or if the tokens have already expired and the refresh_token is null.
+     * Concurrent calls that find the credentials expired share a single renewal request.
      *
      * @param callback the callback that will receive a valid {@link Credentials} or the {@link CredentialsManagerException}.
      */
     public void getCredentials(@NonNull final BaseCallback<Credentials, CredentialsManagerException> callback) {
-        String accessToken = storage.retrieveString(KEY_ACCESS_TOKEN);
-        final String refreshToken = storage.retrieveString(KEY_REFRESH_TOKEN);
-        String idToken = storage.retrieveString(KEY_ID_TOKEN);
-        String tokenType = storage.retrieveString(KEY_TOKEN_TYPE);
-        Long expiresAt = storage.retrieveLong(KEY_EXPIRES_AT);
-        String scope = storage.retrieveString(KEY_SCOPE);
+        final CredentialsSnapshot current = readSnapshot();
+        String accessToken = current.accessToken;
+        final String refreshToken = current.refreshToken;
+        String idToken = current.idToken;
+        String tokenType = current.tokenType;
+        Long expiresAt = current.expiresAt;
+        String scope = current.scope;
 
         if (isEmpty(accessToken) && isEmpty(idToken) || expiresAt == null) {
             callback.onFailure(new CredentialsManagerException("No Credentials were previously set."));
             return;
         }
-        if (expiresAt > getCurrentTimeInMillis()) {
+        final long now = getCurrentTimeInMillis();
+        if (expiresAt > now) {
+            if (refreshToken != null && expiresAt - now <= revalidationWindow) {
+                refreshCoordinator.renewInBackground(refreshToken);
+            }
             callback.onSuccess(recreateCredentials(idToken, accessToken, tokenType, refreshToken, new Date(expiresAt), scope));
             return;
         }
@@ -84,20 +188,7 @@ public class CredentialsManager {
             return;
         }
 
-        authClient.renewAuth(refreshToken).start(new AuthenticationCallback<Credentials>() {
-            @Override
-            public void onSuccess(Credentials fresh) {
-                //RefreshTokens don't expire. It should remain the same
-                Credentials credentials = new Credentials(fresh.getIdToken(), fresh.getAccessToken(), fresh.getType(), refreshToken, fresh.getExpiresAt(), fresh.getScope());
-                saveCredentials(credentials);
-                callback.onSuccess(credentials);
-            }
-
-            @Override
-            public void onFailure(AuthenticationException error) {
-                callback.onFailure(new CredentialsManagerException("An error occurred while trying to use the Refresh Token to renew the Credentials.", error));
-            }
-        });
+        refreshCoordinator.renew(refreshToken, callback);
     }
 
     /**
@@ -106,10 +197,11 @@ public class CredentialsManager {
      * @return whether there are valid credentials stored on this manager.
      */
     public boolean hasValidCredentials() {
-        String accessToken = storage.retrieveString(KEY_ACCESS_TOKEN);
-        String refreshToken = storage.retrieveString(KEY_REFRESH_TOKEN);
-        String idToken = storage.retrieveString(KEY_ID_TOKEN);
-        Long expiresAt = storage.retrieveLong(KEY_EXPIRES_AT);
+        final CredentialsSnapshot current = readSnapshot();
+        String accessToken = current.accessToken;
+        String refreshToken = current.refreshToken;
+        String idToken = current.idToken;
+        Long expiresAt = current.expiresAt;
 
         return !(isEmpty(accessToken) && isEmpty(idToken) ||
                 expiresAt == null ||
@@ -120,12 +212,62 @@ public class CredentialsManager {
      * Removes the credentials from the storage if present.
      */
     public void clearCredentials() {
-        storage.remove(KEY_ACCESS_TOKEN);
-        storage.remove(KEY_REFRESH_TOKEN);
-        storage.remove(KEY_ID_TOKEN);
-        storage.remove(KEY_TOKEN_TYPE);
-        storage.remove(KEY_EXPIRES_AT);
-        storage.remove(KEY_SCOPE);
+        synchronized (this) {
+            SequentialStorageTransaction.begin(storage)
+                    .remove(KEY_ACCESS_TOKEN)
+                    .remove(KEY_REFRESH_TOKEN)
+                    .remove(KEY_ID_TOKEN)
+                    .remove(KEY_TOKEN_TYPE)
+                    .remove(KEY_EXPIRES_AT)
+                    .remove(KEY_SCOPE)
+                    .commit();
+            if (inMemoryCacheEnabled) {
+                snapshot = CredentialsSnapshot.EMPTY;
+            }
+        }
+        final RefreshScheduler scheduler = refreshScheduler;
+        if (scheduler != null) {
+            scheduler.onCredentialsCleared();
+        }
+    }
+
+    @VisibleForTesting
+    void setRefreshScheduler(@Nullable RefreshScheduler scheduler) {
+        //The scheduler is called outside of this manager's lock, as it reads the credentials while holding its own
+        final RefreshScheduler previous;
+        synchronized (this) {
+            previous = refreshScheduler;
+            refreshScheduler = scheduler;
+        }
+        if (previous != null) {
+            previous.stop();
+        }
+    }
+
+    private CredentialsSnapshot readSnapshot() {
+        if (!inMemoryCacheEnabled) {
+            return readFromStorage();
+        }
+        CredentialsSnapshot current = snapshot;
+        if (current != null) {
+            return current;
+        }
+        synchronized (this) {
+            if (snapshot == null) {
+                snapshot = readFromStorage();
+            }
+            return snapshot;
+        }
+    }
+
+    private CredentialsSnapshot readFromStorage() {
+        return new CredentialsSnapshot(
+                storage.retrieveString(KEY_ACCESS_TOKEN),
+                storage.retrieveString(KEY_REFRESH_TOKEN),
+                storage.retrieveString(KEY_ID_TOKEN),
+                storage.retrieveString(KEY_TOKEN_TYPE),
+                storage.retrieveLong(KEY_EXPIRES_AT),
+                storage.retrieveString(KEY_SCOPE));
     }
 
     @VisibleForTesting
@@ -138,4 +280,31 @@ public class CredentialsManager {
         return System.currentTimeMillis();
     }
 
+    /**
+     * Immutable copy of the values saved in the Storage.
+     */
+    private static final class CredentialsSnapshot {
+        static final CredentialsSnapshot EMPTY = new CredentialsSnapshot(null, null, null, null, null, null);
+
+        final String accessToken;
+        final String refreshToken;
+        final String idToken;
+        final String tokenType;
+        final Long expiresAt;
+        final String scope;
+
+        CredentialsSnapshot(String accessToken, String refreshToken, String idToken, String tokenType, Long expiresAt, String scope) {
+            this.accessToken = accessToken;
+            this.refreshToken = refreshToken;
+            this.idToken = idToken;
+            this.tokenType = tokenType;
+            this.expiresAt = expiresAt;
+            this.scope = scope;
+        }
+
+        CredentialsSnapshot(Credentials credentials) {
+            this(credentials.getAccessToken(), credentials.getRefreshToken(), credentials.getIdToken(), credentials.getType(),
+                    credentials.getExpiresAt().getTime(), credentials.getScope());
+        }
+    }
 }
@@ -28,6 +28,7 @@ import java.security.UnrecoverableEntryException;
 import java.security.cert.Certificate;
 import java.security.cert.CertificateException;
 import java.security.spec.AlgorithmParameterSpec;
+import java.util.Arrays;
 import java.util.Calendar;
 
 import javax.crypto.BadPaddingException;
@@ -62,11 +63,22 @@ class CryptoUtil {
     private static final int AES_KEY_SIZE = 256;
     private static final int RSA_KEY_SIZE = 2048;
 
+    // Encrypted data layout: [version][IV length][IV][ciphertext + GCM tag]
+    private static final byte FORMAT_VERSION = 1;
+    private static final int FORMAT_HEADER_SIZE = 2;
+    private static final int MIN_IV_LENGTH = 12;
+    private static final int MAX_IV_LENGTH = 16;
+
     private final String KEY_ALIAS;
+    //Only read to decrypt data stored before the IV was kept alongside the encrypted data
     private final String KEY_IV_ALIAS;
     private final Storage storage;
     private final Context context;
 
+    //Loaded once and reused until the keys are deleted
+    private KeyStore keyStore;
+    private SecretKey aesKey;
+
     public CryptoUtil(@NonNull Context context, @NonNull Storage storage, @NonNull String keyAlias) {
         keyAlias = keyAlias.trim();
         if (TextUtils.isEmpty(keyAlias)) {
@@ -81,8 +93,7 @@ class CryptoUtil {
     @VisibleForTesting
     KeyStore.PrivateKeyEntry getRSAKeyEntry() throws KeyException {
         try {
-            KeyStore keyStore = KeyStore.getInstance(ANDROID_KEY_STORE);
-            keyStore.load(null);
+            KeyStore keyStore = getKeyStore();
             if (keyStore.containsAlias(KEY_ALIAS)) {
                 //Return existing key
                 return (KeyStore.PrivateKeyEntry) keyStore.getEntry(KEY_ALIAS, null);
@@ -146,14 +157,27 @@ class CryptoUtil {
     }
 
 
+    private synchronized KeyStore getKeyStore() throws KeyStoreException, CertificateException, NoSuchAlgorithmException, IOException {
+        if (keyStore == null) {
+            KeyStore loaded = KeyStore.getInstance(ANDROID_KEY_STORE);
+            loaded.load(null);
+            keyStore = loaded;
+        }
+        return keyStore;
+    }
+
     //Used to delete recreate the key pair in case of error
     private void deleteKeys() {
+        synchronized (this) {
+            aesKey = null;
+        }
         try {
-            KeyStore keyStore = KeyStore.getInstance(ANDROID_KEY_STORE);
-            keyStore.load(null);
+            KeyStore keyStore = getKeyStore();
             keyStore.deleteEntry(KEY_ALIAS);
-            storage.remove(KEY_ALIAS);
-            storage.remove(KEY_IV_ALIAS);
+            SequentialStorageTransaction.begin(storage)
+                    .remove(KEY_ALIAS)
+                    .remove(KEY_IV_ALIAS)
+                    .commit();
         } catch (KeyStoreException | CertificateException | IOException | NoSuchAlgorithmException e) {
             Log.e(TAG, "Failed to remove the RSA KeyEntry from the Android KeyStore.", e);
         }
@@ -219,12 +243,63 @@ class CryptoUtil {
         }
     }
 
+    //Unwraps the AES key only once, as it requires an RSA operation on the Android KeyStore
+    private synchronized SecretKey getSecretKey() throws KeyException {
+        if (aesKey != null) {
+            return aesKey;
+        }
+        byte[] key = getAESKey();
+        SecretKey secretKey = new SecretKeySpec(key, ALGORITHM_AES);
+        if (key.length > 0) {
+            aesKey = secretKey;
+        }
+        return secretKey;
+    }
+
+    /**
+     * Checks whether the given encrypted data was produced by a version of this class that stored the IV separately.
+     * Legacy data can begin with the same bytes as the header, so while the separate IV is still stored
+     * the data is always considered legacy.
+     *
+     * @param encryptedInput the data returned by a previous call to {@link #encrypt(byte[])}.
+     * @return true if the data might not use the current versioned format and should be encrypted again.
+     */
+    boolean isLegacyFormat(byte[] encryptedInput) {
+        return !hasVersionedFormat(encryptedInput) || !TextUtils.isEmpty(storage.retrieveString(KEY_IV_ALIAS));
+    }
+
+    /**
+     * Removes the IV stored separately by previous versions of this class. Call it once the data that
+     * needed it has been encrypted again, as it's no longer possible to decrypt legacy data afterwards.
+     */
+    void deleteLegacyIV() {
+        storage.remove(KEY_IV_ALIAS);
+    }
+
     //Only used to decrypt final DATA
     public byte[] decrypt(byte[] encryptedInput) throws CryptoException {
         try {
-            SecretKey key = new SecretKeySpec(getAESKey(), ALGORITHM_AES);
+            SecretKey key = getSecretKey();
             Cipher cipher = Cipher.getInstance(AES_TRANSFORMATION);
-            String encodedIV = storage.retrieveString(KEY_IV_ALIAS);
+            String encodedIV = null;
+            if (hasVersionedFormat(encryptedInput)) {
+                int ivLength = encryptedInput[1] & 0xFF;
+                byte[] iv = Arrays.copyOfRange(encryptedInput, FORMAT_HEADER_SIZE, FORMAT_HEADER_SIZE + ivLength);
+                int dataOffset = FORMAT_HEADER_SIZE + ivLength;
+                try {
+                    cipher.init(Cipher.DECRYPT_MODE, key, new IvParameterSpec(iv));
+                    return cipher.doFinal(encryptedInput, dataOffset, encryptedInput.length - dataOffset);
+                } catch (BadPaddingException e) {
+                    //Legacy data can begin with the same bytes as the header. The authentication tag tells them apart.
+                    encodedIV = storage.retrieveString(KEY_IV_ALIAS);
+                    if (TextUtils.isEmpty(encodedIV)) {
+                        throw e;
+                    }
+                    cipher = Cipher.getInstance(AES_TRANSFORMATION);
+                }
+            } else {
+                encodedIV = storage.retrieveString(KEY_IV_ALIAS);
+            }
             if (TextUtils.isEmpty(encodedIV)) {
                 throw new InvalidAlgorithmParameterException("The AES Key exists but an IV was never stored. Try to encrypt something first.");
             }
@@ -238,20 +313,32 @@ class CryptoUtil {
     }
 
     //Only used to encrypt final DATA
+    //The output contains the format version, the IV length, the IV and the encrypted data followed by the GCM tag
     public byte[] encrypt(byte[] decryptedInput) throws CryptoException {
         try {
-            SecretKey key = new SecretKeySpec(getAESKey(), ALGORITHM_AES);
+            SecretKey key = getSecretKey();
             Cipher cipher = Cipher.getInstance(AES_TRANSFORMATION);
             cipher.init(Cipher.ENCRYPT_MODE, key);
             byte[] encrypted = cipher.doFinal(decryptedInput);
-            byte[] encodedIV = Base64.encode(cipher.getIV(), Base64.DEFAULT);
-            //Save IV for Decrypt stage
-            storage.store(KEY_IV_ALIAS, new String(encodedIV));
-            return encrypted;
+            byte[] iv = cipher.getIV();
+            byte[] output = new byte[FORMAT_HEADER_SIZE + iv.length + encrypted.length];
+            output[0] = FORMAT_VERSION;
+            output[1] = (byte) iv.length;
+            System.arraycopy(iv, 0, output, FORMAT_HEADER_SIZE, iv.length);
+            System.arraycopy(encrypted, 0, output, FORMAT_HEADER_SIZE + iv.length, encrypted.length);
+            return output;
         } catch (KeyException | NoSuchAlgorithmException | NoSuchPaddingException | BadPaddingException | IllegalBlockSizeException e) {
             Log.e(TAG, "Error while encrypting the input.", e);
             throw new CryptoException("Error while encrypting the input.", e);
         }
     }
 
+    private boolean hasVersionedFormat(byte[] encryptedInput) {
+        if (encryptedInput.length <= FORMAT_HEADER_SIZE || encryptedInput[0] != FORMAT_VERSION) {
+            return false;
+        }
+        int ivLength = encryptedInput[1] & 0xFF;
+        return ivLength >= MIN_IV_LENGTH && ivLength <= MAX_IV_LENGTH && encryptedInput.length > FORMAT_HEADER_SIZE + ivLength;
+    }
+
 }
@@ -0,0 +1,195 @@
+package com.auth0.android.authentication.storage;
+
+import android.support.annotation.NonNull;
+import android.support.annotation.Nullable;
+import android.util.Log;
+
+import com.auth0.android.authentication.AuthenticationAPIClient;
+import com.auth0.android.authentication.AuthenticationException;
+import com.auth0.android.callback.AuthenticationCallback;
+import com.auth0.android.callback.BaseCallback;
+import com.auth0.android.request.ParameterizableRequest;
+import com.auth0.android.request.RetryableRequest;
+import com.auth0.android.result.Credentials;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executor;
+
+/**
+ * Coalesces concurrent credentials renewals so that a single request per Refresh Token is sent to the
+ * Authentication API. Callers asking to renew while a request for the same Refresh Token is in flight
+ * join it and receive the same result. The renewed credentials are saved on the network thread, and only then are the
+ * waiting callbacks called through the callback executor of the API client.
+ */
+class RefreshCoordinator {
+
+    private static final String TAG = RefreshCoordinator.class.getSimpleName();
+
+    /**
+     * Persists the renewed credentials before they are delivered to the waiting callbacks.
+     */
+    interface CredentialsSaver {
+        void saveCredentials(@NonNull Credentials credentials) throws CredentialsManagerException;
+    }
+
+    private final AuthenticationAPIClient apiClient;
+    private final CredentialsSaver saver;
+    private final Map<String, List<BaseCallback<Credentials, CredentialsManagerException>>> pending;
+
+    RefreshCoordinator(@NonNull AuthenticationAPIClient apiClient, @NonNull CredentialsSaver saver) {
+        this.apiClient = apiClient;
+        this.saver = saver;
+        this.pending = new HashMap<>();
+    }
+
+    /**
+     * Renews the credentials using the given Refresh Token, or joins the renewal already in progress for it.
+     *
+     * @param refreshToken the Refresh Token to use in the renewal.
+     * @param callback     the callback that will receive the renewed and saved credentials.
+     */
+    void renew(@NonNull final String refreshToken, @NonNull BaseCallback<Credentials, CredentialsManagerException> callback) {
+        synchronized (pending) {
+            List<BaseCallback<Credentials, CredentialsManagerException>> callbacks = pending.get(refreshToken);
+            if (callbacks != null) {
+                callbacks.add(callback);
+                return;
+            }
+            callbacks = new ArrayList<>();
+            callbacks.add(callback);
+            pending.put(refreshToken, callbacks);
+        }
+
+        try {
+            final ParameterizableRequest<Credentials, AuthenticationException> request = apiClient.renewAuth(refreshToken);
+            final Executor callbackExecutor = receiveOnNetworkThread(request);
+            request.start(new AuthenticationCallback<Credentials>() {
+                @Override
+                public void onSuccess(Credentials fresh) {
+                    //RefreshTokens don't expire. It should remain the same
+                    Credentials credentials = new Credentials(fresh.getIdToken(), fresh.getAccessToken(), fresh.getType(), refreshToken, fresh.getExpiresAt(), fresh.getScope());
+                    try {
+                        saver.saveCredentials(credentials);
+                    } catch (CredentialsManagerException e) {
+                        fail(refreshToken, callbackExecutor, e);
+                        return;
+                    } catch (RuntimeException e) {
+                        fail(refreshToken, callbackExecutor, new CredentialsManagerException("An error occurred while saving the renewed Credentials.", e));
+                        return;
+                    }
+                    succeed(refreshToken, callbackExecutor, credentials);
+                }
+
+                @Override
+                public void onFailure(AuthenticationException error) {
+                    fail(refreshToken, callbackExecutor, new CredentialsManagerException("An error occurred while trying to use the Refresh Token to renew the Credentials.", error));
+                }
+            });
+        } catch (RuntimeException e) {
+            //Nobody would ever complete the renewal, so release the callbacks waiting for it
+            if (!fail(refreshToken, apiClient.getCallbackExecutor(), new CredentialsManagerException("An error occurred while trying to use the Refresh Token to renew the Credentials.", e))) {
+                throw e;
+            }
+        }
+    }
+
+    /**
+     * Starts a renewal for the given Refresh Token without a caller waiting for its result, unless one is already in flight.
+     * The renewed credentials are saved as usual and failures are only logged.
+     *
+     * @param refreshToken the Refresh Token to use in the renewal.
+     */
+    void renewInBackground(@NonNull String refreshToken) {
+        if (isRenewing(refreshToken)) {
+            return;
+        }
+        renew(refreshToken, new BaseCallback<Credentials, CredentialsManagerException>() {
+            @Override
+            public void onSuccess(Credentials payload) {
+                Log.d(TAG, "The credentials were renewed in the background.");
+            }
+
+            @Override
+            public void onFailure(CredentialsManagerException error) {
+                Log.w(TAG, "The credentials couldn't be renewed in the background.", error);
+            }
+        });
+    }
+
+    /**
+     * Checks if a renewal for the given Refresh Token is currently in flight.
+     *
+     * @param refreshToken the Refresh Token to check.
+     * @return whether a renewal is in progress or not.
+     */
+    boolean isRenewing(@NonNull String refreshToken) {
+        synchronized (pending) {
+            return pending.containsKey(refreshToken);
+        }
+    }
+
+    private List<BaseCallback<Credentials, CredentialsManagerException>> complete(String refreshToken) {
+        synchronized (pending) {
+            return pending.remove(refreshToken);
+        }
+    }
+
+    /**
+     * Makes the given renew request call back on the network thread, so that the renewed credentials are saved there
+     * instead of on the callback executor of the API client, which can be the main thread.
+     *
+     * @return the executor to call the waiting callbacks on, or null to call them right away.
+     */
+    @Nullable
+    private Executor receiveOnNetworkThread(ParameterizableRequest<Credentials, AuthenticationException> request) {
+        if (!(request instanceof RetryableRequest)) {
+            return null;
+        }
+        ((RetryableRequest<Credentials, AuthenticationException>) request).setCallbackExecutor(null);
+        return apiClient.getCallbackExecutor();
+    }
+
+    private void succeed(String refreshToken, @Nullable Executor executor, final Credentials credentials) {
+        final List<BaseCallback<Credentials, CredentialsManagerException>> callbacks = complete(refreshToken);
+        deliver(executor, new Runnable() {
+            @Override
+            public void run() {
+                for (BaseCallback<Credentials, CredentialsManagerException> callback : callbacks) {
+                    callback.onSuccess(credentials);
+                }
+            }
+        });
+    }
+
+    /**
+     * Fails the renewal in flight for the given Refresh Token, if any.
+     *
+     * @return whether there was a renewal in flight or not.
+     */
+    private boolean fail(String refreshToken, @Nullable Executor executor, final CredentialsManagerException exception) {
+        final List<BaseCallback<Credentials, CredentialsManagerException>> callbacks = complete(refreshToken);
+        if (callbacks == null) {
+            return false;
+        }
+        deliver(executor, new Runnable() {
+            @Override
+            public void run() {
+                for (BaseCallback<Credentials, CredentialsManagerException> callback : callbacks) {
+                    callback.onFailure(exception);
+                }
+            }
+        });
+        return true;
+    }
+
+    private static void deliver(@Nullable Executor executor, Runnable delivery) {
+        if (executor == null) {
+            delivery.run();
+        } else {
+            executor.execute(delivery);
+        }
+    }
+}
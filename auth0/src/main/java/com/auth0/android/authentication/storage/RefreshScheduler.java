@@ -0,0 +1,354 @@
+package com.auth0.android.authentication.storage;
+
+import android.app.Activity;
+import android.app.ActivityManager;
+import android.app.Application;
+import android.content.Context;
+import android.os.Bundle;
+import android.os.Process;
+import android.support.annotation.NonNull;
+import android.support.annotation.Nullable;
+import android.support.annotation.VisibleForTesting;
+import android.util.Log;
+
+import com.auth0.android.authentication.AuthenticationException;
+import com.auth0.android.callback.BaseCallback;
+import com.auth0.android.result.Credentials;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Renews the credentials in the background before they expire, so that callers asking for them don't have to wait for a renewal.
+ * The renewal is scheduled after the given fraction of the remaining lifetime of the credentials, plus a random jitter that keeps
+ * devices that obtained their credentials at the same time from renewing them all at once. Failed renewals are retried with
+ * an exponential backoff, unless the server rejected the Refresh Token. Scheduling is paused while no activity of the
+ * application is started.
+ */
+class RefreshScheduler implements Application.ActivityLifecycleCallbacks {
+
+    private static final String TAG = RefreshScheduler.class.getSimpleName();
+
+    //Same delay used by the ProcessLifecycleOwner, so that configuration changes don't pause the scheduler
+    @VisibleForTesting
+    static final long PAUSE_DELAY_MILLIS = 700;
+    @VisibleForTesting
+    static final long MIN_RETRY_DELAY_MILLIS = 30 * 1000;
+    @VisibleForTesting
+    static final long MAX_RETRY_DELAY_MILLIS = 30 * 60 * 1000;
+    //The OAuth 2.0 token endpoint errors, always sent with a 4xx status. JSON errors don't carry the status code
+    private static final List<String> REJECTED_RENEWAL_CODES = Arrays.asList("invalid_request", "invalid_client", "invalid_grant",
+            "unauthorized_client", "unsupported_grant_type", "invalid_scope", "access_denied");
+
+    /**
+     * Gives access to the credentials handled by a manager.
+     */
+    interface RenewableCredentials {
+        /**
+         * @return the expiration time in milliseconds of the stored credentials, or null if they can't be renewed in the background.
+         */
+        @Nullable
+        Long getRenewableExpiresAt();
+
+        long getCurrentTimeInMillis();
+
+        /**
+         * Renews the stored credentials, joining any renewal already in progress.
+         * The manager must call {@link RefreshScheduler#onCredentialsSaved(long)} once the renewed credentials are saved.
+         *
+         * @param callback receives the result of the renewal. Not called if there's nothing to renew.
+         */
+        void renew(@NonNull BaseCallback<Credentials, CredentialsManagerException> callback);
+    }
+
+    private final RenewableCredentials credentials;
+    private final ScheduledExecutorService executor;
+    private final float lifetimeFraction;
+    private final long maxJitterMillis;
+    private final Random random;
+
+    private Application application;
+    private ScheduledFuture<?> scheduledRenewal;
+    private ScheduledFuture<?> scheduledPause;
+    //Activities started before this scheduler was registered are not counted
+    private int startedActivities;
+    private int failedRenewals;
+    private boolean renewalRejected;
+    private boolean paused;
+    private boolean stopped;
+
+    @VisibleForTesting
+    RefreshScheduler(@NonNull RenewableCredentials credentials, @NonNull ScheduledExecutorService executor, float lifetimeFraction, long maxJitterMillis, @NonNull Random random) {
+        this.credentials = credentials;
+        this.executor = executor;
+        this.lifetimeFraction = lifetimeFraction;
+        this.maxJitterMillis = maxJitterMillis;
+        this.random = random;
+    }
+
+    /**
+     * Creates a scheduler for the given credentials and schedules the first renewal.
+     *
+     * @param context          a valid context, used to pause the scheduler while the application is in the background.
+     * @param credentials      the credentials to renew.
+     * @param lifetimeFraction the fraction of the remaining lifetime after which the credentials are renewed.
+     * @param maxJitterSeconds the maximum random delay in seconds added to each renewal.
+     * @return the started scheduler.
+     */
+    static RefreshScheduler start(@NonNull Context context, @NonNull RenewableCredentials credentials, float lifetimeFraction, long maxJitterSeconds) {
+        if (lifetimeFraction <= 0 || lifetimeFraction >= 1) {
+            throw new IllegalArgumentException("The lifetime fraction must be a value between 0 and 1.");
+        }
+        if (maxJitterSeconds < 0) {
+            throw new IllegalArgumentException("The max jitter must be a positive value or 0.");
+        }
+        ScheduledExecutorService executor = Executors.newSingleThreadScheduledExecutor(new ThreadFactory() {
+            @Override
+            public Thread newThread(@NonNull Runnable runnable) {
+                Thread thread = new Thread(runnable, "Auth0-RefreshScheduler");
+                thread.setDaemon(true);
+                return thread;
+            }
+        });
+        RefreshScheduler scheduler = new RefreshScheduler(credentials, executor, lifetimeFraction, maxJitterSeconds * 1000, new Random());
+        Context appContext = context.getApplicationContext();
+        if (appContext instanceof Application) {
+            scheduler.application = (Application) appContext;
+            scheduler.application.registerActivityLifecycleCallbacks(scheduler);
+            //Otherwise it's resumed by the next activity started
+            scheduler.paused = !scheduler.isInForeground();
+        }
+        scheduler.reschedule();
+        return scheduler;
+    }
+
+    /**
+     * Schedules the next renewal for credentials that were just saved.
+     *
+     * @param expiresAt the expiration time in milliseconds of the saved credentials.
+     */
+    synchronized void onCredentialsSaved(long expiresAt) {
+        failedRenewals = 0;
+        renewalRejected = false;
+        cancelScheduledRenewal();
+        if (!paused && !stopped) {
+            schedule(expiresAt);
+        }
+    }
+
+    /**
+     * Schedules a new attempt after a renewal failed. The delay doubles with every consecutive failure,
+     * from {@link #MIN_RETRY_DELAY_MILLIS} up to {@link #MAX_RETRY_DELAY_MILLIS}, plus a random jitter of up to half of it.
+     * When the server rejected the Refresh Token, i.e. because it was revoked, no more renewals are scheduled until new
+     * credentials are saved.
+     *
+     * @param error the reason the renewal failed.
+     */
+    @VisibleForTesting
+    synchronized void onRenewalFailed(@NonNull CredentialsManagerException error) {
+        cancelScheduledRenewal();
+        if (isRejectedRenewal(error)) {
+            Log.w(TAG, "The Refresh Token was rejected. The credentials won't be renewed in the background until new ones are saved.");
+            renewalRejected = true;
+            return;
+        }
+        if (paused || stopped || credentials.getRenewableExpiresAt() == null) {
+            return;
+        }
+        long backoff = Math.min(MAX_RETRY_DELAY_MILLIS, MIN_RETRY_DELAY_MILLIS << Math.min(failedRenewals, 16));
+        failedRenewals++;
+        long delay = backoff + (long) (random.nextDouble() * backoff / 2);
+        Log.d(TAG, "The credentials couldn't be renewed. Trying again in " + delay + " ms.");
+        scheduleRenewal(delay);
+    }
+
+    /**
+     * Cancels the scheduled renewal, if any, because the credentials were removed.
+     */
+    synchronized void onCredentialsCleared() {
+        failedRenewals = 0;
+        renewalRejected = false;
+        cancelScheduledRenewal();
+    }
+
+    /**
+     * Stops this scheduler. No more renewals will be scheduled.
+     */
+    synchronized void stop() {
+        stopped = true;
+        cancelScheduledRenewal();
+        cancelScheduledPause();
+        if (application != null) {
+            application.unregisterActivityLifecycleCallbacks(this);
+            application = null;
+        }
+        executor.shutdown();
+    }
+
+    @VisibleForTesting
+    synchronized void pause() {
+        paused = true;
+        cancelScheduledRenewal();
+    }
+
+    @VisibleForTesting
+    synchronized void resume() {
+        paused = false;
+        reschedule();
+    }
+
+    private synchronized void reschedule() {
+        cancelScheduledRenewal();
+        if (paused || stopped || renewalRejected) {
+            return;
+        }
+        Long expiresAt = credentials.getRenewableExpiresAt();
+        if (expiresAt != null) {
+            schedule(expiresAt);
+        }
+    }
+
+    private void schedule(long expiresAt) {
+        long remaining = Math.max(0, expiresAt - credentials.getCurrentTimeInMillis());
+        long jitter = maxJitterMillis > 0 ? (long) (random.nextDouble() * maxJitterMillis) : 0;
+        long delay = Math.min(remaining, (long) (remaining * lifetimeFraction) + jitter);
+        Log.d(TAG, "Scheduling the renewal of the credentials in " + delay + " ms.");
+        scheduleRenewal(delay);
+    }
+
+    private void scheduleRenewal(long delay) {
+        scheduledRenewal = executor.schedule(new Runnable() {
+            @Override
+            public void run() {
+                renew();
+            }
+        }, delay, TimeUnit.MILLISECONDS);
+    }
+
+    private void renew() {
+        synchronized (this) {
+            if (paused || stopped) {
+                return;
+            }
+            scheduledRenewal = null;
+        }
+        credentials.renew(new BaseCallback<Credentials, CredentialsManagerException>() {
+            @Override
+            public void onSuccess(Credentials payload) {
+                Log.d(TAG, "The credentials were renewed in the background.");
+            }
+
+            @Override
+            public void onFailure(CredentialsManagerException error) {
+                Log.w(TAG, "The credentials couldn't be renewed in the background.", error);
+                onRenewalFailed(error);
+            }
+        });
+    }
+
+    /**
+     * Checks if the server refused to renew the credentials for a reason that retrying won't fix, like a revoked Refresh Token.
+     * Too many requests and request timeouts are not considered rejections.
+     */
+    private static boolean isRejectedRenewal(CredentialsManagerException error) {
+        if (!(error.getCause() instanceof AuthenticationException)) {
+            return false;
+        }
+        final AuthenticationException cause = (AuthenticationException) error.getCause();
+        final int statusCode = cause.getStatusCode();
+        if (statusCode >= 400 && statusCode < 500) {
+            return statusCode != 408 && statusCode != 429;
+        }
+        return REJECTED_RENEWAL_CODES.contains(cause.getCode());
+    }
+
+    private void cancelScheduledRenewal() {
+        if (scheduledRenewal != null) {
+            scheduledRenewal.cancel(false);
+            scheduledRenewal = null;
+        }
+    }
+
+    private void cancelScheduledPause() {
+        if (scheduledPause != null) {
+            scheduledPause.cancel(false);
+            scheduledPause = null;
+        }
+    }
+
+    private synchronized void pauseIfInBackground() {
+        scheduledPause = null;
+        //Activities started before registration may still be visible, so the process importance has the last word
+        if (startedActivities == 0 && !paused && !stopped && !isInForeground()) {
+            Log.d(TAG, "The application moved to the background. Pausing the renewal of the credentials.");
+            pause();
+        }
+    }
+
+    //When the state can't be known the process is assumed to be in the foreground, so renewals are never skipped
+    @VisibleForTesting
+    boolean isInForeground() {
+        ActivityManager activityManager = application == null ? null : (ActivityManager) application.getSystemService(Context.ACTIVITY_SERVICE);
+        List<ActivityManager.RunningAppProcessInfo> processes = activityManager == null ? null : activityManager.getRunningAppProcesses();
+        if (processes == null) {
+            return true;
+        }
+        int pid = Process.myPid();
+        for (ActivityManager.RunningAppProcessInfo process : processes) {
+            if (process.pid == pid) {
+                return process.importance <= ActivityManager.RunningAppProcessInfo.IMPORTANCE_VISIBLE;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public synchronized void onActivityStarted(Activity activity) {
+        startedActivities++;
+        cancelScheduledPause();
+        if (paused) {
+            Log.d(TAG, "The application moved to the foreground. Resuming the renewal of the credentials.");
+            resume();
+        }
+    }
+
+    @Override
+    public synchronized void onActivityStopped(Activity activity) {
+        startedActivities = Math.max(0, startedActivities - 1);
+        if (startedActivities == 0 && !paused && !stopped) {
+            cancelScheduledPause();
+            scheduledPause = executor.schedule(new Runnable() {
+                @Override
+                public void run() {
+                    pauseIfInBackground();
+                }
+            }, PAUSE_DELAY_MILLIS, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    @Override
+    public void onActivityCreated(Activity activity, Bundle savedInstanceState) {
+    }
+
+    @Override
+    public void onActivityResumed(Activity activity) {
+    }
+
+    @Override
+    public void onActivityPaused(Activity activity) {
+    }
+
+    @Override
+    public void onActivitySaveInstanceState(Activity activity, Bundle outState) {
+    }
+
+    @Override
+    public void onActivityDestroyed(Activity activity) {
+    }
+}
@@ -2,9 +2,12 @@ package com.auth0.android.authentication.storage;
 
 import android.app.Activity;
 import android.app.KeyguardManager;
+import android.content.ComponentCallbacks2;
 import android.content.Context;
 import android.content.Intent;
+import android.content.res.Configuration;
 import android.os.Build;
+import android.support.annotation.FloatRange;
 import android.support.annotation.IntRange;
 import android.support.annotation.NonNull;
 import android.support.annotation.Nullable;
@@ -14,8 +17,6 @@ import android.util.Base64;
 import android.util.Log;
 
 import com.auth0.android.authentication.AuthenticationAPIClient;
-import com.auth0.android.authentication.AuthenticationException;
-import com.auth0.android.callback.AuthenticationCallback;
 import com.auth0.android.callback.BaseCallback;
 import com.auth0.android.request.internal.GsonProvider;
 import com.auth0.android.result.Credentials;
@@ -43,6 +44,7 @@ public class SecureCredentialsManager {
     private final Storage storage;
     private final CryptoUtil crypto;
     private final Gson gson;
+    private final RefreshCoordinator refreshCoordinator;
 
     //Changeable by the user
     private boolean authenticateBeforeDecrypt;
@@ -53,6 +55,17 @@ public class SecureCredentialsManager {
     private BaseCallback<Credentials, CredentialsManagerException> decryptCallback;
     private Intent authIntent;
 
+    //In-memory cache of the decrypted credentials
+    private Context context;
+    private volatile boolean inMemoryCacheEnabled;
+    private volatile long inMemoryCacheMaxAge;
+    private volatile CachedCredentials cachedCredentials;
+    //Changes every time the stored credentials are saved or cleared, so an older decryption isn't cached over them
+    private long storageGeneration;
+    private ComponentCallbacks2 trimMemoryCallbacks;
+
+    private volatile RefreshScheduler refreshScheduler;
+    private volatile long revalidationWindow;
 
     @VisibleForTesting
     SecureCredentialsManager(@NonNull AuthenticationAPIClient apiClient, @NonNull Storage storage, @NonNull CryptoUtil crypto) {
@@ -61,6 +74,12 @@ public class SecureCredentialsManager {
         this.crypto = crypto;
         this.gson = GsonProvider.buildGson();
         this.authenticateBeforeDecrypt = false;
+        this.refreshCoordinator = new RefreshCoordinator(apiClient, new RefreshCoordinator.CredentialsSaver() {
+            @Override
+            public void saveCredentials(@NonNull Credentials credentials) throws CredentialsManagerException {
+                SecureCredentialsManager.this.saveCredentials(credentials);
+            }
+        });
     }
 
     /**
@@ -72,6 +91,7 @@ public class SecureCredentialsManager {
      */
     public SecureCredentialsManager(@NonNull Context context, @NonNull AuthenticationAPIClient apiClient, @NonNull Storage storage) {
         this(apiClient, storage, new CryptoUtil(context, storage, KEY_ALIAS));
+        this.context = context.getApplicationContext();
     }
 
     /**
@@ -104,6 +124,104 @@ public class SecureCredentialsManager {
         return authenticateBeforeDecrypt;
     }
 
+    /**
+     * Keep the decrypted credentials in memory so that subsequent calls to {@link #getCredentials(BaseCallback)} skip the
+     * Base64 decoding, the decryption and the JSON parsing of the stored value. A cached value is discarded once the tokens
+     * expire or after the max age set with {@link #setInMemoryCacheMaxAge(long)}, when the credentials are cleared,
+     * and when the application moves to the background. If authentication was required with
+     * {@link #requireAuthentication(Activity, int, String, String)} the LockScreen is still shown on every call.
+     * This feature is disabled by default.
+     *
+     * @param enabled whether the decrypted credentials should be kept in memory or not.
+     */
+    public synchronized void setInMemoryCacheEnabled(boolean enabled) {
+        this.inMemoryCacheEnabled = enabled;
+        this.cachedCredentials = null;
+        if (context == null) {
+            return;
+        }
+        if (enabled && trimMemoryCallbacks == null) {
+            trimMemoryCallbacks = new TrimMemoryCallbacks();
+            context.registerComponentCallbacks(trimMemoryCallbacks);
+        } else if (!enabled && trimMemoryCallbacks != null) {
+            context.unregisterComponentCallbacks(trimMemoryCallbacks);
+            trimMemoryCallbacks = null;
+        }
+    }
+
+    /**
+     * Sets the maximum time the decrypted credentials can be kept in memory, regardless of their expiration.
+     * Only used when {@link #setInMemoryCacheEnabled(boolean)} is enabled. By default is 0, meaning that the
+     * cached value is only bound to the expiration of the tokens.
+     *
+     * @param seconds the maximum age in seconds of the cached credentials, or 0 for no limit.
+     */
+    public void setInMemoryCacheMaxAge(@IntRange(from = 0) long seconds) {
+        if (seconds < 0) {
+            throw new IllegalArgumentException("The max age must be a positive value or 0.");
+        }
+        this.inMemoryCacheMaxAge = seconds * 1000;
+    }
+
+    /**
+     * Renew the stored credentials in the background before they expire, so that {@link #getCredentials(BaseCallback)}
+     * doesn't have to wait for a renewal. The renewal happens after the given fraction of the remaining lifetime of the
+     * credentials has passed, plus a random delay of up to the given jitter. Renewals are paused while the application is
+     * in the background, and join any renewal already in progress. Only credentials with a Refresh Token are renewed, and
+     * nothing is renewed while authentication is required with {@link #requireAuthentication(Activity, int, String, String)}.
+     * This feature is disabled by default.
+     *
+     * @param context          a valid context.
+     * @param lifetimeFraction the fraction of the remaining lifetime after which the credentials are renewed. Must be a value between 0 and 1.
+     * @param maxJitterSeconds the maximum random delay in seconds added to each renewal.
+     */
+    public void enableProactiveRefresh(@NonNull Context context, @FloatRange(from = 0, to = 1, fromInclusive = false, toInclusive = false) float lifetimeFraction, @IntRange(from = 0) long maxJitterSeconds) {
+        RefreshScheduler scheduler = RefreshScheduler.start(context, new RefreshScheduler.RenewableCredentials() {
+            @Nullable
+            @Override
+            public Long getRenewableExpiresAt() {
+                Boolean canRefresh = storage.retrieveBoolean(KEY_CAN_REFRESH);
+                if (authenticateBeforeDecrypt || canRefresh == null || !canRefresh) {
+                    return null;
+                }
+                return storage.retrieveLong(KEY_EXPIRES_AT);
+            }
+
+            @Override
+            public long getCurrentTimeInMillis() {
+                return SecureCredentialsManager.this.getCurrentTimeInMillis();
+            }
+
+            @Override
+            public void renew(@NonNull BaseCallback<Credentials, CredentialsManagerException> callback) {
+                renewInBackground(callback);
+            }
+        }, lifetimeFraction, maxJitterSeconds);
+        setRefreshScheduler(scheduler);
+    }
+
+    /**
+     * Stop renewing the stored credentials in the background.
+     */
+    public void disableProactiveRefresh() {
+        setRefreshScheduler(null);
+    }
+
+    /**
+     * Sets a window before the expiration of the credentials in which {@link #getCredentials(BaseCallback)} returns the
+     * stored credentials right away and renews them in the background, so that the next call receives fresh ones.
+     * Only credentials that have already expired make the caller wait for a renewal. By default is 0, meaning that the
+     * credentials are only renewed once they have expired.
+     *
+     * @param seconds the time in seconds before the expiration in which the credentials are renewed in the background.
+     */
+    public void setRevalidationWindow(@IntRange(from = 0) long seconds) {
+        if (seconds < 0) {
+            throw new IllegalArgumentException("The revalidation window must be a positive value or 0.");
+        }
+        this.revalidationWindow = seconds * 1000;
+    }
+
     /**
      * Checks the result after showing the LockScreen to the user.
      * Must be called from the {@link Activity#onActivityResult(int, int, Intent)} method with the received parameters.
@@ -145,12 +263,22 @@ public class SecureCredentialsManager {
         try {
             byte[] encrypted = crypto.encrypt(json.getBytes());
             String encryptedEncoded = Base64.encodeToString(encrypted, Base64.DEFAULT);
-            storage.store(KEY_CREDENTIALS, encryptedEncoded);
-            storage.store(KEY_EXPIRES_AT, expiresAt);
-            storage.store(KEY_CAN_REFRESH, canRefresh);
+            SequentialStorageTransaction.begin(storage)
+                    .store(KEY_CREDENTIALS, encryptedEncoded)
+                    .store(KEY_EXPIRES_AT, expiresAt)
+                    .store(KEY_CAN_REFRESH, canRefresh)
+                    .commit();
+            synchronized (this) {
+                storageGeneration++;
+                cacheCredentials(credentials, storageGeneration);
+            }
         } catch (CryptoException e) {
             throw new CredentialsManagerException("An error occurred while encrypting the credentials.", e);
         }
+        final RefreshScheduler scheduler = refreshScheduler;
+        if (scheduler != null) {
+            scheduler.onCredentialsSaved(expiresAt);
+        }
     }
 
     /**
@@ -179,9 +307,19 @@ public class SecureCredentialsManager {
      * Delete the stored credentials
      */
     public void clearCredentials() {
-        storage.remove(KEY_CREDENTIALS);
-        storage.remove(KEY_EXPIRES_AT);
-        storage.remove(KEY_CAN_REFRESH);
+        SequentialStorageTransaction.begin(storage)
+                .remove(KEY_CREDENTIALS)
+                .remove(KEY_EXPIRES_AT)
+                .remove(KEY_CAN_REFRESH)
+                .commit();
+        synchronized (this) {
+            storageGeneration++;
+            cachedCredentials = null;
+        }
+        final RefreshScheduler scheduler = refreshScheduler;
+        if (scheduler != null) {
+            scheduler.onCredentialsCleared();
+        }
         Log.d(TAG, "Credentials were just removed from the storage");
     }
 
@@ -200,6 +338,15 @@ public class SecureCredentialsManager {
     }
 
     private void continueGetCredentials(final BaseCallback<Credentials, CredentialsManagerException> callback) {
+        Credentials cached = getCachedCredentials();
+        if (cached != null) {
+            revalidateIfNeeded(cached);
+            callback.onSuccess(cached);
+            decryptCallback = null;
+            return;
+        }
+
+        final long generation = getStorageGeneration();
         String encryptedEncoded = storage.retrieveString(KEY_CREDENTIALS);
         byte[] encrypted = Base64.decode(encryptedEncoded, Base64.DEFAULT);
 
@@ -216,7 +363,18 @@ public class SecureCredentialsManager {
             decryptCallback = null;
             return;
         }
+        if (crypto.isLegacyFormat(encrypted)) {
+            Log.d(TAG, "The stored credentials use a legacy encryption format. Encrypting them again.");
+            try {
+                saveCredentials(credentials);
+                crypto.deleteLegacyIV();
+            } catch (CredentialsManagerException e) {
+                Log.w(TAG, "Couldn't migrate the stored credentials to the current encryption format.", e);
+            }
+        }
         if (credentials.getExpiresAt().getTime() > getCurrentTimeInMillis()) {
+            cacheCredentials(credentials, generation);
+            revalidateIfNeeded(credentials);
             callback.onSuccess(credentials);
             decryptCallback = null;
             return;
@@ -228,27 +386,124 @@ public class SecureCredentialsManager {
         }
 
         Log.d(TAG, "Credentials have expired. Renewing them now...");
-        apiClient.renewAuth(credentials.getRefreshToken()).start(new AuthenticationCallback<Credentials>() {
+        refreshCoordinator.renew(credentials.getRefreshToken(), new BaseCallback<Credentials, CredentialsManagerException>() {
             @Override
-            public void onSuccess(Credentials fresh) {
-                //RefreshTokens don't expire. It should remain the same
-                Credentials refreshed = new Credentials(fresh.getIdToken(), fresh.getAccessToken(), fresh.getType(), credentials.getRefreshToken(), fresh.getExpiresAt(), fresh.getScope());
-                saveCredentials(refreshed);
+            public void onSuccess(Credentials refreshed) {
                 callback.onSuccess(refreshed);
                 decryptCallback = null;
             }
 
             @Override
-            public void onFailure(AuthenticationException error) {
-                callback.onFailure(new CredentialsManagerException("An error occurred while trying to use the Refresh Token to renew the Credentials.", error));
+            public void onFailure(CredentialsManagerException error) {
+                callback.onFailure(error);
                 decryptCallback = null;
             }
         });
     }
 
+    private void renewInBackground(BaseCallback<Credentials, CredentialsManagerException> callback) {
+        if (authenticateBeforeDecrypt) {
+            return;
+        }
+        String encryptedEncoded = storage.retrieveString(KEY_CREDENTIALS);
+        if (isEmpty(encryptedEncoded)) {
+            return;
+        }
+        final Credentials credentials;
+        try {
+            byte[] encrypted = Base64.decode(encryptedEncoded, Base64.DEFAULT);
+            credentials = gson.fromJson(new String(crypto.decrypt(encrypted)), Credentials.class);
+        } catch (CryptoException e) {
+            Log.w(TAG, "The credentials couldn't be decrypted to renew them in the background.", e);
+            return;
+        }
+        if (isEmpty(credentials.getRefreshToken())) {
+            return;
+        }
+        refreshCoordinator.renew(credentials.getRefreshToken(), callback);
+    }
+
+    private void revalidateIfNeeded(Credentials credentials) {
+        String refreshToken = credentials.getRefreshToken();
+        if (!isEmpty(refreshToken) && credentials.getExpiresAt().getTime() - getCurrentTimeInMillis() <= revalidationWindow) {
+            Log.d(TAG, "Credentials are about to expire. Renewing them in the background...");
+            refreshCoordinator.renewInBackground(refreshToken);
+        }
+    }
+
+    @VisibleForTesting
+    void setRefreshScheduler(@Nullable RefreshScheduler scheduler) {
+        final RefreshScheduler previous;
+        synchronized (this) {
+            previous = refreshScheduler;
+            refreshScheduler = scheduler;
+        }
+        if (previous != null) {
+            previous.stop();
+        }
+    }
+
     @VisibleForTesting
     long getCurrentTimeInMillis() {
         return System.currentTimeMillis();
     }
 
+    private synchronized long getStorageGeneration() {
+        return storageGeneration;
+    }
+
+    /**
+     * Keeps the given credentials in memory, unless the stored ones were saved or cleared after they were read.
+     *
+     * @param credentials the credentials read from the storage.
+     * @param generation  the storage generation when they were read.
+     */
+    private synchronized void cacheCredentials(Credentials credentials, long generation) {
+        if (inMemoryCacheEnabled && generation == storageGeneration) {
+            cachedCredentials = new CachedCredentials(credentials, getCurrentTimeInMillis());
+        }
+    }
+
+    @Nullable
+    private Credentials getCachedCredentials() {
+        final CachedCredentials cached = cachedCredentials;
+        if (!inMemoryCacheEnabled || cached == null) {
+            return null;
+        }
+        long now = getCurrentTimeInMillis();
+        long maxAge = inMemoryCacheMaxAge;
+        if (cached.credentials.getExpiresAt().getTime() <= now || maxAge > 0 && now - cached.cachedAt >= maxAge) {
+            return null;
+        }
+        return cached.credentials;
+    }
+
+    private static final class CachedCredentials {
+        final Credentials credentials;
+        final long cachedAt;
+
+        CachedCredentials(Credentials credentials, long cachedAt) {
+            this.credentials = credentials;
+            this.cachedAt = cachedAt;
+        }
+    }
+
+    private class TrimMemoryCallbacks implements ComponentCallbacks2 {
+        @Override
+        public void onTrimMemory(int level) {
+            if (level >= TRIM_MEMORY_UI_HIDDEN) {
+                Log.d(TAG, "The application UI was hidden. Clearing the in-memory credentials.");
+                cachedCredentials = null;
+            }
+        }
+
+        @Override
+        public void onConfigurationChanged(Configuration newConfig) {
+        }
+
+        @Override
+        public void onLowMemory() {
+            cachedCredentials = null;
+        }
+    }
 }
@@ -0,0 +1,75 @@
+package com.auth0.android.authentication.storage;
+
+import android.content.Context;
+import android.support.annotation.NonNull;
+import android.support.annotation.Nullable;
+import android.support.annotation.VisibleForTesting;
+import android.util.Base64;
+import android.util.Log;
+
+import com.auth0.android.request.ProfileCache;
+
+import java.nio.charset.Charset;
+
+/**
+ * Saves the entries of a {@link ProfileCache} to the given Storage, encrypted with a key kept in the Android KeyStore.
+ * Entries that can't be decrypted are discarded, so the cache starts empty instead of failing.
+ */
+public class SecureProfileStore implements ProfileCache.Store {
+
+    private static final String TAG = SecureProfileStore.class.getSimpleName();
+    private static final String KEY_ALIAS = "com.auth0.profile_cache_key";
+    private static final String KEY_ENTRIES = "com.auth0.profile_cache";
+    private static final Charset UTF_8 = Charset.forName("UTF-8");
+
+    private final Storage storage;
+    private final CryptoUtil crypto;
+
+    /**
+     * Creates a new encrypted store for a profile cache.
+     *
+     * @param context a valid context.
+     * @param storage the storage implementation to use, i.e. a {@link SharedPreferencesStorage} with its own file name.
+     */
+    public SecureProfileStore(@NonNull Context context, @NonNull Storage storage) {
+        this(storage, new CryptoUtil(context, storage, KEY_ALIAS));
+    }
+
+    @VisibleForTesting
+    SecureProfileStore(@NonNull Storage storage, @NonNull CryptoUtil crypto) {
+        this.storage = storage;
+        this.crypto = crypto;
+    }
+
+    @Nullable
+    @Override
+    public String load() {
+        String encryptedEncoded = storage.retrieveString(KEY_ENTRIES);
+        if (encryptedEncoded == null) {
+            return null;
+        }
+        try {
+            byte[] encrypted = Base64.decode(encryptedEncoded, Base64.DEFAULT);
+            return new String(crypto.decrypt(encrypted), UTF_8);
+        } catch (CryptoException | IllegalArgumentException e) {
+            Log.w(TAG, "The saved profiles could not be decrypted and will be discarded.", e);
+            storage.remove(KEY_ENTRIES);
+            return null;
+        }
+    }
+
+    @Override
+    public void save(@Nullable String entries) {
+        if (entries == null) {
+            storage.remove(KEY_ENTRIES);
+            return;
+        }
+        try {
+            byte[] encrypted = crypto.encrypt(entries.getBytes(UTF_8));
+            storage.store(KEY_ENTRIES, Base64.encodeToString(encrypted, Base64.DEFAULT));
+        } catch (CryptoException e) {
+            Log.w(TAG, "The profiles could not be encrypted and won't be saved.", e);
+            storage.remove(KEY_ENTRIES);
+        }
+    }
+}
@@ -0,0 +1,108 @@
+package com.auth0.android.authentication.storage;
+
+import android.support.annotation.NonNull;
+import android.support.annotation.Nullable;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Transaction used for {@link Storage} implementations that can't write several values at once.
+ * The changes are kept in memory and written one by one, in order, when committed.
+ */
+class SequentialStorageTransaction implements StorageTransaction {
+
+    private final Storage storage;
+    private final List<Operation> operations;
+
+    SequentialStorageTransaction(@NonNull Storage storage) {
+        this.storage = storage;
+        this.operations = new ArrayList<>();
+    }
+
+    /**
+     * Starts a transaction for the given storage, using its own implementation if available.
+     *
+     * @param storage the storage to write the changes to.
+     * @return a new transaction for the storage.
+     */
+    @NonNull
+    static StorageTransaction begin(@NonNull Storage storage) {
+        if (storage instanceof TransactionalStorage) {
+            return ((TransactionalStorage) storage).beginTransaction();
+        }
+        return new SequentialStorageTransaction(storage);
+    }
+
+    @NonNull
+    @Override
+    public StorageTransaction store(@NonNull final String name, @Nullable final Long value) {
+        operations.add(new Operation() {
+            @Override
+            void applyTo(Storage storage) {
+                storage.store(name, value);
+            }
+        });
+        return this;
+    }
+
+    @NonNull
+    @Override
+    public StorageTransaction store(@NonNull final String name, @Nullable final Integer value) {
+        operations.add(new Operation() {
+            @Override
+            void applyTo(Storage storage) {
+                storage.store(name, value);
+            }
+        });
+        return this;
+    }
+
+    @NonNull
+    @Override
+    public StorageTransaction store(@NonNull final String name, @Nullable final String value) {
+        operations.add(new Operation() {
+            @Override
+            void applyTo(Storage storage) {
+                storage.store(name, value);
+            }
+        });
+        return this;
+    }
+
+    @NonNull
+    @Override
+    public StorageTransaction store(@NonNull final String name, @Nullable final Boolean value) {
+        operations.add(new Operation() {
+            @Override
+            void applyTo(Storage storage) {
+                storage.store(name, value);
+            }
+        });
+        return this;
+    }
+
+    @NonNull
+    @Override
+    public StorageTransaction remove(@NonNull final String name) {
+        operations.add(new Operation() {
+            @Override
+            void applyTo(Storage storage) {
+                storage.remove(name);
+            }
+        });
+        return this;
+    }
+
+    @Override
+    public void commit() {
+        for (Operation operation : operations) {
+            operation.applyTo(storage);
+        }
+        operations.clear();
+    }
+
+    private abstract static class Operation {
+        abstract void applyTo(Storage storage);
+    }
+}
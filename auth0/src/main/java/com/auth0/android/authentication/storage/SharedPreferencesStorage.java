@@ -11,7 +11,7 @@ import android.text.TextUtils;
  * An implementation of {@link Storage} that uses {@link android.content.SharedPreferences} in Context.MODE_PRIVATE to store the values.
  */
 @SuppressWarnings({"WeakerAccess", "unused"})
-public class SharedPreferencesStorage implements Storage {
+public class SharedPreferencesStorage implements TransactionalStorage {
 
     private static final String SHARED_PREFERENCES_NAME = "com.auth0.authentication.storage";
 
@@ -115,4 +115,78 @@ public class SharedPreferencesStorage implements Storage {
     public void remove(@NonNull String name) {
         sp.edit().remove(name).apply();
     }
+
+    @NonNull
+    @Override
+    public StorageTransaction beginTransaction() {
+        return new EditorTransaction(sp.edit());
+    }
+
+    /**
+     * Transaction backed by a single {@link SharedPreferences.Editor}, applied once on commit.
+     */
+    private static class EditorTransaction implements StorageTransaction {
+
+        private final SharedPreferences.Editor editor;
+
+        EditorTransaction(SharedPreferences.Editor editor) {
+            this.editor = editor;
+        }
+
+        @NonNull
+        @Override
+        public StorageTransaction store(@NonNull String name, @Nullable Long value) {
+            if (value == null) {
+                editor.remove(name);
+            } else {
+                editor.putLong(name, value);
+            }
+            return this;
+        }
+
+        @NonNull
+        @Override
+        public StorageTransaction store(@NonNull String name, @Nullable Integer value) {
+            if (value == null) {
+                editor.remove(name);
+            } else {
+                editor.putInt(name, value);
+            }
+            return this;
+        }
+
+        @NonNull
+        @Override
+        public StorageTransaction store(@NonNull String name, @Nullable String value) {
+            if (value == null) {
+                editor.remove(name);
+            } else {
+                editor.putString(name, value);
+            }
+            return this;
+        }
+
+        @NonNull
+        @Override
+        public StorageTransaction store(@NonNull String name, @Nullable Boolean value) {
+            if (value == null) {
+                editor.remove(name);
+            } else {
+                editor.putBoolean(name, value);
+            }
+            return this;
+        }
+
+        @NonNull
+        @Override
+        public StorageTransaction remove(@NonNull String name) {
+            editor.remove(name);
+            return this;
+        }
+
+        @Override
+        public void commit() {
+            editor.apply();
+        }
+    }
 }
@@ -0,0 +1,66 @@
+package com.auth0.android.authentication.storage;
+
+import android.support.annotation.NonNull;
+import android.support.annotation.Nullable;
+
+/**
+ * Represents a group of changes to a {@link Storage} that are written together.
+ * Nothing is written until {@link #commit()} is called.
+ */
+@SuppressWarnings("WeakerAccess")
+public interface StorageTransaction {
+
+    /**
+     * Store a given value when this transaction is committed.
+     *
+     * @param name  the name of the value to store.
+     * @param value the value to store. Can be null.
+     * @return this same transaction instance.
+     */
+    @NonNull
+    StorageTransaction store(@NonNull String name, @Nullable Long value);
+
+    /**
+     * Store a given value when this transaction is committed.
+     *
+     * @param name  the name of the value to store.
+     * @param value the value to store. Can be null.
+     * @return this same transaction instance.
+     */
+    @NonNull
+    StorageTransaction store(@NonNull String name, @Nullable Integer value);
+
+    /**
+     * Store a given value when this transaction is committed.
+     *
+     * @param name  the name of the value to store.
+     * @param value the value to store. Can be null.
+     * @return this same transaction instance.
+     */
+    @NonNull
+    StorageTransaction store(@NonNull String name, @Nullable String value);
+
+    /**
+     * Store a given value when this transaction is committed.
+     *
+     * @param name  the name of the value to store.
+     * @param value the value to store. Can be null.
+     * @return this same transaction instance.
+     */
+    @NonNull
+    StorageTransaction store(@NonNull String name, @Nullable Boolean value);
+
+    /**
+     * Removes a value from the storage when this transaction is committed.
+     *
+     * @param name the name of the value to remove.
+     * @return this same transaction instance.
+     */
+    @NonNull
+    StorageTransaction remove(@NonNull String name);
+
+    /**
+     * Writes every change added to this transaction.
+     */
+    void commit();
+}
@@ -0,0 +1,19 @@
+package com.auth0.android.authentication.storage;
+
+import android.support.annotation.NonNull;
+
+/**
+ * Represents a {@link Storage} able to write several values in a single operation.
+ * Storage implementations that don't implement this interface will have their values written one by one.
+ */
+@SuppressWarnings("WeakerAccess")
+public interface TransactionalStorage extends Storage {
+
+    /**
+     * Starts a new group of changes that will be written atomically when committed.
+     *
+     * @return a new transaction for this storage.
+     */
+    @NonNull
+    StorageTransaction beginTransaction();
+}
@@ -0,0 +1,60 @@
+package com.auth0.android.callback;
+
+import android.os.Handler;
+import android.os.Looper;
+import android.support.annotation.NonNull;
+
+import java.util.concurrent.Executor;
+
+/**
+ * Executors that define the thread on which the request callbacks are called.
+ *
+ * @see com.auth0.android.Auth0#setCallbackExecutor(Executor)
+ */
+public final class CallbackExecutors {
+
+    private static final Executor DIRECT = new Executor() {
+        @Override
+        public void execute(@NonNull Runnable command) {
+            command.run();
+        }
+    };
+
+    private CallbackExecutors() {
+    }
+
+    /**
+     * Calls the callbacks on the main thread. When the result is already available on the main thread the callback
+     * is called right away, otherwise it's posted to the main looper.
+     *
+     * @return the main thread executor.
+     */
+    public static Executor mainThread() {
+        return MainThreadExecutorHolder.EXECUTOR;
+    }
+
+    /**
+     * Calls the callbacks on the thread that received the result, which is one of the network threads for
+     * asynchronous requests. The callbacks must then return quickly, as they hold that thread while they run.
+     *
+     * @return the direct executor.
+     */
+    public static Executor direct() {
+        return DIRECT;
+    }
+
+    private static final class MainThreadExecutorHolder {
+        static final Executor EXECUTOR = new Executor() {
+            private final Handler handler = new Handler(Looper.getMainLooper());
+
+            @Override
+            public void execute(@NonNull Runnable command) {
+                if (Looper.myLooper() == Looper.getMainLooper()) {
+                    command.run();
+                } else {
+                    handler.post(command);
+                }
+            }
+        };
+    }
+}
@@ -26,13 +26,17 @@ package com.auth0.android.management;
 
 
 import android.content.Context;
+import android.support.annotation.Nullable;
 import android.support.annotation.VisibleForTesting;
 
 import com.auth0.android.Auth0;
-import com.auth0.android.authentication.ParameterBuilder;
 import com.auth0.android.request.ErrorBuilder;
+import com.auth0.android.request.ParameterizableRequest;
+import com.auth0.android.request.ProfileCache;
 import com.auth0.android.request.Request;
+import com.auth0.android.request.RetryableRequest;
 import com.auth0.android.request.internal.GsonProvider;
+import com.auth0.android.request.internal.HttpClientOptions;
 import com.auth0.android.request.internal.ManagementErrorBuilder;
 import com.auth0.android.request.internal.RequestFactory;
 import com.auth0.android.result.UserIdentity;
@@ -47,6 +51,7 @@ import com.squareup.okhttp.logging.HttpLoggingInterceptor;
 
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.Executor;
 
 /**
  * API client for Auth0 Management API.
@@ -73,6 +78,7 @@ public class UsersAPIClient {
     private final Gson gson;
     private final RequestFactory factory;
     private final ErrorBuilder<ManagementException> mgmtErrorBuilder;
+    private volatile HttpUrl usersUrl;
 
     /**
      * Creates a new API client instance providing Auth0 account info.
@@ -102,10 +108,12 @@ public class UsersAPIClient {
 
     private UsersAPIClient(Auth0 auth0, RequestFactory factory, OkHttpClientFactory clientFactory, Gson gson) {
         this.auth0 = auth0;
-        client = clientFactory.createClient(auth0.isLoggingEnabled(), auth0.isTLS12Enforced());
+        client = clientFactory.getSharedClient(HttpClientOptions.from(auth0));
         this.gson = gson;
         this.factory = factory;
         this.mgmtErrorBuilder = new ManagementErrorBuilder();
+        factory.setCallbackExecutor(auth0.getCallbackExecutor());
+        factory.setNetworkEventListener(auth0.getNetworkEventListener());
         final Telemetry telemetry = auth0.getTelemetry();
         if (telemetry != null) {
             factory.setClientInfo(telemetry.getValue());
@@ -130,6 +138,16 @@ public class UsersAPIClient {
         factory.setUserAgent(userAgent);
     }
 
+    /**
+     * Set the executor used to call the callbacks of the requests to Auth0 Management API, overriding the one set in {@link Auth0#setCallbackExecutor(Executor)}
+     *
+     * @param executor the callback executor, or null to call the callbacks on the network threads.
+     * @see com.auth0.android.callback.CallbackExecutors
+     */
+    public void setCallbackExecutor(@Nullable Executor executor) {
+        factory.setCallbackExecutor(executor);
+    }
+
     /**
      * Link a user identity calling <a href="https://auth0.com/docs/link-accounts#the-management-api">'/api/v2/users/:primaryUserId/identities'</a> endpoint
      * Example usage:
@@ -152,22 +170,15 @@ public class UsersAPIClient {
      */
     @SuppressWarnings("WeakerAccess")
     public Request<List<UserIdentity>, ManagementException> link(String primaryUserId, String secondaryToken) {
-        HttpUrl url = HttpUrl.parse(auth0.getDomainUrl()).newBuilder()
-                .addPathSegment(API_PATH)
-                .addPathSegment(V2_PATH)
-                .addPathSegment(USERS_PATH)
+        HttpUrl url = usersUrl().newBuilder()
                 .addPathSegment(primaryUserId)
                 .addPathSegment(IDENTITIES_PATH)
                 .build();
 
-        final Map<String, Object> parameters = ParameterBuilder.newBuilder()
-                .set(LINK_WITH_KEY, secondaryToken)
-                .asDictionary();
-
         TypeToken<List<UserIdentity>> typeToken = new TypeToken<List<UserIdentity>>() {
         };
         return factory.POST(url, client, gson, typeToken, mgmtErrorBuilder)
-                .addParameters(parameters);
+                .addParameter(LINK_WITH_KEY, secondaryToken);
     }
 
     /**
@@ -193,10 +204,7 @@ public class UsersAPIClient {
      */
     @SuppressWarnings("WeakerAccess")
     public Request<List<UserIdentity>, ManagementException> unlink(String primaryUserId, String secondaryUserId, String secondaryProvider) {
-        HttpUrl url = HttpUrl.parse(auth0.getDomainUrl()).newBuilder()
-                .addPathSegment(API_PATH)
-                .addPathSegment(V2_PATH)
-                .addPathSegment(USERS_PATH)
+        HttpUrl url = usersUrl().newBuilder()
                 .addPathSegment(primaryUserId)
                 .addPathSegment(IDENTITIES_PATH)
                 .addPathSegment(secondaryProvider)
@@ -230,10 +238,7 @@ public class UsersAPIClient {
      */
     @SuppressWarnings("WeakerAccess")
     public Request<UserProfile, ManagementException> updateMetadata(String userId, Map<String, Object> userMetadata) {
-        HttpUrl url = HttpUrl.parse(auth0.getDomainUrl()).newBuilder()
-                .addPathSegment(API_PATH)
-                .addPathSegment(V2_PATH)
-                .addPathSegment(USERS_PATH)
+        HttpUrl url = usersUrl().newBuilder()
                 .addPathSegment(userId)
                 .build();
 
@@ -262,14 +267,30 @@ public class UsersAPIClient {
      */
     @SuppressWarnings("WeakerAccess")
     public Request<UserProfile, ManagementException> getProfile(String userId) {
-        HttpUrl url = HttpUrl.parse(auth0.getDomainUrl()).newBuilder()
-                .addPathSegment(API_PATH)
-                .addPathSegment(V2_PATH)
-                .addPathSegment(USERS_PATH)
+        HttpUrl url = usersUrl().newBuilder()
                 .addPathSegment(userId)
                 .build();
 
-        return factory.GET(url, client, gson, UserProfile.class, mgmtErrorBuilder);
+        final ProfileCache cache = auth0.getProfileCache();
+        final RetryableRequest<UserProfile, ManagementException> request = cache != null
+                ? factory.GET(url, client, gson, cache, mgmtErrorBuilder)
+                : factory.GET(url, client, gson, UserProfile.class, mgmtErrorBuilder);
+        return request.setRetryPolicy(auth0.getRetryPolicy());
     }
 
+    /**
+     * The URL of the users endpoint, parsed once and shared by every request of the client.
+     */
+    private HttpUrl usersUrl() {
+        HttpUrl usersUrl = this.usersUrl;
+        if (usersUrl == null) {
+            usersUrl = HttpUrl.parse(auth0.getDomainUrl()).newBuilder()
+                    .addPathSegment(API_PATH)
+                    .addPathSegment(V2_PATH)
+                    .addPathSegment(USERS_PATH)
+                    .build();
+            this.usersUrl = usersUrl;
+        }
+        return usersUrl;
+    }
 }
@@ -0,0 +1,262 @@
+package com.auth0.android.provider;
+
+import android.support.annotation.IntRange;
+import android.support.annotation.NonNull;
+import android.support.annotation.Nullable;
+import android.support.annotation.VisibleForTesting;
+import android.util.Base64;
+
+import com.auth0.android.Auth0;
+import com.auth0.android.callback.BaseCallback;
+import com.auth0.android.jwt.DecodeException;
+import com.auth0.android.jwt.JWT;
+
+import java.nio.charset.Charset;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.PublicKey;
+import java.security.Signature;
+import java.util.Date;
+import java.util.List;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+
+/**
+ * Verifies ID tokens locally, without sending them to Auth0. The signature is checked with the tenant public keys for RS256
+ * tokens, or with the client secret for HS256 tokens. The issuer, audience, expiration time and nonce claims are then validated,
+ * allowing for a leeway in the time checks to account for clock skew.
+ */
+public class IdTokenVerifier {
+
+    private static final String ALGORITHM_RS256 = "RS256";
+    private static final String ALGORITHM_HS256 = "HS256";
+    private static final String HEADER_ALGORITHM = "alg";
+    private static final String HEADER_KEY_ID = "kid";
+    private static final String KEY_NONCE = "nonce";
+    private static final String KEY_AUTHORIZED_PARTY = "azp";
+    private static final int DEFAULT_LEEWAY_SECONDS = 60;
+    private static final int BASE64_FLAGS = Base64.URL_SAFE | Base64.NO_WRAP | Base64.NO_PADDING;
+    private static final Charset US_ASCII = Charset.forName("US-ASCII");
+    private static final Charset UTF_8 = Charset.forName("UTF-8");
+
+    private final String issuer;
+    private final String audience;
+    private final JsonWebKeyCache keys;
+    private byte[] clientSecret;
+    private int leeway = DEFAULT_LEEWAY_SECONDS;
+    private Long currentTimeInMillis;
+
+    /**
+     * Creates a verifier for the ID tokens issued by the given Auth0 tenant to the given application.
+     *
+     * @param account the Auth0 account information.
+     * @param keys    the cache of the tenant public keys.
+     */
+    public IdTokenVerifier(@NonNull Auth0 account, @NonNull JsonWebKeyCache keys) {
+        this(account.getDomainUrl(), account.getClientId(), keys);
+    }
+
+    /**
+     * Creates a verifier for ID tokens.
+     *
+     * @param issuer   the expected value of the 'iss' claim.
+     * @param audience the value expected in the 'aud' claim, usually the client id.
+     * @param keys     the cache of the issuer public keys, or null to only accept HS256 tokens.
+     */
+    public IdTokenVerifier(@NonNull String issuer, @NonNull String audience, @Nullable JsonWebKeyCache keys) {
+        this.issuer = issuer;
+        this.audience = audience;
+        this.keys = keys;
+    }
+
+    /**
+     * Set the leeway allowed when checking the expiration time of the tokens. Defaults to 60 seconds.
+     *
+     * @param seconds the leeway in seconds.
+     */
+    public void setLeeway(@IntRange(from = 0) int seconds) {
+        if (seconds < 0) {
+            throw new IllegalArgumentException("The leeway must be a positive value or 0.");
+        }
+        this.leeway = seconds;
+    }
+
+    /**
+     * Set the client secret used to verify HS256 tokens. Only applications that can keep the secret safe should use HS256.
+     *
+     * @param clientSecret the client secret, or null to reject HS256 tokens.
+     */
+    public void setClientSecret(@Nullable String clientSecret) {
+        this.clientSecret = clientSecret != null ? clientSecret.getBytes(UTF_8) : null;
+    }
+
+    @VisibleForTesting
+    void setCurrentTimeInMillis(long currentTimeInMillis) {
+        this.currentTimeInMillis = currentTimeInMillis;
+    }
+
+    /**
+     * Verifies the given ID token. Call it from a background thread, as the public keys may need to be fetched first.
+     *
+     * @param idToken the ID token to verify.
+     * @param nonce   the nonce sent in the authorization request, or null if none was sent.
+     * @return the decoded token.
+     * @throws TokenValidationException if the token is not valid.
+     */
+    @NonNull
+    public JWT verify(@NonNull String idToken, @Nullable String nonce) throws TokenValidationException {
+        final String[] parts = splitToken(idToken);
+        final JWT jwt = decode(idToken);
+        final String algorithm = jwt.getHeader().get(HEADER_ALGORITHM);
+        if (ALGORITHM_RS256.equals(algorithm)) {
+            if (keys == null) {
+                throw unsupportedAlgorithm(algorithm);
+            }
+            verifyRS256(parts, keys.getKey(jwt.getHeader().get(HEADER_KEY_ID)));
+        } else {
+            verifyHS256(parts, algorithm);
+        }
+        validateClaims(jwt, nonce);
+        return jwt;
+    }
+
+    /**
+     * Verifies the given ID token, fetching the public keys first if needed.
+     *
+     * @param idToken  the ID token to verify.
+     * @param nonce    the nonce sent in the authorization request, or null if none was sent.
+     * @param callback called with the decoded token, or with the reason why it's not valid.
+     */
+    public void verify(@NonNull String idToken, @Nullable final String nonce, @NonNull final BaseCallback<JWT, TokenValidationException> callback) {
+        final String[] parts;
+        final JWT jwt;
+        final String algorithm;
+        try {
+            parts = splitToken(idToken);
+            jwt = decode(idToken);
+            algorithm = jwt.getHeader().get(HEADER_ALGORITHM);
+            if (!ALGORITHM_RS256.equals(algorithm)) {
+                verifyHS256(parts, algorithm);
+                validateClaims(jwt, nonce);
+                callback.onSuccess(jwt);
+                return;
+            }
+            if (keys == null) {
+                throw unsupportedAlgorithm(algorithm);
+            }
+        } catch (TokenValidationException e) {
+            callback.onFailure(e);
+            return;
+        }
+        keys.getKey(jwt.getHeader().get(HEADER_KEY_ID), new BaseCallback<PublicKey, TokenValidationException>() {
+            @Override
+            public void onSuccess(PublicKey key) {
+                try {
+                    verifyRS256(parts, key);
+                    validateClaims(jwt, nonce);
+                } catch (TokenValidationException e) {
+                    callback.onFailure(e);
+                    return;
+                }
+                callback.onSuccess(jwt);
+            }
+
+            @Override
+            public void onFailure(TokenValidationException error) {
+                callback.onFailure(error);
+            }
+        });
+    }
+
+    private static String[] splitToken(String idToken) throws TokenValidationException {
+        final String[] parts = idToken.split("\\.");
+        if (parts.length != 3) {
+            throw new TokenValidationException("The ID token is not a valid JWT.");
+        }
+        return parts;
+    }
+
+    private static JWT decode(String idToken) throws TokenValidationException {
+        try {
+            return new JWT(idToken);
+        } catch (DecodeException e) {
+            throw new TokenValidationException("The ID token could not be decoded.", e);
+        }
+    }
+
+    private static void verifyRS256(String[] parts, PublicKey key) throws TokenValidationException {
+        final boolean valid;
+        try {
+            final Signature signature = Signature.getInstance("SHA256withRSA");
+            signature.initVerify(key);
+            signature.update(signingInput(parts));
+            valid = signature.verify(decodeSignature(parts));
+        } catch (GeneralSecurityException e) {
+            throw new TokenValidationException("The ID token signature could not be verified.", e);
+        }
+        if (!valid) {
+            throw new TokenValidationException("Invalid ID token signature.");
+        }
+    }
+
+    private void verifyHS256(String[] parts, String algorithm) throws TokenValidationException {
+        if (!ALGORITHM_HS256.equals(algorithm) || clientSecret == null) {
+            throw unsupportedAlgorithm(algorithm);
+        }
+        final byte[] expected;
+        try {
+            final Mac mac = Mac.getInstance("HmacSHA256");
+            mac.init(new SecretKeySpec(clientSecret, "HmacSHA256"));
+            expected = mac.doFinal(signingInput(parts));
+        } catch (GeneralSecurityException e) {
+            throw new TokenValidationException("The ID token signature could not be verified.", e);
+        }
+        if (!MessageDigest.isEqual(expected, decodeSignature(parts))) {
+            throw new TokenValidationException("Invalid ID token signature.");
+        }
+    }
+
+    private void validateClaims(JWT jwt, String nonce) throws TokenValidationException {
+        if (!issuer.equals(jwt.getIssuer())) {
+            throw new TokenValidationException(String.format("Issuer (iss) claim mismatch in the ID token, expected \"%s\", found \"%s\".", issuer, jwt.getIssuer()));
+        }
+        final List<String> audiences = jwt.getAudience();
+        if (audiences == null || !audiences.contains(audience)) {
+            throw new TokenValidationException(String.format("Audience (aud) claim mismatch in the ID token; expected \"%s\" but was not one of \"%s\".", audience, audiences));
+        }
+        if (audiences.size() > 1 && !audience.equals(jwt.getClaim(KEY_AUTHORIZED_PARTY).asString())) {
+            throw new TokenValidationException(String.format("Authorized Party (azp) claim mismatch in the ID token; expected \"%s\", found \"%s\".", audience, jwt.getClaim(KEY_AUTHORIZED_PARTY).asString()));
+        }
+        final Date expiresAt = jwt.getExpiresAt();
+        if (expiresAt == null) {
+            throw new TokenValidationException("Expiration Time (exp) claim must be a number present in the ID token.");
+        }
+        final long now = currentTimeInMillis != null ? currentTimeInMillis : System.currentTimeMillis();
+        if (now > expiresAt.getTime() + leeway * 1000L) {
+            throw new TokenValidationException(String.format("Expiration Time (exp) claim error in the ID token; current time (%d) is after expiration time (%d).", now / 1000, expiresAt.getTime() / 1000 + leeway));
+        }
+        if (jwt.getIssuedAt() == null) {
+            throw new TokenValidationException("Issued At (iat) claim must be a number present in the ID token.");
+        }
+        if (nonce != null && !nonce.equals(jwt.getClaim(KEY_NONCE).asString())) {
+            throw new TokenValidationException(String.format("Nonce (nonce) claim mismatch in the ID token; expected \"%s\", found \"%s\".", nonce, jwt.getClaim(KEY_NONCE).asString()));
+        }
+    }
+
+    private static byte[] signingInput(String[] parts) {
+        return (parts[0] + "." + parts[1]).getBytes(US_ASCII);
+    }
+
+    private static byte[] decodeSignature(String[] parts) throws TokenValidationException {
+        try {
+            return Base64.decode(parts[2], BASE64_FLAGS);
+        } catch (IllegalArgumentException e) {
+            throw new TokenValidationException("The ID token signature could not be decoded.", e);
+        }
+    }
+
+    private static TokenValidationException unsupportedAlgorithm(String algorithm) {
+        return new TokenValidationException(String.format("Signature algorithm of \"%s\" is not supported.", algorithm));
+    }
+}
@@ -0,0 +1,359 @@
+package com.auth0.android.provider;
+
+import android.support.annotation.IntRange;
+import android.support.annotation.NonNull;
+import android.support.annotation.Nullable;
+import android.support.annotation.VisibleForTesting;
+import android.util.Log;
+
+import com.auth0.android.Auth0Exception;
+import com.auth0.android.authentication.AuthenticationAPIClient;
+import com.auth0.android.authentication.AuthenticationException;
+import com.auth0.android.authentication.storage.Storage;
+import com.auth0.android.callback.BaseCallback;
+import com.auth0.android.request.internal.GsonProvider;
+import com.google.gson.Gson;
+import com.google.gson.JsonParseException;
+import com.google.gson.reflect.TypeToken;
+
+import java.lang.reflect.Type;
+import java.security.PublicKey;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+
+/**
+ * Keeps the public keys of the Auth0 tenant, used to verify the signature of RS256 ID tokens, in memory and in the given Storage.
+ * The keys are fetched from '/.well-known/jwks.json' the first time they are needed and looked up by key id afterwards.
+ * Once older than the max age they are still used while a fresh copy is fetched in the background. A key id that
+ * isn't in the cached set makes the keys be fetched again, at most once per minute, to pick up rotated keys.
+ * Callers that need the keys while they are being fetched wait for that fetch instead of sending another request.
+ */
+public class JsonWebKeyCache {
+
+    private static final String TAG = JsonWebKeyCache.class.getSimpleName();
+    private static final String KEY_JWKS = "com.auth0.jwks";
+    private static final String KEY_FETCHED_AT = "com.auth0.jwks_fetched_at";
+    private static final long DEFAULT_MAX_AGE_SECONDS = 24 * 60 * 60;
+    private static final long MIN_REFETCH_INTERVAL_MILLIS = 60 * 1000;
+    private static final String FETCH_ERROR = "Could not fetch the keys to verify the ID token signature.";
+    private static final Type JWKS_TYPE = new TypeToken<Map<String, PublicKey>>() {
+    }.getType();
+
+    private final AuthenticationAPIClient apiClient;
+    private final Storage storage;
+    private final long maxAgeMillis;
+    private final Gson gson;
+
+    private Map<String, PublicKey> keys;
+    private long fetchedAt;
+    private long lastFetchAt;
+    private boolean loaded;
+    private PendingFetch fetch;
+
+    /**
+     * Creates a new key cache that refreshes the keys once a day.
+     *
+     * @param apiClient the client used to fetch the keys.
+     * @param storage   where the keys are saved between application launches, i.e. a {@link com.auth0.android.authentication.storage.SharedPreferencesStorage}.
+     */
+    public JsonWebKeyCache(@NonNull AuthenticationAPIClient apiClient, @NonNull Storage storage) {
+        this(apiClient, storage, DEFAULT_MAX_AGE_SECONDS);
+    }
+
+    /**
+     * Creates a new key cache.
+     *
+     * @param apiClient     the client used to fetch the keys.
+     * @param storage       where the keys are saved between application launches, i.e. a {@link com.auth0.android.authentication.storage.SharedPreferencesStorage}.
+     * @param maxAgeSeconds the age after which the keys are refreshed in the background.
+     */
+    public JsonWebKeyCache(@NonNull AuthenticationAPIClient apiClient, @NonNull Storage storage, @IntRange(from = 0) long maxAgeSeconds) {
+        if (maxAgeSeconds < 0) {
+            throw new IllegalArgumentException("The max age must be a positive value or 0.");
+        }
+        this.apiClient = apiClient;
+        this.storage = storage;
+        this.maxAgeMillis = maxAgeSeconds * 1000;
+        this.gson = GsonProvider.buildGson();
+    }
+
+    /**
+     * Finds the key with the given id, fetching the keys first if needed. Call it from a background thread, as it may perform a network request.
+     *
+     * @param keyId the value of the 'kid' header of the token, or null to use the only key of the tenant.
+     * @return the public key.
+     * @throws TokenValidationException if the keys can't be fetched or none of them has the given id.
+     */
+    @NonNull
+    public PublicKey getKey(@Nullable String keyId) throws TokenValidationException {
+        PublicKey key = findKey(keyId);
+        if (key != null) {
+            return key;
+        }
+        final PendingFetch pending;
+        final boolean started;
+        synchronized (this) {
+            started = fetch == null;
+            pending = started ? startFetch() : fetch;
+        }
+        if (pending == null) {
+            throw keyNotFound(keyId);
+        }
+        if (started) {
+            try {
+                complete(pending, apiClient.fetchJsonWebKeys().execute(), null);
+            } catch (Auth0Exception e) {
+                complete(pending, null, new TokenValidationException(FETCH_ERROR, e));
+            } catch (RuntimeException e) {
+                complete(pending, null, new TokenValidationException(FETCH_ERROR, e));
+                throw e;
+            }
+        }
+        key = selectKey(pending.await(), keyId);
+        if (key == null) {
+            throw keyNotFound(keyId);
+        }
+        return key;
+    }
+
+    /**
+     * Finds the key with the given id, fetching the keys first if needed.
+     *
+     * @param keyId    the value of the 'kid' header of the token, or null to use the only key of the tenant.
+     * @param callback called with the public key, or with an error if the keys can't be fetched or none of them has the given id.
+     */
+    public void getKey(@Nullable final String keyId, @NonNull final BaseCallback<PublicKey, TokenValidationException> callback) {
+        final PublicKey key = findKey(keyId);
+        if (key != null) {
+            callback.onSuccess(key);
+            return;
+        }
+        final PendingFetch pending;
+        final boolean started;
+        synchronized (this) {
+            started = fetch == null;
+            pending = started ? startFetch() : fetch;
+        }
+        if (pending == null) {
+            callback.onFailure(keyNotFound(keyId));
+            return;
+        }
+        addCallback(pending, new BaseCallback<Map<String, PublicKey>, TokenValidationException>() {
+            @Override
+            public void onSuccess(Map<String, PublicKey> fetched) {
+                final PublicKey key = selectKey(fetched, keyId);
+                if (key == null) {
+                    callback.onFailure(keyNotFound(keyId));
+                    return;
+                }
+                callback.onSuccess(key);
+            }
+
+            @Override
+            public void onFailure(TokenValidationException error) {
+                callback.onFailure(error);
+            }
+        });
+        if (started) {
+            fetchAsync(pending);
+        }
+    }
+
+    /**
+     * Fetches the keys in the background, i.e. when the application starts, so that the first verification doesn't wait for them.
+     */
+    public void refresh() {
+        final PendingFetch pending;
+        synchronized (this) {
+            if (fetch != null) {
+                return;
+            }
+            pending = new PendingFetch();
+            fetch = pending;
+        }
+        addCallback(pending, new BaseCallback<Map<String, PublicKey>, TokenValidationException>() {
+            @Override
+            public void onSuccess(Map<String, PublicKey> fetched) {
+            }
+
+            @Override
+            public void onFailure(TokenValidationException error) {
+                Log.w(TAG, "Could not refresh the keys used to verify the ID token signature.", error);
+            }
+        });
+        fetchAsync(pending);
+    }
+
+    /**
+     * Removes the cached keys from memory and from the storage.
+     */
+    public synchronized void clear() {
+        keys = null;
+        fetchedAt = 0;
+        loaded = true;
+        storage.remove(KEY_JWKS);
+        storage.remove(KEY_FETCHED_AT);
+    }
+
+    @VisibleForTesting
+    long getCurrentTimeInMillis() {
+        return System.currentTimeMillis();
+    }
+
+    private PublicKey findKey(String keyId) {
+        final PublicKey key;
+        final boolean stale;
+        synchronized (this) {
+            loadKeys();
+            if (keys == null) {
+                return null;
+            }
+            key = selectKey(keys, keyId);
+            stale = getCurrentTimeInMillis() - fetchedAt >= maxAgeMillis;
+        }
+        if (key != null && stale) {
+            refresh();
+        }
+        return key;
+    }
+
+    /**
+     * Starts a new fetch of the keys, unless they can't be fetched again yet. Unknown key ids only trigger a new fetch
+     * once per minute after the previous one completed.
+     *
+     * @return the new fetch, or null if the keys can't be fetched again yet.
+     */
+    private synchronized PendingFetch startFetch() {
+        if (keys != null && getCurrentTimeInMillis() - lastFetchAt < MIN_REFETCH_INTERVAL_MILLIS) {
+            return null;
+        }
+        fetch = new PendingFetch();
+        return fetch;
+    }
+
+    private void fetchAsync(final PendingFetch pending) {
+        try {
+            apiClient.fetchJsonWebKeys().start(new BaseCallback<Map<String, PublicKey>, AuthenticationException>() {
+                @Override
+                public void onSuccess(Map<String, PublicKey> fetched) {
+                    complete(pending, fetched, null);
+                }
+
+                @Override
+                public void onFailure(AuthenticationException error) {
+                    complete(pending, null, new TokenValidationException(FETCH_ERROR, error));
+                }
+            });
+        } catch (RuntimeException e) {
+            complete(pending, null, new TokenValidationException(FETCH_ERROR, e));
+        }
+    }
+
+    private void complete(PendingFetch pending, Map<String, PublicKey> fetched, TokenValidationException error) {
+        final List<BaseCallback<Map<String, PublicKey>, TokenValidationException>> callbacks;
+        synchronized (this) {
+            if (pending.completed) {
+                return;
+            }
+            if (fetched != null) {
+                save(fetched);
+            }
+            lastFetchAt = getCurrentTimeInMillis();
+            if (fetch == pending) {
+                fetch = null;
+            }
+            pending.keys = fetched;
+            pending.error = error;
+            pending.completed = true;
+            callbacks = new ArrayList<>(pending.callbacks);
+            pending.callbacks.clear();
+        }
+        pending.done.countDown();
+        for (BaseCallback<Map<String, PublicKey>, TokenValidationException> callback : callbacks) {
+            deliver(callback, fetched, error);
+        }
+    }
+
+    private void addCallback(PendingFetch pending, BaseCallback<Map<String, PublicKey>, TokenValidationException> callback) {
+        synchronized (this) {
+            if (!pending.completed) {
+                pending.callbacks.add(callback);
+                return;
+            }
+        }
+        deliver(callback, pending.keys, pending.error);
+    }
+
+    private static void deliver(BaseCallback<Map<String, PublicKey>, TokenValidationException> callback, Map<String, PublicKey> fetched, TokenValidationException error) {
+        if (error != null) {
+            callback.onFailure(error);
+        } else {
+            callback.onSuccess(fetched);
+        }
+    }
+
+    private synchronized void save(Map<String, PublicKey> fetched) {
+        keys = fetched;
+        fetchedAt = getCurrentTimeInMillis();
+        loaded = true;
+        storage.store(KEY_JWKS, gson.toJson(fetched, JWKS_TYPE));
+        storage.store(KEY_FETCHED_AT, fetchedAt);
+    }
+
+    private void loadKeys() {
+        if (loaded) {
+            return;
+        }
+        loaded = true;
+        final String json = storage.retrieveString(KEY_JWKS);
+        final Long savedAt = storage.retrieveLong(KEY_FETCHED_AT);
+        if (json == null || savedAt == null) {
+            return;
+        }
+        try {
+            keys = gson.fromJson(json, JWKS_TYPE);
+            fetchedAt = savedAt;
+        } catch (JsonParseException e) {
+            Log.w(TAG, "The saved keys could not be read and will be fetched again.", e);
+            storage.remove(KEY_JWKS);
+            storage.remove(KEY_FETCHED_AT);
+        }
+    }
+
+    private static PublicKey selectKey(Map<String, PublicKey> keys, String keyId) {
+        if (keyId != null) {
+            return keys.get(keyId);
+        }
+        return keys.size() == 1 ? keys.values().iterator().next() : null;
+    }
+
+    private static TokenValidationException keyNotFound(String keyId) {
+        return new TokenValidationException(String.format("Could not find a public key for kid \"%s\".", keyId));
+    }
+
+    /**
+     * A fetch of the keys in flight, that every caller needing them waits for.
+     */
+    private static final class PendingFetch {
+        private final CountDownLatch done = new CountDownLatch(1);
+        private final List<BaseCallback<Map<String, PublicKey>, TokenValidationException>> callbacks = new ArrayList<>();
+        private volatile Map<String, PublicKey> keys;
+        private volatile TokenValidationException error;
+        private boolean completed;
+
+        Map<String, PublicKey> await() throws TokenValidationException {
+            try {
+                done.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new TokenValidationException(FETCH_ERROR, e);
+            }
+            if (error != null) {
+                throw error;
+            }
+            return keys;
+        }
+    }
+}
@@ -13,6 +13,7 @@ import android.util.Log;
 import com.auth0.android.Auth0;
 import com.auth0.android.authentication.AuthenticationAPIClient;
 import com.auth0.android.authentication.AuthenticationException;
+import com.auth0.android.callback.BaseCallback;
 import com.auth0.android.jwt.Claim;
 import com.auth0.android.jwt.DecodeException;
 import com.auth0.android.jwt.JWT;
@@ -38,6 +39,7 @@ class OAuthManager {
     private static final String ERROR_VALUE_ACCESS_DENIED = "access_denied";
     private static final String ERROR_VALUE_UNAUTHORIZED = "unauthorized";
     private static final String ERROR_VALUE_LOGIN_REQUIRED = "login_required";
+    private static final String ERROR_VALUE_INVALID_ID_TOKEN = "a0.invalid_id_token";
     private static final String METHOD_SHA_256 = "S256";
     private static final String KEY_CODE_CHALLENGE = "code_challenge";
     private static final String KEY_CODE_CHALLENGE_METHOD = "code_challenge_method";
@@ -64,6 +66,7 @@ class OAuthManager {
     private PKCE pkce;
     private Long currentTimeInMillis;
     private CustomTabsOptions ctOptions;
+    private IdTokenVerifier idTokenVerifier;
 
     OAuthManager(@NonNull Auth0 account, @NonNull AuthCallback callback, @NonNull Map<String, String> parameters) {
         this.account = account;
@@ -83,6 +86,10 @@ class OAuthManager {
         this.ctOptions = options;
     }
 
+    void setIdTokenVerifier(@Nullable IdTokenVerifier verifier) {
+        this.idTokenVerifier = verifier;
+    }
+
     @VisibleForTesting
     void setPKCE(PKCE pkce) {
         this.pkce = pkce;
@@ -115,43 +122,69 @@ class OAuthManager {
         }
         logDebug("The parsed CallbackURI contains the following values: " + values);
 
+        final boolean expectsIdToken = parameters.containsKey(KEY_RESPONSE_TYPE) && parameters.get(KEY_RESPONSE_TYPE).contains(RESPONSE_TYPE_ID_TOKEN);
         try {
             assertNoError(values.get(KEY_ERROR), values.get(KEY_ERROR_DESCRIPTION));
             assertValidState(parameters.get(KEY_STATE), values.get(KEY_STATE));
-            if (parameters.containsKey(KEY_RESPONSE_TYPE) && parameters.get(KEY_RESPONSE_TYPE).contains(RESPONSE_TYPE_ID_TOKEN)) {
+            if (expectsIdToken && idTokenVerifier == null) {
                 assertValidNonce(parameters.get(KEY_NONCE), values.get(KEY_ID_TOKEN));
             }
-
-            Log.d(TAG, "Authenticated using web flow");
-            final Date expiresAt = !values.containsKey(KEY_EXPIRES_IN) ? null : new Date(getCurrentTimeInMillis() + Long.valueOf(values.get(KEY_EXPIRES_IN)) * 1000);
-            final Credentials urlCredentials = new Credentials(values.get(KEY_ID_TOKEN), values.get(KEY_ACCESS_TOKEN), values.get(KEY_TOKEN_TYPE), values.get(KEY_REFRESH_TOKEN), expiresAt, values.get(KEY_SCOPE));
-            if (!shouldUsePKCE()) {
-                callback.onSuccess(urlCredentials);
-            } else {
-                //Finish Code Exchange
-                pkce.getToken(values.get(KEY_CODE), new AuthCallback() {
-                    @Override
-                    public void onFailure(@NonNull Dialog dialog) {
-                        callback.onFailure(dialog);
-                    }
-
-                    @Override
-                    public void onFailure(AuthenticationException exception) {
-                        callback.onFailure(exception);
-                    }
-
-                    @Override
-                    public void onSuccess(@NonNull Credentials codeCredentials) {
-                        callback.onSuccess(mergeCredentials(urlCredentials, codeCredentials));
-                    }
-                });
-            }
         } catch (AuthenticationException e) {
             callback.onFailure(e);
+            return true;
         }
+
+        if (expectsIdToken && idTokenVerifier != null) {
+            final String idToken = values.get(KEY_ID_TOKEN);
+            if (idToken == null) {
+                callback.onFailure(new AuthenticationException(ERROR_VALUE_INVALID_ID_TOKEN, "The ID token is missing from the response."));
+                return true;
+            }
+            idTokenVerifier.verify(idToken, parameters.get(KEY_NONCE), new BaseCallback<JWT, TokenValidationException>() {
+                @Override
+                public void onSuccess(JWT payload) {
+                    finishAuthorization(values);
+                }
+
+                @Override
+                public void onFailure(TokenValidationException error) {
+                    Log.e(TAG, "The received ID token is invalid. " + error.getMessage(), error);
+                    callback.onFailure(new AuthenticationException(ERROR_VALUE_INVALID_ID_TOKEN, error.getMessage()));
+                }
+            });
+            return true;
+        }
+        finishAuthorization(values);
         return true;
     }
 
+    private void finishAuthorization(Map<String, String> values) {
+        Log.d(TAG, "Authenticated using web flow");
+        final Date expiresAt = !values.containsKey(KEY_EXPIRES_IN) ? null : new Date(getCurrentTimeInMillis() + Long.valueOf(values.get(KEY_EXPIRES_IN)) * 1000);
+        final Credentials urlCredentials = new Credentials(values.get(KEY_ID_TOKEN), values.get(KEY_ACCESS_TOKEN), values.get(KEY_TOKEN_TYPE), values.get(KEY_REFRESH_TOKEN), expiresAt, values.get(KEY_SCOPE));
+        if (!shouldUsePKCE()) {
+            callback.onSuccess(urlCredentials);
+            return;
+        }
+        //Finish Code Exchange
+        pkce.getToken(values.get(KEY_CODE), new AuthCallback() {
+            @Override
+            public void onFailure(@NonNull Dialog dialog) {
+                callback.onFailure(dialog);
+            }
+
+            @Override
+            public void onFailure(AuthenticationException exception) {
+                callback.onFailure(exception);
+            }
+
+            @Override
+            public void onSuccess(@NonNull Credentials codeCredentials) {
+                callback.onSuccess(mergeCredentials(urlCredentials, codeCredentials));
+            }
+        });
+    }
+
     private long getCurrentTimeInMillis() {
         return currentTimeInMillis != null ? currentTimeInMillis : System.currentTimeMillis();
     }
@@ -31,6 +31,7 @@ import android.util.Log;
 import com.auth0.android.authentication.AuthenticationAPIClient;
 import com.auth0.android.authentication.AuthenticationException;
 import com.auth0.android.callback.BaseCallback;
+import com.auth0.android.request.Cancellable;
 import com.auth0.android.result.Credentials;
 
 /**
@@ -80,11 +81,12 @@ class PKCE {
      *
      * @param authorizationCode received in the call to /authorize with a "grant_type=code"
      * @param callback          to notify the result of this call to.
+     * @return a handle that can be used to cancel the code exchange.
      */
-    public void getToken(String authorizationCode, @NonNull final AuthCallback callback) {
-        apiClient.token(authorizationCode, redirectUri)
+    public Cancellable getToken(String authorizationCode, @NonNull final AuthCallback callback) {
+        return apiClient.token(authorizationCode, redirectUri)
                 .setCodeVerifier(codeVerifier)
-                .start(new BaseCallback<Credentials, AuthenticationException>() {
+                .startCancellable(new BaseCallback<Credentials, AuthenticationException>() {
                     @Override
                     public void onSuccess(Credentials payload) {
                         callback.onSuccess(payload);
@@ -0,0 +1,17 @@
+package com.auth0.android.provider;
+
+import com.auth0.android.Auth0Exception;
+
+/**
+ * Represents an error raised by the {@link IdTokenVerifier} when an ID token is not valid or can't be verified.
+ */
+@SuppressWarnings("WeakerAccess")
+public class TokenValidationException extends Auth0Exception {
+    TokenValidationException(String message, Throwable cause) {
+        super(message, cause);
+    }
+
+    TokenValidationException(String message) {
+        super(message);
+    }
+}
@@ -75,6 +75,7 @@ public class WebAuthProvider {
         private PKCE pkce;
         private String scheme;
         private CustomTabsOptions ctOptions;
+        private IdTokenVerifier idTokenVerifier;
 
         Builder(Auth0 account) {
             this.account = account;
@@ -263,6 +264,18 @@ public class WebAuthProvider {
             return this;
         }
 
+        /**
+         * Verify the signature and the claims of the ID token received in the redirect, instead of only checking its nonce.
+         * It applies when the response type includes {@link ResponseType#ID_TOKEN}.
+         *
+         * @param verifier the ID token verifier to use.
+         * @return the current builder instance
+         */
+        public Builder withIdTokenVerifier(@NonNull IdTokenVerifier verifier) {
+            this.idTokenVerifier = verifier;
+            return this;
+        }
+
         @VisibleForTesting
         Builder withPKCE(PKCE pkce) {
             this.pkce = pkce;
@@ -302,6 +315,7 @@ public class WebAuthProvider {
             manager.useFullScreen(useFullscreen);
             manager.useBrowser(useBrowser);
             manager.setCustomTabsOptions(ctOptions);
+            manager.setIdTokenVerifier(idTokenVerifier);
             manager.setPKCE(pkce);
 
             managerInstance = manager;
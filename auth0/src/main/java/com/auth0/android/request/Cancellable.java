@@ -0,0 +1,20 @@
+package com.auth0.android.request;
+
+/**
+ * Handle of a started request that can be used to cancel it, i.e. when the screen that started it goes away.
+ */
+public interface Cancellable {
+
+    /**
+     * Cancels the request, releasing its connection as soon as possible.
+     * Once cancelled, the callback given when the request was started is no longer called.
+     */
+    void cancel();
+
+    /**
+     * Whether {@link #cancel()} was called on this request.
+     *
+     * @return true if the request was cancelled, false otherwise.
+     */
+    boolean isCancelled();
+}
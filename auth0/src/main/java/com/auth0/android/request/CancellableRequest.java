@@ -0,0 +1,22 @@
+package com.auth0.android.request;
+
+import com.auth0.android.Auth0Exception;
+import com.auth0.android.callback.BaseCallback;
+
+/**
+ * Defines a request that gives a handle to cancel it once started. Every request created by the API clients implements it.
+ * The simplest way to obtain the handle is to start the request with {@link RequestFuture#start(Request)}.
+ *
+ * @param <T> the type this request will return on success.
+ * @param <U> the {@link Auth0Exception} type this request will return on failure.
+ */
+public interface CancellableRequest<T, U extends Auth0Exception> extends Request<T, U> {
+
+    /**
+     * Performs an async HTTP request against Auth0 API, like {@link #start(BaseCallback)} does.
+     *
+     * @param callback called either on success or failure
+     * @return a handle that can be used to cancel the request.
+     */
+    Cancellable startCancellable(BaseCallback<T, U> callback);
+}
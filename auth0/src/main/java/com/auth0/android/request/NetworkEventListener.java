@@ -0,0 +1,19 @@
+package com.auth0.android.request;
+
+import android.support.annotation.NonNull;
+
+/**
+ * Receives the timing of the requests sent to the Auth0 APIs, i.e. to export them to a metrics system.
+ * Register it with {@link com.auth0.android.Auth0#setNetworkEventListener(NetworkEventListener)}.
+ * It's called on the thread that completed the request, before the request callback, so it must return quickly.
+ */
+public interface NetworkEventListener {
+
+    /**
+     * Called once a request sent to the network completes, whether it succeeded or not.
+     * Profiles returned by a {@link ProfileCache} without contacting the server are not reported.
+     *
+     * @param metrics the timing and the outcome of the request.
+     */
+    void onRequestFinished(@NonNull RequestMetrics metrics);
+}
@@ -0,0 +1,389 @@
+package com.auth0.android.request;
+
+import android.support.annotation.IntRange;
+import android.support.annotation.NonNull;
+import android.support.annotation.Nullable;
+import android.support.annotation.VisibleForTesting;
+import android.util.Log;
+
+import com.auth0.android.request.internal.GsonProvider;
+import com.auth0.android.result.UserProfile;
+import com.google.gson.Gson;
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParseException;
+import com.google.gson.JsonParser;
+import com.squareup.okhttp.HttpUrl;
+
+import java.nio.charset.Charset;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+
+/**
+ * Keeps the user profiles received from /userinfo and /api/v2/users/:id, so that fetching the same profile again doesn't
+ * download and parse it on every call. Entries are keyed by the endpoint and a hash of the token used to fetch them.
+ * Within the freshness time a cached profile is returned without any network call. Past it, the request is sent with the
+ * ETag and Last-Modified validators of the cached response, and a 304 response yields the cached profile.
+ * Once the max number of entries is reached the least recently used one is evicted.
+ * When a {@link Store} is given, the entries are also saved to it so they survive the application process. The store is
+ * read on the first request, off the calling thread, and changes are written to it in the background.
+ */
+public class ProfileCache {
+
+    /**
+     * Persists the entries of a cache. The saved value contains the profiles of the users, so implementations must keep it encrypted.
+     *
+     * @see com.auth0.android.authentication.storage.SecureProfileStore
+     */
+    public interface Store {
+        /**
+         * @return the last saved entries, or null if there are none.
+         */
+        @Nullable
+        String load();
+
+        /**
+         * Saves the entries, replacing the previous ones.
+         *
+         * @param entries the entries to save, or null to remove them.
+         */
+        void save(@Nullable String entries);
+    }
+
+    private static final String TAG = ProfileCache.class.getSimpleName();
+    private static final String KEY_KEY = "key";
+    private static final String KEY_BODY = "body";
+    private static final String KEY_ETAG = "etag";
+    private static final String KEY_LAST_MODIFIED = "last_modified";
+    private static final String KEY_FETCHED_AT = "fetched_at";
+
+    private final int maxEntries;
+    private final long freshnessMillis;
+    private final Store store;
+    private final Executor writer;
+    private final Object storeLock = new Object();
+    private final LinkedHashMap<String, Entry> entries;
+    private boolean loaded;
+    private boolean savePending;
+
+    /**
+     * Creates a new in-memory profile cache.
+     *
+     * @param maxEntries       the maximum number of profiles to keep.
+     * @param freshnessSeconds the time during which a cached profile is returned without asking the server, or 0 to always revalidate it.
+     */
+    public ProfileCache(@IntRange(from = 1) int maxEntries, @IntRange(from = 0) long freshnessSeconds) {
+        this(maxEntries, freshnessSeconds, null);
+    }
+
+    /**
+     * Creates a new profile cache that is also saved to the given store.
+     *
+     * @param maxEntries       the maximum number of profiles to keep.
+     * @param freshnessSeconds the time during which a cached profile is returned without asking the server, or 0 to always revalidate it.
+     * @param store            where the entries are saved, or null to keep them in memory only. It's first read when a profile is requested.
+     */
+    public ProfileCache(@IntRange(from = 1) int maxEntries, @IntRange(from = 0) long freshnessSeconds, @Nullable Store store) {
+        this(maxEntries, freshnessSeconds, store, WriterHolder.EXECUTOR);
+    }
+
+    @VisibleForTesting
+    ProfileCache(int maxEntries, long freshnessSeconds, @Nullable Store store, @NonNull Executor writer) {
+        if (maxEntries < 1) {
+            throw new IllegalArgumentException("The max entries must be a value greater than 0.");
+        }
+        if (freshnessSeconds < 0) {
+            throw new IllegalArgumentException("The freshness must be a positive value or 0.");
+        }
+        this.maxEntries = maxEntries;
+        this.freshnessMillis = freshnessSeconds * 1000;
+        this.store = store;
+        this.writer = writer;
+        this.loaded = store == null;
+        this.entries = new LinkedHashMap<String, Entry>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+                return size() > ProfileCache.this.maxEntries;
+            }
+        };
+    }
+
+    public int getMaxEntries() {
+        return maxEntries;
+    }
+
+    public long getFreshnessMillis() {
+        return freshnessMillis;
+    }
+
+    /**
+     * Whether the entries of the store were already read. Until then, {@link #get(String)} reads and decrypts the whole store.
+     *
+     * @return true if getting an entry won't read the store.
+     */
+    public synchronized boolean isLoaded() {
+        return loaded;
+    }
+
+    /**
+     * Whether the entries are saved to a store. Only then the raw response body must be kept in the entries.
+     *
+     * @return true if a store was given.
+     */
+    public boolean hasStore() {
+        return store != null;
+    }
+
+    /**
+     * Removes every cached profile, i.e. when the user logs out. The saved entries are removed before returning.
+     */
+    public void clear() {
+        synchronized (this) {
+            entries.clear();
+            loaded = true;
+        }
+        if (store != null) {
+            synchronized (storeLock) {
+                store.save(null);
+            }
+        }
+    }
+
+    /**
+     * Computes the key of the profile fetched from the given endpoint with the given Authorization header.
+     *
+     * @param url           the url of the profile endpoint.
+     * @param authorization the value of the Authorization header sent.
+     * @return the key of the cache entry.
+     */
+    @NonNull
+    public static String keyFor(@NonNull HttpUrl url, @Nullable String authorization) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            byte[] hash = digest.digest(String.valueOf(authorization).getBytes(Charset.forName("UTF-8")));
+            StringBuilder sb = new StringBuilder(url.toString()).append('#');
+            for (byte b : hash) {
+                sb.append(Character.forDigit((b >> 4) & 0xF, 16)).append(Character.forDigit(b & 0xF, 16));
+            }
+            return sb.toString();
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("Could not hash the token of the profile request", e);
+        }
+    }
+
+    /**
+     * @param key the key of the entry.
+     * @return the cached entry, or null if there is none.
+     */
+    @Nullable
+    public synchronized Entry get(@NonNull String key) {
+        loadEntries();
+        return entries.get(key);
+    }
+
+    /**
+     * Adds or replaces an entry.
+     *
+     * @param key   the key of the entry.
+     * @param entry the entry to cache.
+     */
+    public synchronized void put(@NonNull String key, @NonNull Entry entry) {
+        loadEntries();
+        entries.put(key, store != null ? entry : entry.withBody(null));
+        saveEntries();
+    }
+
+    /**
+     * Removes an entry, i.e. when the server rejected the token used to fetch it.
+     *
+     * @param key the key of the entry.
+     */
+    public synchronized void remove(@NonNull String key) {
+        loadEntries();
+        if (entries.remove(key) != null) {
+            saveEntries();
+        }
+    }
+
+    /**
+     * @param entry       a cached entry.
+     * @param currentTime the current time in milliseconds.
+     * @return whether the entry can be used without asking the server.
+     */
+    public boolean isFresh(@NonNull Entry entry, long currentTime) {
+        return freshnessMillis > 0 && currentTime - entry.fetchedAt < freshnessMillis;
+    }
+
+    @VisibleForTesting
+    synchronized int size() {
+        loadEntries();
+        return entries.size();
+    }
+
+    private void loadEntries() {
+        if (loaded) {
+            return;
+        }
+        loaded = true;
+        String saved = store.load();
+        if (saved == null) {
+            return;
+        }
+        Gson gson = GsonProvider.buildGson();
+        try {
+            for (JsonElement element : new JsonParser().parse(saved).getAsJsonArray()) {
+                if (!element.isJsonObject()) {
+                    continue;
+                }
+                JsonObject json = element.getAsJsonObject();
+                String key = getString(json, KEY_KEY);
+                String body = getString(json, KEY_BODY);
+                JsonElement fetchedAt = json.get(KEY_FETCHED_AT);
+                if (key == null || body == null || fetchedAt == null || !fetchedAt.isJsonPrimitive() || !fetchedAt.getAsJsonPrimitive().isNumber()) {
+                    continue;
+                }
+                UserProfile profile = gson.fromJson(body, UserProfile.class);
+                if (profile == null) {
+                    continue;
+                }
+                entries.put(key, new Entry(profile, body, getString(json, KEY_ETAG), getString(json, KEY_LAST_MODIFIED), fetchedAt.getAsLong()));
+            }
+        } catch (JsonParseException | IllegalStateException e) {
+            Log.w(TAG, "The saved profiles could not be read and will be discarded.", e);
+            entries.clear();
+            store.save(null);
+        }
+    }
+
+    /**
+     * Schedules a write of the entries to the store. Changes made before the write runs are saved along with it.
+     */
+    private void saveEntries() {
+        if (store == null || savePending) {
+            return;
+        }
+        savePending = true;
+        writer.execute(new Runnable() {
+            @Override
+            public void run() {
+                writeEntries();
+            }
+        });
+    }
+
+    private void writeEntries() {
+        //The lock keeps a write that started before clear() from saving the removed entries after it
+        synchronized (storeLock) {
+            final String serialized;
+            synchronized (this) {
+                savePending = false;
+                serialized = serializeEntries();
+            }
+            store.save(serialized);
+        }
+    }
+
+    private String serializeEntries() {
+        JsonArray array = new JsonArray();
+        for (Map.Entry<String, Entry> e : entries.entrySet()) {
+            Entry entry = e.getValue();
+            if (entry.body == null) {
+                continue;
+            }
+            JsonObject json = new JsonObject();
+            json.addProperty(KEY_KEY, e.getKey());
+            json.addProperty(KEY_BODY, entry.body);
+            json.addProperty(KEY_ETAG, entry.etag);
+            json.addProperty(KEY_LAST_MODIFIED, entry.lastModified);
+            json.addProperty(KEY_FETCHED_AT, entry.fetchedAt);
+            array.add(json);
+        }
+        return array.size() > 0 ? array.toString() : null;
+    }
+
+    private static String getString(JsonObject json, String name) {
+        JsonElement value = json.get(name);
+        return value != null && value.isJsonPrimitive() ? value.getAsString() : null;
+    }
+
+    private static final class WriterHolder {
+        static final ExecutorService EXECUTOR = Executors.newSingleThreadExecutor(new ThreadFactory() {
+            @Override
+            public Thread newThread(Runnable runnable) {
+                Thread thread = new Thread(runnable, "Auth0-ProfileCacheWriter");
+                thread.setDaemon(true);
+                return thread;
+            }
+        });
+    }
+
+    /**
+     * A cached profile along with the validators of the response it was read from.
+     */
+    public static final class Entry {
+
+        private final UserProfile profile;
+        private final String body;
+        private final String etag;
+        private final String lastModified;
+        private final long fetchedAt;
+
+        /**
+         * @param profile      the parsed profile.
+         * @param body         the raw response body, needed to save the entry to a store.
+         * @param etag         the value of the ETag response header.
+         * @param lastModified the value of the Last-Modified response header.
+         * @param fetchedAt    the time in milliseconds at which the response was received.
+         */
+        public Entry(@NonNull UserProfile profile, @Nullable String body, @Nullable String etag, @Nullable String lastModified, long fetchedAt) {
+            this.profile = profile;
+            this.body = body;
+            this.etag = etag;
+            this.lastModified = lastModified;
+            this.fetchedAt = fetchedAt;
+        }
+
+        @NonNull
+        public UserProfile getProfile() {
+            return profile;
+        }
+
+        @Nullable
+        public String getETag() {
+            return etag;
+        }
+
+        @Nullable
+        public String getLastModified() {
+            return lastModified;
+        }
+
+        public long getFetchedAt() {
+            return fetchedAt;
+        }
+
+        /**
+         * Creates a copy of this entry for a 304 response, which confirms that the cached profile is still valid.
+         *
+         * @param etag         the ETag of the response, or null to keep the current one.
+         * @param lastModified the Last-Modified of the response, or null to keep the current one.
+         * @param fetchedAt    the time in milliseconds at which the response was received.
+         * @return the revalidated entry.
+         */
+        @NonNull
+        public Entry revalidated(@Nullable String etag, @Nullable String lastModified, long fetchedAt) {
+            return new Entry(profile, body, etag != null ? etag : this.etag, lastModified != null ? lastModified : this.lastModified, fetchedAt);
+        }
+
+        private Entry withBody(String body) {
+            return new Entry(profile, body, etag, lastModified, fetchedAt);
+        }
+    }
+}
@@ -0,0 +1,195 @@
+package com.auth0.android.request;
+
+import android.support.annotation.NonNull;
+
+import com.auth0.android.Auth0Exception;
+import com.auth0.android.callback.BaseCallback;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Pending result of a started request. Callbacks can be added at any time and are called once the request completes,
+ * or right away if it already did. Cancelling it cancels the request too when it's a {@link CancellableRequest},
+ * like every request created by the API clients. The result can also be awaited with {@link #get()}, which fails with an
+ * {@link ExecutionException} whose cause is the request error.
+ * Avoid awaiting the result on the thread the request callbacks are delivered on, as it would never complete.
+ * <pre>{@code
+ * RequestFuture<UserProfile, AuthenticationException> profile = RequestFuture.start(client.userInfo(accessToken));
+ * }</pre>
+ *
+ * @param <T> the type the request returns on success.
+ * @param <U> the {@link Auth0Exception} type the request returns on failure.
+ * @see RequestGroup
+ */
+public class RequestFuture<T, U extends Auth0Exception> implements Future<T>, Cancellable {
+
+    private final CountDownLatch done = new CountDownLatch(1);
+    private final List<BaseCallback<T, U>> callbacks = new ArrayList<>(1);
+    private Cancellable handle;
+    private T result;
+    private U error;
+    private boolean completed;
+    private boolean cancelled;
+
+    RequestFuture() {
+    }
+
+    /**
+     * Starts the given request.
+     *
+     * @param request the request to start.
+     * @param <T>     the type the request returns on success.
+     * @param <U>     the {@link Auth0Exception} type the request returns on failure.
+     * @return the pending result of the request.
+     */
+    public static <T, U extends Auth0Exception> RequestFuture<T, U> start(@NonNull Request<T, U> request) {
+        RequestFuture<T, U> future = new RequestFuture<>();
+        future.startRequest(request);
+        return future;
+    }
+
+    /**
+     * Adds a callback to be called once the request completes. It's not called if the request is cancelled.
+     *
+     * @param callback to call on either success or failure.
+     * @return itself
+     */
+    public RequestFuture<T, U> addCallback(@NonNull BaseCallback<T, U> callback) {
+        final T result;
+        final U error;
+        synchronized (this) {
+            if (cancelled) {
+                return this;
+            }
+            if (!completed) {
+                callbacks.add(callback);
+                return this;
+            }
+            result = this.result;
+            error = this.error;
+        }
+        deliver(callback, result, error);
+        return this;
+    }
+
+    @Override
+    public T get() throws InterruptedException, ExecutionException {
+        done.await();
+        return getResult();
+    }
+
+    @Override
+    public T get(long timeout, @NonNull TimeUnit unit) throws InterruptedException, ExecutionException, TimeoutException {
+        if (!done.await(timeout, unit)) {
+            throw new TimeoutException("The request didn't complete in " + unit.toMillis(timeout) + " ms");
+        }
+        return getResult();
+    }
+
+    @Override
+    public synchronized boolean isDone() {
+        return completed || cancelled;
+    }
+
+    @Override
+    public boolean cancel(boolean mayInterruptIfRunning) {
+        final Cancellable handle;
+        synchronized (this) {
+            if (completed || cancelled) {
+                return false;
+            }
+            cancelled = true;
+            handle = this.handle;
+            callbacks.clear();
+        }
+        done.countDown();
+        if (handle != null) {
+            handle.cancel();
+        }
+        return true;
+    }
+
+    @Override
+    public void cancel() {
+        cancel(true);
+    }
+
+    @Override
+    public synchronized boolean isCancelled() {
+        return cancelled;
+    }
+
+    void startRequest(Request<T, U> request) {
+        final BaseCallback<T, U> callback = new BaseCallback<T, U>() {
+            @Override
+            public void onSuccess(T payload) {
+                complete(payload, null);
+            }
+
+            @Override
+            public void onFailure(U error) {
+                complete(null, error);
+            }
+        };
+        if (request instanceof CancellableRequest) {
+            setHandle(((CancellableRequest<T, U>) request).startCancellable(callback));
+        } else {
+            //Cancelling only discards the result
+            request.start(callback);
+        }
+    }
+
+    void setHandle(Cancellable handle) {
+        final boolean cancelNow;
+        synchronized (this) {
+            this.handle = handle;
+            cancelNow = cancelled;
+        }
+        if (cancelNow && handle != null) {
+            handle.cancel();
+        }
+    }
+
+    void complete(T result, U error) {
+        final List<BaseCallback<T, U>> pending;
+        synchronized (this) {
+            if (completed || cancelled) {
+                return;
+            }
+            this.result = result;
+            this.error = error;
+            completed = true;
+            pending = new ArrayList<>(callbacks);
+            callbacks.clear();
+        }
+        done.countDown();
+        for (BaseCallback<T, U> callback : pending) {
+            deliver(callback, result, error);
+        }
+    }
+
+    private synchronized T getResult() throws ExecutionException {
+        if (cancelled) {
+            throw new CancellationException("The request was cancelled");
+        }
+        if (error != null) {
+            throw new ExecutionException(error);
+        }
+        return result;
+    }
+
+    private void deliver(BaseCallback<T, U> callback, T result, U error) {
+        if (error != null) {
+            callback.onFailure(error);
+        } else {
+            callback.onSuccess(result);
+        }
+    }
+}
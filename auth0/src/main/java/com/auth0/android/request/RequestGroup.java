@@ -0,0 +1,205 @@
+package com.auth0.android.request;
+
+import android.support.annotation.IntRange;
+import android.support.annotation.NonNull;
+
+import com.auth0.android.Auth0Exception;
+import com.auth0.android.callback.BaseCallback;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Runs independent requests in parallel, starting at most the given number of them at the same time.
+ * Each request added to the group gets its own typed {@link RequestFuture}, and {@link #start()} returns a future
+ * that completes with every result once all of them succeed. If any request fails, the ones still pending are
+ * cancelled and the group fails with that error. Cancelling the future of any request cancels the whole group.
+ * <pre>{@code
+ * RequestGroup group = new RequestGroup(3);
+ * RequestFuture<UserProfile, AuthenticationException> userInfo = group.add(authClient.userInfo(accessToken));
+ * RequestFuture<UserProfile, ManagementException> profile = group.add(usersClient.getProfile(userId));
+ * RequestFuture<Delegation, AuthenticationException> delegation = group.add(authClient.delegationWithIdToken(idToken));
+ * group.start().addCallback(new BaseCallback<List<Object>, Auth0Exception>() {...});
+ * }</pre>
+ */
+public class RequestGroup {
+
+    private final int maxConcurrency;
+    private final List<Entry<?, ?>> entries = new ArrayList<>();
+    private RequestFuture<List<Object>, Auth0Exception> aggregate;
+    private List<Object> results;
+    private int nextIndex;
+    private int running;
+    private int remaining;
+    private boolean finished;
+
+    /**
+     * Creates a new group of requests.
+     *
+     * @param maxConcurrency the maximum number of requests in progress at the same time.
+     */
+    public RequestGroup(@IntRange(from = 1) int maxConcurrency) {
+        if (maxConcurrency < 1) {
+            throw new IllegalArgumentException("The max concurrency must be a value greater than 0.");
+        }
+        this.maxConcurrency = maxConcurrency;
+    }
+
+    /**
+     * Adds a request to this group. It will be started along with the other requests of the group.
+     *
+     * @param request the request to add.
+     * @param <T>     the type the request returns on success.
+     * @param <U>     the {@link Auth0Exception} type the request returns on failure.
+     * @return the pending result of the request.
+     * @throws IllegalStateException if the group was already started.
+     */
+    public synchronized <T, U extends Auth0Exception> RequestFuture<T, U> add(@NonNull Request<T, U> request) {
+        if (aggregate != null) {
+            throw new IllegalStateException("The group was already started.");
+        }
+        Entry<T, U> entry = new Entry<>(entries.size(), request);
+        entries.add(entry);
+        return entry.future;
+    }
+
+    /**
+     * Starts the requests of this group.
+     *
+     * @return the pending results of every request, in the order they were added. Cancelling it cancels every request.
+     * @throws IllegalStateException if the group was already started.
+     */
+    public RequestFuture<List<Object>, Auth0Exception> start() {
+        final RequestFuture<List<Object>, Auth0Exception> aggregate;
+        synchronized (this) {
+            if (this.aggregate != null) {
+                throw new IllegalStateException("The group was already started.");
+            }
+            aggregate = new RequestFuture<>();
+            this.aggregate = aggregate;
+            results = new ArrayList<>(Collections.nCopies(entries.size(), null));
+            remaining = entries.size();
+        }
+        aggregate.setHandle(new Cancellable() {
+            @Override
+            public void cancel() {
+                synchronized (RequestGroup.this) {
+                    finished = true;
+                }
+                cancelEntries();
+            }
+
+            @Override
+            public boolean isCancelled() {
+                return aggregate.isCancelled();
+            }
+        });
+        if (entries.isEmpty()) {
+            aggregate.complete(Collections.<Object>emptyList(), null);
+            return aggregate;
+        }
+        startPendingEntries();
+        return aggregate;
+    }
+
+    private void startPendingEntries() {
+        while (true) {
+            final Entry<?, ?> entry;
+            synchronized (this) {
+                if (finished || nextIndex == entries.size() || running == maxConcurrency) {
+                    return;
+                }
+                entry = entries.get(nextIndex++);
+                running++;
+            }
+            entry.start();
+        }
+    }
+
+    private void onEntrySuccess(int index, Object result) {
+        final List<Object> completedResults;
+        synchronized (this) {
+            if (finished) {
+                return;
+            }
+            results.set(index, result);
+            running--;
+            remaining--;
+            finished = remaining == 0;
+            completedResults = finished ? Collections.unmodifiableList(results) : null;
+        }
+        if (completedResults != null) {
+            aggregate.complete(completedResults, null);
+        } else {
+            startPendingEntries();
+        }
+    }
+
+    private void onEntryFailure(Auth0Exception error) {
+        synchronized (this) {
+            if (finished) {
+                return;
+            }
+            finished = true;
+        }
+        cancelEntries();
+        aggregate.complete(null, error);
+    }
+
+    private void onEntryCancelled() {
+        final RequestFuture<List<Object>, Auth0Exception> aggregate;
+        synchronized (this) {
+            if (finished || this.aggregate == null) {
+                return;
+            }
+            aggregate = this.aggregate;
+        }
+        aggregate.cancel(true);
+    }
+
+    private void cancelEntries() {
+        for (Entry<?, ?> entry : entries) {
+            entry.future.cancel(true);
+        }
+    }
+
+    private final class Entry<T, U extends Auth0Exception> {
+        private final int index;
+        private final Request<T, U> request;
+        private final RequestFuture<T, U> future = new RequestFuture<T, U>() {
+            @Override
+            public boolean cancel(boolean mayInterruptIfRunning) {
+                final boolean cancelled = super.cancel(mayInterruptIfRunning);
+                if (cancelled) {
+                    onEntryCancelled();
+                }
+                return cancelled;
+            }
+        };
+
+        Entry(int index, Request<T, U> request) {
+            this.index = index;
+            this.request = request;
+        }
+
+        void start() {
+            if (future.isCancelled()) {
+                onEntryCancelled();
+                return;
+            }
+            future.addCallback(new BaseCallback<T, U>() {
+                @Override
+                public void onSuccess(T payload) {
+                    onEntrySuccess(index, payload);
+                }
+
+                @Override
+                public void onFailure(U error) {
+                    onEntryFailure(error);
+                }
+            });
+            future.startRequest(request);
+        }
+    }
+}
@@ -0,0 +1,181 @@
+package com.auth0.android.request;
+
+import android.support.annotation.NonNull;
+import android.support.annotation.Nullable;
+
+/**
+ * Timing and outcome of a request sent to the Auth0 APIs, reported to a {@link NetworkEventListener}.
+ * Durations are in milliseconds and are -1 when the request didn't reach that phase.
+ * <ul>
+ * <li><i>send</i>: from the start of the last attempt until the request was written, including the wait for a free
+ * connection, the DNS lookup, the connection and the TLS handshake.</li>
+ * <li><i>wait</i>: from the request being written until the response headers were received.</li>
+ * <li><i>read</i>: from the response headers until the response was consumed, including downloading and parsing the body.</li>
+ * <li><i>total</i>: from the start of the first attempt until the request completed, including retries.</li>
+ * </ul>
+ */
+public final class RequestMetrics {
+
+    /**
+     * How a request ended.
+     */
+    public enum Outcome {
+        /**
+         * A successful response was received and parsed.
+         */
+        SUCCESS,
+        /**
+         * The server returned an error response.
+         */
+        HTTP_ERROR,
+        /**
+         * No response was received, i.e. because of a timeout, a DNS or a connection failure.
+         */
+        NETWORK_ERROR,
+        /**
+         * A successful response was received but its body could not be read.
+         */
+        PARSE_ERROR,
+        /**
+         * The request was cancelled before it completed.
+         */
+        CANCELLED
+    }
+
+    private final String operation;
+    private final String method;
+    private final String host;
+    private final String path;
+    private final Outcome outcome;
+    private final int statusCode;
+    private final int attempts;
+    private final long sendMillis;
+    private final long waitMillis;
+    private final long readMillis;
+    private final long totalMillis;
+    private final long bytesSent;
+    private final long bytesReceived;
+
+    public RequestMetrics(@Nullable String operation, @NonNull String method, @NonNull String host, @NonNull String path, @NonNull Outcome outcome, int statusCode, int attempts,
+                          long sendMillis, long waitMillis, long readMillis, long totalMillis, long bytesSent, long bytesReceived) {
+        this.operation = operation;
+        this.method = method;
+        this.host = host;
+        this.path = path;
+        this.outcome = outcome;
+        this.statusCode = statusCode;
+        this.attempts = attempts;
+        this.sendMillis = sendMillis;
+        this.waitMillis = waitMillis;
+        this.readMillis = readMillis;
+        this.totalMillis = totalMillis;
+        this.bytesSent = bytesSent;
+        this.bytesReceived = bytesReceived;
+    }
+
+    /**
+     * Getter for the logical operation of the request, such as "login", "renewAuth", "userInfo" or "link".
+     *
+     * @return the operation name, or null if the endpoint is not a known one.
+     */
+    @Nullable
+    public String getOperation() {
+        return operation;
+    }
+
+    @NonNull
+    public String getMethod() {
+        return method;
+    }
+
+    @NonNull
+    public String getHost() {
+        return host;
+    }
+
+    /**
+     * Getter for the path of the endpoint. Paths of the Management API include the user id.
+     *
+     * @return the encoded path of the request URL.
+     */
+    @NonNull
+    public String getPath() {
+        return path;
+    }
+
+    @NonNull
+    public Outcome getOutcome() {
+        return outcome;
+    }
+
+    /**
+     * Getter for the HTTP status code of the response.
+     *
+     * @return the status code, or -1 if no response was received.
+     */
+    public int getStatusCode() {
+        return statusCode;
+    }
+
+    /**
+     * Getter for the number of times the request was sent, including retries.
+     *
+     * @return the number of attempts.
+     */
+    public int getAttempts() {
+        return attempts;
+    }
+
+    public long getSendMillis() {
+        return sendMillis;
+    }
+
+    public long getWaitMillis() {
+        return waitMillis;
+    }
+
+    public long getReadMillis() {
+        return readMillis;
+    }
+
+    public long getTotalMillis() {
+        return totalMillis;
+    }
+
+    /**
+     * Getter for the size of the request body.
+     *
+     * @return the number of bytes sent in the body, or -1 if unknown.
+     */
+    public long getBytesSent() {
+        return bytesSent;
+    }
+
+    /**
+     * Getter for the size of the response body as declared by the server.
+     *
+     * @return the number of bytes received in the body, or -1 if unknown.
+     */
+    public long getBytesReceived() {
+        return bytesReceived;
+    }
+
+    @Override
+    public String toString() {
+        return "RequestMetrics{" +
+                "operation='" + operation + '\'' +
+                ", method='" + method + '\'' +
+                ", host='" + host + '\'' +
+                ", path='" + path + '\'' +
+                ", outcome=" + outcome +
+                ", statusCode=" + statusCode +
+                ", attempts=" + attempts +
+                ", sendMillis=" + sendMillis +
+                ", waitMillis=" + waitMillis +
+                ", readMillis=" + readMillis +
+                ", totalMillis=" + totalMillis +
+                ", bytesSent=" + bytesSent +
+                ", bytesReceived=" + bytesReceived +
+                '}';
+    }
+}
@@ -0,0 +1,87 @@
+package com.auth0.android.request;
+
+import android.support.annotation.IntRange;
+
+import java.util.Random;
+
+/**
+ * Defines how a request is retried after a transient network failure, such as a timeout, a connection reset or a
+ * failed DNS lookup. Each retry waits for an exponentially increasing backoff with random jitter, and no retry is
+ * started once the total deadline would be exceeded. Responses received from the server are never retried.
+ * Only apply it to requests that are safe to send more than once.
+ */
+public class RetryPolicy {
+
+    /**
+     * Policy that never retries a request.
+     */
+    public static final RetryPolicy NONE = new RetryPolicy(1, 0, 0, 0);
+
+    private final int maxAttempts;
+    private final long initialBackoffMillis;
+    private final long maxBackoffMillis;
+    private final long deadlineMillis;
+    private final Random random;
+
+    /**
+     * Creates a new retry policy.
+     *
+     * @param maxAttempts          the maximum number of times the request is sent, including the first attempt.
+     * @param initialBackoffMillis the backoff before the first retry. It doubles on every following retry.
+     * @param maxBackoffMillis     the maximum backoff between two attempts.
+     * @param deadlineMillis       the maximum time since the first attempt after which no retry is started, or 0 for no limit.
+     */
+    public RetryPolicy(@IntRange(from = 1) int maxAttempts, @IntRange(from = 0) long initialBackoffMillis, @IntRange(from = 0) long maxBackoffMillis, @IntRange(from = 0) long deadlineMillis) {
+        if (maxAttempts < 1) {
+            throw new IllegalArgumentException("The max attempts must be a value greater than 0.");
+        }
+        if (initialBackoffMillis < 0 || maxBackoffMillis < 0 || deadlineMillis < 0) {
+            throw new IllegalArgumentException("The backoff and deadline values must be positive or 0.");
+        }
+        this.maxAttempts = maxAttempts;
+        this.initialBackoffMillis = initialBackoffMillis;
+        this.maxBackoffMillis = Math.max(initialBackoffMillis, maxBackoffMillis);
+        this.deadlineMillis = deadlineMillis;
+        this.random = new Random();
+    }
+
+    public int getMaxAttempts() {
+        return maxAttempts;
+    }
+
+    public long getInitialBackoffMillis() {
+        return initialBackoffMillis;
+    }
+
+    public long getMaxBackoffMillis() {
+        return maxBackoffMillis;
+    }
+
+    public long getDeadlineMillis() {
+        return deadlineMillis;
+    }
+
+    /**
+     * Computes the time to wait before sending the request again.
+     *
+     * @param failedAttempts the number of attempts that already failed.
+     * @param elapsedMillis  the time elapsed since the first attempt was sent.
+     * @return the time to wait in milliseconds, or -1 if the request must not be retried.
+     */
+    public long getDelayBeforeRetry(int failedAttempts, long elapsedMillis) {
+        if (failedAttempts >= maxAttempts) {
+            return -1;
+        }
+        long backoff = initialBackoffMillis;
+        for (int i = 1; i < failedAttempts && backoff < maxBackoffMillis; i++) {
+            backoff *= 2;
+        }
+        backoff = Math.min(backoff, maxBackoffMillis);
+        //Half of the backoff is fixed and the other half is random
+        long delay = backoff / 2 + (long) (random.nextDouble() * (backoff - backoff / 2));
+        if (deadlineMillis > 0 && elapsedMillis + delay >= deadlineMillis) {
+            return -1;
+        }
+        return delay;
+    }
+}
@@ -0,0 +1,43 @@
+package com.auth0.android.request;
+
+import android.support.annotation.Nullable;
+
+import com.auth0.android.Auth0Exception;
+
+import java.util.concurrent.Executor;
+
+/**
+ * Defines a request that can be retried after a transient network failure, whose total duration can be limited and
+ * whose callback can be called on a different executor than the one of its API client.
+ *
+ * @param <T> the type this request will return on success.
+ * @param <U> the {@link Auth0Exception} type this request will return on failure.
+ */
+public interface RetryableRequest<T, U extends Auth0Exception> extends ParameterizableRequest<T, U> {
+
+    /**
+     * Sets the policy used to retry this request after a transient network failure.
+     *
+     * @param retryPolicy the policy to use, or {@link RetryPolicy#NONE} to never retry.
+     * @return itself
+     */
+    RetryableRequest<T, U> setRetryPolicy(RetryPolicy retryPolicy);
+
+    /**
+     * Sets the maximum time this request can take, including any retry. Once it's exceeded the request is
+     * cancelled and fails.
+     *
+     * @param deadlineMillis the deadline in milliseconds, or 0 for no deadline.
+     * @return itself
+     */
+    RetryableRequest<T, U> setDeadline(long deadlineMillis);
+
+    /**
+     * Sets the executor used to call the callback of this request, overriding the one of the API client that created it.
+     *
+     * @param executor the callback executor, or null to call the callback on the network thread.
+     * @return itself
+     * @see com.auth0.android.callback.CallbackExecutors
+     */
+    RetryableRequest<T, U> setCallbackExecutor(@Nullable Executor executor);
+}
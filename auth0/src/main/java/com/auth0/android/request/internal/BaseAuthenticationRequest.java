@@ -9,7 +9,6 @@ import com.google.gson.Gson;
 import com.squareup.okhttp.HttpUrl;
 import com.squareup.okhttp.OkHttpClient;
 
-import java.util.HashMap;
 import java.util.Map;
 
 import static com.auth0.android.authentication.ParameterBuilder.ACCESS_TOKEN_KEY;
@@ -123,14 +122,16 @@ class BaseAuthenticationRequest extends SimpleRequest<Credentials, Authenticatio
 
     @Override
     public AuthenticationRequest addAuthenticationParameters(Map<String, Object> parameters) {
-        final HashMap<String, Object> params = new HashMap<>(parameters);
-        if (parameters.containsKey(CONNECTION_KEY)) {
-            setConnection((String) params.remove(CONNECTION_KEY));
+        for (Map.Entry<String, Object> entry : parameters.entrySet()) {
+            final String name = entry.getKey();
+            if (CONNECTION_KEY.equals(name)) {
+                setConnection((String) entry.getValue());
+            } else if (REALM_KEY.equals(name)) {
+                setRealm((String) entry.getValue());
+            } else if (entry.getValue() != null) {
+                addParameter(name, entry.getValue());
+            }
         }
-        if (parameters.containsKey(REALM_KEY)) {
-            setRealm((String) params.remove(REALM_KEY));
-        }
-        addParameters(params);
         return this;
     }
 }
@@ -25,20 +25,29 @@
 package com.auth0.android.request.internal;
 
 import android.support.annotation.VisibleForTesting;
+import android.util.Log;
 
 import com.auth0.android.Auth0Exception;
 import com.auth0.android.RequestBodyBuildException;
 import com.auth0.android.authentication.ParameterBuilder;
 import com.auth0.android.callback.BaseCallback;
 import com.auth0.android.request.AuthorizableRequest;
+import com.auth0.android.request.Cancellable;
+import com.auth0.android.request.CancellableRequest;
 import com.auth0.android.request.ErrorBuilder;
+import com.auth0.android.request.NetworkEventListener;
 import com.auth0.android.request.ParameterizableRequest;
+import com.auth0.android.request.RetryPolicy;
+import com.auth0.android.request.RetryableRequest;
 import com.google.gson.Gson;
-import com.google.gson.JsonSyntaxException;
+import com.google.gson.JsonParseException;
 import com.google.gson.TypeAdapter;
 import com.google.gson.reflect.TypeToken;
+import com.squareup.okhttp.Call;
 import com.squareup.okhttp.Callback;
+import com.squareup.okhttp.Headers;
 import com.squareup.okhttp.HttpUrl;
+import com.squareup.okhttp.MediaType;
 import com.squareup.okhttp.OkHttpClient;
 import com.squareup.okhttp.Request;
 import com.squareup.okhttp.RequestBody;
@@ -46,15 +55,40 @@ import com.squareup.okhttp.Response;
 import com.squareup.okhttp.ResponseBody;
 
 import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.InterruptedIOException;
+import java.io.Reader;
 import java.lang.reflect.Type;
+import java.nio.charset.Charset;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+
+import okio.Buffer;
+import okio.BufferedSource;
 
 import static com.auth0.android.request.internal.ResponseUtils.closeStream;
 
-abstract class BaseRequest<T, U extends Auth0Exception> implements ParameterizableRequest<T, U>, AuthorizableRequest<T, U>, Callback {
+abstract class BaseRequest<T, U extends Auth0Exception> implements RetryableRequest<T, U>, AuthorizableRequest<T, U>, CancellableRequest<T, U>, Cancellable, Callback {
+
+    private static final String TAG = BaseRequest.class.getSimpleName();
+    private static final Charset UTF_8 = Charset.forName("UTF-8");
+    private static final Type ERROR_VALUES_TYPE = new TypeToken<Map<String, Object>>() {
+    }.getType();
+
+    /**
+     * Maximum number of bytes read from the body of an error response.
+     */
+    @VisibleForTesting
+    static final long MAX_ERROR_BODY_BYTES = 16 * 1024;
 
     private final Map<String, String> headers;
+    private Headers defaultHeaders;
     protected final HttpUrl url;
     protected final OkHttpClient client;
     private final TypeAdapter<T> adapter;
@@ -63,6 +97,17 @@ abstract class BaseRequest<T, U extends Auth0Exception> implements Parameterizab
     private final Gson gson;
     private final ParameterBuilder builder;
     private BaseCallback<T, U> callback;
+    private Executor callbackExecutor;
+    private NetworkEventListener eventListener;
+    private volatile RequestTimer timer;
+    private RetryPolicy retryPolicy = RetryPolicy.NONE;
+    private int attempts = 1;
+    private long startedAt;
+    private long deadlineMillis;
+    private Call call;
+    private ScheduledFuture<?> deadlineTimer;
+    private volatile boolean cancelled;
+    private volatile boolean deadlineExceeded;
 
     protected BaseRequest(HttpUrl url, OkHttpClient client, Gson gson, TypeAdapter<T> adapter, ErrorBuilder<U> errorBuilder) {
         this(url, client, gson, adapter, errorBuilder, null);
@@ -88,23 +133,126 @@ abstract class BaseRequest<T, U extends Auth0Exception> implements Parameterizab
         this.callback = callback;
     }
 
+    /**
+     * Sets the headers shared by every request of the factory. Headers added to this request take precedence over them.
+     *
+     * @param defaultHeaders the shared headers.
+     */
+    void setDefaultHeaders(Headers defaultHeaders) {
+        this.defaultHeaders = defaultHeaders;
+    }
+
+    @Override
+    public RetryableRequest<T, U> setCallbackExecutor(Executor callbackExecutor) {
+        this.callbackExecutor = callbackExecutor;
+        return this;
+    }
+
+    @VisibleForTesting
+    Executor getCallbackExecutor() {
+        return callbackExecutor;
+    }
+
+    void setNetworkEventListener(NetworkEventListener eventListener) {
+        this.eventListener = eventListener;
+    }
+
+    @VisibleForTesting
+    NetworkEventListener getNetworkEventListener() {
+        return eventListener;
+    }
+
     protected void postOnSuccess(final T payload) {
-        this.callback.onSuccess(payload);
+        cancelDeadline();
+        reportMetrics(true);
+        final BaseCallback<T, U> callback = this.callback;
+        dispatch(new Runnable() {
+            @Override
+            public void run() {
+                if (!cancelled) {
+                    callback.onSuccess(payload);
+                }
+            }
+        });
     }
 
     protected final void postOnFailure(final U error) {
-        this.callback.onFailure(error);
+        cancelDeadline();
+        reportMetrics(false);
+        final BaseCallback<T, U> callback = this.callback;
+        dispatch(new Runnable() {
+            @Override
+            public void run() {
+                if (!cancelled) {
+                    callback.onFailure(error);
+                }
+            }
+        });
+    }
+
+    /**
+     * Reports the successful end of a synchronous execution to the network event listener, if any.
+     *
+     * @param payload the result of the request.
+     * @return the given payload.
+     */
+    protected final <R> R reportSuccess(R payload) {
+        reportMetrics(true);
+        return payload;
+    }
+
+    /**
+     * Reports the failed end of a synchronous execution to the network event listener, if any.
+     *
+     * @param error the error the request failed with.
+     * @return the given error, to be thrown.
+     */
+    protected final <E extends Auth0Exception> E reportFailure(E error) {
+        reportMetrics(false);
+        return error;
+    }
+
+    private void reportMetrics(boolean succeeded) {
+        final RequestTimer finished = timer;
+        if (finished == null) {
+            return;
+        }
+        timer = null;
+        try {
+            eventListener.onRequestFinished(finished.finish(builder.asDictionary(), succeeded, cancelled, System.currentTimeMillis()));
+        } catch (RuntimeException e) {
+            Log.e(TAG, "The network event listener failed to handle the metrics of the request to " + url, e);
+        }
+    }
+
+    private void dispatch(Runnable delivery) {
+        if (callbackExecutor == null) {
+            delivery.run();
+        } else {
+            callbackExecutor.execute(delivery);
+        }
     }
 
     protected Request.Builder newBuilder() {
         final Request.Builder builder = new Request.Builder()
                 .url(url);
+        if (defaultHeaders != null) {
+            builder.headers(defaultHeaders);
+        }
         for (Map.Entry<String, String> entry : headers.entrySet()) {
-            builder.addHeader(entry.getKey(), entry.getValue());
+            builder.header(entry.getKey(), entry.getValue());
         }
         return builder;
     }
 
+    protected String getHeader(String name) {
+        final String value = headers.get(name);
+        if (value == null && defaultHeaders != null) {
+            return defaultHeaders.get(name);
+        }
+        return value;
+    }
+
     protected TypeAdapter<T> getAdapter() {
         return adapter;
     }
@@ -126,17 +274,39 @@ abstract class BaseRequest<T, U extends Auth0Exception> implements Parameterizab
         return null;
     }
 
+    /**
+     * Builds the exception for an error response. Only the first {@link #MAX_ERROR_BODY_BYTES} of the body are read.
+     * Bodies that fit and look like a JSON object are parsed into the error values, while any other body, i.e. an HTML
+     * page returned by a proxy, is kept as plain text without being parsed.
+     *
+     * @param response the unsuccessful response.
+     * @return the exception describing the error.
+     */
     protected U parseUnsuccessfulResponse(Response response) {
-        String stringPayload = null;
         ResponseBody body = response.body();
         try {
-            stringPayload = body.string();
-            Type mapType = new TypeToken<Map<String, Object>>() {
-            }.getType();
-            Map<String, Object> mapPayload = gson.fromJson(stringPayload, mapType);
-            return errorBuilder.from(mapPayload);
-        } catch (JsonSyntaxException e) {
-            return errorBuilder.from(stringPayload, response.code());
+            final long contentLength = body.contentLength();
+            final BufferedSource source = body.source();
+            final boolean oversized = source.request(MAX_ERROR_BODY_BYTES + 1);
+            final Buffer buffer = source.buffer();
+            if (!oversized && contentLength != -1 && contentLength != buffer.size()) {
+                throw new IOException("Content-Length and stream length disagree");
+            }
+            if (buffer.size() == 0) {
+                return errorBuilder.from(null, response.code());
+            }
+            if (!oversized && isJsonObject(body.contentType(), buffer)) {
+                final Reader reader = new InputStreamReader(buffer.clone().inputStream(), UTF_8);
+                try {
+                    final Map<String, Object> values = gson.fromJson(reader, ERROR_VALUES_TYPE);
+                    if (values != null) {
+                        return errorBuilder.from(values);
+                    }
+                } catch (JsonParseException ignored) {
+                    // Not valid JSON, so it's reported as plain text
+                }
+            }
+            return errorBuilder.from(buffer.readUtf8(utf8Boundary(buffer, Math.min(buffer.size(), MAX_ERROR_BODY_BYTES))), response.code());
         } catch (IOException e) {
             final Auth0Exception auth0Exception = new Auth0Exception("Error parsing the server response", e);
             return errorBuilder.from("Request to " + url.toString() + " failed", auth0Exception);
@@ -145,8 +315,54 @@ abstract class BaseRequest<T, U extends Auth0Exception> implements Parameterizab
         }
     }
 
+    /**
+     * Moves the given byte count back to the start of the UTF-8 character it falls in, so that reading that many bytes
+     * doesn't split a multi-byte character.
+     */
+    private static long utf8Boundary(Buffer buffer, long byteCount) {
+        long boundary = byteCount;
+        //Continuation bytes look like 10xxxxxx, and a character has at most 3 of them
+        while (byteCount - boundary < 3 && boundary > 0 && boundary < buffer.size() && (buffer.getByte(boundary) & 0xC0) == 0x80) {
+            boundary--;
+        }
+        return boundary;
+    }
+
+    private static boolean isJsonObject(MediaType contentType, Buffer buffer) {
+        if (contentType != null && !contentType.subtype().contains("json") && !contentType.subtype().contains("javascript")) {
+            return false;
+        }
+        for (long i = 0, size = buffer.size(); i < size; i++) {
+            final byte b = buffer.getByte(i);
+            if (b != ' ' && b != '\n' && b != '\r' && b != '\t') {
+                return b == '{';
+            }
+        }
+        return false;
+    }
+
     @Override
-    public void onFailure(Request request, IOException e) {
+    public void onFailure(final Request request, final IOException e) {
+        if (cancelled) {
+            reportMetrics(false);
+            return;
+        }
+        if (deadlineExceeded) {
+            Auth0Exception exception = new Auth0Exception("Failed to execute request to " + url.toString(), deadlineExceededException(e));
+            postOnFailure(errorBuilder.from("Request failed", exception));
+            return;
+        }
+        final long delay = getDelayBeforeRetry(attempts, System.currentTimeMillis() - startedAt);
+        if (delay >= 0) {
+            attempts++;
+            SchedulerHolder.EXECUTOR.schedule(new Runnable() {
+                @Override
+                public void run() {
+                    enqueue(request, e);
+                }
+            }, delay, TimeUnit.MILLISECONDS);
+            return;
+        }
         Auth0Exception exception = new Auth0Exception("Failed to execute request to " + url.toString(), e);
         postOnFailure(errorBuilder.from("Request failed", exception));
     }
@@ -175,17 +391,203 @@ abstract class BaseRequest<T, U extends Auth0Exception> implements Parameterizab
         return this;
     }
 
+    @Override
+    public RetryableRequest<T, U> setRetryPolicy(RetryPolicy retryPolicy) {
+        this.retryPolicy = retryPolicy != null ? retryPolicy : RetryPolicy.NONE;
+        return this;
+    }
+
+    @Override
+    public RetryableRequest<T, U> setDeadline(long deadlineMillis) {
+        if (deadlineMillis < 0) {
+            throw new IllegalArgumentException("The deadline must be a positive value or 0.");
+        }
+        this.deadlineMillis = deadlineMillis;
+        return this;
+    }
+
     @Override
     public void start(BaseCallback<T, U> callback) {
+        startCancellable(callback);
+    }
+
+    @Override
+    public Cancellable startCancellable(BaseCallback<T, U> callback) {
         setCallback(callback);
+        attempts = 1;
+        startedAt = System.currentTimeMillis();
+        timer = null;
         try {
             Request request = doBuildRequest();
-            client.newCall(request).enqueue(this);
+            timer = eventListener != null ? new RequestTimer(request, startedAt) : null;
+            scheduleDeadline();
+            enqueue(request, null);
         } catch (RequestBodyBuildException e) {
             final U exception = errorBuilder.from("Error parsing the request body", e);
-            callback.onFailure(exception);
+            postOnFailure(exception);
+        }
+        return this;
+    }
+
+    @Override
+    public void cancel() {
+        final Call cancelledCall;
+        synchronized (this) {
+            cancelled = true;
+            cancelledCall = call;
+            call = null;
+            cancelDeadline();
+        }
+        if (cancelledCall != null) {
+            cancelledCall.cancel();
+        }
+    }
+
+    @Override
+    public boolean isCancelled() {
+        return cancelled;
+    }
+
+    /**
+     * Sends the request and blocks until a response is received, retrying transient network failures as defined by the retry policy.
+     *
+     * @param request the request to send.
+     * @return the response received.
+     * @throws IOException if the last attempt failed, the deadline was exceeded or the request was cancelled.
+     */
+    protected Response executeCall(Request request) throws IOException {
+        final long start = System.currentTimeMillis();
+        int failedAttempts = 0;
+        timer = eventListener != null ? new RequestTimer(request, start) : null;
+        scheduleDeadline();
+        try {
+            while (true) {
+                try {
+                    final Response response = newCall(request).execute();
+                    recordResponse(response);
+                    return response;
+                } catch (IOException e) {
+                    if (deadlineExceeded) {
+                        throw deadlineExceededException(e);
+                    }
+                    failedAttempts++;
+                    long delay = getDelayBeforeRetry(failedAttempts, System.currentTimeMillis() - start);
+                    if (cancelled || delay < 0) {
+                        throw e;
+                    }
+                    try {
+                        Thread.sleep(delay);
+                    } catch (InterruptedException ie) {
+                        Thread.currentThread().interrupt();
+                        throw e;
+                    }
+                }
+            }
+        } finally {
+            synchronized (this) {
+                call = null;
+                cancelDeadline();
+            }
         }
     }
 
     protected abstract Request doBuildRequest();
+
+    private void enqueue(Request request, IOException lastFailure) {
+        final Callback callback = timer == null ? this : new Callback() {
+            @Override
+            public void onFailure(Request request, IOException e) {
+                BaseRequest.this.onFailure(request, e);
+            }
+
+            @Override
+            public void onResponse(Response response) throws IOException {
+                recordResponse(response);
+                BaseRequest.this.onResponse(response);
+            }
+        };
+        try {
+            newCall(request).enqueue(callback);
+        } catch (IOException e) {
+            onFailure(request, lastFailure != null ? lastFailure : e);
+        }
+    }
+
+    private synchronized Call newCall(Request request) throws IOException {
+        if (cancelled) {
+            throw new IOException("Canceled");
+        }
+        if (deadlineExceeded) {
+            throw deadlineExceededException(null);
+        }
+        call = client.newCall(request);
+        final RequestTimer currentTimer = timer;
+        if (currentTimer != null) {
+            currentTimer.attemptStarted(request, System.currentTimeMillis());
+        }
+        return call;
+    }
+
+    private void recordResponse(Response response) {
+        final RequestTimer currentTimer = timer;
+        if (currentTimer != null) {
+            currentTimer.responseReceived(response, System.currentTimeMillis());
+        }
+    }
+
+    private long getDelayBeforeRetry(int failedAttempts, long elapsedMillis) {
+        final long delay = retryPolicy.getDelayBeforeRetry(failedAttempts, elapsedMillis);
+        if (deadlineMillis > 0 && elapsedMillis + delay >= deadlineMillis) {
+            return -1;
+        }
+        return delay;
+    }
+
+    private synchronized void scheduleDeadline() {
+        deadlineExceeded = false;
+        cancelDeadline();
+        if (deadlineMillis == 0) {
+            return;
+        }
+        deadlineTimer = SchedulerHolder.EXECUTOR.schedule(new Runnable() {
+            @Override
+            public void run() {
+                final Call expiredCall;
+                synchronized (BaseRequest.this) {
+                    deadlineExceeded = true;
+                    deadlineTimer = null;
+                    expiredCall = call;
+                }
+                if (expiredCall != null) {
+                    expiredCall.cancel();
+                }
+            }
+        }, deadlineMillis, TimeUnit.MILLISECONDS);
+    }
+
+    private synchronized void cancelDeadline() {
+        if (deadlineTimer != null) {
+            deadlineTimer.cancel(false);
+            deadlineTimer = null;
+        }
+    }
+
+    private InterruptedIOException deadlineExceededException(IOException cause) {
+        InterruptedIOException exception = new InterruptedIOException("The request exceeded its deadline of " + deadlineMillis + " ms");
+        if (cause != null) {
+            exception.initCause(cause);
+        }
+        return exception;
+    }
+
+    private static final class SchedulerHolder {
+        static final ScheduledExecutorService EXECUTOR = Executors.newSingleThreadScheduledExecutor(new ThreadFactory() {
+            @Override
+            public Thread newThread(Runnable runnable) {
+                Thread thread = new Thread(runnable, "Auth0-RequestScheduler");
+                thread.setDaemon(true);
+                return thread;
+            }
+        });
+    }
 }
@@ -0,0 +1,177 @@
+package com.auth0.android.request.internal;
+
+import com.auth0.android.Auth0Exception;
+import com.auth0.android.callback.BaseCallback;
+import com.auth0.android.request.Cancellable;
+import com.auth0.android.request.ErrorBuilder;
+import com.auth0.android.request.ProfileCache;
+import com.auth0.android.result.UserProfile;
+import com.google.gson.Gson;
+import com.squareup.okhttp.Callback;
+import com.squareup.okhttp.HttpUrl;
+import com.squareup.okhttp.OkHttpClient;
+import com.squareup.okhttp.Request;
+import com.squareup.okhttp.Response;
+import com.squareup.okhttp.ResponseBody;
+
+import java.io.IOException;
+
+import static com.auth0.android.request.internal.ResponseUtils.closeStream;
+
+/**
+ * GET request for a user profile that goes through a {@link ProfileCache}. A fresh cached profile is returned without any network call,
+ * and a stale one is revalidated with a conditional request. While the saved entries of the cache haven't been read yet, the cache is
+ * looked up on the network threads instead of the calling one.
+ */
+class CachedProfileRequest<U extends Auth0Exception> extends BaseRequest<UserProfile, U> implements Callback {
+
+    private static final String HEADER_AUTHORIZATION = "Authorization";
+    private static final String HEADER_ETAG = "ETag";
+    private static final String HEADER_LAST_MODIFIED = "Last-Modified";
+    private static final String HEADER_IF_NONE_MATCH = "If-None-Match";
+    private static final String HEADER_IF_MODIFIED_SINCE = "If-Modified-Since";
+    private static final int HTTP_NOT_MODIFIED = 304;
+    private static final int HTTP_UNAUTHORIZED = 401;
+
+    private final ProfileCache cache;
+    private String cacheKey;
+    private ProfileCache.Entry cachedEntry;
+
+    public CachedProfileRequest(HttpUrl url, OkHttpClient client, Gson gson, ErrorBuilder<U> errorBuilder, ProfileCache cache) {
+        super(url, client, gson, gson.getAdapter(UserProfile.class), errorBuilder);
+        this.cache = cache;
+    }
+
+    @Override
+    public Cancellable startCancellable(final BaseCallback<UserProfile, U> callback) {
+        if (cache.isLoaded()) {
+            startWithCache(callback);
+            return this;
+        }
+        client.getDispatcher().getExecutorService().execute(new Runnable() {
+            @Override
+            public void run() {
+                startWithCache(callback);
+            }
+        });
+        return this;
+    }
+
+    private void startWithCache(BaseCallback<UserProfile, U> callback) {
+        UserProfile cached = lookup();
+        if (cached != null) {
+            setCallback(callback);
+            postOnSuccess(cached);
+            return;
+        }
+        super.startCancellable(callback);
+    }
+
+    @Override
+    public void onResponse(Response response) throws IOException {
+        if (response.code() == HTTP_NOT_MODIFIED && cachedEntry != null) {
+            closeStream(response.body());
+            postOnSuccess(revalidate(response));
+            return;
+        }
+        if (!response.isSuccessful()) {
+            evictIfUnauthorized(response);
+            postOnFailure(parseUnsuccessfulResponse(response));
+            return;
+        }
+
+        ResponseBody body = response.body();
+        try {
+            postOnSuccess(readProfile(response, body));
+        } catch (IOException e) {
+            final Auth0Exception auth0Exception = new Auth0Exception("Failed to parse response to request to " + url, e);
+            postOnFailure(getErrorBuilder().from("Failed to parse a successful response", auth0Exception));
+        } finally {
+            closeStream(body);
+        }
+    }
+
+    @Override
+    protected Request doBuildRequest() {
+        Request.Builder builder = newBuilder().get();
+        if (cachedEntry != null) {
+            if (cachedEntry.getETag() != null) {
+                builder.header(HEADER_IF_NONE_MATCH, cachedEntry.getETag());
+            }
+            if (cachedEntry.getLastModified() != null) {
+                builder.header(HEADER_IF_MODIFIED_SINCE, cachedEntry.getLastModified());
+            }
+        }
+        return builder.build();
+    }
+
+    @Override
+    public UserProfile execute() throws Auth0Exception {
+        UserProfile cached = lookup();
+        if (cached != null) {
+            return cached;
+        }
+        Request request = doBuildRequest();
+
+        Response response;
+        try {
+            response = executeCall(request);
+        } catch (IOException e) {
+            throw reportFailure(new Auth0Exception("Failed to execute request to " + url, e));
+        }
+
+        if (response.code() == HTTP_NOT_MODIFIED && cachedEntry != null) {
+            closeStream(response.body());
+            return reportSuccess(revalidate(response));
+        }
+        if (!response.isSuccessful()) {
+            evictIfUnauthorized(response);
+            throw reportFailure(parseUnsuccessfulResponse(response));
+        }
+
+        ResponseBody body = response.body();
+        try {
+            return reportSuccess(readProfile(response, body));
+        } catch (IOException e) {
+            throw reportFailure(new Auth0Exception("Failed to parse response to request to " + url, e));
+        } finally {
+            closeStream(body);
+        }
+    }
+
+    /**
+     * Finds the cached entry for the current token.
+     *
+     * @return the cached profile if it's still fresh, or null if the server must be asked.
+     */
+    private UserProfile lookup() {
+        cacheKey = ProfileCache.keyFor(url, getHeader(HEADER_AUTHORIZATION));
+        cachedEntry = cache.get(cacheKey);
+        if (cachedEntry != null && cache.isFresh(cachedEntry, System.currentTimeMillis())) {
+            return cachedEntry.getProfile();
+        }
+        return null;
+    }
+
+    private UserProfile revalidate(Response response) {
+        ProfileCache.Entry entry = cachedEntry.revalidated(response.header(HEADER_ETAG), response.header(HEADER_LAST_MODIFIED), System.currentTimeMillis());
+        cache.put(cacheKey, entry);
+        return entry.getProfile();
+    }
+
+    private UserProfile readProfile(Response response, ResponseBody body) throws IOException {
+        //The raw body is only kept when the entries are saved to a store
+        final String json = cache.hasStore() ? body.string() : null;
+        final UserProfile profile = json != null ? getAdapter().fromJson(json) : getAdapter().fromJson(body.charStream());
+        if (profile != null && !response.cacheControl().noStore()) {
+            cache.put(cacheKey, new ProfileCache.Entry(profile, json, response.header(HEADER_ETAG), response.header(HEADER_LAST_MODIFIED), System.currentTimeMillis()));
+        }
+        return profile;
+    }
+
+    private void evictIfUnauthorized(Response response) {
+        if (response.code() == HTTP_UNAUTHORIZED && cachedEntry != null) {
+            cache.remove(cacheKey);
+        }
+    }
+}
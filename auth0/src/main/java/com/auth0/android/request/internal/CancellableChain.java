@@ -0,0 +1,81 @@
+package com.auth0.android.request.internal;
+
+import android.support.annotation.NonNull;
+import android.support.annotation.Nullable;
+
+import com.auth0.android.Auth0Exception;
+import com.auth0.android.callback.BaseCallback;
+import com.auth0.android.request.Cancellable;
+import com.auth0.android.request.CancellableRequest;
+import com.auth0.android.request.Request;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Handle of a request made of several chained requests. Cancelling it cancels every request started so far,
+ * and any request added afterwards is cancelled right away.
+ * This class is meant for internal use only,
+ * breaking changes may appear at any time without backwards compatibility guarantee.
+ */
+public class CancellableChain implements Cancellable {
+
+    private final List<Cancellable> requests = new ArrayList<>(2);
+    private boolean cancelled;
+
+    /**
+     * Adds the handle of a request that was just started as part of the chain.
+     *
+     * @param request the handle of the started request.
+     */
+    public void add(@Nullable Cancellable request) {
+        if (request == null) {
+            return;
+        }
+        synchronized (this) {
+            if (!cancelled) {
+                requests.add(request);
+                return;
+            }
+        }
+        request.cancel();
+    }
+
+    /**
+     * Starts the given request as part of the chain. Requests that don't implement {@link CancellableRequest}
+     * are started all the same, but can't be cancelled.
+     *
+     * @param request  the request to start.
+     * @param callback called either on success or failure.
+     * @param <T>      the type the request returns on success.
+     * @param <U>      the {@link Auth0Exception} type the request returns on failure.
+     */
+    public <T, U extends Auth0Exception> void start(@NonNull Request<T, U> request, @NonNull BaseCallback<T, U> callback) {
+        if (request instanceof CancellableRequest) {
+            add(((CancellableRequest<T, U>) request).startCancellable(callback));
+        } else {
+            request.start(callback);
+        }
+    }
+
+    @Override
+    public void cancel() {
+        final List<Cancellable> started;
+        synchronized (this) {
+            if (cancelled) {
+                return;
+            }
+            cancelled = true;
+            started = new ArrayList<>(requests);
+            requests.clear();
+        }
+        for (Cancellable request : started) {
+            request.cancel();
+        }
+    }
+
+    @Override
+    public synchronized boolean isCancelled() {
+        return cancelled;
+    }
+}
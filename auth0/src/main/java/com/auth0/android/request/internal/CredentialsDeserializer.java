@@ -3,36 +3,34 @@ package com.auth0.android.request.internal;
 import android.support.annotation.VisibleForTesting;
 
 import com.auth0.android.result.Credentials;
-import com.google.gson.JsonDeserializationContext;
-import com.google.gson.JsonDeserializer;
-import com.google.gson.JsonElement;
-import com.google.gson.JsonObject;
+import com.google.gson.Gson;
 import com.google.gson.JsonParseException;
+import com.google.gson.JsonSyntaxException;
+import com.google.gson.TypeAdapter;
+import com.google.gson.TypeAdapterFactory;
+import com.google.gson.reflect.TypeToken;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+import com.google.gson.stream.MalformedJsonException;
 
-import java.lang.reflect.Type;
+import java.io.IOException;
 import java.util.Date;
 
-class CredentialsDeserializer implements JsonDeserializer<Credentials> {
+/**
+ * Reads the Credentials straight from the response stream, without building an intermediate JSON tree.
+ * Serialization is left to the default reflective adapter.
+ */
+class CredentialsDeserializer implements TypeAdapterFactory {
 
+    @SuppressWarnings("unchecked")
     @Override
-    public Credentials deserialize(JsonElement json, Type typeOfT, JsonDeserializationContext context) throws JsonParseException {
-        if (!json.isJsonObject() || json.isJsonNull() || json.getAsJsonObject().entrySet().isEmpty()) {
-            throw new JsonParseException("credentials json is not a valid json object");
+    public <T> TypeAdapter<T> create(Gson gson, TypeToken<T> type) {
+        if (type.getRawType() != Credentials.class) {
+            return null;
         }
-
-        JsonObject object = json.getAsJsonObject();
-        final String idToken = context.deserialize(object.remove("id_token"), String.class);
-        final String accessToken = context.deserialize(object.remove("access_token"), String.class);
-        final String type = context.deserialize(object.remove("token_type"), String.class);
-        final String refreshToken = context.deserialize(object.remove("refresh_token"), String.class);
-        final Long expiresIn = context.deserialize(object.remove("expires_in"), Long.class);
-        final String scope = context.deserialize(object.remove("scope"), String.class);
-        Date expiresAt = context.deserialize(object.remove("expires_at"), Date.class);
-        if (expiresAt == null && expiresIn != null) {
-            expiresAt = new Date(getCurrentTimeInMillis() + expiresIn * 1000);
-        }
-
-        return createCredentials(idToken, accessToken, type, refreshToken, expiresAt, scope);
+        final TypeAdapter<Credentials> delegate = gson.getDelegateAdapter(this, TypeToken.get(Credentials.class));
+        return (TypeAdapter<T>) new CredentialsAdapter(delegate, gson.getAdapter(String.class), gson.getAdapter(Long.class), gson.getAdapter(Date.class)).nullSafe();
     }
 
     @VisibleForTesting
@@ -44,6 +42,88 @@ class CredentialsDeserializer implements JsonDeserializer<Credentials> {
     Credentials createCredentials(String idToken, String accessToken, String type, String refreshToken, Date expiresAt, String scope) {
         return new Credentials(idToken, accessToken, type, refreshToken, expiresAt, scope);
     }
-}
 
+    private class CredentialsAdapter extends TypeAdapter<Credentials> {
+
+        private final TypeAdapter<Credentials> delegate;
+        private final TypeAdapter<String> stringAdapter;
+        private final TypeAdapter<Long> longAdapter;
+        private final TypeAdapter<Date> dateAdapter;
+
+        CredentialsAdapter(TypeAdapter<Credentials> delegate, TypeAdapter<String> stringAdapter, TypeAdapter<Long> longAdapter, TypeAdapter<Date> dateAdapter) {
+            this.delegate = delegate;
+            this.stringAdapter = stringAdapter;
+            this.longAdapter = longAdapter;
+            this.dateAdapter = dateAdapter;
+        }
+
+        @Override
+        public void write(JsonWriter out, Credentials value) throws IOException {
+            delegate.write(out, value);
+        }
+
+        @Override
+        public Credentials read(JsonReader in) throws IOException {
+            try {
+                return readCredentials(in);
+            } catch (MalformedJsonException | IllegalStateException e) {
+                throw new JsonSyntaxException(e);
+            }
+        }
+
+        private Credentials readCredentials(JsonReader in) throws IOException {
+            if (in.peek() != JsonToken.BEGIN_OBJECT) {
+                throw new JsonParseException("credentials json is not a valid json object");
+            }
+
+            String idToken = null;
+            String accessToken = null;
+            String type = null;
+            String refreshToken = null;
+            Long expiresIn = null;
+            String scope = null;
+            Date expiresAt = null;
+            boolean empty = true;
+
+            in.beginObject();
+            while (in.hasNext()) {
+                empty = false;
+                switch (in.nextName()) {
+                    case "id_token":
+                        idToken = stringAdapter.read(in);
+                        break;
+                    case "access_token":
+                        accessToken = stringAdapter.read(in);
+                        break;
+                    case "token_type":
+                        type = stringAdapter.read(in);
+                        break;
+                    case "refresh_token":
+                        refreshToken = stringAdapter.read(in);
+                        break;
+                    case "expires_in":
+                        expiresIn = longAdapter.read(in);
+                        break;
+                    case "scope":
+                        scope = stringAdapter.read(in);
+                        break;
+                    case "expires_at":
+                        expiresAt = dateAdapter.read(in);
+                        break;
+                    default:
+                        in.skipValue();
+                }
+            }
+            in.endObject();
 
+            if (empty) {
+                throw new JsonParseException("credentials json is not a valid json object");
+            }
+            if (expiresAt == null && expiresIn != null) {
+                expiresAt = new Date(getCurrentTimeInMillis() + expiresIn * 1000);
+            }
+
+            return createCredentials(idToken, accessToken, type, refreshToken, expiresAt, scope);
+        }
+    }
+}
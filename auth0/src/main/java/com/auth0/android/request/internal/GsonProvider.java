@@ -2,15 +2,16 @@ package com.auth0.android.request.internal;
 
 import android.support.annotation.VisibleForTesting;
 
-import com.auth0.android.result.Credentials;
-import com.auth0.android.result.UserProfile;
 import com.auth0.android.util.JsonRequiredTypeAdapterFactory;
 import com.google.gson.Gson;
 import com.google.gson.GsonBuilder;
+import com.google.gson.reflect.TypeToken;
 
+import java.security.PublicKey;
 import java.text.SimpleDateFormat;
 import java.util.Date;
 import java.util.Locale;
+import java.util.Map;
 
 public abstract class GsonProvider {
 
@@ -19,8 +20,10 @@ public abstract class GsonProvider {
     public static Gson buildGson() {
         return new GsonBuilder()
                 .registerTypeAdapterFactory(new JsonRequiredTypeAdapterFactory())
-                .registerTypeAdapter(UserProfile.class, new UserProfileDeserializer())
-                .registerTypeAdapter(Credentials.class, new CredentialsDeserializer())
+                .registerTypeAdapterFactory(new UserProfileDeserializer())
+                .registerTypeAdapterFactory(new CredentialsDeserializer())
+                .registerTypeAdapter(new TypeToken<Map<String, PublicKey>>() {
+                }.getType(), new JsonWebKeysAdapter())
                 .setDateFormat(DATE_FORMAT)
                 .create();
     }
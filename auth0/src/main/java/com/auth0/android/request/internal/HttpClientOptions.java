@@ -0,0 +1,181 @@
+package com.auth0.android.request.internal;
+
+import android.support.annotation.IntRange;
+import android.support.annotation.NonNull;
+
+import com.auth0.android.Auth0;
+
+/**
+ * Settings of the OkHttpClient used to send the requests to the Auth0 APIs. Clients created by
+ * {@link OkHttpClientFactory#getSharedClient(HttpClientOptions)} are shared between equal options.
+ * Use {@link HttpClientOptions#newBuilder()} to begin.
+ * This class is meant for internal use only,
+ * breaking changes may appear at any time without backwards compatibility guarantee.
+ */
+public final class HttpClientOptions {
+
+    final boolean loggingEnabled;
+    final boolean tls12Enforced;
+    final boolean http2Enabled;
+    final int connectTimeout;
+    final int readTimeout;
+    final int writeTimeout;
+
+    private HttpClientOptions(Builder builder) {
+        this.loggingEnabled = builder.loggingEnabled;
+        this.tls12Enforced = builder.tls12Enforced;
+        this.http2Enabled = builder.http2Enabled;
+        this.connectTimeout = builder.connectTimeout;
+        this.readTimeout = builder.readTimeout;
+        this.writeTimeout = builder.writeTimeout;
+    }
+
+    /**
+     * Create a new HttpClientOptions.Builder instance.
+     *
+     * @return a new HttpClientOptions.Builder with the OkHttp defaults.
+     */
+    public static Builder newBuilder() {
+        return new Builder();
+    }
+
+    /**
+     * Reads the network settings of the given account.
+     *
+     * @param auth0 the account the API clients are created for.
+     * @return the options of the account.
+     */
+    public static HttpClientOptions from(@NonNull Auth0 auth0) {
+        return newBuilder()
+                .withLogging(auth0.isLoggingEnabled())
+                .enforceTls12(auth0.isTLS12Enforced())
+                .withHttp2(auth0.isHttp2Enabled())
+                .withConnectTimeout(auth0.getConnectTimeoutInSeconds())
+                .withReadTimeout(auth0.getReadTimeoutInSeconds())
+                .withWriteTimeout(auth0.getWriteTimeoutInSeconds())
+                .build();
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        HttpClientOptions that = (HttpClientOptions) o;
+        return loggingEnabled == that.loggingEnabled
+                && tls12Enforced == that.tls12Enforced
+                && http2Enabled == that.http2Enabled
+                && connectTimeout == that.connectTimeout
+                && readTimeout == that.readTimeout
+                && writeTimeout == that.writeTimeout;
+    }
+
+    @Override
+    public int hashCode() {
+        int result = (loggingEnabled ? 1 : 0);
+        result = 31 * result + (tls12Enforced ? 1 : 0);
+        result = 31 * result + (http2Enabled ? 1 : 0);
+        result = 31 * result + connectTimeout;
+        result = 31 * result + readTimeout;
+        result = 31 * result + writeTimeout;
+        return result;
+    }
+
+    @Override
+    public String toString() {
+        return "HttpClientOptions{" +
+                "loggingEnabled=" + loggingEnabled +
+                ", tls12Enforced=" + tls12Enforced +
+                ", http2Enabled=" + http2Enabled +
+                ", connectTimeout=" + connectTimeout +
+                ", readTimeout=" + readTimeout +
+                ", writeTimeout=" + writeTimeout +
+                '}';
+    }
+
+    public static class Builder {
+        private boolean loggingEnabled;
+        private boolean tls12Enforced;
+        private boolean http2Enabled;
+        private int connectTimeout;
+        private int readTimeout;
+        private int writeTimeout;
+
+        private Builder() {
+        }
+
+        /**
+         * Log the requests and the responses, including their body.
+         *
+         * @param enabled whether to log the requests or not.
+         * @return this same builder instance.
+         */
+        public Builder withLogging(boolean enabled) {
+            this.loggingEnabled = enabled;
+            return this;
+        }
+
+        /**
+         * Enforce TLS 1.2 on devices with API 16-21, where it's supported but not enabled by default.
+         *
+         * @param enforced whether to enforce TLS 1.2 or not.
+         * @return this same builder instance.
+         */
+        public Builder enforceTls12(boolean enforced) {
+            this.tls12Enforced = enforced;
+            return this;
+        }
+
+        /**
+         * Allow the client to negotiate HTTP/2.
+         *
+         * @param enabled whether to allow HTTP/2 or not.
+         * @return this same builder instance.
+         */
+        public Builder withHttp2(boolean enabled) {
+            this.http2Enabled = enabled;
+            return this;
+        }
+
+        /**
+         * @param seconds the connection timeout, or 0 to keep the OkHttp default.
+         * @return this same builder instance.
+         */
+        public Builder withConnectTimeout(@IntRange(from = 0) int seconds) {
+            this.connectTimeout = requirePositive(seconds);
+            return this;
+        }
+
+        /**
+         * @param seconds the read timeout, or 0 to keep the OkHttp default.
+         * @return this same builder instance.
+         */
+        public Builder withReadTimeout(@IntRange(from = 0) int seconds) {
+            this.readTimeout = requirePositive(seconds);
+            return this;
+        }
+
+        /**
+         * @param seconds the write timeout, or 0 to keep the OkHttp default.
+         * @return this same builder instance.
+         */
+        public Builder withWriteTimeout(@IntRange(from = 0) int seconds) {
+            this.writeTimeout = requirePositive(seconds);
+            return this;
+        }
+
+        public HttpClientOptions build() {
+            return new HttpClientOptions(this);
+        }
+
+        private static int requirePositive(int seconds) {
+            if (seconds < 0) {
+                throw new IllegalArgumentException("The timeout must be a positive value or 0.");
+            }
+            return seconds;
+        }
+    }
+}
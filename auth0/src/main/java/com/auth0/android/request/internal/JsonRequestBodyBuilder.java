@@ -26,21 +26,101 @@ package com.auth0.android.request.internal;
 
 import com.auth0.android.RequestBodyBuildException;
 import com.google.gson.Gson;
+import com.google.gson.stream.JsonWriter;
 import com.squareup.okhttp.MediaType;
 import com.squareup.okhttp.RequestBody;
 
+import java.io.IOException;
+import java.io.Writer;
+
+import okio.Buffer;
+import okio.BufferedSink;
+
 /**
- * Converts a POJO to JSON stored in a {@link RequestBody}
+ * Converts a POJO to JSON stored in a {@link RequestBody}.
+ * The JSON is written as UTF-8 straight into a segmented buffer, without building an intermediate String,
+ * and the buffer is copied to the connection each time the request is sent.
  */
 abstract class JsonRequestBodyBuilder {
 
     private static final MediaType JSON = MediaType.parse("application/json; charset=utf-8");
 
     public static RequestBody createBody(Object pojo, Gson gson) throws RequestBodyBuildException {
+        //A null pojo is written as the JSON null value
+        final Class<?> type = pojo == null ? Object.class : pojo.getClass();
         try {
-            return RequestBody.create(JSON, gson.toJson(pojo));
+            final Buffer content = new Buffer();
+            final JsonWriter writer = gson.newJsonWriter(new Utf8Writer(content));
+            gson.toJson(pojo, type, writer);
+            writer.flush();
+            return new JsonBody(content);
         } catch (Exception e) {
-            throw new RequestBodyBuildException("Failed to convert " + pojo.getClass().getName() + " to JSON", e);
+            throw new RequestBodyBuildException("Failed to convert " + type.getName() + " to JSON", e);
+        }
+    }
+
+    private static final class JsonBody extends RequestBody {
+
+        private final Buffer content;
+
+        JsonBody(Buffer content) {
+            this.content = content;
+        }
+
+        @Override
+        public MediaType contentType() {
+            return JSON;
+        }
+
+        @Override
+        public long contentLength() {
+            return content.size();
+        }
+
+        @Override
+        public void writeTo(BufferedSink sink) throws IOException {
+            content.copyTo(sink.buffer(), 0, content.size());
+            sink.emitCompleteSegments();
+        }
+    }
+
+    /**
+     * Encodes the characters written by a {@link JsonWriter} as UTF-8 into a {@link Buffer}.
+     * The writer never splits a surrogate pair across calls, as it only breaks strings around the characters it escapes.
+     */
+    private static final class Utf8Writer extends Writer {
+
+        private final Buffer buffer;
+
+        Utf8Writer(Buffer buffer) {
+            this.buffer = buffer;
+        }
+
+        @Override
+        public void write(int c) {
+            if (c < 0x80) {
+                buffer.writeByte(c);
+            } else {
+                buffer.writeUtf8(String.valueOf((char) c));
+            }
+        }
+
+        @Override
+        public void write(String str, int off, int len) {
+            buffer.writeUtf8(str.substring(off, off + len));
+        }
+
+        @Override
+        public void write(char[] cbuf, int off, int len) {
+            buffer.writeUtf8(new String(cbuf, off, len));
+        }
+
+        @Override
+        public void flush() {
+        }
+
+        @Override
+        public void close() {
         }
     }
 }
@@ -0,0 +1,122 @@
+package com.auth0.android.request.internal;
+
+import android.util.Base64;
+import android.util.Log;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonDeserializationContext;
+import com.google.gson.JsonDeserializer;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParseException;
+import com.google.gson.JsonSerializationContext;
+import com.google.gson.JsonSerializer;
+
+import java.lang.reflect.Type;
+import java.math.BigInteger;
+import java.security.KeyFactory;
+import java.security.NoSuchAlgorithmException;
+import java.security.PublicKey;
+import java.security.interfaces.RSAPublicKey;
+import java.security.spec.InvalidKeySpecException;
+import java.security.spec.RSAPublicKeySpec;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Converts a JSON Web Key Set to the RSA signing keys it contains, indexed by key id, and back.
+ * Keys of other types or meant for encryption are skipped.
+ */
+class JsonWebKeysAdapter implements JsonDeserializer<Map<String, PublicKey>>, JsonSerializer<Map<String, PublicKey>> {
+
+    private static final String TAG = JsonWebKeysAdapter.class.getSimpleName();
+    private static final String KEY_KEYS = "keys";
+    private static final String KEY_ID = "kid";
+    private static final String KEY_TYPE = "kty";
+    private static final String KEY_USE = "use";
+    private static final String KEY_ALGORITHM = "alg";
+    private static final String KEY_MODULUS = "n";
+    private static final String KEY_EXPONENT = "e";
+    private static final String TYPE_RSA = "RSA";
+    private static final String USE_SIGNATURE = "sig";
+    private static final String ALGORITHM_RS256 = "RS256";
+    private static final int BASE64_FLAGS = Base64.URL_SAFE | Base64.NO_WRAP | Base64.NO_PADDING;
+
+    @Override
+    public Map<String, PublicKey> deserialize(JsonElement json, Type typeOfT, JsonDeserializationContext context) throws JsonParseException {
+        if (!json.isJsonObject() || !json.getAsJsonObject().has(KEY_KEYS) || !json.getAsJsonObject().get(KEY_KEYS).isJsonArray()) {
+            throw new JsonParseException("jwks json is not a valid json object");
+        }
+        final Map<String, PublicKey> keys = new LinkedHashMap<>();
+        final KeyFactory keyFactory;
+        try {
+            keyFactory = KeyFactory.getInstance(TYPE_RSA);
+        } catch (NoSuchAlgorithmException e) {
+            Log.e(TAG, "RSA keys are not supported on this device.", e);
+            return Collections.emptyMap();
+        }
+        for (JsonElement element : json.getAsJsonObject().getAsJsonArray(KEY_KEYS)) {
+            if (!element.isJsonObject()) {
+                continue;
+            }
+            final JsonObject key = element.getAsJsonObject();
+            final String keyId = getString(key, KEY_ID);
+            final String use = getString(key, KEY_USE);
+            final String algorithm = getString(key, KEY_ALGORITHM);
+            final String encodedModulus = getString(key, KEY_MODULUS);
+            final String encodedExponent = getString(key, KEY_EXPONENT);
+            if (keyId == null || !TYPE_RSA.equals(getString(key, KEY_TYPE))
+                    || use != null && !USE_SIGNATURE.equals(use)
+                    || algorithm != null && !ALGORITHM_RS256.equals(algorithm)
+                    || encodedModulus == null || encodedExponent == null) {
+                continue;
+            }
+            try {
+                final BigInteger modulus = new BigInteger(1, Base64.decode(encodedModulus, BASE64_FLAGS));
+                final BigInteger exponent = new BigInteger(1, Base64.decode(encodedExponent, BASE64_FLAGS));
+                keys.put(keyId, keyFactory.generatePublic(new RSAPublicKeySpec(modulus, exponent)));
+            } catch (InvalidKeySpecException | IllegalArgumentException e) {
+                Log.e(TAG, "Could not parse the JWK with key id " + keyId, e);
+            }
+        }
+        return Collections.unmodifiableMap(keys);
+    }
+
+    @Override
+    public JsonElement serialize(Map<String, PublicKey> src, Type typeOfSrc, JsonSerializationContext context) {
+        final JsonArray keys = new JsonArray();
+        for (Map.Entry<String, PublicKey> entry : src.entrySet()) {
+            if (!(entry.getValue() instanceof RSAPublicKey)) {
+                continue;
+            }
+            final RSAPublicKey rsaKey = (RSAPublicKey) entry.getValue();
+            final JsonObject key = new JsonObject();
+            key.addProperty(KEY_ID, entry.getKey());
+            key.addProperty(KEY_TYPE, TYPE_RSA);
+            key.addProperty(KEY_USE, USE_SIGNATURE);
+            key.addProperty(KEY_ALGORITHM, ALGORITHM_RS256);
+            key.addProperty(KEY_MODULUS, encode(rsaKey.getModulus()));
+            key.addProperty(KEY_EXPONENT, encode(rsaKey.getPublicExponent()));
+            keys.add(key);
+        }
+        final JsonObject jwks = new JsonObject();
+        jwks.add(KEY_KEYS, keys);
+        return jwks;
+    }
+
+    private static String encode(BigInteger value) {
+        byte[] bytes = value.toByteArray();
+        if (bytes.length > 1 && bytes[0] == 0) {
+            //Drop the sign byte
+            bytes = Arrays.copyOfRange(bytes, 1, bytes.length);
+        }
+        return Base64.encodeToString(bytes, BASE64_FLAGS);
+    }
+
+    private static String getString(JsonObject json, String name) {
+        final JsonElement value = json.get(name);
+        return value != null && value.isJsonPrimitive() ? value.getAsString() : null;
+    }
+}
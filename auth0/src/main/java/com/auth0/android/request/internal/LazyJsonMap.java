@@ -0,0 +1,131 @@
+package com.auth0.android.request.internal;
+
+import android.support.annotation.NonNull;
+import android.support.annotation.VisibleForTesting;
+
+import com.google.gson.Gson;
+import com.google.gson.TypeAdapter;
+import com.google.gson.reflect.TypeToken;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonWriter;
+
+import java.io.IOException;
+import java.io.Serializable;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.util.AbstractMap;
+import java.util.Collections;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Read-only map that keeps a JSON object in its raw form and only parses it the first time one of its values is accessed.
+ * Used for the profile metadata, which can be large and is often never read.
+ */
+class LazyJsonMap extends AbstractMap<String, Object> implements Serializable {
+
+    private static final TypeAdapter<Map<String, Object>> MAP_ADAPTER = new Gson().getAdapter(new TypeToken<Map<String, Object>>() {
+    });
+
+    private final String json;
+    private transient volatile Map<String, Object> map;
+
+    @VisibleForTesting
+    LazyJsonMap(@NonNull String json) {
+        this.json = json;
+    }
+
+    /**
+     * Copies the JSON object the reader is positioned at without parsing its values.
+     *
+     * @param in the reader positioned at the beginning of a JSON object.
+     * @return a map that will parse the copied object on first access.
+     * @throws IOException if the object can't be read.
+     */
+    static LazyJsonMap read(@NonNull JsonReader in) throws IOException {
+        StringWriter writer = new StringWriter();
+        JsonWriter out = new JsonWriter(writer);
+        copyValue(in, out);
+        out.flush();
+        return new LazyJsonMap(writer.toString());
+    }
+
+    @VisibleForTesting
+    boolean isParsed() {
+        return map != null;
+    }
+
+    @NonNull
+    @Override
+    public Set<Entry<String, Object>> entrySet() {
+        return getMap().entrySet();
+    }
+
+    @Override
+    public Object get(Object key) {
+        return getMap().get(key);
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        return getMap().containsKey(key);
+    }
+
+    @Override
+    public int size() {
+        return getMap().size();
+    }
+
+    private Map<String, Object> getMap() {
+        Map<String, Object> parsed = map;
+        if (parsed == null) {
+            try {
+                parsed = Collections.unmodifiableMap(MAP_ADAPTER.read(new JsonReader(new StringReader(json))));
+            } catch (IOException e) {
+                //The JSON was already validated when it was copied
+                throw new IllegalStateException("Failed to parse the stored JSON object", e);
+            }
+            map = parsed;
+        }
+        return parsed;
+    }
+
+    private static void copyValue(JsonReader in, JsonWriter out) throws IOException {
+        switch (in.peek()) {
+            case BEGIN_OBJECT:
+                in.beginObject();
+                out.beginObject();
+                while (in.hasNext()) {
+                    out.name(in.nextName());
+                    copyValue(in, out);
+                }
+                in.endObject();
+                out.endObject();
+                break;
+            case BEGIN_ARRAY:
+                in.beginArray();
+                out.beginArray();
+                while (in.hasNext()) {
+                    copyValue(in, out);
+                }
+                in.endArray();
+                out.endArray();
+                break;
+            case STRING:
+                out.value(in.nextString());
+                break;
+            case NUMBER:
+                out.jsonValue(in.nextString());
+                break;
+            case BOOLEAN:
+                out.value(in.nextBoolean());
+                break;
+            case NULL:
+                in.nextNull();
+                out.nullValue();
+                break;
+            default:
+                throw new IllegalStateException("Unexpected token " + in.peek());
+        }
+    }
+}
@@ -15,12 +15,17 @@ import java.security.KeyManagementException;
 import java.security.NoSuchAlgorithmException;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
 
 import javax.net.ssl.SSLContext;
 
 /**
- * Factory class used to configure and obtain a new OkHttpClient instance.
+ * Factory class used to configure and obtain OkHttpClient instances.
+ * Clients obtained through {@link #getSharedClient(HttpClientOptions)} are kept in a process-wide registry
+ * so that every API client with the same configuration reuses the same connection pool, dispatcher and TLS sessions.
  * This class is meant for internal use only,
  * breaking changes may appear at any time without backwards compatibility guarantee.
  */
@@ -28,6 +33,27 @@ public class OkHttpClientFactory {
 
     private static final String TAG = OkHttpClientFactory.class.getSimpleName();
 
+    private static final Map<HttpClientOptions, OkHttpClient> sharedClients = new HashMap<>();
+
+    /**
+     * This method returns the process-wide OkHttpClient instance for the provided options,
+     * creating it the first time a given configuration is requested.
+     * It is used internally and is not intended to be used directly.
+     *
+     * @param options the settings of the client.
+     * @return the OkHttpClient instance shared by every caller using equal options.
+     */
+    public OkHttpClient getSharedClient(HttpClientOptions options) {
+        synchronized (sharedClients) {
+            OkHttpClient client = sharedClients.get(options);
+            if (client == null) {
+                client = createClient(options);
+                sharedClients.put(options, client);
+            }
+            return client;
+        }
+    }
+
     /**
      * This method creates an instance of OKHttpClient according to the provided parameters.
      * It is used internally and is not intended to be used directly.
@@ -35,23 +61,60 @@ public class OkHttpClientFactory {
      * @param loggingEnabled Enable logging in the created OkHttpClient.
      * @param tls12Enforced  Enforce TLS 1.2 in the created OkHttpClient on devices with API 16-21
      * @return new OkHttpClient instance created according to the parameters.
+     * @deprecated use {@link #createClient(HttpClientOptions)} instead.
      */
+    @Deprecated
     public OkHttpClient createClient(boolean loggingEnabled, boolean tls12Enforced) {
-        return modifyClient(new OkHttpClient(), loggingEnabled, tls12Enforced);
+        return createClient(HttpClientOptions.newBuilder()
+                .withLogging(loggingEnabled)
+                .enforceTls12(tls12Enforced)
+                .build());
+    }
+
+    /**
+     * This method creates an instance of OKHttpClient according to the provided options.
+     * It is used internally and is not intended to be used directly.
+     *
+     * @param options the settings of the client.
+     * @return new OkHttpClient instance created according to the options.
+     */
+    public OkHttpClient createClient(HttpClientOptions options) {
+        return modifyClient(new OkHttpClient(), options);
     }
 
     @VisibleForTesting
-    OkHttpClient modifyClient(OkHttpClient client, boolean loggingEnabled, boolean tls12Enforced) {
-        if (loggingEnabled) {
+    OkHttpClient modifyClient(OkHttpClient client, HttpClientOptions options) {
+        if (options.loggingEnabled) {
             enableLogging(client);
         }
-        if (tls12Enforced) {
+        if (options.tls12Enforced) {
             enforceTls12(client);
         }
-        client.setProtocols(Arrays.asList(Protocol.HTTP_1_1, Protocol.SPDY_3));
+        if (options.http2Enabled) {
+            //HTTP/2 is negotiated through ALPN on TLS connections. Anything else falls back to HTTP/1.1
+            client.setProtocols(Arrays.asList(Protocol.HTTP_2, Protocol.HTTP_1_1));
+        } else {
+            client.setProtocols(Arrays.asList(Protocol.HTTP_1_1, Protocol.SPDY_3));
+        }
+        if (options.connectTimeout > 0) {
+            client.setConnectTimeout(options.connectTimeout, TimeUnit.SECONDS);
+        }
+        if (options.readTimeout > 0) {
+            client.setReadTimeout(options.readTimeout, TimeUnit.SECONDS);
+        }
+        if (options.writeTimeout > 0) {
+            client.setWriteTimeout(options.writeTimeout, TimeUnit.SECONDS);
+        }
         return client;
     }
 
+    @VisibleForTesting
+    static void clearSharedClients() {
+        synchronized (sharedClients) {
+            sharedClients.clear();
+        }
+    }
+
     private void enableLogging(OkHttpClient client) {
         Interceptor interceptor = new HttpLoggingInterceptor()
                 .setLevel(HttpLoggingInterceptor.Level.BODY);
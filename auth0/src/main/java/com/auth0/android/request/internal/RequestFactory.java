@@ -25,21 +25,28 @@
 package com.auth0.android.request.internal;
 
 import android.support.annotation.NonNull;
+import android.support.annotation.Nullable;
 
 import com.auth0.android.Auth0Exception;
 import com.auth0.android.request.AuthenticationRequest;
 import com.auth0.android.request.ErrorBuilder;
+import com.auth0.android.request.NetworkEventListener;
 import com.auth0.android.request.ParameterizableRequest;
+import com.auth0.android.request.ProfileCache;
+import com.auth0.android.request.RetryableRequest;
 import com.auth0.android.result.Credentials;
+import com.auth0.android.result.UserProfile;
 import com.auth0.android.util.Telemetry;
 import com.google.gson.Gson;
 import com.google.gson.reflect.TypeToken;
+import com.squareup.okhttp.Headers;
 import com.squareup.okhttp.HttpUrl;
 import com.squareup.okhttp.OkHttpClient;
 
 import java.util.HashMap;
 import java.util.Locale;
 import java.util.Map;
+import java.util.concurrent.Executor;
 
 public class RequestFactory {
 
@@ -51,6 +58,9 @@ public class RequestFactory {
     private static final String CLIENT_INFO_HEADER = Telemetry.HEADER_NAME;
 
     private final HashMap<String, String> headers;
+    private volatile Headers defaultHeaders;
+    private Executor callbackExecutor;
+    private NetworkEventListener eventListener;
 
     public RequestFactory() {
         headers = new HashMap<>();
@@ -64,10 +74,25 @@ public class RequestFactory {
 
     public void setClientInfo(String clientInfo) {
         headers.put(CLIENT_INFO_HEADER, clientInfo);
+        defaultHeaders = null;
     }
 
     public void setUserAgent(String userAgent) {
         headers.put(USER_AGENT_HEADER, userAgent);
+        defaultHeaders = null;
+    }
+
+    public void setCallbackExecutor(@Nullable Executor callbackExecutor) {
+        this.callbackExecutor = callbackExecutor;
+    }
+
+    @Nullable
+    public Executor getCallbackExecutor() {
+        return callbackExecutor;
+    }
+
+    public void setNetworkEventListener(@Nullable NetworkEventListener eventListener) {
+        this.eventListener = eventListener;
     }
 
 
@@ -77,71 +102,110 @@ public class RequestFactory {
         return request;
     }
 
-    public <T, U extends Auth0Exception> ParameterizableRequest<T, U> POST(HttpUrl url, OkHttpClient client, Gson gson, Class<T> clazz, ErrorBuilder<U> errorBuilder) {
-        final ParameterizableRequest<T, U> request = createSimpleRequest(url, client, gson, "POST", clazz, errorBuilder);
+    public <T, U extends Auth0Exception> RetryableRequest<T, U> POST(HttpUrl url, OkHttpClient client, Gson gson, Class<T> clazz, ErrorBuilder<U> errorBuilder) {
+        final RetryableRequest<T, U> request = createSimpleRequest(url, client, gson, "POST", clazz, errorBuilder);
         addMetrics(request);
         return request;
     }
 
-    public <T, U extends Auth0Exception> ParameterizableRequest<T, U> POST(HttpUrl url, OkHttpClient client, Gson gson, TypeToken<T> typeToken, ErrorBuilder<U> errorBuilder) {
-        final ParameterizableRequest<T, U> request = createSimpleRequest(url, client, gson, "POST", typeToken, errorBuilder);
+    public <T, U extends Auth0Exception> RetryableRequest<T, U> POST(HttpUrl url, OkHttpClient client, Gson gson, TypeToken<T> typeToken, ErrorBuilder<U> errorBuilder) {
+        final RetryableRequest<T, U> request = createSimpleRequest(url, client, gson, "POST", typeToken, errorBuilder);
         addMetrics(request);
         return request;
     }
 
-    public <U extends Auth0Exception> ParameterizableRequest<Map<String, Object>, U> rawPOST(HttpUrl url, OkHttpClient client, Gson gson, ErrorBuilder<U> errorBuilder) {
-        final ParameterizableRequest<Map<String, Object>, U> request = createSimpleRequest(url, client, gson, "POST", errorBuilder);
+    public <U extends Auth0Exception> RetryableRequest<Map<String, Object>, U> rawPOST(HttpUrl url, OkHttpClient client, Gson gson, ErrorBuilder<U> errorBuilder) {
+        final RetryableRequest<Map<String, Object>, U> request = createSimpleRequest(url, client, gson, "POST", errorBuilder);
         addMetrics(request);
         return request;
     }
 
-    public <U extends Auth0Exception> ParameterizableRequest<Void, U> POST(HttpUrl url, OkHttpClient client, Gson gson, ErrorBuilder<U> errorBuilder) {
-        final ParameterizableRequest<Void, U> request = createVoidRequest(url, client, gson, "POST", errorBuilder);
+    public <U extends Auth0Exception> RetryableRequest<Void, U> POST(HttpUrl url, OkHttpClient client, Gson gson, ErrorBuilder<U> errorBuilder) {
+        final RetryableRequest<Void, U> request = createVoidRequest(url, client, gson, "POST", errorBuilder);
         addMetrics(request);
         return request;
     }
 
-    public <T, U extends Auth0Exception> ParameterizableRequest<T, U> PATCH(HttpUrl url, OkHttpClient client, Gson gson, Class<T> clazz, ErrorBuilder<U> errorBuilder) {
-        final ParameterizableRequest<T, U> request = createSimpleRequest(url, client, gson, "PATCH", clazz, errorBuilder);
+    public <T, U extends Auth0Exception> RetryableRequest<T, U> PATCH(HttpUrl url, OkHttpClient client, Gson gson, Class<T> clazz, ErrorBuilder<U> errorBuilder) {
+        final RetryableRequest<T, U> request = createSimpleRequest(url, client, gson, "PATCH", clazz, errorBuilder);
         addMetrics(request);
         return request;
     }
 
-    public <T, U extends Auth0Exception> ParameterizableRequest<T, U> DELETE(HttpUrl url, OkHttpClient client, Gson gson, TypeToken<T> typeToken, ErrorBuilder<U> errorBuilder) {
-        final ParameterizableRequest<T, U> request = createSimpleRequest(url, client, gson, "DELETE", typeToken, errorBuilder);
+    public <T, U extends Auth0Exception> RetryableRequest<T, U> DELETE(HttpUrl url, OkHttpClient client, Gson gson, TypeToken<T> typeToken, ErrorBuilder<U> errorBuilder) {
+        final RetryableRequest<T, U> request = createSimpleRequest(url, client, gson, "DELETE", typeToken, errorBuilder);
         addMetrics(request);
         return request;
     }
 
-    public <T, U extends Auth0Exception> ParameterizableRequest<T, U> GET(HttpUrl url, OkHttpClient client, Gson gson, Class<T> clazz, ErrorBuilder<U> errorBuilder) {
-        final ParameterizableRequest<T, U> request = createSimpleRequest(url, client, gson, "GET", clazz, errorBuilder);
+    public <T, U extends Auth0Exception> RetryableRequest<T, U> GET(HttpUrl url, OkHttpClient client, Gson gson, Class<T> clazz, ErrorBuilder<U> errorBuilder) {
+        final RetryableRequest<T, U> request = createSimpleRequest(url, client, gson, "GET", clazz, errorBuilder);
+        addMetrics(request);
+        return request;
+    }
+
+    public <T, U extends Auth0Exception> RetryableRequest<T, U> GET(HttpUrl url, OkHttpClient client, Gson gson, TypeToken<T> typeToken, ErrorBuilder<U> errorBuilder) {
+        final RetryableRequest<T, U> request = createSimpleRequest(url, client, gson, "GET", typeToken, errorBuilder);
+        addMetrics(request);
+        return request;
+    }
+
+    public <U extends Auth0Exception> RetryableRequest<UserProfile, U> GET(HttpUrl url, OkHttpClient client, Gson gson, ProfileCache cache, ErrorBuilder<U> errorBuilder) {
+        final RetryableRequest<UserProfile, U> request = createCachedProfileRequest(url, client, gson, cache, errorBuilder);
         addMetrics(request);
         return request;
     }
 
     private <T, U extends Auth0Exception> void addMetrics(ParameterizableRequest<T, U> request) {
-        for (Map.Entry<String, String> entry : headers.entrySet()) {
-            request.addHeader(entry.getKey(), entry.getValue());
+        if (!(request instanceof BaseRequest)) {
+            for (Map.Entry<String, String> entry : headers.entrySet()) {
+                request.addHeader(entry.getKey(), entry.getValue());
+            }
+            return;
+        }
+        final BaseRequest<T, U> baseRequest = (BaseRequest<T, U>) request;
+        baseRequest.setDefaultHeaders(getDefaultHeaders());
+        baseRequest.setCallbackExecutor(callbackExecutor);
+        baseRequest.setNetworkEventListener(eventListener);
+    }
+
+    /**
+     * The headers sent in every request, built once and shared by all of them until a header value changes.
+     */
+    Headers getDefaultHeaders() {
+        Headers defaultHeaders = this.defaultHeaders;
+        if (defaultHeaders == null) {
+            final Headers.Builder builder = new Headers.Builder();
+            for (Map.Entry<String, String> entry : headers.entrySet()) {
+                builder.add(entry.getKey(), entry.getValue());
+            }
+            defaultHeaders = builder.build();
+            this.defaultHeaders = defaultHeaders;
         }
+        return defaultHeaders;
     }
 
-    <T, U extends Auth0Exception> ParameterizableRequest<T, U> createSimpleRequest(HttpUrl url, OkHttpClient client, Gson gson, String method, Class<T> clazz, ErrorBuilder<U> errorBuilder) {
+    <T, U extends Auth0Exception> RetryableRequest<T, U> createSimpleRequest(HttpUrl url, OkHttpClient client, Gson gson, String method, Class<T> clazz, ErrorBuilder<U> errorBuilder) {
         return new SimpleRequest<>(url, client, gson, method, clazz, errorBuilder);
     }
 
-    <T, U extends Auth0Exception> ParameterizableRequest<T, U> createSimpleRequest(HttpUrl url, OkHttpClient client, Gson gson, String method, TypeToken<T> typeToken, ErrorBuilder<U> errorBuilder) {
+    <T, U extends Auth0Exception> RetryableRequest<T, U> createSimpleRequest(HttpUrl url, OkHttpClient client, Gson gson, String method, TypeToken<T> typeToken, ErrorBuilder<U> errorBuilder) {
         return new SimpleRequest<>(url, client, gson, method, typeToken, errorBuilder);
     }
 
-    <T, U extends Auth0Exception> ParameterizableRequest<T, U> createSimpleRequest(HttpUrl url, OkHttpClient client, Gson gson, String method, ErrorBuilder<U> errorBuilder) {
+    <T, U extends Auth0Exception> RetryableRequest<T, U> createSimpleRequest(HttpUrl url, OkHttpClient client, Gson gson, String method, ErrorBuilder<U> errorBuilder) {
         return new SimpleRequest<>(url, client, gson, method, errorBuilder);
     }
 
+    <U extends Auth0Exception> RetryableRequest<UserProfile, U> createCachedProfileRequest(HttpUrl url, OkHttpClient client, Gson gson, ProfileCache cache, ErrorBuilder<U> errorBuilder) {
+        return new CachedProfileRequest<>(url, client, gson, errorBuilder, cache);
+    }
+
     AuthenticationRequest createAuthenticationRequest(HttpUrl url, OkHttpClient client, Gson gson, String method) {
         return new BaseAuthenticationRequest(url, client, gson, method, Credentials.class);
     }
 
-    <U extends Auth0Exception> ParameterizableRequest<Void, U> createVoidRequest(HttpUrl url, OkHttpClient client, Gson gson, String method, ErrorBuilder<U> errorBuilder) {
+    <U extends Auth0Exception> RetryableRequest<Void, U> createVoidRequest(HttpUrl url, OkHttpClient client, Gson gson, String method, ErrorBuilder<U> errorBuilder) {
         return new VoidRequest<>(url, client, gson, method, errorBuilder);
     }
 
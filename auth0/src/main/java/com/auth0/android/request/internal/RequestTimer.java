@@ -0,0 +1,161 @@
+package com.auth0.android.request.internal;
+
+import com.auth0.android.authentication.ParameterBuilder;
+import com.auth0.android.request.RequestMetrics;
+import com.auth0.android.request.RequestMetrics.Outcome;
+import com.squareup.okhttp.HttpUrl;
+import com.squareup.okhttp.Request;
+import com.squareup.okhttp.Response;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Records the timing of a request while it's sent, to build the {@link RequestMetrics} reported once it completes.
+ * Only created when a {@link com.auth0.android.request.NetworkEventListener} is registered.
+ */
+class RequestTimer {
+
+    private static final String HEADER_SENT_MILLIS = "OkHttp-Sent-Millis";
+    private static final String HEADER_RECEIVED_MILLIS = "OkHttp-Received-Millis";
+
+    private final String method;
+    private final HttpUrl url;
+    private final long startedAt;
+    private long attemptStartedAt;
+    private int attempts;
+    private long bytesSent = -1;
+    private long sentAt = -1;
+    private long receivedAt = -1;
+    private int statusCode = -1;
+    private boolean successfulResponse;
+    private long bytesReceived = -1;
+
+    RequestTimer(Request request, long startedAt) {
+        this.method = request.method();
+        this.url = request.httpUrl();
+        this.startedAt = startedAt;
+    }
+
+    synchronized void attemptStarted(Request request, long now) {
+        attempts++;
+        attemptStartedAt = now;
+        sentAt = -1;
+        receivedAt = -1;
+        if (request.body() == null) {
+            bytesSent = 0;
+            return;
+        }
+        try {
+            bytesSent = request.body().contentLength();
+        } catch (IOException e) {
+            bytesSent = -1;
+        }
+    }
+
+    synchronized void responseReceived(Response response, long now) {
+        statusCode = response.code();
+        successfulResponse = response.isSuccessful() || response.code() == 304;
+        sentAt = parseMillis(response.header(HEADER_SENT_MILLIS), attemptStartedAt);
+        receivedAt = parseMillis(response.header(HEADER_RECEIVED_MILLIS), now);
+        bytesReceived = contentLength(response);
+    }
+
+    /**
+     * Builds the metrics of the completed request.
+     *
+     * @param parameters the parameters sent in the request body.
+     * @param succeeded  whether the request yielded a result.
+     * @param cancelled  whether the request was cancelled.
+     * @param now        the completion time.
+     */
+    synchronized RequestMetrics finish(Map<String, Object> parameters, boolean succeeded, boolean cancelled, long now) {
+        final Outcome outcome;
+        if (succeeded) {
+            outcome = Outcome.SUCCESS;
+        } else if (cancelled) {
+            outcome = Outcome.CANCELLED;
+        } else if (statusCode == -1) {
+            outcome = Outcome.NETWORK_ERROR;
+        } else if (successfulResponse) {
+            outcome = Outcome.PARSE_ERROR;
+        } else {
+            outcome = Outcome.HTTP_ERROR;
+        }
+        final long sendMillis = sentAt != -1 ? sentAt - attemptStartedAt : -1;
+        final long waitMillis = sentAt != -1 && receivedAt != -1 ? receivedAt - sentAt : -1;
+        final long readMillis = receivedAt != -1 ? now - receivedAt : -1;
+        return new RequestMetrics(operationFor(method, url, parameters), method, url.host(), url.encodedPath(), outcome, statusCode, attempts,
+                sendMillis, waitMillis, readMillis, now - startedAt, bytesSent, bytesReceived);
+    }
+
+    /**
+     * Names the logical operation of a request to the Auth0 APIs from its endpoint.
+     *
+     * @return the operation name, or null if the endpoint is not a known one.
+     */
+    static String operationFor(String method, HttpUrl url, Map<String, Object> parameters) {
+        final Object grantType = parameters.get(ParameterBuilder.GRANT_TYPE_KEY);
+        final List<String> segments = url.pathSegments();
+        final String first = segments.get(0);
+        final String last = segments.get(segments.size() - 1);
+        switch (first) {
+            case "oauth":
+                if ("token".equals(last)) {
+                    if (ParameterBuilder.GRANT_TYPE_REFRESH_TOKEN.equals(grantType)) {
+                        return "renewAuth";
+                    }
+                    return ParameterBuilder.GRANT_TYPE_AUTHORIZATION_CODE.equals(grantType) ? "codeExchange" : "login";
+                }
+                if ("revoke".equals(last)) {
+                    return "revokeToken";
+                }
+                return "login";
+            case "delegation":
+                return parameters.containsKey(ParameterBuilder.REFRESH_TOKEN_KEY) ? "renewAuth" : "delegation";
+            case "userinfo":
+                return "userInfo";
+            case "tokeninfo":
+                return "tokenInfo";
+            case "dbconnections":
+                return "signup".equals(last) ? "signUp" : "resetPassword";
+            case "passwordless":
+                return "passwordlessStart";
+            case ".well-known":
+                return "fetchJsonWebKeys";
+            case "api":
+                if (segments.size() >= 5 && "identities".equals(segments.get(4))) {
+                    return "POST".equals(method) ? "link" : "unlink";
+                }
+                if (segments.size() == 4 && "users".equals(segments.get(2))) {
+                    return "PATCH".equals(method) ? "updateMetadata" : "getProfile";
+                }
+                return null;
+            default:
+                return null;
+        }
+    }
+
+    private static long contentLength(Response response) {
+        if (response.body() == null) {
+            return -1;
+        }
+        try {
+            return response.body().contentLength();
+        } catch (IOException e) {
+            return -1;
+        }
+    }
+
+    private static long parseMillis(String value, long fallback) {
+        if (value == null) {
+            return fallback;
+        }
+        try {
+            return Long.parseLong(value);
+        } catch (NumberFormatException e) {
+            return fallback;
+        }
+    }
+}
@@ -96,21 +96,21 @@ class SimpleRequest<T, U extends Auth0Exception> extends BaseRequest<T, U> imple
 
         Response response;
         try {
-            response = client.newCall(request).execute();
+            response = executeCall(request);
         } catch (IOException e) {
-            throw new Auth0Exception("Failed to execute request to " + url, e);
+            throw reportFailure(new Auth0Exception("Failed to execute request to " + url, e));
         }
 
         if (!response.isSuccessful()) {
-            throw parseUnsuccessfulResponse(response);
+            throw reportFailure(parseUnsuccessfulResponse(response));
         }
 
         ResponseBody body = response.body();
         try {
             Reader charStream = body.charStream();
-            return getAdapter().fromJson(charStream);
+            return reportSuccess(getAdapter().fromJson(charStream));
         } catch (IOException e) {
-            throw new Auth0Exception("Failed to parse response to request to " + url, e);
+            throw reportFailure(new Auth0Exception("Failed to parse response to request to " + url, e));
         } finally {
             closeStream(body);
         }
@@ -2,44 +2,154 @@ package com.auth0.android.request.internal;
 
 import com.auth0.android.result.UserIdentity;
 import com.auth0.android.result.UserProfile;
-import com.google.gson.JsonDeserializationContext;
-import com.google.gson.JsonDeserializer;
-import com.google.gson.JsonElement;
-import com.google.gson.JsonObject;
+import com.google.gson.Gson;
 import com.google.gson.JsonParseException;
+import com.google.gson.JsonSyntaxException;
+import com.google.gson.TypeAdapter;
+import com.google.gson.TypeAdapterFactory;
 import com.google.gson.reflect.TypeToken;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+import com.google.gson.stream.MalformedJsonException;
 
-import java.lang.reflect.Type;
+import java.io.IOException;
 import java.util.Date;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 
-class UserProfileDeserializer implements JsonDeserializer<UserProfile> {
+/**
+ * Reads the UserProfile straight from the response stream, without building an intermediate JSON tree.
+ * Every attribute that isn't mapped to a UserProfile field is collected into the extra info.
+ * The user and app metadata are kept as raw JSON and only parsed when they are first accessed.
+ * Serialization is left to the default reflective adapter.
+ */
+class UserProfileDeserializer implements TypeAdapterFactory {
+
+    @SuppressWarnings("unchecked")
     @Override
-    public UserProfile deserialize(JsonElement json, Type typeOfT, JsonDeserializationContext context) throws JsonParseException {
-        if (!json.isJsonObject() || json.isJsonNull() || json.getAsJsonObject().entrySet().isEmpty()) {
-            throw new JsonParseException("user profile json is not a valid json object");
+    public <T> TypeAdapter<T> create(Gson gson, TypeToken<T> type) {
+        if (type.getRawType() != UserProfile.class) {
+            return null;
+        }
+        return (TypeAdapter<T>) new UserProfileAdapter(gson, gson.getDelegateAdapter(this, TypeToken.get(UserProfile.class))).nullSafe();
+    }
+
+    private static class UserProfileAdapter extends TypeAdapter<UserProfile> {
+
+        private final TypeAdapter<UserProfile> delegate;
+        private final TypeAdapter<String> stringAdapter;
+        private final TypeAdapter<Boolean> booleanAdapter;
+        private final TypeAdapter<Date> dateAdapter;
+        private final TypeAdapter<List<UserIdentity>> identitiesAdapter;
+        private final TypeAdapter<Map<String, Object>> metadataAdapter;
+        private final TypeAdapter<Object> valueAdapter;
+
+        UserProfileAdapter(Gson gson, TypeAdapter<UserProfile> delegate) {
+            this.delegate = delegate;
+            this.stringAdapter = gson.getAdapter(String.class);
+            this.booleanAdapter = gson.getAdapter(Boolean.class);
+            this.dateAdapter = gson.getAdapter(Date.class);
+            this.identitiesAdapter = gson.getAdapter(new TypeToken<List<UserIdentity>>() {
+            });
+            this.metadataAdapter = gson.getAdapter(new TypeToken<Map<String, Object>>() {
+            });
+            this.valueAdapter = gson.getAdapter(Object.class);
+        }
+
+        @Override
+        public void write(JsonWriter out, UserProfile value) throws IOException {
+            delegate.write(out, value);
         }
 
-        JsonObject object = json.getAsJsonObject();
-        final String id = context.deserialize(object.remove("user_id"), String.class);
-        final String name = context.deserialize(object.remove("name"), String.class);
-        final String nickname = context.deserialize(object.remove("nickname"), String.class);
-        final String picture = context.deserialize(object.remove("picture"), String.class);
-
-        final String email = context.deserialize(object.remove("email"), String.class);
-        final String givenName = context.deserialize(object.remove("given_name"), String.class);
-        final String familyName = context.deserialize(object.remove("family_name"), String.class);
-        final Boolean emailVerified = object.has("email_verified") ? context.<Boolean>deserialize(object.remove("email_verified"), Boolean.class) : false;
-        final Date createdAt = context.deserialize(object.remove("created_at"), Date.class);
-
-        final Type identitiesType = new TypeToken<List<UserIdentity>>(){}.getType();
-        final List<UserIdentity> identities = context.deserialize(object.remove("identities"), identitiesType);
-
-        final Type metadataType = new TypeToken<Map<String, Object>>() {}.getType();
-        Map<String, Object> userMetadata = context.deserialize(object.remove("user_metadata"), metadataType);
-        Map<String, Object> appMetadata = context.deserialize(object.remove("app_metadata"), metadataType);
-        Map<String, Object> extraInfo = context.deserialize(object, metadataType);
-        return new UserProfile(id, name, nickname, picture, email, emailVerified, familyName, createdAt, identities, extraInfo, userMetadata, appMetadata, givenName);
+        @Override
+        public UserProfile read(JsonReader in) throws IOException {
+            try {
+                return readUserProfile(in);
+            } catch (MalformedJsonException | IllegalStateException e) {
+                throw new JsonSyntaxException(e);
+            }
+        }
+
+        private UserProfile readUserProfile(JsonReader in) throws IOException {
+            if (in.peek() != JsonToken.BEGIN_OBJECT) {
+                throw new JsonParseException("user profile json is not a valid json object");
+            }
+
+            String id = null;
+            String name = null;
+            String nickname = null;
+            String picture = null;
+            String email = null;
+            String givenName = null;
+            String familyName = null;
+            Boolean emailVerified = null;
+            Date createdAt = null;
+            List<UserIdentity> identities = null;
+            Map<String, Object> userMetadata = null;
+            Map<String, Object> appMetadata = null;
+            Map<String, Object> extraInfo = new LinkedHashMap<>();
+            boolean empty = true;
+
+            in.beginObject();
+            while (in.hasNext()) {
+                empty = false;
+                final String key = in.nextName();
+                switch (key) {
+                    case "user_id":
+                        id = stringAdapter.read(in);
+                        break;
+                    case "name":
+                        name = stringAdapter.read(in);
+                        break;
+                    case "nickname":
+                        nickname = stringAdapter.read(in);
+                        break;
+                    case "picture":
+                        picture = stringAdapter.read(in);
+                        break;
+                    case "email":
+                        email = stringAdapter.read(in);
+                        break;
+                    case "given_name":
+                        givenName = stringAdapter.read(in);
+                        break;
+                    case "family_name":
+                        familyName = stringAdapter.read(in);
+                        break;
+                    case "email_verified":
+                        emailVerified = booleanAdapter.read(in);
+                        break;
+                    case "created_at":
+                        createdAt = dateAdapter.read(in);
+                        break;
+                    case "identities":
+                        identities = identitiesAdapter.read(in);
+                        break;
+                    case "user_metadata":
+                        userMetadata = readMetadata(in);
+                        break;
+                    case "app_metadata":
+                        appMetadata = readMetadata(in);
+                        break;
+                    default:
+                        extraInfo.put(key, valueAdapter.read(in));
+                }
+            }
+            in.endObject();
+
+            if (empty) {
+                throw new JsonParseException("user profile json is not a valid json object");
+            }
+            return new UserProfile(id, name, nickname, picture, email, emailVerified != null && emailVerified, familyName, createdAt, identities, extraInfo, userMetadata, appMetadata, givenName);
+        }
+
+        private Map<String, Object> readMetadata(JsonReader in) throws IOException {
+            if (in.peek() == JsonToken.BEGIN_OBJECT) {
+                return LazyJsonMap.read(in);
+            }
+            return metadataAdapter.read(in);
+        }
     }
 }
@@ -36,6 +36,8 @@ import com.squareup.okhttp.Response;
 
 import java.io.IOException;
 
+import static com.auth0.android.request.internal.ResponseUtils.closeStream;
+
 class VoidRequest<U extends Auth0Exception> extends BaseRequest<Void, U> implements Callback {
 
     private final String httpMethod;
@@ -52,6 +54,7 @@ class VoidRequest<U extends Auth0Exception> extends BaseRequest<Void, U> impleme
             return;
         }
 
+        closeStream(response.body());
         postOnSuccess(null);
     }
 
@@ -69,14 +72,16 @@ class VoidRequest<U extends Auth0Exception> extends BaseRequest<Void, U> impleme
 
         Response response;
         try {
-            response = client.newCall(request).execute();
+            response = executeCall(request);
         } catch (IOException e) {
-            throw new Auth0Exception("Failed to execute request to " + url.toString(), e);
+            throw reportFailure(new Auth0Exception("Failed to execute request to " + url.toString(), e));
         }
 
         if (!response.isSuccessful()) {
-            throw parseUnsuccessfulResponse(response);
+            throw reportFailure(parseUnsuccessfulResponse(response));
         }
+        closeStream(response.body());
+        reportSuccess(null);
         return null;
     }
 }
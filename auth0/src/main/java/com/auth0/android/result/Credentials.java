@@ -28,6 +28,8 @@ package com.auth0.android.result;
 import android.support.annotation.Nullable;
 import android.support.annotation.VisibleForTesting;
 
+import com.auth0.android.jwt.DecodeException;
+import com.auth0.android.jwt.JWT;
 import com.google.gson.annotations.SerializedName;
 
 import java.util.Date;
@@ -67,6 +69,11 @@ public class Credentials {
     @SerializedName("expires_at")
     private Date expiresAt;
 
+    private transient volatile JWT decodedIdToken;
+    private transient volatile boolean idTokenDecoded;
+    private transient volatile JWT decodedAccessToken;
+    private transient volatile boolean accessTokenDecoded;
+
     //TODO: Deprecate this constructor
     public Credentials(@Nullable String idToken, @Nullable String accessToken, @Nullable String type, @Nullable String refreshToken, @Nullable Long expiresIn) {
         this(idToken, accessToken, type, refreshToken, expiresIn, null, null);
@@ -168,4 +175,47 @@ public class Credentials {
     public Date getExpiresAt() {
         return expiresAt;
     }
+
+    /**
+     * Getter for the claims of the Identity Token. The token is decoded the first time they are requested and kept afterwards.
+     * The signature of the token is not verified.
+     *
+     * @return the decoded Identity Token, or null if there is no Identity Token or it's not a valid JWT.
+     */
+    @Nullable
+    public JWT getDecodedIdToken() {
+        if (!idTokenDecoded) {
+            decodedIdToken = decodeOrNull(idToken);
+            idTokenDecoded = true;
+        }
+        return decodedIdToken;
+    }
+
+    /**
+     * Getter for the claims of the Access Token, when it's a JWT. The token is decoded the first time they are requested and kept afterwards.
+     * The signature of the token is not verified.
+     *
+     * @return the decoded Access Token, or null if there is no Access Token or it's opaque.
+     */
+    @Nullable
+    public JWT getDecodedAccessToken() {
+        if (!accessTokenDecoded) {
+            decodedAccessToken = decodeOrNull(accessToken);
+            accessTokenDecoded = true;
+        }
+        return decodedAccessToken;
+    }
+
+    @Nullable
+    private static JWT decodeOrNull(@Nullable String token) {
+        //Opaque tokens are told apart without the cost of a failed decode
+        if (token == null || token.indexOf('.') == -1 || token.indexOf('.') == token.lastIndexOf('.')) {
+            return null;
+        }
+        try {
+            return new JWT(token);
+        } catch (DecodeException e) {
+            return null;
+        }
+    }
 }
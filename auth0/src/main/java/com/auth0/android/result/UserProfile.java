@@ -27,7 +27,6 @@ package com.auth0.android.result;
 import java.io.Serializable;
 import java.util.Collections;
 import java.util.Date;
-import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
@@ -78,7 +77,7 @@ public class UserProfile implements Serializable {
         if (id != null) {
             return id;
         }
-        return getExtraInfo().containsKey("sub") ? (String) getExtraInfo().get("sub") : null;
+        return extraInfo != null ? (String) extraInfo.get("sub") : null;
     }
 
     public String getName() {
@@ -124,10 +123,10 @@ public class UserProfile implements Serializable {
     /**
      * Returns extra information of the profile that is not part of the normalized profile
      *
-     * @return a map with user's extra information found in the profile
+     * @return a read-only map with user's extra information found in the profile
      */
     public Map<String, Object> getExtraInfo() {
-        return extraInfo != null ? new HashMap<>(extraInfo) : Collections.<String, Object>emptyMap();
+        return extraInfo != null ? Collections.unmodifiableMap(extraInfo) : Collections.<String, Object>emptyMap();
     }
 
     /**
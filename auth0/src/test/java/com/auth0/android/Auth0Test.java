@@ -27,6 +27,9 @@ package com.auth0.android;
 import android.content.Context;
 import android.content.res.Resources;
 
+import com.auth0.android.request.NetworkEventListener;
+import com.auth0.android.request.ProfileCache;
+import com.auth0.android.request.RetryPolicy;
 import com.auth0.android.util.Telemetry;
 import com.squareup.okhttp.HttpUrl;
 
@@ -38,6 +41,8 @@ import org.mockito.Mock;
 import org.mockito.Mockito;
 import org.mockito.MockitoAnnotations;
 
+import java.util.concurrent.Executor;
+
 import static com.auth0.android.util.HttpUrlMatcher.hasHost;
 import static com.auth0.android.util.HttpUrlMatcher.hasPath;
 import static com.auth0.android.util.HttpUrlMatcher.hasScheme;
@@ -48,6 +53,7 @@ import static org.hamcrest.Matchers.nullValue;
 import static org.junit.Assert.assertThat;
 import static org.mockito.Matchers.anyString;
 import static org.mockito.Matchers.eq;
+import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
 
 public class Auth0Test {
@@ -129,6 +135,133 @@ public class Auth0Test {
         assertThat(auth0.isTLS12Enforced(), is(false));
     }
 
+    @Test
+    public void shouldNotEnableHttp2ByDefault() throws Exception {
+        Auth0 auth0 = new Auth0(CLIENT_ID, DOMAIN);
+        assertThat(auth0.isHttp2Enabled(), is(false));
+    }
+
+    @Test
+    public void shouldHaveHttp2Enabled() throws Exception {
+        Auth0 auth0 = new Auth0(CLIENT_ID, DOMAIN);
+        auth0.setHttp2Enabled(true);
+
+        assertThat(auth0.isHttp2Enabled(), is(true));
+    }
+
+    @Test
+    public void shouldUseDefaultTimeoutsByDefault() throws Exception {
+        Auth0 auth0 = new Auth0(CLIENT_ID, DOMAIN);
+        assertThat(auth0.getConnectTimeoutInSeconds(), is(0));
+        assertThat(auth0.getReadTimeoutInSeconds(), is(0));
+        assertThat(auth0.getWriteTimeoutInSeconds(), is(0));
+    }
+
+    @Test
+    public void shouldHaveTimeouts() throws Exception {
+        Auth0 auth0 = new Auth0(CLIENT_ID, DOMAIN);
+        auth0.setConnectTimeoutInSeconds(5);
+        auth0.setReadTimeoutInSeconds(15);
+        auth0.setWriteTimeoutInSeconds(20);
+
+        assertThat(auth0.getConnectTimeoutInSeconds(), is(5));
+        assertThat(auth0.getReadTimeoutInSeconds(), is(15));
+        assertThat(auth0.getWriteTimeoutInSeconds(), is(20));
+    }
+
+    @Test
+    public void shouldNotAcceptNegativeConnectTimeout() throws Exception {
+        expectedException.expect(IllegalArgumentException.class);
+        expectedException.expectMessage("The timeout must be a positive value or 0.");
+        Auth0 auth0 = new Auth0(CLIENT_ID, DOMAIN);
+        auth0.setConnectTimeoutInSeconds(-1);
+    }
+
+    @Test
+    public void shouldNotAcceptNegativeReadTimeout() throws Exception {
+        expectedException.expect(IllegalArgumentException.class);
+        expectedException.expectMessage("The timeout must be a positive value or 0.");
+        Auth0 auth0 = new Auth0(CLIENT_ID, DOMAIN);
+        auth0.setReadTimeoutInSeconds(-1);
+    }
+
+    @Test
+    public void shouldNotAcceptNegativeWriteTimeout() throws Exception {
+        expectedException.expect(IllegalArgumentException.class);
+        expectedException.expectMessage("The timeout must be a positive value or 0.");
+        Auth0 auth0 = new Auth0(CLIENT_ID, DOMAIN);
+        auth0.setWriteTimeoutInSeconds(-1);
+    }
+
+    @Test
+    public void shouldNotHaveCallbackExecutorByDefault() throws Exception {
+        Auth0 auth0 = new Auth0(CLIENT_ID, DOMAIN);
+        assertThat(auth0.getCallbackExecutor(), is(nullValue()));
+    }
+
+    @Test
+    public void shouldHaveCallbackExecutor() throws Exception {
+        Auth0 auth0 = new Auth0(CLIENT_ID, DOMAIN);
+        Executor executor = mock(Executor.class);
+        auth0.setCallbackExecutor(executor);
+
+        assertThat(auth0.getCallbackExecutor(), is(executor));
+    }
+
+    @Test
+    public void shouldNotHaveNetworkEventListenerByDefault() throws Exception {
+        Auth0 auth0 = new Auth0(CLIENT_ID, DOMAIN);
+        assertThat(auth0.getNetworkEventListener(), is(nullValue()));
+    }
+
+    @Test
+    public void shouldHaveNetworkEventListener() throws Exception {
+        Auth0 auth0 = new Auth0(CLIENT_ID, DOMAIN);
+        NetworkEventListener listener = mock(NetworkEventListener.class);
+        auth0.setNetworkEventListener(listener);
+
+        assertThat(auth0.getNetworkEventListener(), is(listener));
+    }
+
+    @Test
+    public void shouldNotRetryRequestsByDefault() throws Exception {
+        Auth0 auth0 = new Auth0(CLIENT_ID, DOMAIN);
+        assertThat(auth0.getRetryPolicy(), is(RetryPolicy.NONE));
+    }
+
+    @Test
+    public void shouldHaveRetryPolicy() throws Exception {
+        Auth0 auth0 = new Auth0(CLIENT_ID, DOMAIN);
+        RetryPolicy policy = new RetryPolicy(3, 100, 1000, 5000);
+        auth0.setRetryPolicy(policy);
+
+        assertThat(auth0.getRetryPolicy(), is(policy));
+    }
+
+    @Test
+    public void shouldNotAcceptNullRetryPolicy() throws Exception {
+        expectedException.expect(IllegalArgumentException.class);
+        expectedException.expectMessage("The retry policy must not be null. Use RetryPolicy.NONE to disable retries.");
+        Auth0 auth0 = new Auth0(CLIENT_ID, DOMAIN);
+        //noinspection ConstantConditions
+        auth0.setRetryPolicy(null);
+    }
+
+    @Test
+    public void shouldNotHaveProfileCacheByDefault() throws Exception {
+        Auth0 auth0 = new Auth0(CLIENT_ID, DOMAIN);
+        assertThat(auth0.getProfileCache(), is(nullValue()));
+    }
+
+    @Test
+    public void shouldHaveProfileCache() throws Exception {
+        Auth0 auth0 = new Auth0(CLIENT_ID, DOMAIN);
+        ProfileCache cache = new ProfileCache(10, 60);
+        auth0.setProfileCache(cache);
+
+        assertThat(auth0.getProfileCache(), is(cache));
+    }
+
     @Test
     public void shouldNotHaveLoggingEnabledByDefault() throws Exception {
         Auth0 auth0 = new Auth0(CLIENT_ID, DOMAIN);
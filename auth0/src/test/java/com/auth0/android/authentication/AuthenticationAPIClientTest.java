@@ -29,6 +29,9 @@ import android.content.Context;
 import android.content.res.Resources;
 
 import com.auth0.android.Auth0;
+import com.auth0.android.request.NetworkEventListener;
+import com.auth0.android.request.ProfileCache;
+import com.auth0.android.request.RequestMetrics;
 import com.auth0.android.request.internal.OkHttpClientFactory;
 import com.auth0.android.request.internal.RequestFactory;
 import com.auth0.android.result.Authentication;
@@ -43,20 +46,25 @@ import com.google.gson.Gson;
 import com.google.gson.GsonBuilder;
 import com.google.gson.reflect.TypeToken;
 import com.squareup.okhttp.HttpUrl;
+import com.squareup.okhttp.Protocol;
 import com.squareup.okhttp.mockwebserver.RecordedRequest;
 
 import org.junit.After;
 import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mockito;
 import org.robolectric.RobolectricTestRunner;
 import org.robolectric.annotation.Config;
 
 import java.lang.reflect.Type;
+import java.security.PublicKey;
 import java.util.HashMap;
 import java.util.Locale;
 import java.util.Map;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicReference;
 
 import static com.auth0.android.util.AuthenticationAPI.GENERIC_TOKEN;
 import static com.auth0.android.util.AuthenticationAPI.ID_TOKEN;
@@ -66,12 +74,17 @@ import static com.auth0.android.util.AuthenticationCallbackMatcher.hasNoError;
 import static com.auth0.android.util.AuthenticationCallbackMatcher.hasPayload;
 import static com.auth0.android.util.AuthenticationCallbackMatcher.hasPayloadOfType;
 import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.greaterThan;
+import static org.hamcrest.Matchers.greaterThanOrEqualTo;
 import static org.hamcrest.Matchers.hasEntry;
 import static org.hamcrest.Matchers.hasKey;
 import static org.hamcrest.Matchers.is;
 import static org.hamcrest.Matchers.not;
 import static org.hamcrest.Matchers.notNullValue;
+import static org.hamcrest.Matchers.nullValue;
+import static org.hamcrest.Matchers.sameInstance;
 import static org.junit.Assert.assertThat;
+import static org.junit.Assert.fail;
 import static org.mockito.Matchers.any;
 import static org.mockito.Matchers.anyString;
 import static org.mockito.Matchers.eq;
@@ -125,6 +138,38 @@ public class AuthenticationAPIClientTest {
         verify(factory).setUserAgent("nexus-5x");
     }
 
+    @Test
+    public void shouldUseCallbackExecutorOfTheAccount() throws Exception {
+        final Executor executor = mock(Executor.class);
+        RequestFactory factory = mock(RequestFactory.class);
+        OkHttpClientFactory clientFactory = mock(OkHttpClientFactory.class);
+        Auth0 auth0 = new Auth0(CLIENT_ID, DOMAIN);
+        auth0.setCallbackExecutor(executor);
+        new AuthenticationAPIClient(auth0, factory, clientFactory);
+        verify(factory).setCallbackExecutor(executor);
+    }
+
+    @Test
+    public void shouldUseNetworkEventListenerOfTheAccount() throws Exception {
+        final NetworkEventListener listener = mock(NetworkEventListener.class);
+        RequestFactory factory = mock(RequestFactory.class);
+        OkHttpClientFactory clientFactory = mock(OkHttpClientFactory.class);
+        Auth0 auth0 = new Auth0(CLIENT_ID, DOMAIN);
+        auth0.setNetworkEventListener(listener);
+        new AuthenticationAPIClient(auth0, factory, clientFactory);
+        verify(factory).setNetworkEventListener(listener);
+    }
+
+    @Test
+    public void shouldSetCallbackExecutor() throws Exception {
+        final Executor executor = mock(Executor.class);
+        RequestFactory factory = mock(RequestFactory.class);
+        OkHttpClientFactory clientFactory = mock(OkHttpClientFactory.class);
+        AuthenticationAPIClient client = new AuthenticationAPIClient(new Auth0(CLIENT_ID, DOMAIN), factory, clientFactory);
+        client.setCallbackExecutor(executor);
+        verify(factory).setCallbackExecutor(executor);
+    }
+
     @Test
     public void shouldSetTelemetryIfPresent() throws Exception {
         final Telemetry telemetry = mock(Telemetry.class);
@@ -147,6 +192,23 @@ public class AuthenticationAPIClientTest {
         verify(factory, never()).setClientInfo(any(String.class));
     }
 
+    @Test
+    public void shouldShareHttpClientBetweenInstances() throws Exception {
+        AuthenticationAPIClient first = new AuthenticationAPIClient(auth0);
+        AuthenticationAPIClient second = new AuthenticationAPIClient(new Auth0(CLIENT_ID, DOMAIN));
+        assertThat(first.client, is(notNullValue()));
+        assertThat(second.client, is(sameInstance(first.client)));
+    }
+
+    @Test
+    public void shouldUseHttp2ClientWhenEnabled() throws Exception {
+        Auth0 http2Auth0 = new Auth0(CLIENT_ID, DOMAIN);
+        http2Auth0.setHttp2Enabled(true);
+        AuthenticationAPIClient client = new AuthenticationAPIClient(http2Auth0);
+        assertThat(client.client.getProtocols().contains(Protocol.HTTP_2), is(true));
+        assertThat(client.client, is(not(sameInstance(new AuthenticationAPIClient(auth0).client))));
+    }
+
     @Test
     public void shouldCreateClientWithAccountInfo() throws Exception {
         AuthenticationAPIClient client = new AuthenticationAPIClient(new Auth0(CLIENT_ID, DOMAIN));
@@ -347,6 +409,37 @@ public class AuthenticationAPIClientTest {
         assertThat(body, hasEntry("id_token", "ID_TOKEN"));
     }
 
+    @Test
+    public void shouldFetchJsonWebKeys() throws Exception {
+        mockAPI.willReturnJsonWebKeys();
+        final MockAuthenticationCallback<Map<String, PublicKey>> callback = new MockAuthenticationCallback<>();
+
+        client.fetchJsonWebKeys()
+                .start(callback);
+
+        assertThat(callback, hasPayloadOfType(new TypeToken<Map<String, PublicKey>>() {
+        }));
+        assertThat(callback.getPayload(), hasKey("key-id"));
+
+        final RecordedRequest request = mockAPI.takeRequest();
+        assertThat(request.getMethod(), is("GET"));
+        assertThat(request.getPath(), equalTo("/.well-known/jwks.json"));
+    }
+
+    @Test
+    public void shouldFetchJsonWebKeysSync() throws Exception {
+        mockAPI.willReturnJsonWebKeys();
+
+        final Map<String, PublicKey> keys = client
+                .fetchJsonWebKeys()
+                .execute();
+
+        assertThat(keys, hasKey("key-id"));
+
+        final RecordedRequest request = mockAPI.takeRequest();
+        assertThat(request.getPath(), equalTo("/.well-known/jwks.json"));
+    }
+
     @Test
     public void shouldFetchUserInfo() throws Exception {
         mockAPI.willReturnTokenInfo();
@@ -379,6 +472,71 @@ public class AuthenticationAPIClientTest {
         assertThat(request.getPath(), equalTo("/userinfo"));
     }
 
+    @Test
+    public void shouldReturnFreshCachedUserInfoWithoutRequest() throws Exception {
+        auth0.setProfileCache(new ProfileCache(10, 60));
+        mockAPI.willReturnTokenInfo();
+
+        final UserProfile first = client.userInfo("ACCESS_TOKEN").execute();
+        final UserProfile second = client.userInfo("ACCESS_TOKEN").execute();
+
+        assertThat(second, is(sameInstance(first)));
+        assertThat(mockAPI.getRequestCount(), is(1));
+    }
+
+    @Test
+    public void shouldRevalidateStaleCachedUserInfo() throws Exception {
+        auth0.setProfileCache(new ProfileCache(10, 0));
+        mockAPI.willReturnTokenInfo("\"v1\"")
+                .willReturnNotModified();
+
+        final UserProfile first = client.userInfo("ACCESS_TOKEN").execute();
+        final MockAuthenticationCallback<UserProfile> callback = new MockAuthenticationCallback<>();
+        client.userInfo("ACCESS_TOKEN").start(callback);
+
+        assertThat(callback, hasPayload(first));
+        assertThat(mockAPI.takeRequest().getHeader("If-None-Match"), is(nullValue()));
+        assertThat(mockAPI.takeRequest().getHeader("If-None-Match"), is("\"v1\""));
+    }
+
+    @Test
+    public void shouldReadSavedUserInfoOffTheCallingThread() throws Exception {
+        final AtomicReference<Thread> loadingThread = new AtomicReference<>();
+        auth0.setProfileCache(new ProfileCache(10, 60, new ProfileCache.Store() {
+            @Override
+            public String load() {
+                loadingThread.set(Thread.currentThread());
+                return null;
+            }
+
+            @Override
+            public void save(String entries) {
+            }
+        }));
+        mockAPI.willReturnTokenInfo();
+
+        final MockAuthenticationCallback<UserProfile> callback = new MockAuthenticationCallback<>();
+        client.userInfo("ACCESS_TOKEN").start(callback);
+
+        assertThat(callback, hasPayloadOfType(UserProfile.class));
+        assertThat(loadingThread.get(), is(notNullValue()));
+        assertThat(loadingThread.get(), is(not(Thread.currentThread())));
+    }
+
+    @Test
+    public void shouldNotShareCachedUserInfoBetweenTokens() throws Exception {
+        auth0.setProfileCache(new ProfileCache(10, 60));
+        mockAPI.willReturnTokenInfo()
+                .willReturnTokenInfo();
+
+        client.userInfo("ACCESS_TOKEN").execute();
+        client.userInfo("ANOTHER_ACCESS_TOKEN").execute();
+
+        assertThat(mockAPI.getRequestCount(), is(2));
+        assertThat(mockAPI.takeRequest().getHeader("If-None-Match"), is(nullValue()));
+        assertThat(mockAPI.takeRequest().getHeader("If-None-Match"), is(nullValue()));
+    }
+
     @Test
     public void shouldLoginWithOAuthAccessToken() throws Exception {
         mockAPI
@@ -1627,6 +1785,55 @@ public class AuthenticationAPIClientTest {
         assertThat(credentials, is(notNullValue()));
     }
 
+    @Test
+    public void shouldReportMetricsOfRenewAuthToNetworkEventListener() throws Exception {
+        final NetworkEventListener listener = mock(NetworkEventListener.class);
+        auth0.setNetworkEventListener(listener);
+        AuthenticationAPIClient client = new AuthenticationAPIClient(auth0);
+
+        mockAPI.willReturnSuccessfulLogin();
+        final MockAuthenticationCallback<Credentials> callback = new MockAuthenticationCallback<>();
+        client.renewAuth("refreshToken")
+                .start(callback);
+
+        assertThat(callback, hasPayloadOfType(Credentials.class));
+        ArgumentCaptor<RequestMetrics> captor = ArgumentCaptor.forClass(RequestMetrics.class);
+        verify(listener).onRequestFinished(captor.capture());
+        RequestMetrics metrics = captor.getValue();
+        assertThat(metrics.getOperation(), is("renewAuth"));
+        assertThat(metrics.getMethod(), is("POST"));
+        assertThat(metrics.getPath(), is("/oauth/token"));
+        assertThat(metrics.getOutcome(), is(RequestMetrics.Outcome.SUCCESS));
+        assertThat(metrics.getStatusCode(), is(200));
+        assertThat(metrics.getAttempts(), is(1));
+        assertThat(metrics.getTotalMillis(), is(greaterThanOrEqualTo(0L)));
+        assertThat(metrics.getWaitMillis(), is(greaterThanOrEqualTo(0L)));
+        assertThat(metrics.getBytesSent(), is(greaterThan(0L)));
+    }
+
+    @Test
+    public void shouldReportMetricsOfFailedLoginSyncToNetworkEventListener() throws Exception {
+        final NetworkEventListener listener = mock(NetworkEventListener.class);
+        auth0.setNetworkEventListener(listener);
+        AuthenticationAPIClient client = new AuthenticationAPIClient(auth0);
+
+        mockAPI.willReturnFailedLogin();
+        try {
+            client.login(SUPPORT_AUTH0_COM, "voidpassword", MY_CONNECTION)
+                    .execute();
+            fail("Request should have failed");
+        } catch (AuthenticationException ignored) {
+        }
+
+        ArgumentCaptor<RequestMetrics> captor = ArgumentCaptor.forClass(RequestMetrics.class);
+        verify(listener).onRequestFinished(captor.capture());
+        RequestMetrics metrics = captor.getValue();
+        assertThat(metrics.getOperation(), is("login"));
+        assertThat(metrics.getOutcome(), is(RequestMetrics.Outcome.HTTP_ERROR));
+        assertThat(metrics.getStatusCode(), is(400));
+        assertThat(metrics.getReadMillis(), is(greaterThanOrEqualTo(0L)));
+    }
+
     @Test
     public void shouldRenewAuthWithDelegationIfNotOIDCConformant() throws Exception {
         Auth0 auth0 = new Auth0(CLIENT_ID, mockAPI.getDomain(), mockAPI.getDomain());
@@ -0,0 +1,138 @@
+package com.auth0.android.authentication.request;
+
+import android.util.Base64;
+
+import com.auth0.android.jwt.JWT;
+import com.auth0.android.result.UserProfile;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.annotation.Config;
+
+import java.nio.charset.Charset;
+import java.util.Arrays;
+
+import static org.hamcrest.Matchers.hasKey;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.notNullValue;
+import static org.hamcrest.Matchers.nullValue;
+import static org.junit.Assert.assertThat;
+
+@RunWith(RobolectricTestRunner.class)
+@Config(constants = com.auth0.android.auth0.BuildConfig.class, sdk = 21, manifest = Config.NONE)
+public class IdTokenProfileParserTest {
+
+    private static final String[] NO_CLAIMS = new String[0];
+
+    private IdTokenProfileParser parser;
+
+    @Before
+    public void setUp() throws Exception {
+        parser = new IdTokenProfileParser();
+    }
+
+    @Test
+    public void shouldBuildProfileFromClaims() throws Exception {
+        JWT idToken = jwt("{\"iss\":\"https://me.auth0.com/\",\"aud\":\"CLIENTID\",\"exp\":1500000000,\"iat\":1400000000,\"nonce\":\"abc\"," +
+                "\"sub\":\"auth0|123\",\"name\":\"John Doe\",\"nickname\":\"johnny\",\"email\":\"john@doe.com\",\"email_verified\":true," +
+                "\"picture\":\"https://example.com/john.png\",\"given_name\":\"John\",\"family_name\":\"Doe\",\"locale\":\"en\"}");
+
+        UserProfile profile = parser.parse(idToken, new String[]{"email"});
+
+        assertThat(profile, is(notNullValue()));
+        assertThat(profile.getId(), is("auth0|123"));
+        assertThat(profile.getName(), is("John Doe"));
+        assertThat(profile.getNickname(), is("johnny"));
+        assertThat(profile.getEmail(), is("john@doe.com"));
+        assertThat(profile.isEmailVerified(), is(true));
+        assertThat(profile.getPictureURL(), is("https://example.com/john.png"));
+        assertThat(profile.getGivenName(), is("John"));
+        assertThat(profile.getFamilyName(), is("Doe"));
+        assertThat(profile.getExtraInfo().get("locale"), is((Object) "en"));
+    }
+
+    @Test
+    public void shouldLeaveTokenClaimsOutOfTheProfile() throws Exception {
+        JWT idToken = jwt("{\"iss\":\"https://me.auth0.com/\",\"aud\":\"CLIENTID\",\"exp\":1500000000,\"iat\":1400000000,\"nonce\":\"abc\",\"azp\":\"CLIENTID\",\"at_hash\":\"xyz\",\"sub\":\"auth0|123\"}");
+
+        UserProfile profile = parser.parse(idToken, NO_CLAIMS);
+
+        assertThat(profile, is(notNullValue()));
+        assertThat(profile.getExtraInfo(), hasKey("sub"));
+        assertThat(profile.getExtraInfo(), not(hasKey("iss")));
+        assertThat(profile.getExtraInfo(), not(hasKey("aud")));
+        assertThat(profile.getExtraInfo(), not(hasKey("exp")));
+        assertThat(profile.getExtraInfo(), not(hasKey("iat")));
+        assertThat(profile.getExtraInfo(), not(hasKey("nonce")));
+        assertThat(profile.getExtraInfo(), not(hasKey("azp")));
+        assertThat(profile.getExtraInfo(), not(hasKey("at_hash")));
+    }
+
+    @Test
+    public void shouldOnlyAddTheRequiredCustomClaims() throws Exception {
+        JWT idToken = jwt("{\"sub\":\"auth0|123\",\"https://example.com/plan\":\"premium\",\"https://example.com/tier\":2}");
+
+        UserProfile profile = parser.parse(idToken, new String[]{"https://example.com/plan"});
+
+        assertThat(profile, is(notNullValue()));
+        assertThat(profile.getExtraInfo().get("https://example.com/plan"), is((Object) "premium"));
+        assertThat(profile.getExtraInfo(), not(hasKey("https://example.com/tier")));
+    }
+
+    @Test
+    public void shouldAddArrayClaims() throws Exception {
+        JWT idToken = jwt("{\"sub\":\"auth0|123\",\"https://example.com/roles\":[\"admin\",\"editor\"]}");
+
+        UserProfile profile = parser.parse(idToken, new String[]{"https://example.com/roles"});
+
+        assertThat(profile, is(notNullValue()));
+        assertThat(profile.getExtraInfo().get("https://example.com/roles"), is((Object) Arrays.asList("admin", "editor")));
+    }
+
+    @Test
+    public void shouldReturnNullWhenRequiredClaimIsMissing() throws Exception {
+        JWT idToken = jwt("{\"sub\":\"auth0|123\",\"name\":\"John Doe\"}");
+
+        assertThat(parser.parse(idToken, new String[]{"name", "email"}), is(nullValue()));
+    }
+
+    @Test
+    public void shouldReturnNullWhenRequiredClaimIsNull() throws Exception {
+        JWT idToken = jwt("{\"sub\":\"auth0|123\",\"email\":null}");
+
+        assertThat(parser.parse(idToken, new String[]{"email"}), is(nullValue()));
+    }
+
+    @Test
+    public void shouldReturnNullWhenRequiredClaimIsAnObject() throws Exception {
+        JWT idToken = jwt("{\"sub\":\"auth0|123\",\"address\":{\"country\":\"us\"}}");
+
+        assertThat(parser.parse(idToken, new String[]{"address"}), is(nullValue()));
+    }
+
+    @Test
+    public void shouldReturnNullWhenSubjectIsMissing() throws Exception {
+        JWT idToken = jwt("{\"name\":\"John Doe\"}");
+
+        assertThat(parser.parse(idToken, NO_CLAIMS), is(nullValue()));
+    }
+
+    @Test
+    public void shouldReturnNullWhenTokenIsMissing() throws Exception {
+        assertThat(parser.parse(null, NO_CLAIMS), is(nullValue()));
+    }
+
+    private static JWT jwt(String payload) {
+        return new JWT(idToken(payload));
+    }
+
+    static String idToken(String payload) {
+        int flags = Base64.URL_SAFE | Base64.NO_WRAP | Base64.NO_PADDING;
+        String header = Base64.encodeToString("{\"alg\":\"RS256\",\"typ\":\"JWT\"}".getBytes(Charset.forName("UTF-8")), flags);
+        String body = Base64.encodeToString(payload.getBytes(Charset.forName("UTF-8")), flags);
+        return header + "." + body + ".signature";
+    }
+}
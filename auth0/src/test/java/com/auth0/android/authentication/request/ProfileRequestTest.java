@@ -2,7 +2,10 @@ package com.auth0.android.authentication.request;
 
 import com.auth0.android.authentication.AuthenticationException;
 import com.auth0.android.callback.BaseCallback;
+import com.auth0.android.jwt.JWT;
 import com.auth0.android.request.AuthenticationRequest;
+import com.auth0.android.request.Cancellable;
+import com.auth0.android.request.CancellableRequest;
 import com.auth0.android.request.ParameterizableRequest;
 import com.auth0.android.result.Authentication;
 import com.auth0.android.result.Credentials;
@@ -27,11 +30,15 @@ import static org.hamcrest.Matchers.instanceOf;
 import static org.hamcrest.Matchers.is;
 import static org.hamcrest.Matchers.notNullValue;
 import static org.junit.Assert.assertThat;
+import static org.mockito.Matchers.any;
 import static org.mockito.Matchers.anyObject;
 import static org.mockito.Matchers.anyString;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyZeroInteractions;
 import static org.mockito.Mockito.when;
+import static org.mockito.Mockito.withSettings;
 
 @RunWith(RobolectricTestRunner.class)
 @Config(constants = com.auth0.android.auth0.BuildConfig.class, sdk = 21, manifest = Config.NONE)
@@ -135,6 +142,29 @@ public class ProfileRequestTest {
         verify(callback).onFailure(error);
     }
 
+    @SuppressWarnings("unchecked")
+    @Test
+    public void shouldCancelTheRequestInProgressAndNotFetchTheProfile() throws Exception {
+        final AuthenticationRequest credentialsRequest = mock(AuthenticationRequest.class, withSettings().extraInterfaces(CancellableRequest.class));
+        final Cancellable credentialsHandle = mock(Cancellable.class);
+        when(((CancellableRequest) credentialsRequest).startCancellable(any(BaseCallback.class))).thenReturn(credentialsHandle);
+        final BaseCallback callback = mock(BaseCallback.class);
+        profileRequest = new ProfileRequest(credentialsRequest, userInfoMockRequest);
+
+        Cancellable handle = profileRequest.startCancellable(callback);
+        handle.cancel();
+
+        assertTrue(handle.isCancelled());
+        verify(credentialsHandle).cancel();
+
+        ArgumentCaptor<BaseCallback> callbackCaptor = ArgumentCaptor.forClass(BaseCallback.class);
+        verify((CancellableRequest) credentialsRequest).startCancellable(callbackCaptor.capture());
+        callbackCaptor.getValue().onSuccess(mock(Credentials.class));
+
+        verify(userInfoMockRequest, never()).start(any(BaseCallback.class));
+        verifyZeroInteractions(callback);
+    }
+
     @Test
     public void shouldExecuteTheRequest() throws Exception {
         final Credentials credentials = mock(Credentials.class);
@@ -165,4 +195,96 @@ public class ProfileRequestTest {
         assertThat(executeResult.getProfile(), is(userProfile));
     }
 
-}
\ No newline at end of file
+    @Test
+    public void shouldBuildProfileFromIdTokenWithoutFetchingUserInfo() throws Exception {
+        final Credentials credentials = mock(Credentials.class);
+        when(credentials.getDecodedIdToken()).thenReturn(new JWT(IdTokenProfileParserTest.idToken("{\"sub\":\"auth0|123\",\"email\":\"john@doe.com\"}")));
+
+        final AuthenticationRequestMock authenticationRequestMock = new AuthenticationRequestMock(credentials, null);
+        final ParameterizableRequestMock tokenInfoRequestMock = new ParameterizableRequestMock(mock(UserProfile.class), null);
+        final BaseCallback callback = mock(BaseCallback.class);
+
+        profileRequest = new ProfileRequest(authenticationRequestMock, tokenInfoRequestMock)
+                .useIdTokenClaims("email");
+        profileRequest.start(callback);
+
+        assertTrue(authenticationRequestMock.isStarted());
+        assertFalse(tokenInfoRequestMock.isStarted());
+
+        ArgumentCaptor<Authentication> authenticationCaptor = ArgumentCaptor.forClass(Authentication.class);
+        verify(callback).onSuccess(authenticationCaptor.capture());
+        assertThat(authenticationCaptor.getValue().getCredentials(), is(credentials));
+        assertThat(authenticationCaptor.getValue().getProfile().getId(), is("auth0|123"));
+        assertThat(authenticationCaptor.getValue().getProfile().getEmail(), is("john@doe.com"));
+    }
+
+    @Test
+    public void shouldFetchUserInfoWhenIdTokenLacksRequiredClaims() throws Exception {
+        final UserProfile userProfile = mock(UserProfile.class);
+        final Credentials credentials = mock(Credentials.class);
+        when(credentials.getDecodedIdToken()).thenReturn(new JWT(IdTokenProfileParserTest.idToken("{\"sub\":\"auth0|123\"}")));
+
+        final AuthenticationRequestMock authenticationRequestMock = new AuthenticationRequestMock(credentials, null);
+        final ParameterizableRequestMock tokenInfoRequestMock = new ParameterizableRequestMock(userProfile, null);
+        final BaseCallback callback = mock(BaseCallback.class);
+
+        profileRequest = new ProfileRequest(authenticationRequestMock, tokenInfoRequestMock)
+                .useIdTokenClaims("email");
+        profileRequest.start(callback);
+
+        assertTrue(tokenInfoRequestMock.isStarted());
+        ArgumentCaptor<Authentication> authenticationCaptor = ArgumentCaptor.forClass(Authentication.class);
+        verify(callback).onSuccess(authenticationCaptor.capture());
+        assertThat(authenticationCaptor.getValue().getProfile(), is(userProfile));
+    }
+
+    @Test
+    public void shouldFetchUserInfoWhenIdTokenIsMissing() throws Exception {
+        final UserProfile userProfile = mock(UserProfile.class);
+        final Credentials credentials = mock(Credentials.class);
+
+        final AuthenticationRequestMock authenticationRequestMock = new AuthenticationRequestMock(credentials, null);
+        final ParameterizableRequestMock tokenInfoRequestMock = new ParameterizableRequestMock(userProfile, null);
+        final BaseCallback callback = mock(BaseCallback.class);
+
+        profileRequest = new ProfileRequest(authenticationRequestMock, tokenInfoRequestMock)
+                .useIdTokenClaims();
+        profileRequest.start(callback);
+
+        assertTrue(tokenInfoRequestMock.isStarted());
+        verify(callback).onSuccess(any(Authentication.class));
+    }
+
+    @Test
+    public void shouldNotUseIdTokenByDefault() throws Exception {
+        final UserProfile userProfile = mock(UserProfile.class);
+        final Credentials credentials = mock(Credentials.class);
+        when(credentials.getDecodedIdToken()).thenReturn(new JWT(IdTokenProfileParserTest.idToken("{\"sub\":\"auth0|123\"}")));
+
+        final AuthenticationRequestMock authenticationRequestMock = new AuthenticationRequestMock(credentials, null);
+        final ParameterizableRequestMock tokenInfoRequestMock = new ParameterizableRequestMock(userProfile, null);
+        final BaseCallback callback = mock(BaseCallback.class);
+
+        profileRequest = new ProfileRequest(authenticationRequestMock, tokenInfoRequestMock);
+        profileRequest.start(callback);
+
+        assertTrue(tokenInfoRequestMock.isStarted());
+    }
+
+    @Test
+    public void shouldExecuteTheRequestBuildingProfileFromIdToken() throws Exception {
+        final Credentials credentials = mock(Credentials.class);
+        when(credentials.getDecodedIdToken()).thenReturn(new JWT(IdTokenProfileParserTest.idToken("{\"sub\":\"auth0|123\",\"name\":\"John Doe\"}")));
+        when(credentialsMockRequest.execute()).thenReturn(credentials);
+
+        final Authentication executeResult = profileRequest
+                .useIdTokenClaims("name")
+                .execute();
+
+        verify(userInfoMockRequest, never()).execute();
+        assertThat(executeResult.getCredentials(), is(credentials));
+        assertThat(executeResult.getProfile().getId(), is("auth0|123"));
+        assertThat(executeResult.getProfile().getName(), is("John Doe"));
+    }
+
+}
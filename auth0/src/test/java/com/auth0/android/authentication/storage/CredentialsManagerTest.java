@@ -36,9 +36,11 @@ import static org.mockito.Matchers.anyLong;
 import static org.mockito.Matchers.anyString;
 import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoMoreInteractions;
 import static org.mockito.Mockito.when;
@@ -275,6 +277,131 @@ public class CredentialsManagerTest {
         assertThat(retrievedCredentials.getScope(), is("scope"));
     }
 
+    @Test
+    public void shouldShareRenewRequestBetweenConcurrentCalls() throws Exception {
+        when(storage.retrieveString("com.auth0.id_token")).thenReturn("idToken");
+        when(storage.retrieveString("com.auth0.access_token")).thenReturn("accessToken");
+        when(storage.retrieveString("com.auth0.refresh_token")).thenReturn("refreshToken");
+        when(storage.retrieveString("com.auth0.token_type")).thenReturn("type");
+        long expirationTime = CredentialsMock.CURRENT_TIME_MS; //Same as current time --> expired
+        when(storage.retrieveLong("com.auth0.expires_at")).thenReturn(expirationTime);
+        when(storage.retrieveString("com.auth0.scope")).thenReturn("scope");
+        when(client.renewAuth("refreshToken")).thenReturn(request);
+
+        //noinspection unchecked
+        BaseCallback<Credentials, CredentialsManagerException> otherCallback = mock(BaseCallback.class);
+        manager.getCredentials(callback);
+        manager.getCredentials(otherCallback);
+        verify(client).renewAuth("refreshToken");
+        verify(request).start(requestCallbackCaptor.capture());
+
+        Credentials renewedCredentials = new Credentials("newId", "newAccess", "newType", null, new Date(), "newScope");
+        requestCallbackCaptor.getValue().onSuccess(renewedCredentials);
+
+        verify(callback).onSuccess(credentialsCaptor.capture());
+        verify(otherCallback).onSuccess(credentialsCaptor.getValue());
+        verify(storage).store("com.auth0.access_token", "newAccess");
+    }
+
+    @Test
+    public void shouldReleaseWaitingCallbacksWhenRenewRequestFailsToStart() throws Exception {
+        when(storage.retrieveString("com.auth0.access_token")).thenReturn("accessToken");
+        when(storage.retrieveString("com.auth0.refresh_token")).thenReturn("refreshToken");
+        when(storage.retrieveLong("com.auth0.expires_at")).thenReturn(CredentialsMock.CURRENT_TIME_MS);
+        when(client.renewAuth("refreshToken")).thenReturn(request);
+        IllegalStateException startError = new IllegalStateException("Can't start");
+        doThrow(startError).when(request).start(any(BaseCallback.class));
+
+        manager.getCredentials(callback);
+        verify(callback).onFailure(exceptionCaptor.capture());
+        assertThat(exceptionCaptor.getValue().getCause(), Is.<Throwable>is(startError));
+
+        //noinspection unchecked
+        BaseCallback<Credentials, CredentialsManagerException> otherCallback = mock(BaseCallback.class);
+        manager.getCredentials(otherCallback);
+        verify(client, times(2)).renewAuth("refreshToken");
+        verify(otherCallback).onFailure(any(CredentialsManagerException.class));
+    }
+
+    @Test
+    public void shouldReleaseWaitingCallbacksWhenRenewedCredentialsFailToSave() throws Exception {
+        when(storage.retrieveString("com.auth0.access_token")).thenReturn("accessToken");
+        when(storage.retrieveString("com.auth0.refresh_token")).thenReturn("refreshToken");
+        when(storage.retrieveLong("com.auth0.expires_at")).thenReturn(CredentialsMock.CURRENT_TIME_MS);
+        when(client.renewAuth("refreshToken")).thenReturn(request);
+        IllegalStateException saveError = new IllegalStateException("Can't save");
+        doThrow(saveError).when(storage).store("com.auth0.access_token", "newAccess");
+
+        manager.getCredentials(callback);
+        verify(request).start(requestCallbackCaptor.capture());
+        Credentials renewedCredentials = new Credentials("newId", "newAccess", "newType", null, new Date(), "newScope");
+        requestCallbackCaptor.getValue().onSuccess(renewedCredentials);
+
+        verify(callback).onFailure(exceptionCaptor.capture());
+        assertThat(exceptionCaptor.getValue().getMessage(), is("An error occurred while saving the renewed Credentials."));
+        assertThat(exceptionCaptor.getValue().getCause(), Is.<Throwable>is(saveError));
+        manager.getCredentials(callback);
+        verify(client, times(2)).renewAuth("refreshToken");
+    }
+
+    @Test
+    public void shouldReturnCredentialsAndRenewThemInBackgroundWithinRevalidationWindow() throws Exception {
+        manager.setRevalidationWindow(60);
+        when(storage.retrieveString("com.auth0.id_token")).thenReturn("idToken");
+        when(storage.retrieveString("com.auth0.access_token")).thenReturn("accessToken");
+        when(storage.retrieveString("com.auth0.refresh_token")).thenReturn("refreshToken");
+        when(storage.retrieveString("com.auth0.token_type")).thenReturn("type");
+        long expirationTime = CredentialsMock.CURRENT_TIME_MS + 30 * 1000;
+        when(storage.retrieveLong("com.auth0.expires_at")).thenReturn(expirationTime);
+        when(storage.retrieveString("com.auth0.scope")).thenReturn("scope");
+        when(client.renewAuth("refreshToken")).thenReturn(request);
+
+        manager.getCredentials(callback);
+        verify(callback).onSuccess(credentialsCaptor.capture());
+        assertThat(credentialsCaptor.getValue().getAccessToken(), is("accessToken"));
+        verify(request).start(requestCallbackCaptor.capture());
+
+        Credentials renewedCredentials = new Credentials("newId", "newAccess", "newType", null, new Date(), "newScope");
+        requestCallbackCaptor.getValue().onSuccess(renewedCredentials);
+        verify(storage).store("com.auth0.access_token", "newAccess");
+        verify(callback, times(1)).onSuccess(any(Credentials.class));
+    }
+
+    @Test
+    public void shouldRenewOnlyOnceWithinRevalidationWindow() throws Exception {
+        manager.setRevalidationWindow(60);
+        when(storage.retrieveString("com.auth0.access_token")).thenReturn("accessToken");
+        when(storage.retrieveString("com.auth0.refresh_token")).thenReturn("refreshToken");
+        when(storage.retrieveLong("com.auth0.expires_at")).thenReturn(CredentialsMock.CURRENT_TIME_MS + 30 * 1000);
+        when(client.renewAuth("refreshToken")).thenReturn(request);
+
+        manager.getCredentials(callback);
+        manager.getCredentials(callback);
+
+        verify(client, times(1)).renewAuth("refreshToken");
+        verify(callback, times(2)).onSuccess(any(Credentials.class));
+    }
+
+    @Test
+    public void shouldNotRenewCredentialsOutsideRevalidationWindow() throws Exception {
+        manager.setRevalidationWindow(60);
+        when(storage.retrieveString("com.auth0.access_token")).thenReturn("accessToken");
+        when(storage.retrieveString("com.auth0.refresh_token")).thenReturn("refreshToken");
+        when(storage.retrieveLong("com.auth0.expires_at")).thenReturn(CredentialsMock.CURRENT_TIME_MS + 120 * 1000);
+
+        manager.getCredentials(callback);
+
+        verify(callback).onSuccess(any(Credentials.class));
+        verify(client, never()).renewAuth(anyString());
+    }
+
+    @Test
+    public void shouldNotAcceptNegativeRevalidationWindow() throws Exception {
+        exception.expect(IllegalArgumentException.class);
+        exception.expectMessage("The revalidation window must be a positive value or 0.");
+        manager.setRevalidationWindow(-1);
+    }
+
     @SuppressWarnings("UnnecessaryLocalVariable")
     @Test
     public void shouldGetAndSuccessfullyRenewExpiredCredentials() throws Exception {
@@ -350,6 +477,60 @@ public class CredentialsManagerTest {
         assertThat(exception.getMessage(), is("An error occurred while trying to use the Refresh Token to renew the Credentials."));
     }
 
+    @Test
+    public void shouldReadStorageOnceWhenInMemoryCacheIsEnabled() throws Exception {
+        when(storage.retrieveString("com.auth0.id_token")).thenReturn("idToken");
+        when(storage.retrieveString("com.auth0.access_token")).thenReturn("accessToken");
+        when(storage.retrieveString("com.auth0.refresh_token")).thenReturn("refreshToken");
+        when(storage.retrieveString("com.auth0.token_type")).thenReturn("type");
+        long expirationTime = CredentialsMock.CURRENT_TIME_MS + 123456L * 1000;
+        when(storage.retrieveLong("com.auth0.expires_at")).thenReturn(expirationTime);
+        when(storage.retrieveString("com.auth0.scope")).thenReturn("scope");
+        manager.setInMemoryCacheEnabled(true);
+
+        assertThat(manager.hasValidCredentials(), is(true));
+        manager.getCredentials(callback);
+        manager.getCredentials(callback);
+
+        verify(callback, times(2)).onSuccess(credentialsCaptor.capture());
+        assertThat(credentialsCaptor.getValue().getAccessToken(), is("accessToken"));
+        verify(storage, times(1)).retrieveString("com.auth0.access_token");
+        verify(storage, times(1)).retrieveLong("com.auth0.expires_at");
+    }
+
+    @Test
+    public void shouldUpdateInMemoryCacheWhenSavingCredentials() throws Exception {
+        manager.setInMemoryCacheEnabled(true);
+        Date expiresAt = new Date(CredentialsMock.CURRENT_TIME_MS + 123456L * 1000);
+        Credentials credentials = new Credentials("idToken", "accessToken", "type", "refreshToken", expiresAt, "scope");
+        manager.saveCredentials(credentials);
+
+        manager.getCredentials(callback);
+
+        verify(callback).onSuccess(credentialsCaptor.capture());
+        Credentials retrievedCredentials = credentialsCaptor.getValue();
+        assertThat(retrievedCredentials.getIdToken(), is("idToken"));
+        assertThat(retrievedCredentials.getAccessToken(), is("accessToken"));
+        assertThat(retrievedCredentials.getRefreshToken(), is("refreshToken"));
+        assertThat(retrievedCredentials.getExpiresAt().getTime(), is(expiresAt.getTime()));
+        verify(storage, never()).retrieveString(anyString());
+        verify(storage, never()).retrieveLong(anyString());
+    }
+
+    @Test
+    public void shouldUpdateInMemoryCacheWhenClearingCredentials() throws Exception {
+        manager.setInMemoryCacheEnabled(true);
+        Date expiresAt = new Date(CredentialsMock.CURRENT_TIME_MS + 123456L * 1000);
+        manager.saveCredentials(new Credentials("idToken", "accessToken", "type", "refreshToken", expiresAt, "scope"));
+        assertThat(manager.hasValidCredentials(), is(true));
+
+        manager.clearCredentials();
+
+        assertThat(manager.hasValidCredentials(), is(false));
+        verify(storage, never()).retrieveString(anyString());
+        verify(storage, never()).retrieveLong(anyString());
+    }
+
     @Test
     public void shouldClearCredentials() throws Exception {
         manager.clearCredentials();
@@ -363,6 +544,36 @@ public class CredentialsManagerTest {
         verifyNoMoreInteractions(storage);
     }
 
+    @Test
+    public void shouldScheduleRenewalWhenCredentialsAreSaved() throws Exception {
+        RefreshScheduler scheduler = mock(RefreshScheduler.class);
+        manager.setRefreshScheduler(scheduler);
+        Date expiresAt = new Date(CredentialsMock.CURRENT_TIME_MS + 123456L * 1000);
+        manager.saveCredentials(new CredentialsMock("idToken", "accessToken", "type", "refreshToken", expiresAt, "scope"));
+
+        verify(scheduler).onCredentialsSaved(expiresAt.getTime());
+    }
+
+    @Test
+    public void shouldCancelRenewalWhenCredentialsAreCleared() throws Exception {
+        RefreshScheduler scheduler = mock(RefreshScheduler.class);
+        manager.setRefreshScheduler(scheduler);
+        manager.clearCredentials();
+
+        verify(scheduler).onCredentialsCleared();
+    }
+
+    @Test
+    public void shouldStopSchedulerWhenProactiveRefreshIsDisabled() throws Exception {
+        RefreshScheduler scheduler = mock(RefreshScheduler.class);
+        manager.setRefreshScheduler(scheduler);
+        manager.disableProactiveRefresh();
+        manager.clearCredentials();
+
+        verify(scheduler).stop();
+        verify(scheduler, never()).onCredentialsCleared();
+    }
+
     @Test
     public void shouldHaveCredentialsWhenTokenHasNotExpired() throws Exception {
         long expirationTime = CredentialsMock.CURRENT_TIME_MS + 123456L * 1000;
@@ -0,0 +1,273 @@
+package com.auth0.android.authentication.storage;
+
+import com.auth0.android.Auth0;
+import com.auth0.android.authentication.AuthenticationAPIClient;
+import com.auth0.android.callback.BaseCallback;
+import com.auth0.android.result.Credentials;
+import com.auth0.android.util.AuthenticationAPI;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.invocation.InvocationOnMock;
+import org.mockito.stubbing.Answer;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.RuntimeEnvironment;
+import org.robolectric.annotation.Config;
+
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.everyItem;
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+@RunWith(RobolectricTestRunner.class)
+@Config(constants = com.auth0.android.auth0.BuildConfig.class, sdk = 21, manifest = Config.NONE)
+public class CredentialsRenewalConcurrencyTest {
+
+    private static final int CONCURRENT_CALLERS = 10;
+    private static final long RESPONSE_DELAY_MS = 500;
+
+    private AuthenticationAPI mockAPI;
+    private AuthenticationAPIClient apiClient;
+    private Storage storage;
+
+    @Before
+    public void setUp() throws Exception {
+        mockAPI = new AuthenticationAPI();
+        Auth0 auth0 = new Auth0("CLIENTID", mockAPI.getDomain(), mockAPI.getDomain());
+        auth0.setOIDCConformant(true);
+        apiClient = new AuthenticationAPIClient(auth0);
+        storage = new SharedPreferencesStorage(RuntimeEnvironment.application, "com.auth0.test.concurrency");
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        mockAPI.shutdown();
+    }
+
+    @Test
+    public void shouldSendSingleRenewRequestForConcurrentCallers() throws Exception {
+        CredentialsManager manager = new CredentialsManager(apiClient, storage);
+        manager.saveCredentials(expiredCredentials());
+        mockAPI.willReturnRenewedCredentials(RESPONSE_DELAY_MS, TimeUnit.MILLISECONDS);
+
+        ResultCollector results = getCredentialsConcurrently(manager);
+
+        assertThat(mockAPI.getRequestCount(), is(1));
+        assertThat(results.errors, hasSize(0));
+        assertThat(results.credentials, hasSize(CONCURRENT_CALLERS));
+        assertThat(results.credentials, everyItem(sameInstance(results.credentials.get(0))));
+        assertThat(results.credentials.get(0).getAccessToken(), is(AuthenticationAPI.ACCESS_TOKEN));
+        assertThat(results.credentials.get(0).getRefreshToken(), is(AuthenticationAPI.REFRESH_TOKEN));
+        assertThat(storage.retrieveString("com.auth0.access_token"), is(AuthenticationAPI.ACCESS_TOKEN));
+    }
+
+    @Test
+    public void shouldDeliverSameRenewFailureToConcurrentCallers() throws Exception {
+        CredentialsManager manager = new CredentialsManager(apiClient, storage);
+        manager.saveCredentials(expiredCredentials());
+        mockAPI.willReturnFailedRenew(RESPONSE_DELAY_MS, TimeUnit.MILLISECONDS);
+
+        ResultCollector results = getCredentialsConcurrently(manager);
+
+        assertThat(mockAPI.getRequestCount(), is(1));
+        assertThat(results.credentials, hasSize(0));
+        assertThat(results.errors, hasSize(CONCURRENT_CALLERS));
+        assertThat(results.errors, everyItem(sameInstance(results.errors.get(0))));
+        assertThat(results.errors.get(0).getMessage(), is("An error occurred while trying to use the Refresh Token to renew the Credentials."));
+    }
+
+    @Test
+    public void shouldStartNewRenewRequestOnceThePreviousOneCompleted() throws Exception {
+        CredentialsManager manager = new CredentialsManager(apiClient, storage);
+        manager.saveCredentials(expiredCredentials());
+        mockAPI.willReturnFailedRenew(0, TimeUnit.MILLISECONDS)
+                .willReturnRenewedCredentials(0, TimeUnit.MILLISECONDS);
+
+        ResultCollector failed = getCredentialsConcurrently(manager, 1);
+        assertThat(failed.errors, hasSize(1));
+        ResultCollector renewed = getCredentialsConcurrently(manager, 1);
+        assertThat(renewed.credentials, hasSize(1));
+
+        assertThat(mockAPI.getRequestCount(), is(2));
+    }
+
+    @Test
+    public void shouldSendSingleRenewRequestForConcurrentCallersOnSecureManager() throws Exception {
+        SecureCredentialsManager manager = new SecureCredentialsManager(apiClient, storage, passThroughCrypto());
+        manager.saveCredentials(expiredCredentials());
+        mockAPI.willReturnRenewedCredentials(RESPONSE_DELAY_MS, TimeUnit.MILLISECONDS);
+
+        ResultCollector results = getCredentialsConcurrently(manager);
+
+        assertThat(mockAPI.getRequestCount(), is(1));
+        assertThat(results.errors, hasSize(0));
+        assertThat(results.credentials, hasSize(CONCURRENT_CALLERS));
+        assertThat(results.credentials, everyItem(sameInstance(results.credentials.get(0))));
+        assertThat(results.credentials.get(0).getAccessToken(), is(AuthenticationAPI.ACCESS_TOKEN));
+        assertThat(results.credentials.get(0).getRefreshToken(), is(AuthenticationAPI.REFRESH_TOKEN));
+        assertThat(manager.hasValidCredentials(), is(true));
+    }
+
+    @Test
+    public void shouldDeliverSameRenewFailureToConcurrentCallersOnSecureManager() throws Exception {
+        SecureCredentialsManager manager = new SecureCredentialsManager(apiClient, storage, passThroughCrypto());
+        manager.saveCredentials(expiredCredentials());
+        mockAPI.willReturnFailedRenew(RESPONSE_DELAY_MS, TimeUnit.MILLISECONDS);
+
+        ResultCollector results = getCredentialsConcurrently(manager);
+
+        assertThat(mockAPI.getRequestCount(), is(1));
+        assertThat(results.credentials, hasSize(0));
+        assertThat(results.errors, hasSize(CONCURRENT_CALLERS));
+        assertThat(results.errors, everyItem(sameInstance(results.errors.get(0))));
+    }
+
+    @Test
+    public void shouldSaveRenewedCredentialsOnTheNetworkThreadWhenCallbacksGoToTheMainThread() throws Exception {
+        final List<Thread> mainThread = new CopyOnWriteArrayList<>();
+        ExecutorService mainThreadExecutor = Executors.newSingleThreadExecutor(new ThreadFactory() {
+            @Override
+            public Thread newThread(Runnable runnable) {
+                Thread thread = new Thread(runnable, "main");
+                mainThread.add(thread);
+                return thread;
+            }
+        });
+        apiClient.setCallbackExecutor(mainThreadExecutor);
+        List<Thread> encryptingThreads = new CopyOnWriteArrayList<>();
+        SecureCredentialsManager manager = new SecureCredentialsManager(apiClient, storage, passThroughCrypto(encryptingThreads));
+        manager.saveCredentials(expiredCredentials());
+        encryptingThreads.clear();
+        mockAPI.willReturnRenewedCredentials(0, TimeUnit.MILLISECONDS);
+
+        ResultCollector results = new ResultCollector(1);
+        manager.getCredentials(results);
+        assertTrue("Timed out waiting for the renewed credentials", results.done.await(10, TimeUnit.SECONDS));
+        mainThreadExecutor.shutdown();
+
+        assertThat(results.credentials, hasSize(1));
+        assertThat(results.threads, contains(mainThread.get(0)));
+        assertThat(encryptingThreads, hasSize(1));
+        assertThat(encryptingThreads.get(0), is(not(mainThread.get(0))));
+        assertThat(encryptingThreads.get(0), is(not(Thread.currentThread())));
+    }
+
+    private ResultCollector getCredentialsConcurrently(final CredentialsManager manager) throws InterruptedException {
+        return getCredentialsConcurrently(manager, CONCURRENT_CALLERS);
+    }
+
+    private ResultCollector getCredentialsConcurrently(final CredentialsManager manager, int callers) throws InterruptedException {
+        return runConcurrently(callers, new Caller() {
+            @Override
+            public void call(BaseCallback<Credentials, CredentialsManagerException> callback) {
+                manager.getCredentials(callback);
+            }
+        });
+    }
+
+    private ResultCollector getCredentialsConcurrently(final SecureCredentialsManager manager) throws InterruptedException {
+        return runConcurrently(CONCURRENT_CALLERS, new Caller() {
+            @Override
+            public void call(BaseCallback<Credentials, CredentialsManagerException> callback) {
+                manager.getCredentials(callback);
+            }
+        });
+    }
+
+    private ResultCollector runConcurrently(int callers, final Caller caller) throws InterruptedException {
+        final CountDownLatch start = new CountDownLatch(1);
+        final ResultCollector collector = new ResultCollector(callers);
+        for (int i = 0; i < callers; i++) {
+            new Thread(new Runnable() {
+                @Override
+                public void run() {
+                    try {
+                        start.await();
+                    } catch (InterruptedException e) {
+                        return;
+                    }
+                    caller.call(collector);
+                }
+            }).start();
+        }
+        start.countDown();
+        assertTrue("Timed out waiting for the callers to receive a result", collector.done.await(10, TimeUnit.SECONDS));
+        return collector;
+    }
+
+    private static Credentials expiredCredentials() {
+        Date expiresAt = new Date(System.currentTimeMillis() - 60 * 1000);
+        return new Credentials("idToken", "accessToken", "type", AuthenticationAPI.REFRESH_TOKEN, expiresAt, "openid");
+    }
+
+    private static CryptoUtil passThroughCrypto() {
+        return passThroughCrypto(new CopyOnWriteArrayList<Thread>());
+    }
+
+    private static CryptoUtil passThroughCrypto(final List<Thread> encryptingThreads) {
+        CryptoUtil crypto = mock(CryptoUtil.class);
+        final Answer<byte[]> passThrough = new Answer<byte[]>() {
+            @Override
+            public byte[] answer(InvocationOnMock invocation) throws Throwable {
+                return invocation.getArgumentAt(0, byte[].class);
+            }
+        };
+        when(crypto.encrypt(any(byte[].class))).thenAnswer(new Answer<byte[]>() {
+            @Override
+            public byte[] answer(InvocationOnMock invocation) throws Throwable {
+                encryptingThreads.add(Thread.currentThread());
+                return passThrough.answer(invocation);
+            }
+        });
+        when(crypto.decrypt(any(byte[].class))).thenAnswer(passThrough);
+        return crypto;
+    }
+
+    private interface Caller {
+        void call(BaseCallback<Credentials, CredentialsManagerException> callback);
+    }
+
+    private static class ResultCollector implements BaseCallback<Credentials, CredentialsManagerException> {
+
+        final List<Credentials> credentials = new CopyOnWriteArrayList<>();
+        final List<CredentialsManagerException> errors = new CopyOnWriteArrayList<>();
+        final List<Thread> threads = new CopyOnWriteArrayList<>();
+        final CountDownLatch done;
+
+        ResultCollector(int callers) {
+            this.done = new CountDownLatch(callers);
+        }
+
+        @Override
+        public void onSuccess(Credentials payload) {
+            credentials.add(payload);
+            threads.add(Thread.currentThread());
+            done.countDown();
+        }
+
+        @Override
+        public void onFailure(CredentialsManagerException error) {
+            errors.add(error);
+            threads.add(Thread.currentThread());
+            done.countDown();
+        }
+    }
+}
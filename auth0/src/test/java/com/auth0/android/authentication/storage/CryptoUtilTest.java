@@ -643,14 +643,11 @@ public class CryptoUtilTest {
         byte[] data = "data".getBytes();
         byte[] encryptedData = new byte[]{0, 1, 2, 3, 4, 5};
         byte[] iv = new byte[]{99, 99, 11, 11};
-        byte[] encodedIv = "iv-data".getBytes();
 
         doReturn(aesKey).when(cryptoUtil).getAESKey();
         doReturn(encryptedData).when(aesCipher).doFinal(data);
         PowerMockito.when(aesCipher.doFinal(data)).thenReturn(encryptedData);
         PowerMockito.when(aesCipher.getIV()).thenReturn(iv);
-        PowerMockito.mockStatic(Base64.class);
-        PowerMockito.when(Base64.encode(iv, Base64.DEFAULT)).thenReturn(encodedIv);
 
         final byte[] encrypted = cryptoUtil.encrypt(data);
 
@@ -660,8 +657,156 @@ public class CryptoUtilTest {
         assertThat(secretKeyCaptor.getValue().getAlgorithm(), is(ALGORITHM_AES));
         assertThat(secretKeyCaptor.getValue().getEncoded(), is(aesKey));
 
-        Mockito.verify(storage).store(KEY_ALIAS + "_iv", "iv-data");
-        assertThat(encrypted, is(encryptedData));
+        Mockito.verify(storage, Mockito.never()).store(eq(KEY_ALIAS + "_iv"), anyString());
+        byte[] expected = new byte[]{1, 4, 99, 99, 11, 11, 0, 1, 2, 3, 4, 5};
+        assertThat(encrypted, is(expected));
+    }
+
+    @Test
+    public void shouldAESDecryptVersionedData() throws Exception {
+        ArgumentCaptor<IvParameterSpec> ivParameterSpecCaptor = ArgumentCaptor.forClass(IvParameterSpec.class);
+        byte[] aesKey = "aes-decrypted-key".getBytes();
+        byte[] iv = new byte[]{1, 2, 3, 4, 5, 6, 7, 8, 9, 10, 11, 12};
+        byte[] input = new byte[]{1, 12, 1, 2, 3, 4, 5, 6, 7, 8, 9, 10, 11, 12, 50, 51, 52};
+        byte[] decryptedData = "data".getBytes();
+
+        doReturn(aesKey).when(cryptoUtil).getAESKey();
+        PowerMockito.when(aesCipher.doFinal(input, 14, 3)).thenReturn(decryptedData);
+
+        final byte[] decrypted = cryptoUtil.decrypt(input);
+
+        Mockito.verify(aesCipher).init(eq(Cipher.DECRYPT_MODE), any(SecretKey.class), ivParameterSpecCaptor.capture());
+        assertThat(ivParameterSpecCaptor.getValue().getIV(), is(iv));
+        Mockito.verify(storage, Mockito.never()).retrieveString(KEY_ALIAS + "_iv");
+        assertThat(decrypted, is(decryptedData));
+        assertThat(cryptoUtil.isLegacyFormat(input), is(false));
+    }
+
+    @Test
+    public void shouldAESDecryptLegacyDataThatLooksVersioned() throws Exception {
+        byte[] aesKey = "aes-decrypted-key".getBytes();
+        byte[] input = new byte[]{1, 12, 1, 2, 3, 4, 5, 6, 7, 8, 9, 10, 11, 12, 50, 51, 52};
+        byte[] decryptedData = "data".getBytes();
+        String encodedIv = "iv-data";
+
+        doReturn(aesKey).when(cryptoUtil).getAESKey();
+        PowerMockito.when(aesCipher.doFinal(input, 14, 3)).thenThrow(new BadPaddingException());
+        PowerMockito.when(aesCipher.doFinal(input)).thenReturn(decryptedData);
+        PowerMockito.when(storage.retrieveString(KEY_ALIAS + "_iv")).thenReturn(encodedIv);
+        PowerMockito.mockStatic(Base64.class);
+        PowerMockito.when(Base64.decode(encodedIv, Base64.DEFAULT)).thenReturn(encodedIv.getBytes());
+
+        final byte[] decrypted = cryptoUtil.decrypt(input);
+
+        assertThat(decrypted, is(decryptedData));
+    }
+
+    @Test
+    public void shouldDecryptAndDetectLegacyDataStartingWithAnyValidHeader() throws Exception {
+        byte[] aesKey = "aes-decrypted-key".getBytes();
+        byte[] decryptedData = "data".getBytes();
+        String encodedIv = "iv-data";
+
+        doReturn(aesKey).when(cryptoUtil).getAESKey();
+        PowerMockito.when(storage.retrieveString(KEY_ALIAS + "_iv")).thenReturn(encodedIv);
+        PowerMockito.mockStatic(Base64.class);
+        PowerMockito.when(Base64.decode(encodedIv, Base64.DEFAULT)).thenReturn(encodedIv.getBytes());
+
+        for (byte ivLength = 12; ivLength <= 16; ivLength++) {
+            byte[] input = new byte[2 + ivLength + 3];
+            input[0] = 1;
+            input[1] = ivLength;
+            input[input.length - 1] = 50;
+            int dataOffset = 2 + ivLength;
+            PowerMockito.when(aesCipher.doFinal(input, dataOffset, 3)).thenThrow(new BadPaddingException());
+            PowerMockito.when(aesCipher.doFinal(input)).thenReturn(decryptedData);
+
+            assertThat(cryptoUtil.decrypt(input), is(decryptedData));
+            assertThat(cryptoUtil.isLegacyFormat(input), is(true));
+        }
+    }
+
+    @Test
+    public void shouldNotDetectLegacyFormatOnVersionedDataOnceTheLegacyIVIsDeleted() throws Exception {
+        byte[] input = new byte[]{1, 12, 1, 2, 3, 4, 5, 6, 7, 8, 9, 10, 11, 12, 50};
+        PowerMockito.when(storage.retrieveString(KEY_ALIAS + "_iv")).thenReturn("iv-data");
+        assertThat(cryptoUtil.isLegacyFormat(input), is(true));
+
+        cryptoUtil.deleteLegacyIV();
+
+        Mockito.verify(storage).remove(KEY_ALIAS + "_iv");
+        PowerMockito.when(storage.retrieveString(KEY_ALIAS + "_iv")).thenReturn(null);
+        assertThat(cryptoUtil.isLegacyFormat(input), is(false));
+    }
+
+    @Test
+    public void shouldDetectLegacyFormat() throws Exception {
+        assertThat(cryptoUtil.isLegacyFormat(new byte[0]), is(true));
+        assertThat(cryptoUtil.isLegacyFormat(new byte[]{0, 12, 1, 2, 3, 4, 5, 6, 7, 8, 9, 10, 11, 12, 50}), is(true));
+        assertThat(cryptoUtil.isLegacyFormat(new byte[]{1, 3, 1, 2, 3, 50}), is(true));
+        assertThat(cryptoUtil.isLegacyFormat(new byte[]{1, 12, 1, 2, 3, 4, 5, 6, 7, 8, 9, 10, 11, 12}), is(true));
+        assertThat(cryptoUtil.isLegacyFormat(new byte[]{1, 12, 1, 2, 3, 4, 5, 6, 7, 8, 9, 10, 11, 12, 50}), is(false));
+    }
+
+    @Test
+    public void shouldLoadKeyStoreOnlyOnce() throws Exception {
+        KeyStore.PrivateKeyEntry entry = PowerMockito.mock(KeyStore.PrivateKeyEntry.class);
+        PowerMockito.when(keyStore.containsAlias(KEY_ALIAS)).thenReturn(true);
+        PowerMockito.when(keyStore.getEntry(KEY_ALIAS, null)).thenReturn(entry);
+
+        cryptoUtil.getRSAKeyEntry();
+        cryptoUtil.getRSAKeyEntry();
+
+        Mockito.verify(keyStore, Mockito.times(1)).load(null);
+        Mockito.verify(keyStore, Mockito.times(2)).getEntry(KEY_ALIAS, null);
+    }
+
+    @Test
+    public void shouldObtainAESKeyOnlyOnce() throws Exception {
+        byte[] aesKey = "aes-decrypted-key".getBytes();
+        byte[] data = "data".getBytes();
+        byte[] encryptedData = new byte[]{0, 1, 2, 3, 4, 5};
+        byte[] iv = new byte[]{99, 99, 11, 11};
+
+        doReturn(aesKey).when(cryptoUtil).getAESKey();
+        PowerMockito.when(aesCipher.doFinal(data)).thenReturn(encryptedData);
+        PowerMockito.when(aesCipher.getIV()).thenReturn(iv);
+        PowerMockito.when(storage.retrieveString(KEY_ALIAS + "_iv")).thenReturn("iv-data");
+        PowerMockito.mockStatic(Base64.class);
+        PowerMockito.when(Base64.encode(iv, Base64.DEFAULT)).thenReturn("iv-data".getBytes());
+        PowerMockito.when(Base64.decode("iv-data", Base64.DEFAULT)).thenReturn(iv);
+
+        cryptoUtil.encrypt(data);
+        cryptoUtil.encrypt(data);
+        cryptoUtil.decrypt(encryptedData);
+
+        Mockito.verify(cryptoUtil, Mockito.times(1)).getAESKey();
+    }
+
+    @Test
+    public void shouldObtainAESKeyAgainAfterKeysAreDeleted() throws Exception {
+        byte[] aesKey = "aes-decrypted-key".getBytes();
+        byte[] data = "data".getBytes();
+        byte[] iv = new byte[]{99, 99, 11, 11};
+
+        doReturn(aesKey).when(cryptoUtil).getAESKey();
+        PowerMockito.when(aesCipher.doFinal(data)).thenReturn(new byte[]{0, 1, 2, 3, 4, 5});
+        PowerMockito.when(aesCipher.getIV()).thenReturn(iv);
+        PowerMockito.mockStatic(Base64.class);
+        PowerMockito.when(Base64.encode(iv, Base64.DEFAULT)).thenReturn("iv-data".getBytes());
+
+        PrivateKey privateKey = PowerMockito.mock(PrivateKey.class);
+        KeyStore.PrivateKeyEntry privateKeyEntry = PowerMockito.mock(KeyStore.PrivateKeyEntry.class);
+        doReturn(privateKey).when(privateKeyEntry).getPrivateKey();
+        doReturn(privateKeyEntry).when(cryptoUtil).getRSAKeyEntry();
+        doThrow(new BadPaddingException()).when(rsaCipher).doFinal(any(byte[].class));
+
+        cryptoUtil.encrypt(data);
+        cryptoUtil.RSADecrypt(new byte[0]);
+        cryptoUtil.encrypt(data);
+
+        Mockito.verify(keyStore).deleteEntry(KEY_ALIAS);
+        Mockito.verify(cryptoUtil, Mockito.times(2)).getAESKey();
     }
 
     @Test
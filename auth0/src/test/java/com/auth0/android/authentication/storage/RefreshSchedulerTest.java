@@ -0,0 +1,360 @@
+package com.auth0.android.authentication.storage;
+
+import android.app.Activity;
+import android.app.ActivityManager;
+import android.app.Application;
+import android.content.Context;
+import android.os.Process;
+
+import com.auth0.android.authentication.AuthenticationException;
+import com.auth0.android.callback.BaseCallback;
+import com.auth0.android.result.Credentials;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.annotation.Config;
+
+import java.util.Collections;
+import java.util.Random;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.hamcrest.Matchers.is;
+import static org.junit.Assert.assertThat;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyLong;
+import static org.mockito.Matchers.eq;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@RunWith(RobolectricTestRunner.class)
+@Config(constants = com.auth0.android.auth0.BuildConfig.class, sdk = 21, manifest = Config.NONE)
+public class RefreshSchedulerTest {
+
+    private static final long NOW = 1234567890000L;
+
+    @Mock
+    private RefreshScheduler.RenewableCredentials credentials;
+    @Mock
+    private ScheduledExecutorService executor;
+    @Mock
+    private ScheduledFuture future;
+    @Mock
+    private Random random;
+    @Mock
+    private Activity activity;
+
+    @Rule
+    public ExpectedException exception = ExpectedException.none();
+
+    private RefreshScheduler scheduler;
+
+    @SuppressWarnings("unchecked")
+    @Before
+    public void setUp() throws Exception {
+        MockitoAnnotations.initMocks(this);
+        when(credentials.getCurrentTimeInMillis()).thenReturn(NOW);
+        when(executor.schedule(any(Runnable.class), anyLong(), any(TimeUnit.class))).thenReturn(future);
+        when(random.nextDouble()).thenReturn(0.5);
+        scheduler = spy(new RefreshScheduler(credentials, executor, 0.8f, 60 * 1000, random));
+        doReturn(false).when(scheduler).isInForeground();
+    }
+
+    @Test
+    public void shouldScheduleRenewalAfterLifetimeFractionPlusJitter() throws Exception {
+        scheduler.onCredentialsSaved(NOW + 3600 * 1000);
+
+        verify(executor).schedule(any(Runnable.class), eq(2880 * 1000L + 30 * 1000L), eq(TimeUnit.MILLISECONDS));
+    }
+
+    @Test
+    public void shouldNotScheduleRenewalAfterExpiration() throws Exception {
+        when(random.nextDouble()).thenReturn(0.99);
+        scheduler.onCredentialsSaved(NOW + 10 * 1000);
+
+        verify(executor).schedule(any(Runnable.class), eq(10 * 1000L), eq(TimeUnit.MILLISECONDS));
+    }
+
+    @Test
+    public void shouldRenewImmediatelyExpiredCredentials() throws Exception {
+        scheduler.onCredentialsSaved(NOW - 10 * 1000);
+
+        verify(executor).schedule(any(Runnable.class), eq(0L), eq(TimeUnit.MILLISECONDS));
+    }
+
+    @Test
+    public void shouldRenewWhenScheduledTaskRuns() throws Exception {
+        ArgumentCaptor<Runnable> runnableCaptor = ArgumentCaptor.forClass(Runnable.class);
+        scheduler.onCredentialsSaved(NOW + 3600 * 1000);
+        verify(executor).schedule(runnableCaptor.capture(), anyLong(), eq(TimeUnit.MILLISECONDS));
+
+        runnableCaptor.getValue().run();
+
+        verify(credentials).renew(any(BaseCallback.class));
+    }
+
+    @SuppressWarnings("unchecked")
+    @Test
+    public void shouldRetryWithBackoffWhenRenewalFails() throws Exception {
+        when(credentials.getRenewableExpiresAt()).thenReturn(NOW + 3600 * 1000);
+        when(random.nextDouble()).thenReturn(0.0);
+        ArgumentCaptor<Runnable> runnableCaptor = ArgumentCaptor.forClass(Runnable.class);
+        ArgumentCaptor<BaseCallback> callbackCaptor = ArgumentCaptor.forClass(BaseCallback.class);
+        scheduler.onCredentialsSaved(NOW + 3600 * 1000);
+        verify(executor).schedule(runnableCaptor.capture(), anyLong(), eq(TimeUnit.MILLISECONDS));
+
+        runnableCaptor.getValue().run();
+        verify(credentials).renew(callbackCaptor.capture());
+        callbackCaptor.getValue().onFailure(new CredentialsManagerException("error"));
+        verify(executor).schedule(any(Runnable.class), eq(RefreshScheduler.MIN_RETRY_DELAY_MILLIS), eq(TimeUnit.MILLISECONDS));
+
+        scheduler.onRenewalFailed(new CredentialsManagerException("error"));
+        verify(executor).schedule(any(Runnable.class), eq(RefreshScheduler.MIN_RETRY_DELAY_MILLIS * 2), eq(TimeUnit.MILLISECONDS));
+        for (int i = 0; i < 20; i++) {
+            scheduler.onRenewalFailed(new CredentialsManagerException("error"));
+        }
+        verify(executor, times(16)).schedule(any(Runnable.class), eq(RefreshScheduler.MAX_RETRY_DELAY_MILLIS), eq(TimeUnit.MILLISECONDS));
+    }
+
+    @Test
+    public void shouldAddJitterToRetries() throws Exception {
+        when(credentials.getRenewableExpiresAt()).thenReturn(NOW + 3600 * 1000);
+        scheduler.onRenewalFailed(new CredentialsManagerException("error"));
+
+        verify(executor).schedule(any(Runnable.class), eq(RefreshScheduler.MIN_RETRY_DELAY_MILLIS + RefreshScheduler.MIN_RETRY_DELAY_MILLIS / 4), eq(TimeUnit.MILLISECONDS));
+    }
+
+    @Test
+    public void shouldResetBackoffWhenCredentialsAreSaved() throws Exception {
+        when(credentials.getRenewableExpiresAt()).thenReturn(NOW + 3600 * 1000);
+        when(random.nextDouble()).thenReturn(0.0);
+        scheduler.onRenewalFailed(new CredentialsManagerException("error"));
+        scheduler.onRenewalFailed(new CredentialsManagerException("error"));
+        scheduler.onCredentialsSaved(NOW + 3600 * 1000);
+        scheduler.onRenewalFailed(new CredentialsManagerException("error"));
+
+        verify(executor, times(2)).schedule(any(Runnable.class), eq(RefreshScheduler.MIN_RETRY_DELAY_MILLIS), eq(TimeUnit.MILLISECONDS));
+    }
+
+    @Test
+    public void shouldNotRetryWhenTheRefreshTokenIsRejected() throws Exception {
+        when(credentials.getRenewableExpiresAt()).thenReturn(NOW + 3600 * 1000);
+        AuthenticationException invalidGrant = new AuthenticationException("invalid_grant", "Unknown or invalid refresh token.");
+        scheduler.onRenewalFailed(new CredentialsManagerException("error", invalidGrant));
+        scheduler.resume();
+
+        verify(executor, never()).schedule(any(Runnable.class), anyLong(), any(TimeUnit.class));
+
+        scheduler.onCredentialsSaved(NOW + 3600 * 1000);
+        verify(executor).schedule(any(Runnable.class), anyLong(), eq(TimeUnit.MILLISECONDS));
+    }
+
+    @Test
+    public void shouldNotRetryOnClientErrors() throws Exception {
+        when(credentials.getRenewableExpiresAt()).thenReturn(NOW + 3600 * 1000);
+        scheduler.onRenewalFailed(new CredentialsManagerException("error", new AuthenticationException("Forbidden", 403)));
+
+        verify(executor, never()).schedule(any(Runnable.class), anyLong(), any(TimeUnit.class));
+    }
+
+    @Test
+    public void shouldRetryWhenRateLimited() throws Exception {
+        when(credentials.getRenewableExpiresAt()).thenReturn(NOW + 3600 * 1000);
+        when(random.nextDouble()).thenReturn(0.0);
+        scheduler.onRenewalFailed(new CredentialsManagerException("error", new AuthenticationException("Too Many Requests", 429)));
+
+        verify(executor).schedule(any(Runnable.class), eq(RefreshScheduler.MIN_RETRY_DELAY_MILLIS), eq(TimeUnit.MILLISECONDS));
+    }
+
+    @Test
+    public void shouldNotRetryWhenCredentialsCantBeRenewed() throws Exception {
+        when(credentials.getRenewableExpiresAt()).thenReturn(null);
+        scheduler.onRenewalFailed(new CredentialsManagerException("error"));
+
+        verify(executor, never()).schedule(any(Runnable.class), anyLong(), any(TimeUnit.class));
+    }
+
+    @Test
+    public void shouldCancelScheduledRenewalWhenCredentialsAreSavedAgain() throws Exception {
+        scheduler.onCredentialsSaved(NOW + 3600 * 1000);
+        scheduler.onCredentialsSaved(NOW + 7200 * 1000);
+
+        verify(future).cancel(false);
+        verify(executor, times(2)).schedule(any(Runnable.class), anyLong(), eq(TimeUnit.MILLISECONDS));
+    }
+
+    @Test
+    public void shouldCancelScheduledRenewalWhenCredentialsAreCleared() throws Exception {
+        scheduler.onCredentialsSaved(NOW + 3600 * 1000);
+        scheduler.onCredentialsCleared();
+
+        verify(future).cancel(false);
+    }
+
+    @Test
+    public void shouldPauseWhenLastActivityStops() throws Exception {
+        ArgumentCaptor<Runnable> runnableCaptor = ArgumentCaptor.forClass(Runnable.class);
+        scheduler.onActivityStarted(activity);
+        scheduler.onCredentialsSaved(NOW + 3600 * 1000);
+        scheduler.onActivityStopped(activity);
+        verify(executor).schedule(runnableCaptor.capture(), eq(RefreshScheduler.PAUSE_DELAY_MILLIS), eq(TimeUnit.MILLISECONDS));
+        verify(future, never()).cancel(false);
+
+        runnableCaptor.getValue().run();
+
+        verify(future).cancel(false);
+        scheduler.onCredentialsSaved(NOW + 7200 * 1000);
+        verify(executor, times(2)).schedule(any(Runnable.class), anyLong(), eq(TimeUnit.MILLISECONDS));
+    }
+
+    @Test
+    public void shouldNotPauseWhenActivityIsRecreated() throws Exception {
+        ArgumentCaptor<Runnable> runnableCaptor = ArgumentCaptor.forClass(Runnable.class);
+        ScheduledFuture pauseFuture = mock(ScheduledFuture.class);
+        scheduler.onActivityStarted(activity);
+        scheduler.onCredentialsSaved(NOW + 3600 * 1000);
+        when(executor.schedule(any(Runnable.class), eq(RefreshScheduler.PAUSE_DELAY_MILLIS), any(TimeUnit.class))).thenReturn(pauseFuture);
+        scheduler.onActivityStopped(activity);
+        scheduler.onActivityStarted(mock(Activity.class));
+        verify(executor).schedule(runnableCaptor.capture(), eq(RefreshScheduler.PAUSE_DELAY_MILLIS), eq(TimeUnit.MILLISECONDS));
+        verify(pauseFuture).cancel(false);
+
+        runnableCaptor.getValue().run();
+
+        verify(future, never()).cancel(false);
+    }
+
+    @Test
+    public void shouldNotPauseWhenActivityStartedBeforeRegistrationStops() throws Exception {
+        ArgumentCaptor<Runnable> runnableCaptor = ArgumentCaptor.forClass(Runnable.class);
+        doReturn(true).when(scheduler).isInForeground();
+        scheduler.onCredentialsSaved(NOW + 3600 * 1000);
+        //The stopped activity was started before the scheduler was registered, so only the new one was counted
+        scheduler.onActivityStarted(mock(Activity.class));
+        scheduler.onActivityStopped(activity);
+        verify(executor).schedule(runnableCaptor.capture(), eq(RefreshScheduler.PAUSE_DELAY_MILLIS), eq(TimeUnit.MILLISECONDS));
+
+        runnableCaptor.getValue().run();
+
+        verify(future, never()).cancel(false);
+    }
+
+    @Test
+    public void shouldNotPauseWhileAnotherActivityIsStarted() throws Exception {
+        scheduler.onActivityStarted(activity);
+        scheduler.onActivityStarted(mock(Activity.class));
+        scheduler.onCredentialsSaved(NOW + 3600 * 1000);
+        scheduler.onActivityStopped(activity);
+
+        verify(future, never()).cancel(false);
+    }
+
+    @Test
+    public void shouldRescheduleFromStoredCredentialsWhenResumed() throws Exception {
+        when(credentials.getRenewableExpiresAt()).thenReturn(NOW + 3600 * 1000);
+        scheduler.pause();
+        verify(executor, never()).schedule(any(Runnable.class), anyLong(), any(TimeUnit.class));
+
+        scheduler.onActivityStarted(activity);
+
+        verify(executor).schedule(any(Runnable.class), eq(2880 * 1000L + 30 * 1000L), eq(TimeUnit.MILLISECONDS));
+    }
+
+    @Test
+    public void shouldNotScheduleWhenCredentialsCantBeRenewed() throws Exception {
+        when(credentials.getRenewableExpiresAt()).thenReturn(null);
+        scheduler.resume();
+
+        verify(executor, never()).schedule(any(Runnable.class), anyLong(), any(TimeUnit.class));
+    }
+
+    @Test
+    public void shouldNotRenewAfterStopped() throws Exception {
+        ArgumentCaptor<Runnable> runnableCaptor = ArgumentCaptor.forClass(Runnable.class);
+        scheduler.onCredentialsSaved(NOW + 3600 * 1000);
+        verify(executor).schedule(runnableCaptor.capture(), anyLong(), eq(TimeUnit.MILLISECONDS));
+
+        scheduler.stop();
+        runnableCaptor.getValue().run();
+        scheduler.onCredentialsSaved(NOW + 7200 * 1000);
+
+        verify(executor).shutdown();
+        verify(credentials, never()).renew(any(BaseCallback.class));
+        verify(executor, times(1)).schedule(any(Runnable.class), anyLong(), eq(TimeUnit.MILLISECONDS));
+    }
+
+    @Test
+    public void shouldRegisterAndUnregisterActivityLifecycleCallbacks() throws Exception {
+        Context context = mock(Context.class);
+        Application application = mock(Application.class);
+        when(context.getApplicationContext()).thenReturn(application);
+
+        RefreshScheduler started = RefreshScheduler.start(context, credentials, 0.5f, 0);
+        verify(application).registerActivityLifecycleCallbacks(started);
+
+        started.stop();
+        verify(application).unregisterActivityLifecycleCallbacks(started);
+    }
+
+    @Test
+    public void shouldStartPausedWhenApplicationIsInBackground() throws Exception {
+        Context context = mock(Context.class);
+        Application application = mockApplicationWithImportance(ActivityManager.RunningAppProcessInfo.IMPORTANCE_BACKGROUND);
+        when(context.getApplicationContext()).thenReturn(application);
+
+        RefreshScheduler started = RefreshScheduler.start(context, credentials, 0.5f, 0);
+        started.stop();
+
+        verify(credentials, never()).getRenewableExpiresAt();
+    }
+
+    @Test
+    public void shouldStartWhenApplicationIsInForeground() throws Exception {
+        Context context = mock(Context.class);
+        Application application = mockApplicationWithImportance(ActivityManager.RunningAppProcessInfo.IMPORTANCE_FOREGROUND);
+        when(context.getApplicationContext()).thenReturn(application);
+
+        RefreshScheduler started = RefreshScheduler.start(context, credentials, 0.5f, 0);
+        started.stop();
+
+        verify(credentials).getRenewableExpiresAt();
+    }
+
+    @Test
+    public void shouldNotAcceptInvalidLifetimeFraction() throws Exception {
+        exception.expect(IllegalArgumentException.class);
+        exception.expectMessage("The lifetime fraction must be a value between 0 and 1.");
+        RefreshScheduler.start(mock(Context.class), credentials, 1f, 0);
+    }
+
+    @Test
+    public void shouldNotAcceptNegativeJitter() throws Exception {
+        exception.expect(IllegalArgumentException.class);
+        exception.expectMessage("The max jitter must be a positive value or 0.");
+        RefreshScheduler.start(mock(Context.class), credentials, 0.5f, -1);
+    }
+
+    private static Application mockApplicationWithImportance(int importance) {
+        ActivityManager.RunningAppProcessInfo process = new ActivityManager.RunningAppProcessInfo();
+        process.pid = Process.myPid();
+        process.importance = importance;
+        ActivityManager activityManager = mock(ActivityManager.class);
+        when(activityManager.getRunningAppProcesses()).thenReturn(Collections.singletonList(process));
+        Application application = mock(Application.class);
+        when(application.getSystemService(Context.ACTIVITY_SERVICE)).thenReturn(activityManager);
+        return application;
+    }
+}
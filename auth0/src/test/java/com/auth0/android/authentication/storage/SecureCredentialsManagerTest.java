@@ -28,6 +28,8 @@ import org.mockito.ArgumentCaptor;
 import org.mockito.Captor;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.mockito.invocation.InvocationOnMock;
+import org.mockito.stubbing.Answer;
 import org.robolectric.Robolectric;
 import org.robolectric.RobolectricTestRunner;
 import org.robolectric.annotation.Config;
@@ -37,6 +39,7 @@ import java.util.Date;
 
 import static org.hamcrest.Matchers.notNullValue;
 import static org.hamcrest.Matchers.nullValue;
+import static org.hamcrest.Matchers.sameInstance;
 import static org.hamcrest.core.Is.is;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertThat;
@@ -50,6 +53,7 @@ import static org.mockito.Mockito.doReturn;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoMoreInteractions;
 import static org.mockito.Mockito.when;
@@ -429,6 +433,86 @@ public class SecureCredentialsManagerTest {
         assertThat(exception.getMessage(), is("An error occurred while trying to use the Refresh Token to renew the Credentials."));
     }
 
+    @Test
+    public void shouldNotDecryptAgainWhenInMemoryCacheIsEnabled() throws Exception {
+        manager.setInMemoryCacheEnabled(true);
+        Date expiresAt = new Date(CredentialsMock.CURRENT_TIME_MS + 123456L * 1000);
+        String storedJson = prepareStoredCredentials(expiresAt);
+
+        manager.getCredentials(callback);
+        manager.getCredentials(callback);
+
+        verify(crypto, times(1)).decrypt(storedJson.getBytes());
+        verify(callback, times(2)).onSuccess(credentialsCaptor.capture());
+        assertThat(credentialsCaptor.getAllValues().get(1), is(sameInstance(credentialsCaptor.getAllValues().get(0))));
+        assertThat(credentialsCaptor.getValue().getAccessToken(), is("accessToken"));
+    }
+
+    @Test
+    public void shouldDecryptAgainWhenInMemoryCacheIsDisabled() throws Exception {
+        Date expiresAt = new Date(CredentialsMock.CURRENT_TIME_MS + 123456L * 1000);
+        String storedJson = prepareStoredCredentials(expiresAt);
+
+        manager.getCredentials(callback);
+        manager.getCredentials(callback);
+
+        verify(crypto, times(2)).decrypt(storedJson.getBytes());
+    }
+
+    @Test
+    public void shouldDecryptAgainWhenInMemoryCacheMaxAgeIsReached() throws Exception {
+        manager.setInMemoryCacheEnabled(true);
+        manager.setInMemoryCacheMaxAge(60);
+        Date expiresAt = new Date(CredentialsMock.CURRENT_TIME_MS + 123456L * 1000);
+        String storedJson = prepareStoredCredentials(expiresAt);
+
+        manager.getCredentials(callback);
+        doReturn(CredentialsMock.CURRENT_TIME_MS + 60 * 1000).when(manager).getCurrentTimeInMillis();
+        manager.getCredentials(callback);
+
+        verify(crypto, times(2)).decrypt(storedJson.getBytes());
+    }
+
+    @Test
+    public void shouldNotAcceptNegativeInMemoryCacheMaxAge() throws Exception {
+        exception.expect(IllegalArgumentException.class);
+        exception.expectMessage("The max age must be a positive value or 0.");
+        manager.setInMemoryCacheMaxAge(-1);
+    }
+
+    @Test
+    public void shouldDecryptAgainAfterClearingCredentials() throws Exception {
+        manager.setInMemoryCacheEnabled(true);
+        Date expiresAt = new Date(CredentialsMock.CURRENT_TIME_MS + 123456L * 1000);
+        String storedJson = prepareStoredCredentials(expiresAt);
+
+        manager.getCredentials(callback);
+        manager.clearCredentials();
+        manager.getCredentials(callback);
+
+        verify(crypto, times(2)).decrypt(storedJson.getBytes());
+    }
+
+    @Test
+    public void shouldNotCacheCredentialsClearedWhileDecrypting() throws Exception {
+        manager.setInMemoryCacheEnabled(true);
+        Date expiresAt = new Date(CredentialsMock.CURRENT_TIME_MS + 123456L * 1000);
+        final String storedJson = prepareStoredCredentials(expiresAt);
+        when(crypto.decrypt(storedJson.getBytes())).thenAnswer(new Answer<byte[]>() {
+            @Override
+            public byte[] answer(InvocationOnMock invocation) throws Throwable {
+                //Credentials are cleared by another thread while these are being decrypted
+                manager.clearCredentials();
+                return storedJson.getBytes();
+            }
+        });
+
+        manager.getCredentials(callback);
+        manager.getCredentials(callback);
+
+        verify(crypto, times(2)).decrypt(storedJson.getBytes());
+    }
+
     @Test
     public void shouldClearCredentials() throws Exception {
         manager.clearCredentials();
@@ -645,4 +729,86 @@ public class SecureCredentialsManagerTest {
         assertThat(exceptionCaptor.getValue(), is(notNullValue()));
         assertThat(exceptionCaptor.getValue().getMessage(), is("The user didn't pass the authentication challenge."));
     }
-}
\ No newline at end of file
+
+    @Test
+    public void shouldEncryptAgainCredentialsStoredInLegacyFormat() throws Exception {
+        Date expiresAt = new Date(CredentialsMock.CURRENT_TIME_MS + 123456L * 1000);
+        String storedJson = prepareStoredCredentials(expiresAt);
+        when(crypto.isLegacyFormat(storedJson.getBytes())).thenReturn(true);
+        when(crypto.encrypt(any(byte[].class))).thenReturn(new byte[]{12, 34, 56, 78});
+        String encoded = Base64.encodeToString(new byte[]{12, 34, 56, 78}, Base64.DEFAULT);
+
+        manager.getCredentials(callback);
+
+        verify(callback).onSuccess(credentialsCaptor.capture());
+        assertThat(credentialsCaptor.getValue().getAccessToken(), is("accessToken"));
+        verify(crypto).encrypt(any(byte[].class));
+        verify(storage).store("com.auth0.credentials", encoded);
+        verify(crypto).deleteLegacyIV();
+    }
+
+    @Test
+    public void shouldKeepLegacyIVIfCredentialsCouldNotBeEncryptedAgain() throws Exception {
+        Date expiresAt = new Date(CredentialsMock.CURRENT_TIME_MS + 123456L * 1000);
+        String storedJson = prepareStoredCredentials(expiresAt);
+        when(crypto.isLegacyFormat(storedJson.getBytes())).thenReturn(true);
+        when(crypto.encrypt(any(byte[].class))).thenThrow(new CryptoException("something", new Throwable("happened")));
+
+        manager.getCredentials(callback);
+
+        verify(callback).onSuccess(any(Credentials.class));
+        verify(crypto, never()).deleteLegacyIV();
+    }
+
+    @Test
+    public void shouldNotEncryptAgainCredentialsStoredInCurrentFormat() throws Exception {
+        Date expiresAt = new Date(CredentialsMock.CURRENT_TIME_MS + 123456L * 1000);
+        String storedJson = prepareStoredCredentials(expiresAt);
+        when(crypto.isLegacyFormat(storedJson.getBytes())).thenReturn(false);
+
+        manager.getCredentials(callback);
+
+        verify(callback).onSuccess(any(Credentials.class));
+        verify(crypto, never()).encrypt(any(byte[].class));
+        verify(storage, never()).store(eq("com.auth0.credentials"), anyString());
+        verify(crypto, never()).deleteLegacyIV();
+    }
+
+    @Test
+    public void shouldReturnCredentialsAndRenewThemInBackgroundWithinRevalidationWindow() throws Exception {
+        manager.setRevalidationWindow(60);
+        Date expiresAt = new Date(CredentialsMock.CURRENT_TIME_MS + 30 * 1000);
+        prepareStoredCredentials(expiresAt);
+        when(client.renewAuth("refreshToken")).thenReturn(request);
+
+        manager.getCredentials(callback);
+
+        verify(callback).onSuccess(credentialsCaptor.capture());
+        assertThat(credentialsCaptor.getValue().getAccessToken(), is("accessToken"));
+        verify(client).renewAuth("refreshToken");
+        verify(request).start(any(BaseCallback.class));
+    }
+
+    @Test
+    public void shouldNotRenewCredentialsOutsideRevalidationWindow() throws Exception {
+        manager.setRevalidationWindow(60);
+        Date expiresAt = new Date(CredentialsMock.CURRENT_TIME_MS + 120 * 1000);
+        prepareStoredCredentials(expiresAt);
+
+        manager.getCredentials(callback);
+
+        verify(callback).onSuccess(any(Credentials.class));
+        verify(client, never()).renewAuth(anyString());
+    }
+
+    private String prepareStoredCredentials(Date expiresAt) {
+        Credentials storedCredentials = new Credentials("idToken", "accessToken", "type", "refreshToken", expiresAt, "scope");
+        String storedJson = gson.toJson(storedCredentials);
+        String encoded = new String(Base64.encode(storedJson.getBytes(), Base64.DEFAULT));
+        when(crypto.decrypt(storedJson.getBytes())).thenReturn(storedJson.getBytes());
+        when(storage.retrieveString("com.auth0.credentials")).thenReturn(encoded);
+        when(storage.retrieveLong("com.auth0.credentials_expires_at")).thenReturn(expiresAt.getTime());
+        when(storage.retrieveBoolean("com.auth0.credentials_can_refresh")).thenReturn(true);
+        return storedJson;
+    }
+}
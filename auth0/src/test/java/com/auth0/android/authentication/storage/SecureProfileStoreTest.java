@@ -0,0 +1,92 @@
+package com.auth0.android.authentication.storage;
+
+import android.util.Base64;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.annotation.Config;
+
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.nullValue;
+import static org.junit.Assert.assertThat;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyString;
+import static org.mockito.Matchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@RunWith(RobolectricTestRunner.class)
+@Config(constants = com.auth0.android.auth0.BuildConfig.class, sdk = 21, manifest = Config.NONE)
+public class SecureProfileStoreTest {
+
+    private static final String KEY_ENTRIES = "com.auth0.profile_cache";
+
+    @Mock
+    private Storage storage;
+    @Mock
+    private CryptoUtil crypto;
+
+    private SecureProfileStore store;
+
+    @Before
+    public void setUp() throws Exception {
+        MockitoAnnotations.initMocks(this);
+        store = new SecureProfileStore(storage, crypto);
+    }
+
+    @Test
+    public void shouldSaveEncryptedEntries() throws Exception {
+        when(crypto.encrypt("[]".getBytes("UTF-8"))).thenReturn("encrypted".getBytes("UTF-8"));
+
+        store.save("[]");
+
+        verify(storage).store(KEY_ENTRIES, Base64.encodeToString("encrypted".getBytes("UTF-8"), Base64.DEFAULT));
+    }
+
+    @Test
+    public void shouldLoadDecryptedEntries() throws Exception {
+        String encoded = Base64.encodeToString("encrypted".getBytes("UTF-8"), Base64.DEFAULT);
+        when(storage.retrieveString(KEY_ENTRIES)).thenReturn(encoded);
+        when(crypto.decrypt("encrypted".getBytes("UTF-8"))).thenReturn("[]".getBytes("UTF-8"));
+
+        assertThat(store.load(), is("[]"));
+    }
+
+    @Test
+    public void shouldLoadNothingWhenNothingWasSaved() throws Exception {
+        assertThat(store.load(), is(nullValue()));
+    }
+
+    @Test
+    public void shouldDiscardEntriesThatCantBeDecrypted() throws Exception {
+        String encoded = Base64.encodeToString("encrypted".getBytes("UTF-8"), Base64.DEFAULT);
+        when(storage.retrieveString(KEY_ENTRIES)).thenReturn(encoded);
+        when(crypto.decrypt(any(byte[].class))).thenThrow(new CryptoException("error", null));
+
+        assertThat(store.load(), is(nullValue()));
+        verify(storage).remove(KEY_ENTRIES);
+    }
+
+    @Test
+    public void shouldRemoveEntriesWhenSavingNull() throws Exception {
+        store.save(null);
+
+        verify(storage).remove(KEY_ENTRIES);
+        verify(storage, never()).store(eq(KEY_ENTRIES), anyString());
+    }
+
+    @Test
+    public void shouldNotSaveEntriesThatCantBeEncrypted() throws Exception {
+        when(crypto.encrypt(any(byte[].class))).thenThrow(new CryptoException("error", null));
+
+        store.save("[]");
+
+        verify(storage, never()).store(eq(KEY_ENTRIES), anyString());
+        verify(storage).remove(KEY_ENTRIES);
+    }
+}
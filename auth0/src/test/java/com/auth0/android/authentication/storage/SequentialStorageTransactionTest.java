@@ -0,0 +1,74 @@
+package com.auth0.android.authentication.storage;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.annotation.Config;
+
+import static org.hamcrest.Matchers.instanceOf;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.junit.Assert.assertThat;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verifyZeroInteractions;
+import static org.mockito.Mockito.when;
+
+@RunWith(RobolectricTestRunner.class)
+@Config(constants = com.auth0.android.auth0.BuildConfig.class, sdk = 21, manifest = Config.NONE)
+public class SequentialStorageTransactionTest {
+
+    @Mock
+    private Storage storage;
+
+    @Before
+    public void setUp() throws Exception {
+        MockitoAnnotations.initMocks(this);
+    }
+
+    @Test
+    public void shouldUseStorageTransactionIfAvailable() throws Exception {
+        TransactionalStorage transactionalStorage = mock(TransactionalStorage.class);
+        StorageTransaction transaction = mock(StorageTransaction.class);
+        when(transactionalStorage.beginTransaction()).thenReturn(transaction);
+
+        assertThat(SequentialStorageTransaction.begin(transactionalStorage), is(sameInstance(transaction)));
+    }
+
+    @Test
+    public void shouldFallbackToSequentialTransaction() throws Exception {
+        assertThat(SequentialStorageTransaction.begin(storage), is(instanceOf(SequentialStorageTransaction.class)));
+    }
+
+    @Test
+    public void shouldNotWriteUntilCommitted() throws Exception {
+        new SequentialStorageTransaction(storage)
+                .store("string", "value")
+                .remove("removed");
+
+        verifyZeroInteractions(storage);
+    }
+
+    @Test
+    public void shouldWriteValuesInOrderOnCommit() throws Exception {
+        new SequentialStorageTransaction(storage)
+                .store("string", "value")
+                .store("long", 123L)
+                .store("integer", 123)
+                .store("boolean", (Boolean) null)
+                .remove("removed")
+                .commit();
+
+        InOrder inOrder = inOrder(storage);
+        inOrder.verify(storage).store("string", "value");
+        inOrder.verify(storage).store("long", 123L);
+        inOrder.verify(storage).store("integer", 123);
+        inOrder.verify(storage).store("boolean", (Boolean) null);
+        inOrder.verify(storage).remove("removed");
+        inOrder.verifyNoMoreInteractions();
+    }
+}
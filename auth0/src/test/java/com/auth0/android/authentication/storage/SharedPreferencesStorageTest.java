@@ -25,6 +25,8 @@ import static org.mockito.Matchers.anySet;
 import static org.mockito.Matchers.anySetOf;
 import static org.mockito.Matchers.anyString;
 import static org.mockito.Matchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -234,4 +236,50 @@ public class SharedPreferencesStorageTest {
         verify(sharedPreferencesEditor).apply();
     }
 
-}
\ No newline at end of file
+    @Test
+    public void shouldWriteTransactionUsingSingleEditor() throws Exception {
+        SharedPreferencesStorage storage = new SharedPreferencesStorage(context);
+        storage.beginTransaction()
+                .store("string", "value")
+                .store("long", 123L)
+                .store("integer", 123)
+                .store("boolean", true)
+                .remove("removed")
+                .commit();
+
+        verify(sharedPreferences, times(1)).edit();
+        verify(sharedPreferencesEditor).putString("string", "value");
+        verify(sharedPreferencesEditor).putLong("long", 123L);
+        verify(sharedPreferencesEditor).putInt("integer", 123);
+        verify(sharedPreferencesEditor).putBoolean("boolean", true);
+        verify(sharedPreferencesEditor).remove("removed");
+        verify(sharedPreferencesEditor, times(1)).apply();
+    }
+
+    @Test
+    public void shouldRemoveKeysOnNullTransactionValues() throws Exception {
+        SharedPreferencesStorage storage = new SharedPreferencesStorage(context);
+        storage.beginTransaction()
+                .store("string", (String) null)
+                .store("long", (Long) null)
+                .store("integer", (Integer) null)
+                .store("boolean", (Boolean) null)
+                .commit();
+
+        verify(sharedPreferencesEditor).remove("string");
+        verify(sharedPreferencesEditor).remove("long");
+        verify(sharedPreferencesEditor).remove("integer");
+        verify(sharedPreferencesEditor).remove("boolean");
+        verify(sharedPreferencesEditor, times(1)).apply();
+    }
+
+    @Test
+    public void shouldNotWriteTransactionUntilCommitted() throws Exception {
+        SharedPreferencesStorage storage = new SharedPreferencesStorage(context);
+        storage.beginTransaction()
+                .store("string", "value");
+
+        verify(sharedPreferencesEditor, never()).apply();
+    }
+
+}
@@ -0,0 +1,59 @@
+package com.auth0.android.callback;
+
+import android.os.Looper;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.Shadows;
+import org.robolectric.annotation.Config;
+
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.nullValue;
+import static org.junit.Assert.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+
+@RunWith(RobolectricTestRunner.class)
+@Config(constants = com.auth0.android.auth0.BuildConfig.class, sdk = 21, manifest = Config.NONE)
+public class CallbackExecutorsTest {
+
+    @Test
+    public void shouldRunRightAwayOnDirectExecutor() throws Exception {
+        Runnable command = mock(Runnable.class);
+        CallbackExecutors.direct().execute(command);
+        verify(command).run();
+    }
+
+    @Test
+    public void shouldRunRightAwayWhenAlreadyOnMainThread() throws Exception {
+        Runnable command = mock(Runnable.class);
+        CallbackExecutors.mainThread().execute(command);
+        verify(command).run();
+    }
+
+    @Test
+    public void shouldPostToMainThreadFromAnotherThread() throws Exception {
+        final AtomicReference<Looper> runLooper = new AtomicReference<>();
+        Thread thread = new Thread(new Runnable() {
+            @Override
+            public void run() {
+                CallbackExecutors.mainThread().execute(new Runnable() {
+                    @Override
+                    public void run() {
+                        runLooper.set(Looper.myLooper());
+                    }
+                });
+            }
+        });
+        thread.start();
+        thread.join();
+        assertThat(runLooper.get(), is(nullValue()));
+
+        Shadows.shadowOf(Looper.getMainLooper()).idle();
+
+        assertThat(runLooper.get(), is(Looper.getMainLooper()));
+    }
+}
@@ -29,6 +29,8 @@ import android.content.Context;
 import android.content.res.Resources;
 
 import com.auth0.android.Auth0;
+import com.auth0.android.request.NetworkEventListener;
+import com.auth0.android.request.ProfileCache;
 import com.auth0.android.request.internal.OkHttpClientFactory;
 import com.auth0.android.request.internal.RequestFactory;
 import com.auth0.android.result.UserIdentity;
@@ -51,6 +53,7 @@ import java.util.Arrays;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.Executor;
 
 import static com.auth0.android.util.ManagementCallbackMatcher.hasPayloadOfType;
 import static org.hamcrest.Matchers.equalTo;
@@ -60,6 +63,7 @@ import static org.hamcrest.Matchers.is;
 import static org.hamcrest.Matchers.isA;
 import static org.hamcrest.Matchers.notNullValue;
 import static org.hamcrest.Matchers.nullValue;
+import static org.hamcrest.Matchers.sameInstance;
 import static org.junit.Assert.assertThat;
 import static org.mockito.Matchers.any;
 import static org.mockito.Matchers.anyString;
@@ -116,6 +120,38 @@ public class UsersAPIClientTest {
         verify(factory).setUserAgent("android-user-agent");
     }
 
+    @Test
+    public void shouldUseCallbackExecutorOfTheAccount() throws Exception {
+        final Executor executor = mock(Executor.class);
+        RequestFactory factory = mock(RequestFactory.class);
+        OkHttpClientFactory clientFactory = mock(OkHttpClientFactory.class);
+        Auth0 auth0 = new Auth0(CLIENT_ID, DOMAIN);
+        auth0.setCallbackExecutor(executor);
+        new UsersAPIClient(auth0, factory, clientFactory);
+        verify(factory).setCallbackExecutor(executor);
+    }
+
+    @Test
+    public void shouldUseNetworkEventListenerOfTheAccount() throws Exception {
+        final NetworkEventListener listener = mock(NetworkEventListener.class);
+        RequestFactory factory = mock(RequestFactory.class);
+        OkHttpClientFactory clientFactory = mock(OkHttpClientFactory.class);
+        Auth0 auth0 = new Auth0(CLIENT_ID, DOMAIN);
+        auth0.setNetworkEventListener(listener);
+        new UsersAPIClient(auth0, factory, clientFactory);
+        verify(factory).setNetworkEventListener(listener);
+    }
+
+    @Test
+    public void shouldSetCallbackExecutor() throws Exception {
+        final Executor executor = mock(Executor.class);
+        RequestFactory factory = mock(RequestFactory.class);
+        OkHttpClientFactory clientFactory = mock(OkHttpClientFactory.class);
+        UsersAPIClient client = new UsersAPIClient(new Auth0(CLIENT_ID, DOMAIN), factory, clientFactory);
+        client.setCallbackExecutor(executor);
+        verify(factory).setCallbackExecutor(executor);
+    }
+
     @Test
     public void shouldSetTelemetryIfPresent() throws Exception {
         final Telemetry telemetry = mock(Telemetry.class);
@@ -339,6 +375,20 @@ public class UsersAPIClientTest {
         assertThat(result, isA(UserProfile.class));
     }
 
+    @Test
+    public void shouldReturnFreshCachedUserProfileWithoutRequest() throws Exception {
+        Auth0 auth0 = new Auth0(CLIENT_ID, mockAPI.getDomain(), mockAPI.getDomain());
+        auth0.setProfileCache(new ProfileCache(10, 60));
+        UsersAPIClient client = new UsersAPIClient(auth0, TOKEN_PRIMARY);
+        mockAPI.willReturnUserProfile();
+
+        final UserProfile first = client.getProfile(USER_ID_PRIMARY).execute();
+        final UserProfile second = client.getProfile(USER_ID_PRIMARY).execute();
+
+        assertThat(second, is(sameInstance(first)));
+        assertThat(mockAPI.takeRequest().getPath(), equalTo("/api/v2/users/" + USER_ID_PRIMARY));
+    }
+
     private <T> Map<String, T> bodyFromRequest(RecordedRequest request) throws java.io.IOException {
         final Type mapType = new TypeToken<Map<String, T>>() {
         }.getType();
@@ -0,0 +1,382 @@
+package com.auth0.android.provider;
+
+import android.util.Base64;
+
+import com.auth0.android.callback.BaseCallback;
+import com.auth0.android.jwt.JWT;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.mockito.invocation.InvocationOnMock;
+import org.mockito.stubbing.Answer;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.annotation.Config;
+
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.PrivateKey;
+import java.security.PublicKey;
+import java.security.Signature;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.notNullValue;
+import static org.junit.Assert.assertThat;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@RunWith(RobolectricTestRunner.class)
+@Config(constants = com.auth0.android.auth0.BuildConfig.class, sdk = 21, manifest = Config.NONE)
+public class IdTokenVerifierTest {
+
+    private static final String ISSUER = "https://samples.auth0.com/";
+    private static final String CLIENT_ID = "CLIENTID";
+    private static final String KEY_ID = "key-id";
+    private static final String NONCE = "a-nonce";
+    private static final String CLIENT_SECRET = "CLIENTSECRET";
+    private static final long CURRENT_TIME_SECONDS = 1234567890L;
+    private static final int BASE64_FLAGS = Base64.URL_SAFE | Base64.NO_WRAP | Base64.NO_PADDING;
+
+    @Rule
+    public ExpectedException exception = ExpectedException.none();
+
+    @Mock
+    private JsonWebKeyCache keys;
+    @Mock
+    private BaseCallback<JWT, TokenValidationException> callback;
+
+    private static KeyPair keyPair;
+    private IdTokenVerifier verifier;
+
+    @Before
+    public void setUp() throws Exception {
+        MockitoAnnotations.initMocks(this);
+        if (keyPair == null) {
+            KeyPairGenerator generator = KeyPairGenerator.getInstance("RSA");
+            generator.initialize(2048);
+            keyPair = generator.generateKeyPair();
+        }
+        when(keys.getKey(KEY_ID)).thenReturn(keyPair.getPublic());
+        verifier = new IdTokenVerifier(ISSUER, CLIENT_ID, keys);
+        verifier.setCurrentTimeInMillis(CURRENT_TIME_SECONDS * 1000);
+    }
+
+    @Test
+    public void shouldThrowWhenLeewayIsNegative() throws Exception {
+        exception.expect(IllegalArgumentException.class);
+        exception.expectMessage("The leeway must be a positive value or 0.");
+        verifier.setLeeway(-1);
+    }
+
+    @Test
+    public void shouldVerifyRS256Token() throws Exception {
+        String token = signRS256(keyPair.getPrivate(), validPayload());
+
+        JWT jwt = verifier.verify(token, NONCE);
+
+        assertThat(jwt, is(notNullValue()));
+        assertThat(jwt.getSubject(), is("auth0|123"));
+    }
+
+    @Test
+    public void shouldVerifyRS256TokenWithoutNonce() throws Exception {
+        String token = signRS256(keyPair.getPrivate(), payload(ISSUER, "\"" + CLIENT_ID + "\"", CURRENT_TIME_SECONDS + 3600, CURRENT_TIME_SECONDS, null));
+
+        assertThat(verifier.verify(token, null), is(notNullValue()));
+    }
+
+    @Test
+    public void shouldRejectTokenSignedWithAnotherKey() throws Exception {
+        KeyPairGenerator generator = KeyPairGenerator.getInstance("RSA");
+        generator.initialize(2048);
+        String token = signRS256(generator.generateKeyPair().getPrivate(), validPayload());
+
+        exception.expect(TokenValidationException.class);
+        exception.expectMessage("Invalid ID token signature.");
+        verifier.verify(token, NONCE);
+    }
+
+    @Test
+    public void shouldRejectTamperedPayload() throws Exception {
+        String token = signRS256(keyPair.getPrivate(), validPayload());
+        String[] parts = token.split("\\.");
+        String tampered = parts[0] + "." + encode(payload(ISSUER, "\"" + CLIENT_ID + "\"", CURRENT_TIME_SECONDS + 7200, CURRENT_TIME_SECONDS, NONCE)) + "." + parts[2];
+
+        exception.expect(TokenValidationException.class);
+        exception.expectMessage("Invalid ID token signature.");
+        verifier.verify(tampered, NONCE);
+    }
+
+    @Test
+    public void shouldRejectMalformedToken() throws Exception {
+        exception.expect(TokenValidationException.class);
+        exception.expectMessage("The ID token is not a valid JWT.");
+        verifier.verify("not.a-token", NONCE);
+    }
+
+    @Test
+    public void shouldRejectUndecodableToken() throws Exception {
+        exception.expect(TokenValidationException.class);
+        exception.expectMessage("The ID token could not be decoded.");
+        verifier.verify("not.a.token", NONCE);
+    }
+
+    @Test
+    public void shouldRejectUnsupportedAlgorithm() throws Exception {
+        String token = encode("{\"alg\":\"none\"}") + "." + encode(validPayload()) + ".c2lnbmF0dXJl";
+
+        exception.expect(TokenValidationException.class);
+        exception.expectMessage("Signature algorithm of \"none\" is not supported.");
+        verifier.verify(token, NONCE);
+    }
+
+    @Test
+    public void shouldRejectRS256TokenWhenThereAreNoKeys() throws Exception {
+        verifier = new IdTokenVerifier(ISSUER, CLIENT_ID, null);
+        String token = signRS256(keyPair.getPrivate(), validPayload());
+
+        exception.expect(TokenValidationException.class);
+        exception.expectMessage("Signature algorithm of \"RS256\" is not supported.");
+        verifier.verify(token, NONCE);
+    }
+
+    @Test
+    public void shouldRejectHS256TokenWithoutClientSecret() throws Exception {
+        String token = signHS256(CLIENT_SECRET, validPayload());
+
+        exception.expect(TokenValidationException.class);
+        exception.expectMessage("Signature algorithm of \"HS256\" is not supported.");
+        verifier.verify(token, NONCE);
+    }
+
+    @Test
+    public void shouldVerifyHS256TokenWithClientSecret() throws Exception {
+        verifier.setClientSecret(CLIENT_SECRET);
+        String token = signHS256(CLIENT_SECRET, validPayload());
+
+        assertThat(verifier.verify(token, NONCE), is(notNullValue()));
+    }
+
+    @Test
+    public void shouldRejectHS256TokenSignedWithAnotherSecret() throws Exception {
+        verifier.setClientSecret(CLIENT_SECRET);
+        String token = signHS256("ANOTHERSECRET", validPayload());
+
+        exception.expect(TokenValidationException.class);
+        exception.expectMessage("Invalid ID token signature.");
+        verifier.verify(token, NONCE);
+    }
+
+    @Test
+    public void shouldRejectIssuerMismatch() throws Exception {
+        String token = signRS256(keyPair.getPrivate(), payload("https://evil.auth0.com/", "\"" + CLIENT_ID + "\"", CURRENT_TIME_SECONDS + 3600, CURRENT_TIME_SECONDS, NONCE));
+
+        exception.expect(TokenValidationException.class);
+        exception.expectMessage("Issuer (iss) claim mismatch in the ID token, expected \"https://samples.auth0.com/\", found \"https://evil.auth0.com/\".");
+        verifier.verify(token, NONCE);
+    }
+
+    @Test
+    public void shouldRejectAudienceMismatch() throws Exception {
+        String token = signRS256(keyPair.getPrivate(), payload(ISSUER, "\"OTHERCLIENT\"", CURRENT_TIME_SECONDS + 3600, CURRENT_TIME_SECONDS, NONCE));
+
+        exception.expect(TokenValidationException.class);
+        exception.expectMessage("Audience (aud) claim mismatch in the ID token");
+        verifier.verify(token, NONCE);
+    }
+
+    @Test
+    public void shouldRejectMultipleAudiencesWithoutAuthorizedParty() throws Exception {
+        String token = signRS256(keyPair.getPrivate(), payload(ISSUER, "[\"" + CLIENT_ID + "\",\"OTHERCLIENT\"]", CURRENT_TIME_SECONDS + 3600, CURRENT_TIME_SECONDS, NONCE));
+
+        exception.expect(TokenValidationException.class);
+        exception.expectMessage("Authorized Party (azp) claim mismatch in the ID token");
+        verifier.verify(token, NONCE);
+    }
+
+    @Test
+    public void shouldAcceptMultipleAudiencesWithAuthorizedParty() throws Exception {
+        String payload = "{\"sub\":\"auth0|123\",\"iss\":\"" + ISSUER + "\",\"aud\":[\"" + CLIENT_ID + "\",\"OTHERCLIENT\"],\"azp\":\"" + CLIENT_ID + "\","
+                + "\"exp\":" + (CURRENT_TIME_SECONDS + 3600) + ",\"iat\":" + CURRENT_TIME_SECONDS + ",\"nonce\":\"" + NONCE + "\"}";
+        String token = signRS256(keyPair.getPrivate(), payload);
+
+        assertThat(verifier.verify(token, NONCE), is(notNullValue()));
+    }
+
+    @Test
+    public void shouldRejectExpiredToken() throws Exception {
+        String token = signRS256(keyPair.getPrivate(), payload(ISSUER, "\"" + CLIENT_ID + "\"", CURRENT_TIME_SECONDS - 61, CURRENT_TIME_SECONDS - 3600, NONCE));
+
+        exception.expect(TokenValidationException.class);
+        exception.expectMessage("Expiration Time (exp) claim error in the ID token");
+        verifier.verify(token, NONCE);
+    }
+
+    @Test
+    public void shouldAcceptExpiredTokenWithinLeeway() throws Exception {
+        String token = signRS256(keyPair.getPrivate(), payload(ISSUER, "\"" + CLIENT_ID + "\"", CURRENT_TIME_SECONDS - 30, CURRENT_TIME_SECONDS - 3600, NONCE));
+
+        assertThat(verifier.verify(token, NONCE), is(notNullValue()));
+    }
+
+    @Test
+    public void shouldUseCustomLeeway() throws Exception {
+        verifier.setLeeway(10);
+        String token = signRS256(keyPair.getPrivate(), payload(ISSUER, "\"" + CLIENT_ID + "\"", CURRENT_TIME_SECONDS - 30, CURRENT_TIME_SECONDS - 3600, NONCE));
+
+        exception.expect(TokenValidationException.class);
+        exception.expectMessage("Expiration Time (exp) claim error in the ID token");
+        verifier.verify(token, NONCE);
+    }
+
+    @Test
+    public void shouldRejectTokenWithoutExpiration() throws Exception {
+        String payload = "{\"sub\":\"auth0|123\",\"iss\":\"" + ISSUER + "\",\"aud\":\"" + CLIENT_ID + "\",\"iat\":" + CURRENT_TIME_SECONDS + "}";
+        String token = signRS256(keyPair.getPrivate(), payload);
+
+        exception.expect(TokenValidationException.class);
+        exception.expectMessage("Expiration Time (exp) claim must be a number present in the ID token.");
+        verifier.verify(token, null);
+    }
+
+    @Test
+    public void shouldRejectTokenWithoutIssuedAt() throws Exception {
+        String payload = "{\"sub\":\"auth0|123\",\"iss\":\"" + ISSUER + "\",\"aud\":\"" + CLIENT_ID + "\",\"exp\":" + (CURRENT_TIME_SECONDS + 3600) + "}";
+        String token = signRS256(keyPair.getPrivate(), payload);
+
+        exception.expect(TokenValidationException.class);
+        exception.expectMessage("Issued At (iat) claim must be a number present in the ID token.");
+        verifier.verify(token, null);
+    }
+
+    @Test
+    public void shouldRejectNonceMismatch() throws Exception {
+        String token = signRS256(keyPair.getPrivate(), validPayload());
+
+        exception.expect(TokenValidationException.class);
+        exception.expectMessage("Nonce (nonce) claim mismatch in the ID token; expected \"another-nonce\", found \"a-nonce\".");
+        verifier.verify(token, "another-nonce");
+    }
+
+    @Test
+    public void shouldFailWhenTheKeyCantBeFound() throws Exception {
+        when(keys.getKey(KEY_ID)).thenThrow(new TokenValidationException("Could not find a public key for kid \"key-id\"."));
+        String token = signRS256(keyPair.getPrivate(), validPayload());
+
+        exception.expect(TokenValidationException.class);
+        exception.expectMessage("Could not find a public key for kid \"key-id\".");
+        verifier.verify(token, NONCE);
+    }
+
+    @SuppressWarnings("unchecked")
+    @Test
+    public void shouldVerifyRS256TokenAsync() throws Exception {
+        willReturnKeyAsync(keyPair.getPublic());
+        String token = signRS256(keyPair.getPrivate(), validPayload());
+
+        verifier.verify(token, NONCE, callback);
+
+        ArgumentCaptor<JWT> captor = ArgumentCaptor.forClass(JWT.class);
+        verify(callback).onSuccess(captor.capture());
+        verify(callback, never()).onFailure(any(TokenValidationException.class));
+        assertThat(captor.getValue().getSubject(), is("auth0|123"));
+    }
+
+    @SuppressWarnings("unchecked")
+    @Test
+    public void shouldFailAsyncWhenClaimsAreInvalid() throws Exception {
+        willReturnKeyAsync(keyPair.getPublic());
+        String token = signRS256(keyPair.getPrivate(), validPayload());
+
+        verifier.verify(token, "another-nonce", callback);
+
+        ArgumentCaptor<TokenValidationException> captor = ArgumentCaptor.forClass(TokenValidationException.class);
+        verify(callback).onFailure(captor.capture());
+        verify(callback, never()).onSuccess(any(JWT.class));
+        assertThat(captor.getValue().getMessage(), is("Nonce (nonce) claim mismatch in the ID token; expected \"another-nonce\", found \"a-nonce\"."));
+    }
+
+    @SuppressWarnings("unchecked")
+    @Test
+    public void shouldFailAsyncWhenTheKeyCantBeFound() throws Exception {
+        final TokenValidationException error = new TokenValidationException("Could not fetch the keys to verify the ID token signature.");
+        doAnswer(new Answer() {
+            @Override
+            public Object answer(InvocationOnMock invocation) throws Throwable {
+                BaseCallback<PublicKey, TokenValidationException> keyCallback = (BaseCallback<PublicKey, TokenValidationException>) invocation.getArguments()[1];
+                keyCallback.onFailure(error);
+                return null;
+            }
+        }).when(keys).getKey(eq(KEY_ID), any(BaseCallback.class));
+        String token = signRS256(keyPair.getPrivate(), validPayload());
+
+        verifier.verify(token, NONCE, callback);
+
+        verify(callback).onFailure(error);
+        verify(callback, never()).onSuccess(any(JWT.class));
+    }
+
+    @SuppressWarnings("unchecked")
+    @Test
+    public void shouldVerifyHS256TokenAsyncWithoutFetchingKeys() throws Exception {
+        verifier.setClientSecret(CLIENT_SECRET);
+        String token = signHS256(CLIENT_SECRET, validPayload());
+
+        verifier.verify(token, NONCE, callback);
+
+        verify(callback).onSuccess(any(JWT.class));
+        verify(keys, never()).getKey(any(String.class), any(BaseCallback.class));
+    }
+
+    @SuppressWarnings("unchecked")
+    private void willReturnKeyAsync(final PublicKey key) {
+        doAnswer(new Answer() {
+            @Override
+            public Object answer(InvocationOnMock invocation) throws Throwable {
+                BaseCallback<PublicKey, TokenValidationException> keyCallback = (BaseCallback<PublicKey, TokenValidationException>) invocation.getArguments()[1];
+                keyCallback.onSuccess(key);
+                return null;
+            }
+        }).when(keys).getKey(eq(KEY_ID), any(BaseCallback.class));
+    }
+
+    private static String validPayload() {
+        return payload(ISSUER, "\"" + CLIENT_ID + "\"", CURRENT_TIME_SECONDS + 3600, CURRENT_TIME_SECONDS, NONCE);
+    }
+
+    private static String payload(String issuer, String audience, long expiresAt, long issuedAt, String nonce) {
+        return "{\"sub\":\"auth0|123\",\"iss\":\"" + issuer + "\",\"aud\":" + audience + ",\"exp\":" + expiresAt + ",\"iat\":" + issuedAt
+                + (nonce != null ? ",\"nonce\":\"" + nonce + "\"" : "") + "}";
+    }
+
+    private static String signRS256(PrivateKey privateKey, String payload) throws Exception {
+        String signingInput = encode("{\"alg\":\"RS256\",\"typ\":\"JWT\",\"kid\":\"" + KEY_ID + "\"}") + "." + encode(payload);
+        Signature signature = Signature.getInstance("SHA256withRSA");
+        signature.initSign(privateKey);
+        signature.update(signingInput.getBytes("US-ASCII"));
+        return signingInput + "." + Base64.encodeToString(signature.sign(), BASE64_FLAGS);
+    }
+
+    private static String signHS256(String secret, String payload) throws Exception {
+        String signingInput = encode("{\"alg\":\"HS256\",\"typ\":\"JWT\"}") + "." + encode(payload);
+        Mac mac = Mac.getInstance("HmacSHA256");
+        mac.init(new SecretKeySpec(secret.getBytes("UTF-8"), "HmacSHA256"));
+        return signingInput + "." + Base64.encodeToString(mac.doFinal(signingInput.getBytes("US-ASCII")), BASE64_FLAGS);
+    }
+
+    private static String encode(String value) throws Exception {
+        return Base64.encodeToString(value.getBytes("UTF-8"), BASE64_FLAGS);
+    }
+}
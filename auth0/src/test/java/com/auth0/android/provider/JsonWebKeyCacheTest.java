@@ -0,0 +1,284 @@
+package com.auth0.android.provider;
+
+import com.auth0.android.authentication.AuthenticationAPIClient;
+import com.auth0.android.authentication.AuthenticationException;
+import com.auth0.android.authentication.storage.Storage;
+import com.auth0.android.callback.BaseCallback;
+import com.auth0.android.request.Request;
+import com.auth0.android.request.internal.GsonProvider;
+import com.google.gson.reflect.TypeToken;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.mockito.invocation.InvocationOnMock;
+import org.mockito.stubbing.Answer;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.annotation.Config;
+
+import java.security.KeyPairGenerator;
+import java.security.PublicKey;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.hamcrest.Matchers.is;
+import static org.junit.Assert.assertThat;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyString;
+import static org.mockito.Matchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@RunWith(RobolectricTestRunner.class)
+@Config(constants = com.auth0.android.auth0.BuildConfig.class, sdk = 21, manifest = Config.NONE)
+public class JsonWebKeyCacheTest {
+
+    private static final String KEY_JWKS = "com.auth0.jwks";
+    private static final String KEY_FETCHED_AT = "com.auth0.jwks_fetched_at";
+    private static final long CURRENT_TIME_MS = 1234567890000L;
+
+    @Rule
+    public ExpectedException exception = ExpectedException.none();
+
+    @Mock
+    private AuthenticationAPIClient apiClient;
+    @Mock
+    private Storage storage;
+    @Mock
+    private Request<Map<String, PublicKey>, AuthenticationException> request;
+    @Mock
+    private BaseCallback<PublicKey, TokenValidationException> callback;
+
+    private static PublicKey publicKey;
+    private long currentTimeMillis;
+    private JsonWebKeyCache cache;
+
+    @Before
+    public void setUp() throws Exception {
+        MockitoAnnotations.initMocks(this);
+        if (publicKey == null) {
+            KeyPairGenerator generator = KeyPairGenerator.getInstance("RSA");
+            generator.initialize(2048);
+            publicKey = generator.generateKeyPair().getPublic();
+        }
+        when(apiClient.fetchJsonWebKeys()).thenReturn(request);
+        when(request.execute()).thenReturn(Collections.singletonMap("key-id", publicKey));
+        currentTimeMillis = CURRENT_TIME_MS;
+        cache = new JsonWebKeyCache(apiClient, storage, 3600) {
+            @Override
+            long getCurrentTimeInMillis() {
+                return currentTimeMillis;
+            }
+        };
+    }
+
+    @Test
+    public void shouldThrowWhenMaxAgeIsNegative() throws Exception {
+        exception.expect(IllegalArgumentException.class);
+        exception.expectMessage("The max age must be a positive value or 0.");
+        new JsonWebKeyCache(apiClient, storage, -1);
+    }
+
+    @Test
+    public void shouldFetchTheKeysOnlyOnce() throws Exception {
+        assertThat(cache.getKey("key-id"), is(publicKey));
+        assertThat(cache.getKey("key-id"), is(publicKey));
+
+        verify(request, times(1)).execute();
+        verify(storage).store(eq(KEY_JWKS), anyString());
+        verify(storage).store(KEY_FETCHED_AT, CURRENT_TIME_MS);
+    }
+
+    @Test
+    public void shouldUseTheOnlyKeyWhenTheKeyIdIsMissing() throws Exception {
+        assertThat(cache.getKey(null), is(publicKey));
+    }
+
+    @Test
+    public void shouldLoadTheKeysFromTheStorage() throws Exception {
+        String json = GsonProvider.buildGson().toJson(Collections.singletonMap("key-id", publicKey), new TypeToken<Map<String, PublicKey>>() {
+        }.getType());
+        when(storage.retrieveString(KEY_JWKS)).thenReturn(json);
+        when(storage.retrieveLong(KEY_FETCHED_AT)).thenReturn(CURRENT_TIME_MS);
+
+        assertThat(cache.getKey("key-id"), is(publicKey));
+
+        verify(apiClient, never()).fetchJsonWebKeys();
+    }
+
+    @Test
+    public void shouldFetchTheKeysWhenTheSavedOnesCantBeRead() throws Exception {
+        when(storage.retrieveString(KEY_JWKS)).thenReturn("[]");
+        when(storage.retrieveLong(KEY_FETCHED_AT)).thenReturn(CURRENT_TIME_MS);
+
+        assertThat(cache.getKey("key-id"), is(publicKey));
+
+        verify(storage).remove(KEY_JWKS);
+        verify(request).execute();
+    }
+
+    @SuppressWarnings("unchecked")
+    @Test
+    public void shouldRefreshStaleKeysInTheBackground() throws Exception {
+        cache.getKey("key-id");
+        currentTimeMillis += 3600 * 1000;
+
+        assertThat(cache.getKey("key-id"), is(publicKey));
+
+        verify(request, times(1)).execute();
+        verify(request).start(any(BaseCallback.class));
+    }
+
+    @SuppressWarnings("unchecked")
+    @Test
+    public void shouldRefreshOnlyOnceAtATime() throws Exception {
+        cache.refresh();
+        cache.refresh();
+
+        verify(request, times(1)).start(any(BaseCallback.class));
+    }
+
+    @Test
+    public void shouldFetchTheKeysAgainForAnUnknownKeyId() throws Exception {
+        cache.getKey("key-id");
+        currentTimeMillis += 60 * 1000;
+        Map<String, PublicKey> rotated = new HashMap<>();
+        rotated.put("key-id", publicKey);
+        rotated.put("new-key-id", publicKey);
+        when(request.execute()).thenReturn(rotated);
+
+        assertThat(cache.getKey("new-key-id"), is(publicKey));
+
+        verify(request, times(2)).execute();
+    }
+
+    @Test
+    public void shouldNotFetchTheKeysAgainTooOften() throws Exception {
+        cache.getKey("key-id");
+        currentTimeMillis += 1000;
+
+        exception.expect(TokenValidationException.class);
+        exception.expectMessage("Could not find a public key for kid \"new-key-id\".");
+        try {
+            cache.getKey("new-key-id");
+        } finally {
+            verify(request, times(1)).execute();
+        }
+    }
+
+    @Test
+    public void shouldWaitForTheFetchInFlightForAnUnknownKeyId() throws Exception {
+        cache.getKey("key-id");
+        currentTimeMillis += 60 * 1000;
+        final Map<String, PublicKey> rotated = new HashMap<>();
+        rotated.put("key-id", publicKey);
+        rotated.put("new-key-id", publicKey);
+        final CountDownLatch fetching = new CountDownLatch(1);
+        final CountDownLatch respond = new CountDownLatch(1);
+        when(request.execute()).thenAnswer(new Answer<Map<String, PublicKey>>() {
+            @Override
+            public Map<String, PublicKey> answer(InvocationOnMock invocation) throws Throwable {
+                fetching.countDown();
+                respond.await();
+                return rotated;
+            }
+        });
+
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        Callable<PublicKey> getNewKey = new Callable<PublicKey>() {
+            @Override
+            public PublicKey call() throws Exception {
+                return cache.getKey("new-key-id");
+            }
+        };
+        Future<PublicKey> first = executor.submit(getNewKey);
+        assertThat(fetching.await(5, TimeUnit.SECONDS), is(true));
+        Future<PublicKey> second = executor.submit(getNewKey);
+        Thread.sleep(100);
+        respond.countDown();
+
+        assertThat(first.get(5, TimeUnit.SECONDS), is(publicKey));
+        assertThat(second.get(5, TimeUnit.SECONDS), is(publicKey));
+        executor.shutdown();
+        verify(request, times(2)).execute();
+    }
+
+    @SuppressWarnings("unchecked")
+    @Test
+    public void shouldWaitForTheFetchInFlightAsync() throws Exception {
+        //noinspection unchecked
+        BaseCallback<PublicKey, TokenValidationException> otherCallback = mock(BaseCallback.class);
+        cache.getKey("key-id", callback);
+        cache.getKey("key-id", otherCallback);
+
+        ArgumentCaptor<BaseCallback> captor = ArgumentCaptor.forClass(BaseCallback.class);
+        verify(request, times(1)).start(captor.capture());
+        captor.getValue().onSuccess(Collections.singletonMap("key-id", publicKey));
+
+        verify(callback).onSuccess(publicKey);
+        verify(otherCallback).onSuccess(publicKey);
+    }
+
+    @Test
+    public void shouldFailWhenTheKeysCantBeFetched() throws Exception {
+        when(request.execute()).thenThrow(new AuthenticationException("error"));
+
+        exception.expect(TokenValidationException.class);
+        exception.expectMessage("Could not fetch the keys to verify the ID token signature.");
+        cache.getKey("key-id");
+    }
+
+    @SuppressWarnings("unchecked")
+    @Test
+    public void shouldFetchTheKeysAsync() throws Exception {
+        cache.getKey("key-id", callback);
+
+        ArgumentCaptor<BaseCallback> captor = ArgumentCaptor.forClass(BaseCallback.class);
+        verify(request).start(captor.capture());
+        captor.getValue().onSuccess(Collections.singletonMap("key-id", publicKey));
+
+        verify(callback).onSuccess(publicKey);
+        verify(storage).store(eq(KEY_JWKS), anyString());
+    }
+
+    @SuppressWarnings("unchecked")
+    @Test
+    public void shouldFailAsyncWhenTheKeysCantBeFetched() throws Exception {
+        cache.getKey("key-id", callback);
+
+        ArgumentCaptor<BaseCallback> captor = ArgumentCaptor.forClass(BaseCallback.class);
+        verify(request).start(captor.capture());
+        captor.getValue().onFailure(new AuthenticationException("error"));
+
+        ArgumentCaptor<TokenValidationException> errorCaptor = ArgumentCaptor.forClass(TokenValidationException.class);
+        verify(callback).onFailure(errorCaptor.capture());
+        assertThat(errorCaptor.getValue().getMessage(), is("Could not fetch the keys to verify the ID token signature."));
+    }
+
+    @Test
+    public void shouldClearTheKeys() throws Exception {
+        cache.getKey("key-id");
+
+        cache.clear();
+        cache.getKey("key-id");
+
+        verify(storage).remove(KEY_JWKS);
+        verify(storage).remove(KEY_FETCHED_AT);
+        verify(request, times(2)).execute();
+    }
+}
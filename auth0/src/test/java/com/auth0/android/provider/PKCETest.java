@@ -28,6 +28,7 @@ import com.auth0.android.authentication.AuthenticationAPIClient;
 import com.auth0.android.authentication.AuthenticationException;
 import com.auth0.android.authentication.request.TokenRequest;
 import com.auth0.android.callback.BaseCallback;
+import com.auth0.android.request.Cancellable;
 import com.auth0.android.result.Credentials;
 
 import org.hamcrest.CoreMatchers;
@@ -112,7 +113,7 @@ public class PKCETest {
         verify(apiClient).token(AUTHORIZATION_CODE, REDIRECT_URI);
         verify(tokenRequest).setCodeVerifier(CODE_VERIFIER);
         ArgumentCaptor<BaseCallback> callbackCaptor = ArgumentCaptor.forClass(BaseCallback.class);
-        verify(tokenRequest).start(callbackCaptor.capture());
+        verify(tokenRequest).startCancellable(callbackCaptor.capture());
         Credentials credentials = mock(Credentials.class);
         callbackCaptor.getValue().onSuccess(credentials);
         verify(callback).onSuccess(credentials);
@@ -127,11 +128,23 @@ public class PKCETest {
         verify(apiClient).token(AUTHORIZATION_CODE, REDIRECT_URI);
         verify(tokenRequest).setCodeVerifier(CODE_VERIFIER);
         ArgumentCaptor<BaseCallback> callbackCaptor = ArgumentCaptor.forClass(BaseCallback.class);
-        verify(tokenRequest).start(callbackCaptor.capture());
+        verify(tokenRequest).startCancellable(callbackCaptor.capture());
         callbackCaptor.getValue().onFailure(new AuthenticationException("Some error"));
         verify(callback).onFailure(any(AuthenticationException.class));
     }
 
+    @SuppressWarnings("unchecked")
+    @Test
+    public void shouldReturnTheHandleOfTheTokenRequest() throws Exception {
+        TokenRequest tokenRequest = mock(TokenRequest.class);
+        Cancellable handle = mock(Cancellable.class);
+        when(apiClient.token(AUTHORIZATION_CODE, REDIRECT_URI)).thenReturn(tokenRequest);
+        when(tokenRequest.setCodeVerifier(CODE_VERIFIER)).thenReturn(tokenRequest);
+        when(tokenRequest.startCancellable(any(BaseCallback.class))).thenReturn(handle);
+
+        assertThat(pkce.getToken(AUTHORIZATION_CODE, callback), is(handle));
+    }
+
     @Test
     public void shouldNotHavePKCEAvailableIfSHA256IsNotAvailable() throws Exception {
         AlgorithmHelper algorithmHelper = Mockito.mock(AlgorithmHelper.class);
@@ -20,6 +20,8 @@ import android.webkit.URLUtil;
 
 import com.auth0.android.Auth0;
 import com.auth0.android.authentication.AuthenticationException;
+import com.auth0.android.callback.BaseCallback;
+import com.auth0.android.jwt.JWT;
 import com.auth0.android.result.Credentials;
 
 import org.hamcrest.MatcherAssert;
@@ -1131,6 +1133,67 @@ public class WebAuthProviderTest {
         verify(callback).onSuccess(any(Credentials.class));
     }
 
+    @SuppressWarnings("unchecked")
+    @Test
+    public void shouldResumeWithVerifiedIdToken() throws Exception {
+        IdTokenVerifier verifier = Mockito.mock(IdTokenVerifier.class);
+        Mockito.doAnswer(new Answer() {
+            @Override
+            public Object answer(InvocationOnMock invocation) throws Throwable {
+                BaseCallback<JWT, TokenValidationException> verifierCallback = (BaseCallback<JWT, TokenValidationException>) invocation.getArguments()[2];
+                verifierCallback.onSuccess(new JWT((String) invocation.getArguments()[0]));
+                return null;
+            }
+        }).when(verifier).verify(any(String.class), any(String.class), any(BaseCallback.class));
+        WebAuthProvider.init(account)
+                .withResponseType(ResponseType.ID_TOKEN)
+                .withIdTokenVerifier(verifier)
+                .start(activity, callback);
+
+        verify(activity).startActivity(intentCaptor.capture());
+        Uri uri = intentCaptor.getValue().getParcelableExtra(AuthenticationActivity.EXTRA_AUTHORIZE_URI);
+        String sentState = uri.getQueryParameter(KEY_STATE);
+        String sentNonce = uri.getQueryParameter(KEY_NONCE);
+        String idToken = customNonceJWT(sentNonce);
+        Intent intent = createAuthIntent(createHash(idToken, null, null, null, null, sentState, null, null));
+        assertTrue(WebAuthProvider.resume(intent));
+
+        verify(verifier).verify(eq(idToken), eq(sentNonce), any(BaseCallback.class));
+        verify(callback).onSuccess(any(Credentials.class));
+    }
+
+    @SuppressWarnings("unchecked")
+    @Test
+    public void shouldFailToResumeWithUnverifiedIdToken() throws Exception {
+        IdTokenVerifier verifier = Mockito.mock(IdTokenVerifier.class);
+        final TokenValidationException error = new TokenValidationException("Invalid ID token signature.");
+        Mockito.doAnswer(new Answer() {
+            @Override
+            public Object answer(InvocationOnMock invocation) throws Throwable {
+                BaseCallback<JWT, TokenValidationException> verifierCallback = (BaseCallback<JWT, TokenValidationException>) invocation.getArguments()[2];
+                verifierCallback.onFailure(error);
+                return null;
+            }
+        }).when(verifier).verify(any(String.class), any(String.class), any(BaseCallback.class));
+        WebAuthProvider.init(account)
+                .withResponseType(ResponseType.ID_TOKEN)
+                .withIdTokenVerifier(verifier)
+                .start(activity, callback);
+
+        verify(activity).startActivity(intentCaptor.capture());
+        Uri uri = intentCaptor.getValue().getParcelableExtra(AuthenticationActivity.EXTRA_AUTHORIZE_URI);
+        String sentState = uri.getQueryParameter(KEY_STATE);
+        String sentNonce = uri.getQueryParameter(KEY_NONCE);
+        Intent intent = createAuthIntent(createHash(customNonceJWT(sentNonce), null, null, null, null, sentState, null, null));
+        assertTrue(WebAuthProvider.resume(intent));
+
+        verify(callback).onFailure(authExceptionCaptor.capture());
+        assertThat(authExceptionCaptor.getValue(), is(notNullValue()));
+        assertThat(authExceptionCaptor.getValue().getCode(), is("a0.invalid_id_token"));
+        assertThat(authExceptionCaptor.getValue().getDescription(), is("Invalid ID token signature."));
+        verify(callback, never()).onSuccess(any(Credentials.class));
+    }
+
     @SuppressWarnings("deprecation")
     @Test
     public void shouldStartWithValidRequestCode() throws Exception {
@@ -0,0 +1,274 @@
+package com.auth0.android.request;
+
+import com.auth0.android.result.UserProfile;
+import com.squareup.okhttp.HttpUrl;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.annotation.Config;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executor;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.notNullValue;
+import static org.hamcrest.Matchers.nullValue;
+import static org.hamcrest.Matchers.startsWith;
+import static org.junit.Assert.assertThat;
+import static org.mockito.Mockito.mock;
+
+@RunWith(RobolectricTestRunner.class)
+@Config(constants = com.auth0.android.auth0.BuildConfig.class, sdk = 21, manifest = Config.NONE)
+public class ProfileCacheTest {
+
+    private static final String BODY = "{\"sub\":\"auth0|123\",\"name\":\"John Doe\"}";
+    private static final long NOW = 1234567890000L;
+
+    @Rule
+    public ExpectedException exception = ExpectedException.none();
+
+    private InMemoryStore store;
+    private QueuedExecutor writer;
+
+    @Before
+    public void setUp() throws Exception {
+        store = new InMemoryStore();
+        writer = new QueuedExecutor();
+    }
+
+    @Test
+    public void shouldReturnCachedEntry() throws Exception {
+        ProfileCache cache = new ProfileCache(10, 60);
+        ProfileCache.Entry entry = entry(NOW);
+        cache.put("key", entry);
+
+        assertThat(cache.get("key"), is(notNullValue()));
+        assertThat(cache.get("key").getProfile(), is(entry.getProfile()));
+        assertThat(cache.get("key").getETag(), is("\"v1\""));
+        assertThat(cache.get("other"), is(nullValue()));
+    }
+
+    @Test
+    public void shouldEvictLeastRecentlyUsedEntry() throws Exception {
+        ProfileCache cache = new ProfileCache(2, 60);
+        cache.put("a", entry(NOW));
+        cache.put("b", entry(NOW));
+        cache.get("a");
+        cache.put("c", entry(NOW));
+
+        assertThat(cache.size(), is(2));
+        assertThat(cache.get("a"), is(notNullValue()));
+        assertThat(cache.get("b"), is(nullValue()));
+        assertThat(cache.get("c"), is(notNullValue()));
+    }
+
+    @Test
+    public void shouldBeFreshOnlyWithinFreshnessTime() throws Exception {
+        ProfileCache cache = new ProfileCache(10, 60);
+        ProfileCache.Entry entry = entry(NOW);
+
+        assertThat(cache.isFresh(entry, NOW + 59 * 1000), is(true));
+        assertThat(cache.isFresh(entry, NOW + 60 * 1000), is(false));
+    }
+
+    @Test
+    public void shouldNeverBeFreshWithoutFreshnessTime() throws Exception {
+        ProfileCache cache = new ProfileCache(10, 0);
+
+        assertThat(cache.isFresh(entry(NOW), NOW), is(false));
+    }
+
+    @Test
+    public void shouldKeepValidatorsMissingFromRevalidation() throws Exception {
+        ProfileCache.Entry revalidated = entry(NOW).revalidated(null, "Wed, 21 Oct 2015 07:28:00 GMT", NOW + 1000);
+
+        assertThat(revalidated.getETag(), is("\"v1\""));
+        assertThat(revalidated.getLastModified(), is("Wed, 21 Oct 2015 07:28:00 GMT"));
+        assertThat(revalidated.getFetchedAt(), is(NOW + 1000));
+    }
+
+    @Test
+    public void shouldRemoveEntry() throws Exception {
+        ProfileCache cache = new ProfileCache(10, 60);
+        cache.put("key", entry(NOW));
+        cache.remove("key");
+
+        assertThat(cache.get("key"), is(nullValue()));
+    }
+
+    @Test
+    public void shouldHashTokenIntoKey() throws Exception {
+        HttpUrl url = HttpUrl.parse("https://me.auth0.com/userinfo");
+        String key = ProfileCache.keyFor(url, "Bearer ACCESS_TOKEN");
+
+        assertThat(key, startsWith("https://me.auth0.com/userinfo#"));
+        assertThat(key, not(containsString("ACCESS_TOKEN")));
+        assertThat(key, is(ProfileCache.keyFor(url, "Bearer ACCESS_TOKEN")));
+        assertThat(key, is(not(ProfileCache.keyFor(url, "Bearer ANOTHER_TOKEN"))));
+    }
+
+    @Test
+    public void shouldRestoreEntriesFromStore() throws Exception {
+        ProfileCache cache = new ProfileCache(10, 60, store, writer);
+        cache.put("key", entry(NOW));
+        writer.runPending();
+
+        ProfileCache restored = new ProfileCache(10, 60, store, writer);
+        ProfileCache.Entry entry = restored.get("key");
+
+        assertThat(entry, is(notNullValue()));
+        assertThat(entry.getProfile().getId(), is("auth0|123"));
+        assertThat(entry.getProfile().getName(), is("John Doe"));
+        assertThat(entry.getETag(), is("\"v1\""));
+        assertThat(entry.getLastModified(), is(nullValue()));
+        assertThat(entry.getFetchedAt(), is(NOW));
+    }
+
+    @Test
+    public void shouldSaveInTheBackground() throws Exception {
+        ProfileCache cache = new ProfileCache(10, 60, store, writer);
+        cache.put("a", entry(NOW));
+        cache.put("b", entry(NOW));
+
+        assertThat(store.saved, is(nullValue()));
+        assertThat(writer.pending.size(), is(1));
+
+        writer.runPending();
+        assertThat(store.saveCount, is(1));
+        assertThat(store.saved, containsString("\"a\""));
+        assertThat(store.saved, containsString("\"b\""));
+    }
+
+    @Test
+    public void shouldNotSaveRemovedEntriesAfterClear() throws Exception {
+        ProfileCache cache = new ProfileCache(10, 60, store, writer);
+        cache.put("key", entry(NOW));
+        cache.clear();
+        writer.runPending();
+
+        assertThat(store.saved, is(nullValue()));
+    }
+
+    @Test
+    public void shouldReadStoreOnlyWhenAnEntryIsRequested() throws Exception {
+        ProfileCache cache = new ProfileCache(10, 60, store, writer);
+        assertThat(cache.isLoaded(), is(false));
+        assertThat(store.loadCount, is(0));
+
+        cache.get("key");
+        assertThat(cache.isLoaded(), is(true));
+        assertThat(store.loadCount, is(1));
+    }
+
+    @Test
+    public void shouldBeLoadedWithoutStore() throws Exception {
+        ProfileCache cache = new ProfileCache(10, 60);
+
+        assertThat(cache.isLoaded(), is(true));
+        assertThat(cache.hasStore(), is(false));
+    }
+
+    @Test
+    public void shouldNotSaveWithoutStore() throws Exception {
+        ProfileCache cache = new ProfileCache(10, 60);
+        cache.put("key", entry(NOW));
+
+        assertThat(store.saved, is(nullValue()));
+    }
+
+    @Test
+    public void shouldClearStore() throws Exception {
+        ProfileCache cache = new ProfileCache(10, 60, store, writer);
+        cache.put("key", entry(NOW));
+        cache.clear();
+
+        assertThat(cache.get("key"), is(nullValue()));
+        assertThat(store.saved, is(nullValue()));
+    }
+
+    @Test
+    public void shouldDiscardUnreadableStore() throws Exception {
+        store.saved = "{not an array";
+        ProfileCache cache = new ProfileCache(10, 60, store, writer);
+
+        assertThat(cache.get("key"), is(nullValue()));
+        assertThat(store.saved, is(nullValue()));
+    }
+
+    @Test
+    public void shouldSkipSavedEntriesWithMissingFields() throws Exception {
+        String body = BODY.replace("\"", "\\\"");
+        store.saved = "[" +
+                "{\"body\":\"" + body + "\",\"fetched_at\":" + NOW + "}," +
+                "{\"key\":\"no-body\",\"fetched_at\":" + NOW + "}," +
+                "{\"key\":\"no-fetched-at\",\"body\":\"" + body + "\"}," +
+                "{\"key\":\"valid\",\"body\":\"" + body + "\",\"fetched_at\":" + NOW + "}" +
+                "]";
+        ProfileCache cache = new ProfileCache(10, 60, store, writer);
+
+        assertThat(cache.get("no-body"), is(nullValue()));
+        assertThat(cache.get("no-fetched-at"), is(nullValue()));
+        assertThat(cache.get("valid"), is(notNullValue()));
+        assertThat(cache.size(), is(1));
+    }
+
+    @Test
+    public void shouldNotAcceptInvalidMaxEntries() throws Exception {
+        exception.expect(IllegalArgumentException.class);
+        exception.expectMessage("The max entries must be a value greater than 0.");
+        new ProfileCache(0, 60);
+    }
+
+    @Test
+    public void shouldNotAcceptNegativeFreshness() throws Exception {
+        exception.expect(IllegalArgumentException.class);
+        exception.expectMessage("The freshness must be a positive value or 0.");
+        new ProfileCache(10, -1);
+    }
+
+    private static ProfileCache.Entry entry(long fetchedAt) {
+        return new ProfileCache.Entry(mock(UserProfile.class), BODY, "\"v1\"", null, fetchedAt);
+    }
+
+    private static class InMemoryStore implements ProfileCache.Store {
+        String saved;
+        int loadCount;
+        int saveCount;
+
+        @Override
+        public String load() {
+            loadCount++;
+            return saved;
+        }
+
+        @Override
+        public void save(String entries) {
+            saveCount++;
+            saved = entries;
+        }
+    }
+
+    private static class QueuedExecutor implements Executor {
+        final List<Runnable> pending = new ArrayList<>();
+
+        @Override
+        public void execute(Runnable command) {
+            pending.add(command);
+        }
+
+        void runPending() {
+            List<Runnable> tasks = new ArrayList<>(pending);
+            pending.clear();
+            for (Runnable task : tasks) {
+                task.run();
+            }
+        }
+    }
+}
@@ -0,0 +1,176 @@
+package com.auth0.android.request;
+
+import com.auth0.android.Auth0Exception;
+import com.auth0.android.callback.BaseCallback;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.fail;
+import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyZeroInteractions;
+import static org.mockito.Mockito.when;
+
+public class RequestFutureTest {
+
+    @Mock
+    private CancellableRequest<String, Auth0Exception> request;
+    @Mock
+    private Cancellable handle;
+    @Mock
+    private BaseCallback<String, Auth0Exception> callback;
+
+    private RequestFuture<String, Auth0Exception> future;
+    private BaseCallback<String, Auth0Exception> requestCallback;
+
+    @SuppressWarnings("unchecked")
+    @Before
+    public void setUp() throws Exception {
+        MockitoAnnotations.initMocks(this);
+        when(request.startCancellable(any(BaseCallback.class))).thenReturn(handle);
+        future = RequestFuture.start(request);
+        ArgumentCaptor<BaseCallback> captor = ArgumentCaptor.forClass(BaseCallback.class);
+        verify(request).startCancellable(captor.capture());
+        requestCallback = captor.getValue();
+    }
+
+    @Test
+    public void shouldNotBeDoneUntilTheRequestCompletes() throws Exception {
+        assertThat(future.isDone(), is(false));
+        assertThat(future.isCancelled(), is(false));
+    }
+
+    @Test
+    public void shouldReturnTheResult() throws Exception {
+        requestCallback.onSuccess("result");
+
+        assertThat(future.isDone(), is(true));
+        assertThat(future.get(), is("result"));
+        assertThat(future.get(1, TimeUnit.SECONDS), is("result"));
+    }
+
+    @Test
+    public void shouldThrowTheError() throws Exception {
+        Auth0Exception error = new Auth0Exception("error");
+        requestCallback.onFailure(error);
+
+        try {
+            future.get();
+            fail("The request error should have been thrown");
+        } catch (ExecutionException e) {
+            assertThat(e.getCause(), is(sameInstance((Throwable) error)));
+        }
+    }
+
+    @Test
+    public void shouldTimeOutWaitingForTheResult() throws Exception {
+        try {
+            future.get(10, TimeUnit.MILLISECONDS);
+            fail("The wait should have timed out");
+        } catch (TimeoutException e) {
+            assertThat(future.isDone(), is(false));
+        }
+    }
+
+    @Test
+    public void shouldCallBackOnceCompleted() throws Exception {
+        future.addCallback(callback);
+        verifyZeroInteractions(callback);
+
+        requestCallback.onSuccess("result");
+
+        verify(callback).onSuccess("result");
+    }
+
+    @Test
+    public void shouldCallBackRightAwayWhenAlreadyCompleted() throws Exception {
+        Auth0Exception error = new Auth0Exception("error");
+        requestCallback.onFailure(error);
+
+        future.addCallback(callback);
+
+        verify(callback).onFailure(error);
+    }
+
+    @Test
+    public void shouldIgnoreResultsAfterTheFirstOne() throws Exception {
+        future.addCallback(callback);
+        requestCallback.onSuccess("first");
+        requestCallback.onSuccess("second");
+
+        verify(callback).onSuccess("first");
+        verify(callback, never()).onSuccess("second");
+        assertThat(future.get(), is("first"));
+    }
+
+    @Test
+    public void shouldCancelTheRequest() throws Exception {
+        future.addCallback(callback);
+
+        assertThat(future.cancel(true), is(true));
+        requestCallback.onSuccess("result");
+
+        verify(handle).cancel();
+        verifyZeroInteractions(callback);
+        assertThat(future.isCancelled(), is(true));
+        assertThat(future.isDone(), is(true));
+        try {
+            future.get();
+            fail("The request should have been cancelled");
+        } catch (CancellationException ignored) {
+        }
+    }
+
+    @Test
+    public void shouldNotCancelACompletedRequest() throws Exception {
+        requestCallback.onSuccess("result");
+
+        assertThat(future.cancel(true), is(false));
+        verify(handle, never()).cancel();
+        assertThat(future.get(), is("result"));
+    }
+
+    @SuppressWarnings("unchecked")
+    @Test
+    public void shouldCancelTheRequestWhenCancelledBeforeItStarted() throws Exception {
+        CancellableRequest<String, Auth0Exception> pending = mock(CancellableRequest.class);
+        Cancellable pendingHandle = mock(Cancellable.class);
+        when(pending.startCancellable(any(BaseCallback.class))).thenReturn(pendingHandle);
+        RequestFuture<String, Auth0Exception> future = new RequestFuture<>();
+
+        future.cancel();
+        future.startRequest(pending);
+
+        verify(pendingHandle).cancel();
+    }
+
+    @SuppressWarnings("unchecked")
+    @Test
+    public void shouldDiscardTheResultOfRequestsThatCantBeCancelled() throws Exception {
+        Request<String, Auth0Exception> plain = mock(Request.class);
+        RequestFuture<String, Auth0Exception> future = RequestFuture.start(plain);
+        ArgumentCaptor<BaseCallback> captor = ArgumentCaptor.forClass(BaseCallback.class);
+        verify(plain).start(captor.capture());
+
+        future.addCallback(callback);
+        assertThat(future.cancel(true), is(true));
+        captor.getValue().onSuccess("result");
+
+        assertThat(future.isCancelled(), is(true));
+        verifyZeroInteractions(callback);
+    }
+}
@@ -0,0 +1,228 @@
+package com.auth0.android.request;
+
+import com.auth0.android.Auth0Exception;
+import com.auth0.android.callback.BaseCallback;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.fail;
+
+public class RequestGroupTest {
+
+    @Rule
+    public ExpectedException exception = ExpectedException.none();
+
+    @Test
+    public void shouldNotAcceptInvalidMaxConcurrency() throws Exception {
+        exception.expect(IllegalArgumentException.class);
+        exception.expectMessage("The max concurrency must be a value greater than 0.");
+        new RequestGroup(0);
+    }
+
+    @Test
+    public void shouldCompleteRightAwayWhenEmpty() throws Exception {
+        RequestFuture<List<Object>, Auth0Exception> results = new RequestGroup(1).start();
+
+        assertThat(results.isDone(), is(true));
+        assertThat(results.get().isEmpty(), is(true));
+    }
+
+    @Test
+    public void shouldReturnEveryResultInOrder() throws Exception {
+        RequestGroup group = new RequestGroup(3);
+        ControlledRequest<String> first = new ControlledRequest<>();
+        ControlledRequest<Integer> second = new ControlledRequest<>();
+        RequestFuture<String, Auth0Exception> firstResult = group.add(first);
+        RequestFuture<Integer, Auth0Exception> secondResult = group.add(second);
+
+        RequestFuture<List<Object>, Auth0Exception> results = group.start();
+        second.succeed(2);
+        assertThat(results.isDone(), is(false));
+        first.succeed("one");
+
+        assertThat(results.get(), is(Arrays.<Object>asList("one", 2)));
+        assertThat(firstResult.get(), is("one"));
+        assertThat(secondResult.get(), is(2));
+    }
+
+    @Test
+    public void shouldNotRunMoreRequestsThanTheMaxConcurrency() throws Exception {
+        RequestGroup group = new RequestGroup(2);
+        ControlledRequest<String> first = new ControlledRequest<>();
+        ControlledRequest<String> second = new ControlledRequest<>();
+        ControlledRequest<String> third = new ControlledRequest<>();
+        group.add(first);
+        group.add(second);
+        group.add(third);
+
+        RequestFuture<List<Object>, Auth0Exception> results = group.start();
+        assertThat(first.started, is(true));
+        assertThat(second.started, is(true));
+        assertThat(third.started, is(false));
+
+        second.succeed("two");
+        assertThat(third.started, is(true));
+
+        third.succeed("three");
+        first.succeed("one");
+        assertThat(results.get(), is(Arrays.<Object>asList("one", "two", "three")));
+    }
+
+    @Test
+    public void shouldFailAndCancelPendingRequestsWhenOneFails() throws Exception {
+        RequestGroup group = new RequestGroup(2);
+        ControlledRequest<String> first = new ControlledRequest<>();
+        ControlledRequest<String> second = new ControlledRequest<>();
+        ControlledRequest<String> third = new ControlledRequest<>();
+        group.add(first);
+        group.add(second);
+        RequestFuture<String, Auth0Exception> thirdResult = group.add(third);
+
+        RequestFuture<List<Object>, Auth0Exception> results = group.start();
+        Auth0Exception error = new Auth0Exception("error");
+        first.fail(error);
+
+        assertThat(second.cancelled, is(true));
+        assertThat(third.started, is(false));
+        assertThat(thirdResult.isCancelled(), is(true));
+        try {
+            results.get();
+            fail("The group should have failed");
+        } catch (ExecutionException e) {
+            assertThat(e.getCause(), is(sameInstance((Throwable) error)));
+        }
+    }
+
+    @Test
+    public void shouldCancelEveryRequestWhenCancelled() throws Exception {
+        RequestGroup group = new RequestGroup(1);
+        ControlledRequest<String> first = new ControlledRequest<>();
+        ControlledRequest<String> second = new ControlledRequest<>();
+        group.add(first);
+        group.add(second);
+
+        RequestFuture<List<Object>, Auth0Exception> results = group.start();
+        results.cancel();
+        first.succeed("one");
+
+        assertThat(first.cancelled, is(true));
+        assertThat(second.started, is(false));
+        assertThat(results.isCancelled(), is(true));
+    }
+
+    @Test
+    public void shouldCancelTheGroupWhenOneRequestIsCancelled() throws Exception {
+        RequestGroup group = new RequestGroup(1);
+        ControlledRequest<String> first = new ControlledRequest<>();
+        ControlledRequest<String> second = new ControlledRequest<>();
+        RequestFuture<String, Auth0Exception> firstResult = group.add(first);
+        group.add(second);
+
+        RequestFuture<List<Object>, Auth0Exception> results = group.start();
+        firstResult.cancel();
+
+        assertThat(first.cancelled, is(true));
+        assertThat(second.started, is(false));
+        assertThat(results.isDone(), is(true));
+        assertThat(results.isCancelled(), is(true));
+        exception.expect(CancellationException.class);
+        results.get(1, TimeUnit.SECONDS);
+    }
+
+    @Test
+    public void shouldCancelTheGroupWhenOneRequestIsCancelledBeforeItStarts() throws Exception {
+        RequestGroup group = new RequestGroup(1);
+        ControlledRequest<String> first = new ControlledRequest<>();
+        ControlledRequest<String> second = new ControlledRequest<>();
+        group.add(first);
+        RequestFuture<String, Auth0Exception> secondResult = group.add(second);
+
+        secondResult.cancel();
+        RequestFuture<List<Object>, Auth0Exception> results = group.start();
+        first.succeed("one");
+
+        assertThat(second.started, is(false));
+        assertThat(results.isCancelled(), is(true));
+    }
+
+    @Test
+    public void shouldNotCancelTheGroupWhenAFinishedRequestIsCancelled() throws Exception {
+        RequestGroup group = new RequestGroup(2);
+        ControlledRequest<String> first = new ControlledRequest<>();
+        ControlledRequest<String> second = new ControlledRequest<>();
+        RequestFuture<String, Auth0Exception> firstResult = group.add(first);
+        group.add(second);
+
+        RequestFuture<List<Object>, Auth0Exception> results = group.start();
+        first.succeed("one");
+        assertThat(firstResult.cancel(true), is(false));
+        second.succeed("two");
+
+        assertThat(results.get(), is(Arrays.<Object>asList("one", "two")));
+    }
+
+    @Test
+    public void shouldNotAllowToAddRequestsOnceStarted() throws Exception {
+        RequestGroup group = new RequestGroup(1);
+        group.start();
+
+        exception.expect(IllegalStateException.class);
+        exception.expectMessage("The group was already started.");
+        group.add(new ControlledRequest<String>());
+    }
+
+    private static class ControlledRequest<T> implements CancellableRequest<T, Auth0Exception>, Cancellable {
+
+        boolean started;
+        boolean cancelled;
+        private BaseCallback<T, Auth0Exception> callback;
+
+        @Override
+        public void start(BaseCallback<T, Auth0Exception> callback) {
+            startCancellable(callback);
+        }
+
+        @Override
+        public Cancellable startCancellable(BaseCallback<T, Auth0Exception> callback) {
+            this.started = true;
+            this.callback = callback;
+            return this;
+        }
+
+        @Override
+        public T execute() throws Auth0Exception {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public void cancel() {
+            cancelled = true;
+        }
+
+        @Override
+        public boolean isCancelled() {
+            return cancelled;
+        }
+
+        void succeed(T payload) {
+            if (!cancelled) {
+                callback.onSuccess(payload);
+            }
+        }
+
+        void fail(Auth0Exception error) {
+            callback.onFailure(error);
+        }
+    }
+}
@@ -0,0 +1,78 @@
+package com.auth0.android.request;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+
+import static org.hamcrest.Matchers.allOf;
+import static org.hamcrest.Matchers.greaterThanOrEqualTo;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.lessThanOrEqualTo;
+import static org.junit.Assert.assertThat;
+
+public class RetryPolicyTest {
+
+    @Rule
+    public ExpectedException exception = ExpectedException.none();
+
+    @Test
+    public void shouldNeverRetryWithNonePolicy() throws Exception {
+        assertThat(RetryPolicy.NONE.getMaxAttempts(), is(1));
+        assertThat(RetryPolicy.NONE.getDelayBeforeRetry(1, 0), is(-1L));
+    }
+
+    @Test
+    public void shouldNotRetryOnceAttemptsAreExhausted() throws Exception {
+        RetryPolicy policy = new RetryPolicy(3, 0, 0, 0);
+
+        assertThat(policy.getDelayBeforeRetry(1, 0), is(0L));
+        assertThat(policy.getDelayBeforeRetry(2, 0), is(0L));
+        assertThat(policy.getDelayBeforeRetry(3, 0), is(-1L));
+    }
+
+    @Test
+    public void shouldDoubleBackoffOnEveryRetry() throws Exception {
+        RetryPolicy policy = new RetryPolicy(10, 100, 10000, 0);
+
+        assertThat(policy.getDelayBeforeRetry(1, 0), is(allOf(greaterThanOrEqualTo(50L), lessThanOrEqualTo(100L))));
+        assertThat(policy.getDelayBeforeRetry(2, 0), is(allOf(greaterThanOrEqualTo(100L), lessThanOrEqualTo(200L))));
+        assertThat(policy.getDelayBeforeRetry(3, 0), is(allOf(greaterThanOrEqualTo(200L), lessThanOrEqualTo(400L))));
+    }
+
+    @Test
+    public void shouldCapBackoff() throws Exception {
+        RetryPolicy policy = new RetryPolicy(50, 100, 300, 0);
+
+        assertThat(policy.getDelayBeforeRetry(5, 0), is(allOf(greaterThanOrEqualTo(150L), lessThanOrEqualTo(300L))));
+        assertThat(policy.getDelayBeforeRetry(49, 0), is(allOf(greaterThanOrEqualTo(150L), lessThanOrEqualTo(300L))));
+    }
+
+    @Test
+    public void shouldNotRetryPastTheDeadline() throws Exception {
+        RetryPolicy policy = new RetryPolicy(5, 100, 100, 1000);
+
+        assertThat(policy.getDelayBeforeRetry(1, 0), is(allOf(greaterThanOrEqualTo(50L), lessThanOrEqualTo(100L))));
+        assertThat(policy.getDelayBeforeRetry(1, 950), is(-1L));
+    }
+
+    @Test
+    public void shouldRaiseMaxBackoffToInitialBackoff() throws Exception {
+        RetryPolicy policy = new RetryPolicy(2, 500, 100, 0);
+
+        assertThat(policy.getMaxBackoffMillis(), is(500L));
+    }
+
+    @Test
+    public void shouldNotAcceptZeroMaxAttempts() throws Exception {
+        exception.expect(IllegalArgumentException.class);
+        exception.expectMessage("The max attempts must be a value greater than 0.");
+        new RetryPolicy(0, 0, 0, 0);
+    }
+
+    @Test
+    public void shouldNotAcceptNegativeBackoff() throws Exception {
+        exception.expect(IllegalArgumentException.class);
+        exception.expectMessage("The backoff and deadline values must be positive or 0.");
+        new RetryPolicy(2, -1, 0, 0);
+    }
+}
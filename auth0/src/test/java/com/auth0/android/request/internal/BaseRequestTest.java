@@ -29,9 +29,12 @@ import com.auth0.android.Auth0Exception;
 import com.auth0.android.RequestBodyBuildException;
 import com.auth0.android.authentication.ParameterBuilder;
 import com.auth0.android.callback.BaseCallback;
+import com.auth0.android.request.Cancellable;
 import com.auth0.android.request.ErrorBuilder;
+import com.auth0.android.request.RetryPolicy;
 import com.google.gson.Gson;
 import com.google.gson.TypeAdapter;
+import com.squareup.okhttp.Call;
 import com.squareup.okhttp.HttpUrl;
 import com.squareup.okhttp.MediaType;
 import com.squareup.okhttp.OkHttpClient;
@@ -49,16 +52,32 @@ import org.mockito.ArgumentCaptor;
 import org.mockito.Captor;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.mockito.invocation.InvocationOnMock;
+import org.mockito.stubbing.Answer;
 
 import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.Executor;
 
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.instanceOf;
 import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.not;
 import static org.junit.Assert.assertThat;
+import static org.junit.Assert.fail;
 import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyMapOf;
+import static org.mockito.Matchers.anyString;
 import static org.mockito.Matchers.eq;
+import static org.mockito.Matchers.isNull;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoMoreInteractions;
 import static org.mockito.Mockito.when;
@@ -184,6 +203,206 @@ public class BaseRequestTest {
         verify(errorBuilder).from(eq("Request failed"), any(Auth0Exception.class));
     }
 
+    @Test
+    public void shouldRetryTransientFailureAsDefinedByThePolicy() throws Exception {
+        Request request = new Request.Builder().url("https://auth0.com").build();
+        Call call = mock(Call.class);
+        when(client.newCall(request)).thenReturn(call);
+        baseRequest.setRetryPolicy(new RetryPolicy(2, 0, 0, 0));
+
+        baseRequest.onFailure(request, new IOException());
+        verify(call, timeout(1000)).enqueue(baseRequest);
+        verify(errorBuilder, never()).from(anyString(), any(Auth0Exception.class));
+
+        baseRequest.onFailure(request, new IOException());
+        verify(errorBuilder).from(eq("Request failed"), any(Auth0Exception.class));
+        verify(call, times(1)).enqueue(baseRequest);
+    }
+
+    @Test
+    public void shouldNotRetryTransientFailureByDefault() throws Exception {
+        Request request = new Request.Builder().url("https://auth0.com").build();
+
+        baseRequest.onFailure(request, new IOException());
+
+        verify(errorBuilder).from(eq("Request failed"), any(Auth0Exception.class));
+        verify(client, never()).newCall(any(Request.class));
+    }
+
+    @Test
+    public void shouldRetryTransientFailureWhenExecuting() throws Exception {
+        Request request = new Request.Builder().url("https://auth0.com").build();
+        Response response = createJsonResponse("{}", 200);
+        Call call = mock(Call.class);
+        when(client.newCall(request)).thenReturn(call);
+        when(call.execute()).thenThrow(new IOException()).thenReturn(response);
+        baseRequest.setRetryPolicy(new RetryPolicy(3, 0, 0, 0));
+
+        assertThat(baseRequest.executeCall(request), is(response));
+        verify(call, times(2)).execute();
+    }
+
+    @Test
+    public void shouldThrowLastFailureWhenAttemptsAreExhausted() throws Exception {
+        Request request = new Request.Builder().url("https://auth0.com").build();
+        Call call = mock(Call.class);
+        IOException failure = new IOException("last");
+        when(client.newCall(request)).thenReturn(call);
+        when(call.execute()).thenThrow(new IOException("first")).thenThrow(failure);
+        baseRequest.setRetryPolicy(new RetryPolicy(2, 0, 0, 0));
+
+        try {
+            baseRequest.executeCall(request);
+            fail("The last failure should have been thrown");
+        } catch (IOException e) {
+            assertThat(e, is(failure));
+        }
+        verify(call, times(2)).execute();
+    }
+
+    @Test
+    public void shouldCancelTheCallInProgress() throws Exception {
+        Call call = mock(Call.class);
+        when(client.newCall(any(Request.class))).thenReturn(call);
+
+        Cancellable handle = baseRequest.startCancellable(callback);
+        assertThat(handle.isCancelled(), is(false));
+        handle.cancel();
+
+        assertThat(handle.isCancelled(), is(true));
+        verify(call).enqueue(baseRequest);
+        verify(call).cancel();
+    }
+
+    @Test
+    public void shouldNotCallBackOnceCancelled() throws Exception {
+        Call call = mock(Call.class);
+        when(client.newCall(any(Request.class))).thenReturn(call);
+
+        baseRequest.start(callback);
+        baseRequest.cancel();
+        baseRequest.onFailure(null, new IOException("Canceled"));
+        baseRequest.postOnSuccess("payload");
+
+        verify(callback, never()).onSuccess(anyString());
+        verify(callback, never()).onFailure(any(Auth0Exception.class));
+    }
+
+    @Test
+    public void shouldNotRetryOnceCancelled() throws Exception {
+        Request request = new Request.Builder().url("https://auth0.com").build();
+        baseRequest.setRetryPolicy(new RetryPolicy(2, 0, 0, 0));
+        baseRequest.cancel();
+
+        baseRequest.onFailure(request, new IOException("Canceled"));
+
+        verify(client, never()).newCall(any(Request.class));
+        verify(errorBuilder, never()).from(anyString(), any(Auth0Exception.class));
+    }
+
+    @Test
+    public void shouldFailWhenTheDeadlineIsExceeded() throws Exception {
+        Call call = mock(Call.class);
+        when(client.newCall(any(Request.class))).thenReturn(call);
+        baseRequest.setDeadline(50);
+
+        baseRequest.start(callback);
+        verify(call, timeout(1000)).cancel();
+        baseRequest.onFailure(null, new IOException("Canceled"));
+
+        ArgumentCaptor<Auth0Exception> exceptionCaptor = ArgumentCaptor.forClass(Auth0Exception.class);
+        verify(errorBuilder).from(eq("Request failed"), exceptionCaptor.capture());
+        assertThat(exceptionCaptor.getValue().getCause(), is(instanceOf(InterruptedIOException.class)));
+        assertThat(exceptionCaptor.getValue().getCause().getMessage(), is("The request exceeded its deadline of 50 ms"));
+    }
+
+    @Test
+    public void shouldThrowWhenTheDeadlineIsExceededWhileExecuting() throws Exception {
+        Request request = new Request.Builder().url("https://auth0.com").build();
+        Call call = mock(Call.class);
+        when(client.newCall(request)).thenReturn(call);
+        when(call.execute()).thenAnswer(new Answer<Response>() {
+            @Override
+            public Response answer(InvocationOnMock invocation) throws Throwable {
+                Thread.sleep(300);
+                throw new IOException("Canceled");
+            }
+        });
+        baseRequest.setRetryPolicy(new RetryPolicy(3, 0, 0, 0));
+        baseRequest.setDeadline(50);
+
+        try {
+            baseRequest.executeCall(request);
+            fail("The deadline should have been exceeded");
+        } catch (InterruptedIOException e) {
+            assertThat(e.getMessage(), is("The request exceeded its deadline of 50 ms"));
+        }
+        verify(call).cancel();
+        verify(call, times(1)).execute();
+    }
+
+    @Test
+    public void shouldNotExecuteOnceCancelled() throws Exception {
+        Request request = new Request.Builder().url("https://auth0.com").build();
+        baseRequest.cancel();
+
+        try {
+            baseRequest.executeCall(request);
+            fail("The request should have been cancelled");
+        } catch (IOException e) {
+            assertThat(e.getMessage(), is("Canceled"));
+        }
+        verify(client, never()).newCall(any(Request.class));
+    }
+
+    @Test
+    public void shouldNotAcceptNegativeDeadline() throws Exception {
+        try {
+            baseRequest.setDeadline(-1);
+            fail("The deadline should have been rejected");
+        } catch (IllegalArgumentException e) {
+            assertThat(e.getMessage(), is("The deadline must be a positive value or 0."));
+        }
+    }
+
+    @Test
+    public void shouldCallBackOnTheCallbackExecutor() throws Exception {
+        final List<Runnable> deliveries = new ArrayList<>();
+        baseRequest.setCallbackExecutor(new Executor() {
+            @Override
+            public void execute(Runnable command) {
+                deliveries.add(command);
+            }
+        });
+
+        baseRequest.postOnSuccess("payload");
+        baseRequest.postOnFailure(throwable);
+        verifyNoMoreInteractions(callback);
+
+        assertThat(deliveries.size(), is(2));
+        deliveries.get(0).run();
+        deliveries.get(1).run();
+        verify(callback).onSuccess("payload");
+        verify(callback).onFailure(throwable);
+    }
+
+    @Test
+    public void shouldNotCallBackOnTheCallbackExecutorOnceCancelled() throws Exception {
+        final List<Runnable> deliveries = new ArrayList<>();
+        baseRequest.setCallbackExecutor(new Executor() {
+            @Override
+            public void execute(Runnable command) {
+                deliveries.add(command);
+            }
+        });
+
+        baseRequest.postOnSuccess("payload");
+        baseRequest.cancel();
+        deliveries.get(0).run();
+
+        verifyNoMoreInteractions(callback);
+    }
+
     @Test
     public void shouldParseUnsuccessfulJsonResponse() throws Exception {
         String payload = "{key: \"value\", asd: \"123\"}";
@@ -215,6 +434,89 @@ public class BaseRequestTest {
         verify(errorBuilder).from(eq("Request to https://auth0.com/ failed"), any(Auth0Exception.class));
     }
 
+    @Test
+    public void shouldParseUnsuccessfulEmptyResponse() throws Exception {
+        final Response response = createResponse("application/json", "", 500);
+        baseRequest.parseUnsuccessfulResponse(response);
+
+        verify(errorBuilder).from((String) isNull(), eq(500));
+    }
+
+    @Test
+    public void shouldNotParseUnsuccessfulResponseOfOtherContentType() throws Exception {
+        String payload = "{\"error\":\"not_json\"}";
+        final Response response = createResponse("text/html; charset=utf-8", payload, 502);
+        baseRequest.parseUnsuccessfulResponse(response);
+
+        verify(errorBuilder).from(eq(payload), eq(502));
+        verify(errorBuilder, never()).from(anyMapOf(String.class, Object.class));
+    }
+
+    @Test
+    public void shouldNotParseUnsuccessfulResponseThatIsNotAJsonObject() throws Exception {
+        String payload = "  <html><body>Bad Gateway</body></html>";
+        final Response response = createJsonResponse(payload, 502);
+        baseRequest.parseUnsuccessfulResponse(response);
+
+        verify(errorBuilder).from(eq(payload), eq(502));
+        verify(errorBuilder, never()).from(anyMapOf(String.class, Object.class));
+    }
+
+    @Test
+    public void shouldParseUnsuccessfulResponseWithoutContentType() throws Exception {
+        final Response response = createResponse(null, "\n{\"error\":\"access_denied\"}", 403);
+        baseRequest.parseUnsuccessfulResponse(response);
+
+        verify(errorBuilder).from(mapCaptor.capture());
+        assertThat(mapCaptor.getValue(), IsMapContaining.hasEntry("error", (Object) "access_denied"));
+    }
+
+    @Test
+    public void shouldReadOnlyTheBeginningOfOversizedUnsuccessfulResponse() throws Exception {
+        StringBuilder payload = new StringBuilder("{\"description\":\"");
+        while (payload.length() <= BaseRequest.MAX_ERROR_BODY_BYTES) {
+            payload.append("0123456789");
+        }
+        payload.append("\"}");
+        final Response response = createJsonResponse(payload.toString(), 503);
+        baseRequest.parseUnsuccessfulResponse(response);
+
+        ArgumentCaptor<String> payloadCaptor = ArgumentCaptor.forClass(String.class);
+        verify(errorBuilder).from(payloadCaptor.capture(), eq(503));
+        verify(errorBuilder, never()).from(anyMapOf(String.class, Object.class));
+        assertThat(payloadCaptor.getValue(), is(payload.substring(0, (int) BaseRequest.MAX_ERROR_BODY_BYTES)));
+    }
+
+    @Test
+    public void shouldNotSplitCharactersWhenReadingOversizedUnsuccessfulResponse() throws Exception {
+        StringBuilder payload = new StringBuilder("xx");
+        while (payload.length() <= BaseRequest.MAX_ERROR_BODY_BYTES) {
+            payload.append("\u20ac");
+        }
+        final Response response = createResponse("text/plain; charset=utf-8", payload.toString(), 503);
+        baseRequest.parseUnsuccessfulResponse(response);
+
+        ArgumentCaptor<String> payloadCaptor = ArgumentCaptor.forClass(String.class);
+        verify(errorBuilder).from(payloadCaptor.capture(), eq(503));
+        String description = payloadCaptor.getValue();
+        assertThat(description, not(containsString("\ufffd")));
+        assertThat(description, is(payload.substring(0, (int) (2 + (BaseRequest.MAX_ERROR_BODY_BYTES - 2) / 3))));
+    }
+
+    private Response createResponse(String contentType, String payload, int code) {
+        Request request = new Request.Builder()
+                .url("https://someurl.com")
+                .build();
+
+        final MediaType mediaType = contentType != null ? MediaType.parse(contentType) : null;
+        return new Response.Builder()
+                .request(request)
+                .protocol(Protocol.HTTP_1_1)
+                .body(ResponseBody.create(mediaType, payload))
+                .code(code)
+                .build();
+    }
+
     private Response createJsonResponse(String jsonPayload, int code) {
         Request request = new Request.Builder()
                 .url("https://someurl.com")
@@ -0,0 +1,82 @@
+package com.auth0.android.request.internal;
+
+import com.auth0.android.request.Cancellable;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.hamcrest.Matchers.is;
+import static org.junit.Assert.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+public class CancellableChainTest {
+
+    private CancellableChain chain;
+
+    @Before
+    public void setUp() throws Exception {
+        chain = new CancellableChain();
+    }
+
+    @Test
+    public void shouldNotBeCancelledByDefault() throws Exception {
+        assertThat(chain.isCancelled(), is(false));
+    }
+
+    @Test
+    public void shouldCancelEveryStartedRequest() throws Exception {
+        Cancellable first = mock(Cancellable.class);
+        Cancellable second = mock(Cancellable.class);
+        chain.add(first);
+        chain.add(second);
+
+        chain.cancel();
+
+        assertThat(chain.isCancelled(), is(true));
+        verify(first).cancel();
+        verify(second).cancel();
+    }
+
+    @Test
+    public void shouldCancelRequestAddedAfterCancellation() throws Exception {
+        chain.cancel();
+        Cancellable request = mock(Cancellable.class);
+
+        chain.add(request);
+
+        verify(request).cancel();
+    }
+
+    @Test
+    public void shouldCancelRequestsOnlyOnce() throws Exception {
+        Cancellable request = mock(Cancellable.class);
+        chain.add(request);
+
+        chain.cancel();
+        chain.cancel();
+
+        verify(request, times(1)).cancel();
+    }
+
+    @Test
+    public void shouldIgnoreMissingHandles() throws Exception {
+        Cancellable request = mock(Cancellable.class);
+        chain.add(null);
+        chain.add(request);
+
+        chain.cancel();
+
+        verify(request).cancel();
+    }
+
+    @Test
+    public void shouldNotCancelRequestsUntilCancelled() throws Exception {
+        Cancellable request = mock(Cancellable.class);
+        chain.add(request);
+
+        verify(request, never()).cancel();
+    }
+}
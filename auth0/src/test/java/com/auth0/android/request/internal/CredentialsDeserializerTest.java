@@ -30,7 +30,7 @@ public class CredentialsDeserializerTest {
         final CredentialsDeserializerMock deserializer = new CredentialsDeserializerMock();
         gson = new GsonBuilder()
                 .setDateFormat(GsonProvider.DATE_FORMAT)
-                .registerTypeAdapter(Credentials.class, deserializer)
+                .registerTypeAdapterFactory(deserializer)
                 .create();
     }
 
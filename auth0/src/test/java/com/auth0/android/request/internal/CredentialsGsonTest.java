@@ -50,6 +50,19 @@ public class CredentialsGsonTest extends GsonBaseTest {
         buildCredentialsFrom(json(EMPTY_OBJECT));
     }
 
+    @Test
+    public void shouldFailWithMalformedJson() throws Exception {
+        expectedException.expect(JsonParseException.class);
+        buildCredentialsFrom(new StringReader("{\"access_token\": \"some token\", \"token_type\": }"));
+    }
+
+    @Test
+    public void shouldIgnoreUnknownAttributes() throws Exception {
+        final Credentials credentials = buildCredentialsFrom(new StringReader("{\"access_token\": \"some token\", \"extra\": {\"nested\": [1, 2]}, \"token_type\": \"bearer\"}"));
+        assertThat(credentials.getAccessToken(), is("some token"));
+        assertThat(credentials.getType(), is("bearer"));
+    }
+
     @Test
     public void shouldNotRequireAccessToken() throws Exception {
         buildCredentialsFrom(new StringReader("{\"token_type\": \"bearer\"}"));
@@ -0,0 +1,83 @@
+package com.auth0.android.request.internal;
+
+import com.auth0.android.RequestBodyBuildException;
+import com.google.gson.Gson;
+import com.squareup.okhttp.RequestBody;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import okio.Buffer;
+
+import static org.hamcrest.Matchers.is;
+import static org.junit.Assert.assertThat;
+
+public class JsonRequestBodyBuilderTest {
+
+    @Rule
+    public ExpectedException exception = ExpectedException.none();
+
+    private Gson gson;
+
+    @Before
+    public void setUp() throws Exception {
+        gson = new Gson();
+    }
+
+    @Test
+    public void shouldWriteTheSameJsonAsGson() throws Exception {
+        Map<String, Object> parameters = new HashMap<>();
+        parameters.put("username", "\u00f1and\u00fa@example.com");
+        parameters.put("password", "p\"ss\\w<rd> ");
+        parameters.put("emoji", "\ud83d\ude00");
+        parameters.put("count", 3);
+
+        RequestBody body = JsonRequestBodyBuilder.createBody(parameters, gson);
+
+        String expected = gson.toJson(parameters);
+        assertThat(body.contentType().toString(), is("application/json; charset=utf-8"));
+        assertThat(body.contentLength(), is((long) expected.getBytes("UTF-8").length));
+        assertThat(write(body), is(expected));
+    }
+
+    @Test
+    public void shouldWriteTheBodyMoreThanOnce() throws Exception {
+        Map<String, Object> parameters = new HashMap<>();
+        parameters.put("client_id", "CLIENTID");
+
+        RequestBody body = JsonRequestBodyBuilder.createBody(parameters, gson);
+
+        assertThat(write(body), is("{\"client_id\":\"CLIENTID\"}"));
+        assertThat(write(body), is("{\"client_id\":\"CLIENTID\"}"));
+        assertThat(body.contentLength(), is(24L));
+    }
+
+    @Test
+    public void shouldWriteNullWhenThePojoIsNull() throws Exception {
+        RequestBody body = JsonRequestBodyBuilder.createBody(null, gson);
+
+        assertThat(write(body), is(gson.toJson(null)));
+        assertThat(body.contentLength(), is(4L));
+    }
+
+    @Test
+    public void shouldThrowWhenThePojoCannotBeSerialized() throws Exception {
+        exception.expect(RequestBodyBuildException.class);
+        exception.expectMessage("Failed to convert java.util.HashMap to JSON");
+        Map<String, Object> parameters = new HashMap<>();
+        parameters.put("value", Double.NaN);
+
+        JsonRequestBodyBuilder.createBody(parameters, gson);
+    }
+
+    private static String write(RequestBody body) throws Exception {
+        Buffer sink = new Buffer();
+        body.writeTo(sink);
+        return sink.readUtf8();
+    }
+}
@@ -0,0 +1,97 @@
+package com.auth0.android.request.internal;
+
+import com.google.gson.JsonParseException;
+import com.google.gson.reflect.TypeToken;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.annotation.Config;
+
+import java.io.Reader;
+import java.io.StringReader;
+import java.lang.reflect.Type;
+import java.math.BigInteger;
+import java.security.PublicKey;
+import java.security.interfaces.RSAPublicKey;
+import java.util.Map;
+
+import static org.hamcrest.Matchers.hasKey;
+import static org.hamcrest.Matchers.instanceOf;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.notNullValue;
+import static org.hamcrest.collection.IsMapWithSize.aMapWithSize;
+import static org.junit.Assert.assertThat;
+
+@RunWith(RobolectricTestRunner.class)
+@Config(constants = com.auth0.android.auth0.BuildConfig.class, sdk = 21, manifest = Config.NONE)
+public class JsonWebKeysGsonTest extends GsonBaseTest {
+
+    private static final String JWKS = "src/test/resources/rsa_jwks.json";
+    private static final Type JWKS_TYPE = new TypeToken<Map<String, PublicKey>>() {
+    }.getType();
+
+    @Rule
+    public ExpectedException expectedException = ExpectedException.none();
+
+    @Before
+    public void setUp() throws Exception {
+        gson = GsonProvider.buildGson();
+    }
+
+    @Test
+    public void shouldFailWithInvalidJson() throws Exception {
+        expectedException.expect(JsonParseException.class);
+        buildJwksFrom(json(INVALID));
+    }
+
+    @Test
+    public void shouldFailWithEmptyJson() throws Exception {
+        expectedException.expect(JsonParseException.class);
+        buildJwksFrom(json(EMPTY_OBJECT));
+    }
+
+    @Test
+    public void shouldReturnValid() throws Exception {
+        Map<String, PublicKey> jwks = buildJwksFrom(json(JWKS));
+        assertThat(jwks, is(notNullValue()));
+        assertThat(jwks, hasKey("key-id"));
+        PublicKey key = jwks.get("key-id");
+        assertThat(key, is(instanceOf(RSAPublicKey.class)));
+        assertThat(((RSAPublicKey) key).getPublicExponent(), is(BigInteger.valueOf(65537)));
+        assertThat(((RSAPublicKey) key).getModulus().bitLength(), is(2048));
+    }
+
+    @Test
+    public void shouldSkipEncryptionAndNonRSAKeys() throws Exception {
+        Map<String, PublicKey> jwks = buildJwksFrom(json(JWKS));
+        assertThat(jwks, is(aMapWithSize(1)));
+    }
+
+    @Test
+    public void shouldSkipKeysWithoutModulusOrExponent() throws Exception {
+        String json = "{\"keys\": [" +
+                "{\"kid\": \"no-modulus\", \"kty\": \"RSA\", \"e\": \"AQAB\"}," +
+                "{\"kid\": \"no-exponent\", \"kty\": \"RSA\", \"n\": \"AQAB\"}" +
+                "]}";
+        Map<String, PublicKey> jwks = buildJwksFrom(new StringReader(json));
+        assertThat(jwks.isEmpty(), is(true));
+    }
+
+    @Test
+    public void shouldReadWhatItWrites() throws Exception {
+        Map<String, PublicKey> jwks = buildJwksFrom(json(JWKS));
+
+        Map<String, PublicKey> copy = gson.fromJson(gson.toJson(jwks, JWKS_TYPE), JWKS_TYPE);
+
+        assertThat(copy, is(aMapWithSize(1)));
+        assertThat(copy.get("key-id"), is(jwks.get("key-id")));
+    }
+
+    private Map<String, PublicKey> buildJwksFrom(Reader json) {
+        return gson.fromJson(json, JWKS_TYPE);
+    }
+}
@@ -0,0 +1,76 @@
+package com.auth0.android.request.internal;
+
+import com.google.gson.stream.JsonReader;
+
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.StringReader;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Map;
+
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.hasEntry;
+import static org.hamcrest.Matchers.hasKey;
+import static org.hamcrest.Matchers.is;
+import static org.junit.Assert.assertThat;
+
+public class LazyJsonMapTest {
+
+    private static final String METADATA = "{\"role\": \"admin\", \"tier\": 2, \"blocked\": false, \"groups\": [\"a\", \"b\"], \"address\": {\"country\": \"AR\"}, \"phone\": null}";
+
+    @Test
+    public void shouldNotParseUntilAccessed() throws Exception {
+        LazyJsonMap map = LazyJsonMap.read(new JsonReader(new StringReader(METADATA)));
+        assertThat(map.isParsed(), is(false));
+
+        assertThat(map.get("role"), is((Object) "admin"));
+        assertThat(map.isParsed(), is(true));
+    }
+
+    @Test
+    public void shouldKeepAllValues() throws Exception {
+        LazyJsonMap map = LazyJsonMap.read(new JsonReader(new StringReader(METADATA)));
+        assertThat(map.size(), is(6));
+        assertThat(map, hasEntry("role", (Object) "admin"));
+        assertThat(map, hasEntry("tier", (Object) 2.0));
+        assertThat(map, hasEntry("blocked", (Object) false));
+        assertThat(map, hasEntry("groups", (Object) Arrays.asList("a", "b")));
+        assertThat(map, hasEntry("address", (Object) Collections.singletonMap("country", "AR")));
+        assertThat(map, hasKey("phone"));
+    }
+
+    @Test
+    public void shouldLeaveReaderAfterTheObject() throws Exception {
+        JsonReader reader = new JsonReader(new StringReader("[" + METADATA + ", \"next\"]"));
+        reader.beginArray();
+        LazyJsonMap.read(reader);
+        assertThat(reader.nextString(), is("next"));
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void shouldBeReadOnly() throws Exception {
+        LazyJsonMap map = LazyJsonMap.read(new JsonReader(new StringReader(METADATA)));
+        map.put("role", "user");
+    }
+
+    @SuppressWarnings("unchecked")
+    @Test
+    public void shouldBeSerializable() throws Exception {
+        LazyJsonMap map = LazyJsonMap.read(new JsonReader(new StringReader(METADATA)));
+        map.get("role");
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        ObjectOutputStream out = new ObjectOutputStream(bytes);
+        out.writeObject(map);
+        out.close();
+        ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(bytes.toByteArray()));
+        Map<String, Object> copy = (Map<String, Object>) in.readObject();
+
+        assertThat(copy, is(equalTo((Map<String, Object>) map)));
+    }
+}
@@ -4,6 +4,8 @@ import com.auth0.android.Auth0Exception;
 import com.auth0.android.callback.BaseCallback;
 import com.auth0.android.request.ErrorBuilder;
 import com.auth0.android.request.ParameterizableRequest;
+import com.auth0.android.request.RetryPolicy;
+import com.auth0.android.request.RetryableRequest;
 import com.google.gson.Gson;
 import com.google.gson.reflect.TypeToken;
 import com.squareup.okhttp.HttpUrl;
@@ -11,8 +13,9 @@ import com.squareup.okhttp.OkHttpClient;
 
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.Executor;
 
-public class MockRequest<T, U extends Auth0Exception> implements ParameterizableRequest<T, U> {
+public class MockRequest<T, U extends Auth0Exception> implements RetryableRequest<T, U> {
 
     HttpUrl url;
     OkHttpClient client;
@@ -68,6 +71,21 @@ public class MockRequest<T, U extends Auth0Exception> implements Parameterizable
         return this;
     }
 
+    @Override
+    public RetryableRequest<T, U> setRetryPolicy(RetryPolicy retryPolicy) {
+        return this;
+    }
+
+    @Override
+    public RetryableRequest<T, U> setDeadline(long deadlineMillis) {
+        return this;
+    }
+
+    @Override
+    public RetryableRequest<T, U> setCallbackExecutor(Executor executor) {
+        return this;
+    }
+
     @Override
     public void start(BaseCallback<T, U> callback) {
     }
@@ -23,7 +23,9 @@ import javax.net.ssl.SSLSocketFactory;
 import static junit.framework.Assert.assertTrue;
 import static org.hamcrest.Matchers.instanceOf;
 import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.not;
 import static org.hamcrest.Matchers.notNullValue;
+import static org.hamcrest.Matchers.sameInstance;
 import static org.junit.Assert.assertThat;
 import static org.mockito.Matchers.any;
 import static org.mockito.Mockito.mock;
@@ -43,17 +45,43 @@ public class OkHttpClientFactoryTest {
     public void setUp() {
         MockitoAnnotations.initMocks(this);
         factory = new OkHttpClientFactory();
+        OkHttpClientFactory.clearSharedClients();
     }
 
     @Test
     // Verify that there's no error when creating a new OkHttpClient instance
     public void shouldCreateNewClient() {
-        factory.createClient(false, false);
+        factory.createClient(options().build());
+    }
+
+    @Test
+    public void shouldReuseSharedClientForSameConfiguration() {
+        OkHttpClient first = factory.getSharedClient(options().build());
+        OkHttpClient second = new OkHttpClientFactory().getSharedClient(options().build());
+        assertThat(first, is(notNullValue()));
+        assertThat(second, is(sameInstance(first)));
+    }
+
+    @Test
+    public void shouldNotShareClientAcrossConfigurations() {
+        OkHttpClient plain = factory.getSharedClient(options().build());
+        OkHttpClient logging = factory.getSharedClient(options().withLogging(true).build());
+        OkHttpClient tls12 = factory.getSharedClient(options().enforceTls12(true).build());
+        assertThat(logging, is(not(sameInstance(plain))));
+        assertThat(tls12, is(not(sameInstance(plain))));
+        assertThat(tls12, is(not(sameInstance(logging))));
+    }
+
+    @Test
+    public void shouldCreateNewClientEveryTime() {
+        OkHttpClient first = factory.createClient(options().build());
+        OkHttpClient second = factory.createClient(options().build());
+        assertThat(second, is(not(sameInstance(first))));
     }
 
     @Test
     public void shouldNotUseHttp2Protocol() {
-        OkHttpClient client = factory.createClient(false, false);
+        OkHttpClient client = factory.createClient(options().build());
         //Doesn't use default protocols
         assertThat(client.getProtocols(), is(notNullValue()));
         assertThat(client.getProtocols().contains(Protocol.HTTP_1_1), is(true));
@@ -61,11 +89,55 @@ public class OkHttpClientFactoryTest {
         assertThat(client.getProtocols().contains(Protocol.HTTP_2), is(false));
     }
 
+    @Test
+    public void shouldNegotiateHttp2ProtocolWhenEnabled() {
+        OkHttpClient client = factory.createClient(options().withHttp2(true).build());
+        assertThat(client.getProtocols(), is(notNullValue()));
+        assertThat(client.getProtocols().contains(Protocol.HTTP_2), is(true));
+        assertThat(client.getProtocols().contains(Protocol.HTTP_1_1), is(true));
+        assertThat(client.getProtocols().contains(Protocol.SPDY_3), is(false));
+    }
+
+    @Test
+    public void shouldKeepDefaultTimeouts() {
+        OkHttpClient defaults = new OkHttpClient();
+        OkHttpClient client = factory.createClient(options().build());
+        assertThat(client.getConnectTimeout(), is(defaults.getConnectTimeout()));
+        assertThat(client.getReadTimeout(), is(defaults.getReadTimeout()));
+        assertThat(client.getWriteTimeout(), is(defaults.getWriteTimeout()));
+    }
+
+    @Test
+    public void shouldUseTimeouts() {
+        OkHttpClient client = factory.createClient(options().withConnectTimeout(5).withReadTimeout(15).withWriteTimeout(20).build());
+        assertThat(client.getConnectTimeout(), is(5000));
+        assertThat(client.getReadTimeout(), is(15000));
+        assertThat(client.getWriteTimeout(), is(20000));
+    }
+
+    @Test
+    public void shouldNotShareClientBetweenTimeoutConfigurations() {
+        OkHttpClient defaults = factory.getSharedClient(options().build());
+        OkHttpClient custom = factory.getSharedClient(options().withConnectTimeout(5).withReadTimeout(15).withWriteTimeout(20).build());
+        assertThat(custom, is(not(sameInstance(defaults))));
+        assertThat(factory.getSharedClient(options().withConnectTimeout(0).build()), is(sameInstance(defaults)));
+        assertThat(factory.getSharedClient(options().withConnectTimeout(5).withReadTimeout(15).withWriteTimeout(20).build()), is(sameInstance(custom)));
+    }
+
+    @Test
+    public void shouldNotShareClientBetweenHttp2AndHttp1Configurations() {
+        OkHttpClient http1 = factory.getSharedClient(options().build());
+        OkHttpClient http2 = factory.getSharedClient(options().withHttp2(true).build());
+        assertThat(http2, is(not(sameInstance(http1))));
+        assertThat(factory.getSharedClient(options().withHttp2(false).build()), is(sameInstance(http1)));
+        assertThat(factory.getSharedClient(options().withHttp2(true).build()), is(sameInstance(http2)));
+    }
+
     @Test
     @Config(sdk = 21)
     public void shouldEnableLoggingTLS12Enforced() {
         List list = generateInterceptorsMockList(mockClient);
-        OkHttpClient client = factory.modifyClient(mockClient, true, true);
+        OkHttpClient client = factory.modifyClient(mockClient, options().withLogging(true).enforceTls12(true).build());
         verifyLoggingEnabled(client, list);
         verifyTLS12Enforced(client);
     }
@@ -74,7 +146,7 @@ public class OkHttpClientFactoryTest {
     @Config(sdk = 21)
     public void shouldEnableLoggingTLS12NotEnforced() {
         List list = generateInterceptorsMockList(mockClient);
-        OkHttpClient client = factory.modifyClient(mockClient, true, false);
+        OkHttpClient client = factory.modifyClient(mockClient, options().withLogging(true).enforceTls12(false).build());
         verifyLoggingEnabled(client, list);
         verifyTLS12NotEnforced(client);
     }
@@ -83,7 +155,7 @@ public class OkHttpClientFactoryTest {
     @Config(sdk = 21)
     public void shouldDisableLoggingTLS12Enforced() {
         List list = generateInterceptorsMockList(mockClient);
-        OkHttpClient client = factory.modifyClient(mockClient, false, true);
+        OkHttpClient client = factory.modifyClient(mockClient, options().withLogging(false).enforceTls12(true).build());
         verifyLoggingDisabled(client, list);
         verifyTLS12Enforced(client);
     }
@@ -92,7 +164,7 @@ public class OkHttpClientFactoryTest {
     @Config(sdk = 21)
     public void shouldDisableLoggingTLS12NotEnforced() {
         List list = generateInterceptorsMockList(mockClient);
-        OkHttpClient client = factory.modifyClient(mockClient, false, false);
+        OkHttpClient client = factory.modifyClient(mockClient, options().withLogging(false).enforceTls12(false).build());
         verifyLoggingDisabled(client, list);
         verifyTLS12NotEnforced(client);
     }
@@ -101,7 +173,7 @@ public class OkHttpClientFactoryTest {
     @Config(sdk = 22)
     public void shouldEnableLoggingTLS12Enforced_postLollipopTLS12NoEffect() {
         List list = generateInterceptorsMockList(mockClient);
-        OkHttpClient client = factory.modifyClient(mockClient, true, true);
+        OkHttpClient client = factory.modifyClient(mockClient, options().withLogging(true).enforceTls12(true).build());
         verifyLoggingEnabled(client, list);
         verifyTLS12NotEnforced(client);
     }
@@ -110,7 +182,7 @@ public class OkHttpClientFactoryTest {
     @Config(sdk = 22)
     public void shouldEnableLoggingTLS12NotEnforced_posLollipop() {
         List list = generateInterceptorsMockList(mockClient);
-        OkHttpClient client = factory.modifyClient(mockClient, true, false);
+        OkHttpClient client = factory.modifyClient(mockClient, options().withLogging(true).enforceTls12(false).build());
         verifyLoggingEnabled(client, list);
         verifyTLS12NotEnforced(client);
     }
@@ -119,7 +191,7 @@ public class OkHttpClientFactoryTest {
     @Config(sdk = 22)
     public void shouldDisableLoggingTLS12Enforced_postLollipopTLS12NoEffect() {
         List list = generateInterceptorsMockList(mockClient);
-        OkHttpClient client = factory.modifyClient(mockClient, false, true);
+        OkHttpClient client = factory.modifyClient(mockClient, options().withLogging(false).enforceTls12(true).build());
         verifyLoggingDisabled(client, list);
         verifyTLS12NotEnforced(client);
     }
@@ -128,11 +200,30 @@ public class OkHttpClientFactoryTest {
     @Config(sdk = 22)
     public void shouldDisableLoggingTLS12NotEnforced_postLollipop() {
         List list = generateInterceptorsMockList(mockClient);
-        OkHttpClient client = factory.modifyClient(mockClient, false, false);
+        OkHttpClient client = factory.modifyClient(mockClient, options().withLogging(false).enforceTls12(false).build());
         verifyLoggingDisabled(client, list);
         verifyTLS12NotEnforced(client);
     }
 
+    @Test
+    public void shouldCompareOptionsByValue() {
+        HttpClientOptions options = options().withLogging(true).withHttp2(true).withReadTimeout(10).build();
+        HttpClientOptions same = options().withLogging(true).withHttp2(true).withReadTimeout(10).build();
+        HttpClientOptions other = options().withLogging(true).withHttp2(true).withReadTimeout(11).build();
+        assertThat(same, is(options));
+        assertThat(same.hashCode(), is(options.hashCode()));
+        assertThat(other, is(not(options)));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void shouldNotAcceptNegativeTimeouts() {
+        options().withConnectTimeout(-1);
+    }
+
+    private static HttpClientOptions.Builder options() {
+        return HttpClientOptions.newBuilder();
+    }
+
     private static List generateInterceptorsMockList(OkHttpClient client) {
         List list = mock(List.class);
         when(client.interceptors()).thenReturn(list);
@@ -5,8 +5,13 @@ import com.auth0.android.Auth0Exception;
 import com.auth0.android.request.AuthenticationRequest;
 import com.auth0.android.request.ErrorBuilder;
 import com.auth0.android.request.ParameterizableRequest;
+import com.auth0.android.request.RetryableRequest;
+import com.auth0.android.request.NetworkEventListener;
+import com.auth0.android.request.ProfileCache;
+import com.auth0.android.result.UserProfile;
 import com.google.gson.Gson;
 import com.google.gson.reflect.TypeToken;
+import com.squareup.okhttp.Headers;
 import com.squareup.okhttp.HttpUrl;
 import com.squareup.okhttp.OkHttpClient;
 
@@ -17,13 +22,19 @@ import org.mockito.MockitoAnnotations;
 
 import java.util.Locale;
 import java.util.Map;
+import java.util.concurrent.Executor;
 
 import static com.auth0.android.request.internal.RequestMatcher.hasArguments;
 import static com.auth0.android.request.internal.RequestMatcher.hasHeaders;
 import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.instanceOf;
+import static org.hamcrest.CoreMatchers.not;
 import static org.hamcrest.CoreMatchers.notNullValue;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.CoreMatchers.sameInstance;
 import static org.hamcrest.core.Is.is;
 import static org.junit.Assert.assertThat;
+import static org.mockito.Mockito.mock;
 
 public class RequestFactoryTest {
 
@@ -92,6 +103,101 @@ public class RequestFactoryTest {
         assertThat(factory.getHeaders().get("Authorization"), is(equalTo(BEARER_PREFIX + TOKEN)));
     }
 
+    @Test
+    public void shouldBuildDefaultHeadersOnce() throws Exception {
+        final RequestFactory factory = new RequestFactory(TOKEN);
+        factory.setClientInfo(CLIENT_INFO);
+
+        final Headers headers = factory.getDefaultHeaders();
+        assertThat(headers.size(), is(3));
+        assertThat(headers.get("Accept-Language"), is(RequestFactory.getDefaultLocale()));
+        assertThat(headers.get("Auth0-Client"), is(CLIENT_INFO));
+        assertThat(headers.get("Authorization"), is(BEARER_PREFIX + TOKEN));
+        assertThat(factory.getDefaultHeaders(), is(sameInstance(headers)));
+    }
+
+    @Test
+    public void shouldRebuildDefaultHeadersWhenAValueChanges() throws Exception {
+        final RequestFactory factory = new RequestFactory();
+        final Headers headers = factory.getDefaultHeaders();
+
+        factory.setUserAgent(USER_AGENT);
+
+        assertThat(factory.getDefaultHeaders(), is(not(sameInstance(headers))));
+        assertThat(factory.getDefaultHeaders().get("User-Agent"), is(USER_AGENT));
+    }
+
+    @Test
+    public void shouldSendDefaultHeadersUnlessOverriddenByTheRequest() throws Exception {
+        final RequestFactory factory = new RequestFactory(TOKEN);
+        factory.setUserAgent(USER_AGENT);
+        final BaseRequest<String, Auth0Exception> request = (BaseRequest<String, Auth0Exception>) factory.GET(url, client, gson, String.class, builder);
+        request.addHeader("Authorization", "Bearer other");
+
+        final com.squareup.okhttp.Request built = request.newBuilder().build();
+
+        assertThat(built.header("User-Agent"), is(USER_AGENT));
+        assertThat(built.headers("Authorization").size(), is(1));
+        assertThat(built.header("Authorization"), is("Bearer other"));
+        assertThat(request.getHeader("User-Agent"), is(USER_AGENT));
+    }
+
+    @Test
+    public void shouldNotHaveCallbackExecutorByDefault() throws Exception {
+        final RequestFactory factory = new RequestFactory();
+        BaseRequest request = (BaseRequest) factory.GET(url, client, gson, String.class, builder);
+
+        assertThat(request.getCallbackExecutor(), is(nullValue()));
+    }
+
+    @Test
+    public void shouldSetCallbackExecutorOnCreatedRequests() throws Exception {
+        final RequestFactory factory = new RequestFactory();
+        final Executor executor = mock(Executor.class);
+        factory.setCallbackExecutor(executor);
+
+        BaseRequest request = (BaseRequest) factory.GET(url, client, gson, String.class, builder);
+        BaseRequest authenticationRequest = (BaseRequest) factory.authenticationPOST(url, client, gson);
+
+        assertThat(request.getCallbackExecutor(), is(executor));
+        assertThat(authenticationRequest.getCallbackExecutor(), is(executor));
+    }
+
+    @Test
+    public void shouldNotHaveNetworkEventListenerByDefault() throws Exception {
+        final RequestFactory factory = new RequestFactory();
+        BaseRequest request = (BaseRequest) factory.GET(url, client, gson, String.class, builder);
+
+        assertThat(request.getNetworkEventListener(), is(nullValue()));
+    }
+
+    @Test
+    public void shouldSetNetworkEventListenerOnCreatedRequests() throws Exception {
+        final RequestFactory factory = new RequestFactory();
+        final NetworkEventListener listener = mock(NetworkEventListener.class);
+        factory.setNetworkEventListener(listener);
+
+        BaseRequest request = (BaseRequest) factory.GET(url, client, gson, String.class, builder);
+        BaseRequest authenticationRequest = (BaseRequest) factory.authenticationPOST(url, client, gson);
+        BaseRequest voidRequest = (BaseRequest) factory.POST(url, client, gson, builder);
+
+        assertThat(request.getNetworkEventListener(), is(listener));
+        assertThat(authenticationRequest.getNetworkEventListener(), is(listener));
+        assertThat(voidRequest.getNetworkEventListener(), is(listener));
+    }
+
+    @Test
+    public void shouldCreateCachedProfileGETRequest() throws Exception {
+        final RequestFactory factory = new RequestFactory();
+        final Executor executor = mock(Executor.class);
+        factory.setCallbackExecutor(executor);
+
+        ParameterizableRequest<UserProfile, Auth0Exception> request = factory.GET(url, client, gson, new ProfileCache(10, 60), builder);
+
+        assertThat(request, is(instanceOf(CachedProfileRequest.class)));
+        assertThat(((BaseRequest) request).getCallbackExecutor(), is(executor));
+    }
+
     @Test
     public void shouldCreateAuthenticationPOSTRequest() throws Exception {
         final MockAuthenticationRequest request = (MockAuthenticationRequest) factory.authenticationPOST(url, client, gson);
@@ -193,19 +299,19 @@ public class RequestFactoryTest {
         MockAuthenticationRequest authenticationRequest;
 
         @Override
-        <T, U extends Auth0Exception> ParameterizableRequest<T, U> createSimpleRequest(HttpUrl url, OkHttpClient client, Gson gson, String method, Class<T> clazz, ErrorBuilder<U> errorBuilder) {
+        <T, U extends Auth0Exception> RetryableRequest<T, U> createSimpleRequest(HttpUrl url, OkHttpClient client, Gson gson, String method, Class<T> clazz, ErrorBuilder<U> errorBuilder) {
             request = new MockRequest<>(url, client, gson, method, clazz, errorBuilder);
             return request;
         }
 
         @Override
-        <T, U extends Auth0Exception> ParameterizableRequest<T, U> createSimpleRequest(HttpUrl url, OkHttpClient client, Gson gson, String method, TypeToken<T> typeToken, ErrorBuilder<U> errorBuilder) {
+        <T, U extends Auth0Exception> RetryableRequest<T, U> createSimpleRequest(HttpUrl url, OkHttpClient client, Gson gson, String method, TypeToken<T> typeToken, ErrorBuilder<U> errorBuilder) {
             request = new MockRequest<>(url, client, gson, method, typeToken, errorBuilder);
             return request;
         }
 
         @Override
-        <T, U extends Auth0Exception> ParameterizableRequest<T, U> createSimpleRequest(HttpUrl url, OkHttpClient client, Gson gson, String method, ErrorBuilder<U> errorBuilder) {
+        <T, U extends Auth0Exception> RetryableRequest<T, U> createSimpleRequest(HttpUrl url, OkHttpClient client, Gson gson, String method, ErrorBuilder<U> errorBuilder) {
             request = new MockRequest<>(url, client, gson, method, errorBuilder);
             return request;
         }
@@ -217,7 +323,7 @@ public class RequestFactoryTest {
         }
 
         @Override
-        <U extends Auth0Exception> ParameterizableRequest<Void, U> createVoidRequest(HttpUrl url, OkHttpClient client, Gson gson, String method, ErrorBuilder<U> errorBuilder) {
+        <U extends Auth0Exception> RetryableRequest<Void, U> createVoidRequest(HttpUrl url, OkHttpClient client, Gson gson, String method, ErrorBuilder<U> errorBuilder) {
             request = new MockRequest<>(url, client, gson, method, errorBuilder);
             return request;
         }
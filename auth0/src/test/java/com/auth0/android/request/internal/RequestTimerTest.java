@@ -0,0 +1,178 @@
+package com.auth0.android.request.internal;
+
+import com.auth0.android.request.RequestMetrics;
+import com.auth0.android.request.RequestMetrics.Outcome;
+import com.squareup.okhttp.HttpUrl;
+import com.squareup.okhttp.MediaType;
+import com.squareup.okhttp.Protocol;
+import com.squareup.okhttp.Request;
+import com.squareup.okhttp.RequestBody;
+import com.squareup.okhttp.Response;
+import com.squareup.okhttp.ResponseBody;
+
+import org.junit.Test;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.nullValue;
+import static org.junit.Assert.assertThat;
+
+public class RequestTimerTest {
+
+    private static final String DOMAIN = "https://samples.auth0.com";
+    private static final Map<String, Object> NO_PARAMETERS = Collections.emptyMap();
+
+    @Test
+    public void shouldNameTokenRequestsByGrantType() throws Exception {
+        assertThat(RequestTimer.operationFor("POST", url("/oauth/token"), grantType("refresh_token")), is("renewAuth"));
+        assertThat(RequestTimer.operationFor("POST", url("/oauth/token"), grantType("authorization_code")), is("codeExchange"));
+        assertThat(RequestTimer.operationFor("POST", url("/oauth/token"), grantType("http://auth0.com/oauth/grant-type/password-realm")), is("login"));
+        assertThat(RequestTimer.operationFor("POST", url("/oauth/ro"), grantType("password")), is("login"));
+    }
+
+    @Test
+    public void shouldNameDelegationWithRefreshTokenAsRenewAuth() throws Exception {
+        Map<String, Object> parameters = new HashMap<>();
+        parameters.put("refresh_token", "refreshToken");
+        assertThat(RequestTimer.operationFor("POST", url("/delegation"), parameters), is("renewAuth"));
+        assertThat(RequestTimer.operationFor("POST", url("/delegation"), NO_PARAMETERS), is("delegation"));
+    }
+
+    @Test
+    public void shouldNameAuthenticationAPIRequests() throws Exception {
+        assertThat(RequestTimer.operationFor("GET", url("/userinfo"), NO_PARAMETERS), is("userInfo"));
+        assertThat(RequestTimer.operationFor("POST", url("/tokeninfo"), NO_PARAMETERS), is("tokenInfo"));
+        assertThat(RequestTimer.operationFor("POST", url("/dbconnections/signup"), NO_PARAMETERS), is("signUp"));
+        assertThat(RequestTimer.operationFor("POST", url("/dbconnections/change_password"), NO_PARAMETERS), is("resetPassword"));
+        assertThat(RequestTimer.operationFor("POST", url("/passwordless/start"), NO_PARAMETERS), is("passwordlessStart"));
+        assertThat(RequestTimer.operationFor("POST", url("/oauth/revoke"), NO_PARAMETERS), is("revokeToken"));
+        assertThat(RequestTimer.operationFor("GET", url("/.well-known/jwks.json"), NO_PARAMETERS), is("fetchJsonWebKeys"));
+    }
+
+    @Test
+    public void shouldNameManagementAPIRequests() throws Exception {
+        assertThat(RequestTimer.operationFor("POST", url("/api/v2/users/auth0%7C123/identities"), NO_PARAMETERS), is("link"));
+        assertThat(RequestTimer.operationFor("DELETE", url("/api/v2/users/auth0%7C123/identities/facebook/456"), NO_PARAMETERS), is("unlink"));
+        assertThat(RequestTimer.operationFor("PATCH", url("/api/v2/users/auth0%7C123"), NO_PARAMETERS), is("updateMetadata"));
+        assertThat(RequestTimer.operationFor("GET", url("/api/v2/users/auth0%7C123"), NO_PARAMETERS), is("getProfile"));
+    }
+
+    @Test
+    public void shouldNotNameUnknownRequests() throws Exception {
+        assertThat(RequestTimer.operationFor("GET", url("/"), NO_PARAMETERS), is(nullValue()));
+        assertThat(RequestTimer.operationFor("GET", url("/api/v2/clients"), NO_PARAMETERS), is(nullValue()));
+    }
+
+    @Test
+    public void shouldMeasureTheRequestPhases() throws Exception {
+        Request request = postRequest("/oauth/token");
+        RequestTimer timer = new RequestTimer(request, 1000);
+        timer.attemptStarted(request, 1100);
+        timer.responseReceived(response(request, 200, 1150, 1400), 1410);
+
+        RequestMetrics metrics = timer.finish(grantType("refresh_token"), true, false, 1500);
+
+        assertThat(metrics.getOperation(), is("renewAuth"));
+        assertThat(metrics.getMethod(), is("POST"));
+        assertThat(metrics.getHost(), is("samples.auth0.com"));
+        assertThat(metrics.getPath(), is("/oauth/token"));
+        assertThat(metrics.getOutcome(), is(Outcome.SUCCESS));
+        assertThat(metrics.getStatusCode(), is(200));
+        assertThat(metrics.getAttempts(), is(1));
+        assertThat(metrics.getSendMillis(), is(50L));
+        assertThat(metrics.getWaitMillis(), is(250L));
+        assertThat(metrics.getReadMillis(), is(100L));
+        assertThat(metrics.getTotalMillis(), is(500L));
+        assertThat(metrics.getBytesSent(), is(2L));
+        assertThat(metrics.getBytesReceived(), is(10L));
+    }
+
+    @Test
+    public void shouldCountRetries() throws Exception {
+        Request request = postRequest("/oauth/token");
+        RequestTimer timer = new RequestTimer(request, 1000);
+        timer.attemptStarted(request, 1000);
+        timer.attemptStarted(request, 1200);
+        timer.responseReceived(response(request, 200, 1250, 1300), 1300);
+
+        RequestMetrics metrics = timer.finish(NO_PARAMETERS, true, false, 1300);
+
+        assertThat(metrics.getAttempts(), is(2));
+        assertThat(metrics.getSendMillis(), is(50L));
+        assertThat(metrics.getTotalMillis(), is(300L));
+    }
+
+    @Test
+    public void shouldReportNetworkError() throws Exception {
+        Request request = postRequest("/oauth/token");
+        RequestTimer timer = new RequestTimer(request, 1000);
+        timer.attemptStarted(request, 1000);
+
+        RequestMetrics metrics = timer.finish(NO_PARAMETERS, false, false, 2000);
+
+        assertThat(metrics.getOutcome(), is(Outcome.NETWORK_ERROR));
+        assertThat(metrics.getStatusCode(), is(-1));
+        assertThat(metrics.getSendMillis(), is(-1L));
+        assertThat(metrics.getWaitMillis(), is(-1L));
+        assertThat(metrics.getReadMillis(), is(-1L));
+        assertThat(metrics.getTotalMillis(), is(1000L));
+    }
+
+    @Test
+    public void shouldReportHttpError() throws Exception {
+        Request request = postRequest("/oauth/token");
+        RequestTimer timer = new RequestTimer(request, 1000);
+        timer.attemptStarted(request, 1000);
+        timer.responseReceived(response(request, 401, 1010, 1020), 1020);
+
+        assertThat(timer.finish(NO_PARAMETERS, false, false, 1030).getOutcome(), is(Outcome.HTTP_ERROR));
+    }
+
+    @Test
+    public void shouldReportParseError() throws Exception {
+        Request request = postRequest("/oauth/token");
+        RequestTimer timer = new RequestTimer(request, 1000);
+        timer.attemptStarted(request, 1000);
+        timer.responseReceived(response(request, 200, 1010, 1020), 1020);
+
+        assertThat(timer.finish(NO_PARAMETERS, false, false, 1030).getOutcome(), is(Outcome.PARSE_ERROR));
+    }
+
+    @Test
+    public void shouldReportCancellation() throws Exception {
+        Request request = postRequest("/oauth/token");
+        RequestTimer timer = new RequestTimer(request, 1000);
+        timer.attemptStarted(request, 1000);
+
+        assertThat(timer.finish(NO_PARAMETERS, false, true, 1030).getOutcome(), is(Outcome.CANCELLED));
+    }
+
+    private static HttpUrl url(String path) {
+        return HttpUrl.parse(DOMAIN + path);
+    }
+
+    private static Map<String, Object> grantType(String grantType) {
+        return Collections.<String, Object>singletonMap("grant_type", grantType);
+    }
+
+    private static Request postRequest(String path) {
+        return new Request.Builder()
+                .url(url(path))
+                .post(RequestBody.create(MediaType.parse("application/json"), "{}"))
+                .build();
+    }
+
+    private static Response response(Request request, int code, long sentAt, long receivedAt) {
+        return new Response.Builder()
+                .request(request)
+                .protocol(Protocol.HTTP_1_1)
+                .code(code)
+                .header("OkHttp-Sent-Millis", String.valueOf(sentAt))
+                .header("OkHttp-Received-Millis", String.valueOf(receivedAt))
+                .body(ResponseBody.create(MediaType.parse("application/json"), "{\"id\":\"1\"}"))
+                .build();
+    }
+}
@@ -22,6 +22,7 @@ import static org.hamcrest.Matchers.hasEntry;
 import static org.hamcrest.Matchers.hasItem;
 import static org.hamcrest.Matchers.hasKey;
 import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.instanceOf;
 import static org.hamcrest.Matchers.is;
 import static org.hamcrest.Matchers.not;
 import static org.hamcrest.Matchers.notNullValue;
@@ -216,4 +217,34 @@ public class UserProfileGsonTest extends GsonBaseTest {
         assertThat(profile.getAppMetadata(), hasEntry("blocked", (Object) false));
     }
 
+    @Test
+    public void shouldFailWithMalformedJson() throws Exception {
+        expectedException.expect(JsonParseException.class);
+        pojoFrom(new StringReader("{\"user_id\": \"auth0|1234567890\", \"name\": }"), UserProfile.class);
+    }
+
+    @Test
+    public void shouldNotBeVerifiedWhenEmailVerifiedIsNull() throws Exception {
+        UserProfile profile = pojoFrom(new StringReader("{\"user_id\": \"auth0|1234567890\", \"email_verified\": null}"), UserProfile.class);
+        assertThat(profile.isEmailVerified(), is(false));
+    }
+
+    @Test
+    public void shouldKeepNestedValuesInExtraInfo() throws Exception {
+        UserProfile profile = pojoFrom(new StringReader("{\"user_id\": \"auth0|1234567890\", \"logins_count\": 3, \"address\": {\"country\": \"AR\"}, \"last_ip\": null}"), UserProfile.class);
+        assertThat(profile.getExtraInfo(), hasEntry("logins_count", (Object) 3.0));
+        assertThat(profile.getExtraInfo(), hasEntry("address", (Object) Collections.singletonMap("country", "AR")));
+        assertThat(profile.getExtraInfo(), hasKey("last_ip"));
+        assertThat(profile.getExtraInfo(), not(hasKey("user_id")));
+    }
+
+    @Test
+    public void shouldReadMetadataLazily() throws Exception {
+        UserProfile profile = pojoFrom(json(PROFILE_FULL), UserProfile.class);
+        assertThat(profile.getUserMetadata(), is(instanceOf(LazyJsonMap.class)));
+        assertThat(((LazyJsonMap) profile.getUserMetadata()).isParsed(), is(false));
+        assertThat(profile.getAppMetadata(), is(instanceOf(LazyJsonMap.class)));
+        assertThat(((LazyJsonMap) profile.getAppMetadata()).isParsed(), is(false));
+    }
+
 }
@@ -0,0 +1,79 @@
+package com.auth0.android.request.internal;
+
+import com.auth0.android.Auth0Exception;
+import com.auth0.android.callback.BaseCallback;
+import com.auth0.android.request.ErrorBuilder;
+import com.google.gson.Gson;
+import com.squareup.okhttp.Call;
+import com.squareup.okhttp.HttpUrl;
+import com.squareup.okhttp.OkHttpClient;
+import com.squareup.okhttp.Protocol;
+import com.squareup.okhttp.Request;
+import com.squareup.okhttp.Response;
+import com.squareup.okhttp.ResponseBody;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.nullValue;
+import static org.junit.Assert.assertThat;
+import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class VoidRequestTest {
+
+    private VoidRequest<Auth0Exception> voidRequest;
+
+    @Mock
+    private OkHttpClient client;
+    @Mock
+    private Call call;
+    @Mock
+    private ErrorBuilder<Auth0Exception> errorBuilder;
+    @Mock
+    private BaseCallback<Void, Auth0Exception> callback;
+    @Mock
+    private ResponseBody body;
+
+    @Before
+    public void setUp() throws Exception {
+        MockitoAnnotations.initMocks(this);
+        HttpUrl url = HttpUrl.parse("https://auth0.com");
+        voidRequest = new VoidRequest<>(url, client, new Gson(), "POST", errorBuilder);
+        when(client.newCall(any(Request.class))).thenReturn(call);
+    }
+
+    @Test
+    public void shouldCloseTheBodyOfASuccessfulResponse() throws Exception {
+        voidRequest.setCallback(callback);
+        voidRequest.onResponse(createResponse(200));
+
+        verify(body).close();
+        verify(callback).onSuccess(null);
+    }
+
+    @Test
+    public void shouldCloseTheBodyOfASuccessfulResponseWhenExecuted() throws Exception {
+        when(call.execute()).thenReturn(createResponse(204));
+        voidRequest.addParameter("email", "support@auth0.com");
+
+        assertThat(voidRequest.execute(), is(nullValue()));
+        verify(body).close();
+    }
+
+    private Response createResponse(int code) {
+        Request request = new Request.Builder()
+                .url("https://someurl.com")
+                .build();
+        return new Response.Builder()
+                .request(request)
+                .protocol(Protocol.HTTP_1_1)
+                .body(body)
+                .code(code)
+                .build();
+    }
+}
@@ -108,6 +108,12 @@ public class UserProfileTest {
         assertThat(userProfile.getExtraInfo(), is(extraInfo));
     }
 
+    @SuppressWarnings("unchecked")
+    @Test(expected = UnsupportedOperationException.class)
+    public void shouldNotAllowToModifyExtraInfo() throws Exception {
+        userProfile.getExtraInfo().put("key", "value");
+    }
+
     @Test
     public void getIdentities() throws Exception {
         assertThat(userProfile.getIdentities(), is(identities));
@@ -29,6 +29,9 @@ import com.squareup.okhttp.mockwebserver.MockWebServer;
 import com.squareup.okhttp.mockwebserver.RecordedRequest;
 
 import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.concurrent.TimeUnit;
 
 public class AuthenticationAPI {
 
@@ -60,6 +63,10 @@ public class AuthenticationAPI {
         return server.takeRequest();
     }
 
+    public int getRequestCount() {
+        return server.getRequestCount();
+    }
+
     public AuthenticationAPI willReturnValidApplicationResponse() {
         return willReturnApplicationResponseWithBody("Auth0.setClient({\"id\":\"CLIENTID\",\"tenant\":\"overmind\",\"subscription\":\"free\",\"authorize\":\"https://samples.auth0.com/authorize\",\"callback\":\"http://localhost:3000/\",\"hasAllowedOrigins\":true,\"strategies\":[{\"name\":\"twitter\",\"connections\":[{\"name\":\"twitter\"}]}]});", 200);
     }
@@ -131,8 +138,44 @@ public class AuthenticationAPI {
         return this;
     }
 
-    public AuthenticationAPI willReturnTokenInfo() {
+    public AuthenticationAPI willReturnRenewedCredentials(long delay, TimeUnit unit) {
         String json = "{\n" +
+                "  \"id_token\": \"" + NEW_ID_TOKEN + "\",\n" +
+                "  \"access_token\": \"" + ACCESS_TOKEN + "\",\n" +
+                "  \"expires_in\": " + EXPIRES_IN + ",\n" +
+                "  \"token_type\": \"" + BEARER + "\"\n" +
+                "}";
+        server.enqueue(delayed(responseWithJSON(json, 200), json, delay, unit));
+        return this;
+    }
+
+    public AuthenticationAPI willReturnFailedRenew(long delay, TimeUnit unit) {
+        String json = "{\n" +
+                "  \"error\": \"invalid_grant\",\n" +
+                "  \"error_description\": \"Unknown or invalid refresh token.\"\n" +
+                "}";
+        server.enqueue(delayed(responseWithJSON(json, 403), json, delay, unit));
+        return this;
+    }
+
+    public AuthenticationAPI willReturnTokenInfo() {
+        server.enqueue(responseWithJSON(userInfoJson(), 200));
+        return this;
+    }
+
+    public AuthenticationAPI willReturnTokenInfo(String etag) {
+        server.enqueue(responseWithJSON(userInfoJson(), 200)
+                .addHeader("ETag", etag));
+        return this;
+    }
+
+    public AuthenticationAPI willReturnNotModified() {
+        server.enqueue(responseEmpty(304));
+        return this;
+    }
+
+    private static String userInfoJson() {
+        return "{\n" +
                 "  \"email\": \"p@p.xom\",\n" +
                 "  \"email_verified\": false,\n" +
                 "  \"picture\": \"https://secure.gravatar.com/avatar/cfacbe113a96fdfc85134534771d88b4?s=480&r=pg&d=https%3A%2F%2Fssl.gstatic.com%2Fs2%2Fprofiles%2Fimages%2Fsilhouette80.png\",\n" +
@@ -151,8 +194,6 @@ public class AuthenticationAPI {
                 "  \"username\": \"p\",\n" +
                 "  \"updated_at\": \"2015-09-30T19:43:48.499Z\"\n" +
                 "}";
-        server.enqueue(responseWithJSON(json, 200));
-        return this;
     }
 
     public AuthenticationAPI willReturnPlainTextUnauthorized() {
@@ -171,6 +212,12 @@ public class AuthenticationAPI {
         return this;
     }
 
+    public AuthenticationAPI willReturnJsonWebKeys() throws IOException {
+        String json = new String(Files.readAllBytes(Paths.get("src/test/resources/rsa_jwks.json")), "UTF-8");
+        server.enqueue(responseWithJSON(json, 200));
+        return this;
+    }
+
     public AuthenticationAPI willReturnApplicationResponseWithBody(String body, int statusCode) {
         MockResponse response = new MockResponse()
                 .setResponseCode(statusCode)
@@ -180,6 +227,13 @@ public class AuthenticationAPI {
         return this;
     }
 
+    /**
+     * Sends the body in two halves with the given delay in between, keeping the request in flight meanwhile.
+     */
+    private MockResponse delayed(MockResponse response, String body, long delay, TimeUnit unit) {
+        return response.throttleBody(body.length() / 2 + 1, delay, unit);
+    }
+
     private MockResponse responseEmpty(int statusCode) {
         return new MockResponse()
                 .setResponseCode(statusCode);
@@ -26,6 +26,7 @@ package com.auth0.android.util;
 
 import com.auth0.android.authentication.AuthenticationException;
 import com.auth0.android.callback.AuthenticationCallback;
+import com.google.gson.reflect.TypeToken;
 import com.jayway.awaitility.core.ConditionTimeoutException;
 
 import org.hamcrest.BaseMatcher;
@@ -71,6 +72,10 @@ public class AuthenticationCallbackMatcher<T> extends BaseMatcher<Authentication
         return new AuthenticationCallbackMatcher<>(isA(tClazz), is(nullValue(AuthenticationException.class)));
     }
 
+    public static <T> Matcher<AuthenticationCallback<T>> hasPayloadOfType(TypeToken<T> typeToken) {
+        return new AuthenticationCallbackMatcher<>(TypeTokenMatcher.isA(typeToken), is(nullValue(AuthenticationException.class)));
+    }
+
     public static <T> Matcher<AuthenticationCallback<T>> hasPayload(T payload) {
         return new AuthenticationCallbackMatcher<>(equalTo(payload), is(nullValue(AuthenticationException.class)));
     }
@@ -0,0 +1,49 @@
+package com.auth0.android.authentication;
+
+import com.auth0.android.benchmark.Fixtures;
+import com.google.gson.Gson;
+import com.google.gson.reflect.TypeToken;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.lang.reflect.Type;
+import java.util.Map;
+
+/**
+ * Building an {@link AuthenticationException} from the error values of a response and reading its description.
+ */
+@State(Scope.Benchmark)
+public class AuthenticationExceptionBenchmark {
+
+    private Map<String, Object> invalidGrant;
+    private Map<String, Object> mfaRequired;
+    private Map<String, Object> passwordStrength;
+
+    @Setup
+    public void setUp() {
+        Gson gson = new Gson();
+        Type mapType = new TypeToken<Map<String, Object>>() {
+        }.getType();
+        invalidGrant = gson.fromJson(Fixtures.read("invalid_grant_error.json"), mapType);
+        mfaRequired = gson.fromJson(Fixtures.read("mfa_required_error.json"), mapType);
+        passwordStrength = gson.fromJson(Fixtures.read("password_strength_error.json"), mapType);
+    }
+
+    @Benchmark
+    public String invalidGrantError() {
+        return new AuthenticationException(invalidGrant).getDescription();
+    }
+
+    @Benchmark
+    public boolean mfaRequiredError() {
+        return new AuthenticationException(mfaRequired).isMultifactorRequired();
+    }
+
+    @Benchmark
+    public String passwordStrengthError() {
+        return new AuthenticationException(passwordStrength).getDescription();
+    }
+}
@@ -0,0 +1,47 @@
+package com.auth0.android.authentication;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Building the parameters of the login and passwordless requests.
+ */
+@State(Scope.Benchmark)
+public class ParameterBuilderBenchmark {
+
+    private Map<String, Object> extraParameters;
+
+    @Setup
+    public void setUp() {
+        extraParameters = new HashMap<>();
+        extraParameters.put("device", "Pixel 3");
+        extraParameters.put("prompt", "login");
+        extraParameters.put("ui_locales", "en-US");
+    }
+
+    @Benchmark
+    public Map<String, Object> loginParameters() {
+        return ParameterBuilder.newBuilder()
+                .setClientId("lEqU5MhUrbyQHSVWjZSTCBUFABLbJAS3")
+                .set("username", "info@auth0.com")
+                .set("password", "a-very-secret-password")
+                .setGrantType(ParameterBuilder.GRANT_TYPE_PASSWORD_REALM)
+                .setRealm("Username-Password-Authentication")
+                .asDictionary();
+    }
+
+    @Benchmark
+    public Map<String, Object> authenticationParametersWithExtras() {
+        return ParameterBuilder.newAuthenticationBuilder()
+                .setClientId("lEqU5MhUrbyQHSVWjZSTCBUFABLbJAS3")
+                .setConnection("email")
+                .setSend(PasswordlessType.CODE)
+                .addAll(extraParameters)
+                .asDictionary();
+    }
+}
@@ -0,0 +1,36 @@
+package com.auth0.android.authentication;
+
+import com.auth0.android.benchmark.Fixtures;
+import com.google.gson.Gson;
+import com.google.gson.reflect.TypeToken;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.lang.reflect.Type;
+import java.util.Map;
+
+/**
+ * Describing the password policy rules a new password failed to meet.
+ */
+@State(Scope.Benchmark)
+public class PasswordStrengthErrorParserBenchmark {
+
+    private Map<String, Object> description;
+
+    @Setup
+    @SuppressWarnings("unchecked")
+    public void setUp() {
+        Type mapType = new TypeToken<Map<String, Object>>() {
+        }.getType();
+        Map<String, Object> error = new Gson().fromJson(Fixtures.read("password_strength_error.json"), mapType);
+        description = (Map<String, Object>) error.get("description");
+    }
+
+    @Benchmark
+    public String describeRules() {
+        return new PasswordStrengthErrorParser(description).getDescription();
+    }
+}
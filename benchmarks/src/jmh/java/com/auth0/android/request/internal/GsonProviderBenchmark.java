@@ -0,0 +1,54 @@
+package com.auth0.android.request.internal;
+
+import com.auth0.android.benchmark.Fixtures;
+import com.auth0.android.result.Credentials;
+import com.auth0.android.result.UserIdentity;
+import com.auth0.android.result.UserProfile;
+import com.google.gson.Gson;
+import com.google.gson.reflect.TypeToken;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.lang.reflect.Type;
+import java.util.List;
+
+/**
+ * Deserialization of the Authentication and Management API responses with the SDK's Gson instance.
+ */
+@State(Scope.Benchmark)
+public class GsonProviderBenchmark {
+
+    private static final Type IDENTITIES_TYPE = new TypeToken<List<UserIdentity>>() {
+    }.getType();
+
+    private Gson gson;
+    private String credentials;
+    private String profile;
+    private String identities;
+
+    @Setup
+    public void setUp() {
+        gson = GsonProvider.buildGson();
+        credentials = Fixtures.read("credentials.json");
+        profile = Fixtures.read("profile.json");
+        identities = Fixtures.read("identities.json");
+    }
+
+    @Benchmark
+    public Credentials parseCredentials() {
+        return gson.fromJson(credentials, Credentials.class);
+    }
+
+    @Benchmark
+    public UserProfile parseUserProfile() {
+        return gson.fromJson(profile, UserProfile.class);
+    }
+
+    @Benchmark
+    public List<UserIdentity> parseUserIdentities() {
+        return gson.fromJson(identities, IDENTITIES_TYPE);
+    }
+}
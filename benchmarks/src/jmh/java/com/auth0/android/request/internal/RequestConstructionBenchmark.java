@@ -0,0 +1,65 @@
+package com.auth0.android.request.internal;
+
+import com.auth0.android.RequestBodyBuildException;
+import com.auth0.android.authentication.ParameterBuilder;
+import com.auth0.android.request.AuthenticationRequest;
+import com.google.gson.Gson;
+import com.squareup.okhttp.HttpUrl;
+import com.squareup.okhttp.OkHttpClient;
+import com.squareup.okhttp.Request;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.io.IOException;
+import java.util.Map;
+
+import okio.Buffer;
+
+/**
+ * Building a password-realm login request and writing its body, as done before every call to /oauth/token.
+ */
+@State(Scope.Benchmark)
+public class RequestConstructionBenchmark {
+
+    private RequestFactory factory;
+    private OkHttpClient client;
+    private Gson gson;
+    private HttpUrl url;
+    private Map<String, Object> parameters;
+
+    @Setup
+    public void setUp() {
+        factory = new RequestFactory();
+        factory.setClientInfo("eyJuYW1lIjoiQXV0aDAuQW5kcm9pZCIsInZlcnNpb24iOiIxLjE1LjEiLCJlbnYiOnsiYW5kcm9pZCI6IjI4In19");
+        factory.setUserAgent("Auth0.Android/1.15.1 (Linux; Android 9)");
+        client = new OkHttpClient();
+        gson = GsonProvider.buildGson();
+        url = HttpUrl.parse("https://samples.auth0.com/oauth/token");
+        parameters = ParameterBuilder.newBuilder()
+                .setClientId("lEqU5MhUrbyQHSVWjZSTCBUFABLbJAS3")
+                .set("username", "info@auth0.com")
+                .set("password", "a-very-secret-password")
+                .setGrantType(ParameterBuilder.GRANT_TYPE_PASSWORD_REALM)
+                .setRealm("Username-Password-Authentication")
+                .setScope(ParameterBuilder.SCOPE_OFFLINE_ACCESS)
+                .setAudience("https://api.example.com")
+                .asDictionary();
+    }
+
+    @Benchmark
+    public Request buildLoginRequest() throws RequestBodyBuildException {
+        AuthenticationRequest request = factory.authenticationPOST(url, client, gson)
+                .addAuthenticationParameters(parameters);
+        return ((BaseAuthenticationRequest) request).doBuildRequest();
+    }
+
+    @Benchmark
+    public Buffer buildAndWriteLoginRequest() throws RequestBodyBuildException, IOException {
+        Buffer sink = new Buffer();
+        buildLoginRequest().body().writeTo(sink);
+        return sink;
+    }
+}
@@ -0,0 +1,32 @@
+package com.auth0.android.util;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * URL safe encoding of the PKCE code verifier and of the telemetry header value.
+ */
+@State(Scope.Benchmark)
+public class Base64Benchmark {
+
+    private String codeVerifier;
+    private String telemetry;
+
+    @Setup
+    public void setUp() {
+        codeVerifier = "dBjftJeZ4CVP-mB92K27uhbUJU1p1r_wW1gFWFOEjXk";
+        telemetry = "{\"name\":\"Auth0.Android\",\"version\":\"1.15.1\",\"env\":{\"android\":\"28\",\"core\":\"1.15.1\"}}";
+    }
+
+    @Benchmark
+    public String encodeCodeVerifier() {
+        return Base64.encodeUrlSafe(codeVerifier);
+    }
+
+    @Benchmark
+    public String encodeTelemetry() {
+        return Base64.encodeUrlSafe(telemetry);
+    }
+}
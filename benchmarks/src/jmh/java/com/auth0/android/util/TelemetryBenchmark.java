@@ -0,0 +1,32 @@
+package com.auth0.android.util;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Computing the value of the Auth0-Client header.
+ */
+@State(Scope.Benchmark)
+public class TelemetryBenchmark {
+
+    private Telemetry telemetry;
+    private Telemetry wrapperTelemetry;
+
+    @Setup
+    public void setUp() {
+        telemetry = new Telemetry("Auth0.Android", "1.15.1");
+        wrapperTelemetry = new Telemetry("Lock.Android", "2.13.0", "1.15.1");
+    }
+
+    @Benchmark
+    public String value() {
+        return telemetry.getValue();
+    }
+
+    @Benchmark
+    public String valueWithLibraryVersion() {
+        return wrapperTelemetry.getValue();
+    }
+}
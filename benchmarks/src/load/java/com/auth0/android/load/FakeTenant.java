@@ -0,0 +1,196 @@
+package com.auth0.android.load;
+
+import com.auth0.android.benchmark.Fixtures;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import com.squareup.okhttp.mockwebserver.Dispatcher;
+import com.squareup.okhttp.mockwebserver.MockResponse;
+import com.squareup.okhttp.mockwebserver.MockWebServer;
+import com.squareup.okhttp.mockwebserver.RecordedRequest;
+
+import java.io.IOException;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * An in-process Auth0 tenant that answers the Authentication and Management API endpoints used by the SDK.
+ * Every response is delayed following the configured latency distribution, and a fraction of them can be
+ * replaced by server errors or by 429 rate limit responses.
+ */
+public class FakeTenant {
+
+    private static final String JSON = "application/json; charset=utf-8";
+    private static final String CONTENT_TYPE = "Content-Type";
+    private static final String GRANT_TYPE_REFRESH_TOKEN = "refresh_token";
+    //MockWebServer logs every request it receives. Held here so the level isn't lost if the logger is collected
+    private static final Logger SERVER_LOGGER = Logger.getLogger(MockWebServer.class.getName());
+
+    private final MockWebServer server;
+    private final LatencyDistribution latency;
+    private final double errorRate;
+    private final double throttleRate;
+    private final long tokenLifetimeSeconds;
+    private final ThreadLocal<Random> random;
+
+    private final String credentials;
+    private final String profile;
+    private final String identities;
+
+    private final AtomicLong requests = new AtomicLong();
+    private final AtomicLong errors = new AtomicLong();
+    private final AtomicLong throttled = new AtomicLong();
+    private final AtomicLong refreshGrants = new AtomicLong();
+
+    /**
+     * Creates a new tenant. Call {@link #start()} before sending requests to it.
+     *
+     * @param latency              the time the tenant takes to answer each request.
+     * @param errorRate            the fraction of requests answered with a 500 error, between 0 and 1.
+     * @param throttleRate         the fraction of requests answered with a 429 error, between 0 and 1.
+     * @param tokenLifetimeSeconds the value of expires_in of the issued credentials.
+     */
+    public FakeTenant(LatencyDistribution latency, double errorRate, double throttleRate, long tokenLifetimeSeconds) {
+        if (errorRate < 0 || throttleRate < 0 || errorRate + throttleRate > 1) {
+            throw new IllegalArgumentException("The error and throttle rates must be positive and add up to 1 at most.");
+        }
+        this.server = new MockWebServer();
+        this.latency = latency;
+        this.errorRate = errorRate;
+        this.throttleRate = throttleRate;
+        this.tokenLifetimeSeconds = tokenLifetimeSeconds;
+        this.random = new ThreadLocal<Random>() {
+            @Override
+            protected Random initialValue() {
+                return new Random();
+            }
+        };
+
+        JsonObject credentials = new JsonParser().parse(Fixtures.read("credentials.json")).getAsJsonObject();
+        credentials.addProperty("expires_in", tokenLifetimeSeconds);
+        this.credentials = credentials.toString();
+        this.profile = Fixtures.read("profile.json");
+        this.identities = Fixtures.read("identities.json");
+    }
+
+    public void start() throws IOException {
+        SERVER_LOGGER.setLevel(Level.WARNING);
+        server.setDispatcher(new Dispatcher() {
+            @Override
+            public MockResponse dispatch(RecordedRequest request) throws InterruptedException {
+                return respond(request);
+            }
+        });
+        server.start();
+    }
+
+    public void shutdown() throws IOException {
+        server.shutdown();
+    }
+
+    /**
+     * Getter for the domain to configure in {@link com.auth0.android.Auth0}.
+     *
+     * @return the URL the tenant is listening on.
+     */
+    public String getDomain() {
+        return server.url("/").toString();
+    }
+
+    public long getRequestCount() {
+        return requests.get();
+    }
+
+    public long getErrorCount() {
+        return errors.get();
+    }
+
+    public long getThrottledCount() {
+        return throttled.get();
+    }
+
+    /**
+     * Getter for the number of token requests that used a Refresh Token, including the failed ones.
+     *
+     * @return the number of credentials renewals the tenant received.
+     */
+    public long getRefreshGrantCount() {
+        return refreshGrants.get();
+    }
+
+    public long getTokenLifetimeSeconds() {
+        return tokenLifetimeSeconds;
+    }
+
+    private MockResponse respond(RecordedRequest request) throws InterruptedException {
+        requests.incrementAndGet();
+        final String path = request.getPath();
+        final String method = request.getMethod();
+        if ("POST".equals(method) && path.startsWith("/oauth/token") && isRefreshGrant(request)) {
+            refreshGrants.incrementAndGet();
+        }
+
+        final Random random = this.random.get();
+        Thread.sleep(latency.nextMillis(random));
+        final double failure = random.nextDouble();
+        if (failure < throttleRate) {
+            throttled.incrementAndGet();
+            return json(429, "{\"error\":\"too_many_requests\",\"error_description\":\"Global limit has been reached\"}")
+                    .addHeader("Retry-After", 1);
+        }
+        if (failure < throttleRate + errorRate) {
+            errors.incrementAndGet();
+            return json(500, "{\"error\":\"server_error\",\"error_description\":\"An unexpected error occurred.\"}");
+        }
+        return route(method, path);
+    }
+
+    private MockResponse route(String method, String path) {
+        if (path.startsWith("/oauth/token")) {
+            return json(200, credentials);
+        }
+        if (path.startsWith("/userinfo") || path.startsWith("/tokeninfo")) {
+            return json(200, profile);
+        }
+        if (path.startsWith("/dbconnections/signup")) {
+            return json(200, "{\"_id\":\"5c3e1c3e45ab1b2b1f9c5a4e\",\"email\":\"john.doe@example.com\",\"email_verified\":false}");
+        }
+        if (path.startsWith("/dbconnections/change_password")) {
+            return new MockResponse()
+                    .setResponseCode(200)
+                    .addHeader(CONTENT_TYPE, "text/html; charset=utf-8")
+                    .setBody("We've just sent you an email to reset your password.");
+        }
+        if (path.startsWith("/passwordless/start")) {
+            return json(200, "{\"_id\":\"5c3e1c3e45ab1b2b1f9c5a4f\",\"email\":\"john.doe@example.com\",\"email_verified\":false}");
+        }
+        if (path.startsWith("/api/v2/users/")) {
+            if (path.contains("/identities")) {
+                return "POST".equals(method) || "DELETE".equals(method) ? json(200, identities) : notFound();
+            }
+            return "GET".equals(method) || "PATCH".equals(method) ? json(200, profile) : notFound();
+        }
+        return notFound();
+    }
+
+    private static boolean isRefreshGrant(RecordedRequest request) {
+        try {
+            final JsonObject body = new JsonParser().parse(request.getUtf8Body()).getAsJsonObject();
+            return body.has("grant_type") && GRANT_TYPE_REFRESH_TOKEN.equals(body.get("grant_type").getAsString());
+        } catch (RuntimeException e) {
+            return false;
+        }
+    }
+
+    private static MockResponse notFound() {
+        return json(404, "{\"error\":\"not_found\",\"error_description\":\"Not Found\"}");
+    }
+
+    private static MockResponse json(int code, String body) {
+        return new MockResponse()
+                .setResponseCode(code)
+                .addHeader(CONTENT_TYPE, JSON)
+                .setBody(body);
+    }
+}
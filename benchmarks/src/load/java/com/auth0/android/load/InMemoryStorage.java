@@ -0,0 +1,74 @@
+package com.auth0.android.load;
+
+import android.support.annotation.NonNull;
+import android.support.annotation.Nullable;
+
+import com.auth0.android.authentication.storage.Storage;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * A thread safe {@link Storage} that keeps the values in memory, replacing the SharedPreferences of a device.
+ */
+class InMemoryStorage implements Storage {
+
+    private final Map<String, Object> values = new ConcurrentHashMap<>();
+
+    @Override
+    public void store(@NonNull String name, @Nullable Long value) {
+        put(name, value);
+    }
+
+    @Override
+    public void store(@NonNull String name, @Nullable Integer value) {
+        put(name, value);
+    }
+
+    @Override
+    public void store(@NonNull String name, @Nullable String value) {
+        put(name, value);
+    }
+
+    @Override
+    public void store(@NonNull String name, @Nullable Boolean value) {
+        put(name, value);
+    }
+
+    @Nullable
+    @Override
+    public Long retrieveLong(@NonNull String name) {
+        return (Long) values.get(name);
+    }
+
+    @Nullable
+    @Override
+    public String retrieveString(@NonNull String name) {
+        return (String) values.get(name);
+    }
+
+    @Nullable
+    @Override
+    public Integer retrieveInteger(@NonNull String name) {
+        return (Integer) values.get(name);
+    }
+
+    @Nullable
+    @Override
+    public Boolean retrieveBoolean(@NonNull String name) {
+        return (Boolean) values.get(name);
+    }
+
+    @Override
+    public void remove(@NonNull String name) {
+        values.remove(name);
+    }
+
+    private void put(String name, Object value) {
+        if (value == null) {
+            values.remove(name);
+        } else {
+            values.put(name, value);
+        }
+    }
+}
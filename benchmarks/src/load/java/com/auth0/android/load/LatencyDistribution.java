@@ -0,0 +1,116 @@
+package com.auth0.android.load;
+
+import java.util.Random;
+
+/**
+ * The time the fake tenant takes to answer a request.
+ */
+public abstract class LatencyDistribution {
+
+    //The 99th percentile of the standard normal distribution
+    private static final double Z_99 = 2.326;
+
+    /**
+     * Picks the latency of the next response.
+     *
+     * @param random the source of randomness to use.
+     * @return the latency in milliseconds.
+     */
+    public abstract long nextMillis(Random random);
+
+    /**
+     * Every response takes the same time.
+     *
+     * @param millis the latency in milliseconds.
+     * @return the distribution.
+     */
+    public static LatencyDistribution fixed(final long millis) {
+        return new LatencyDistribution() {
+            @Override
+            public long nextMillis(Random random) {
+                return millis;
+            }
+
+            @Override
+            public String toString() {
+                return "fixed:" + millis;
+            }
+        };
+    }
+
+    /**
+     * Responses take any time between the given bounds with the same probability.
+     *
+     * @param minMillis the minimum latency in milliseconds.
+     * @param maxMillis the maximum latency in milliseconds.
+     * @return the distribution.
+     */
+    public static LatencyDistribution uniform(final long minMillis, final long maxMillis) {
+        if (minMillis < 0 || maxMillis < minMillis) {
+            throw new IllegalArgumentException("The latency bounds must be positive and in order.");
+        }
+        return new LatencyDistribution() {
+            @Override
+            public long nextMillis(Random random) {
+                return minMillis + (long) (random.nextDouble() * (maxMillis - minMillis));
+            }
+
+            @Override
+            public String toString() {
+                return "uniform:" + minMillis + "-" + maxMillis;
+            }
+        };
+    }
+
+    /**
+     * Responses follow a log-normal distribution, with most of them close to the median and a long tail of slow ones,
+     * as usually seen in real servers.
+     *
+     * @param medianMillis the median latency in milliseconds.
+     * @param p99Millis    the 99th percentile of the latency in milliseconds.
+     * @return the distribution.
+     */
+    public static LatencyDistribution logNormal(final long medianMillis, final long p99Millis) {
+        if (medianMillis <= 0 || p99Millis < medianMillis) {
+            throw new IllegalArgumentException("The median must be greater than 0 and lower than the 99th percentile.");
+        }
+        final double mu = Math.log(medianMillis);
+        final double sigma = (Math.log(p99Millis) - mu) / Z_99;
+        return new LatencyDistribution() {
+            @Override
+            public long nextMillis(Random random) {
+                return Math.round(Math.exp(mu + sigma * random.nextGaussian()));
+            }
+
+            @Override
+            public String toString() {
+                return "lognormal:" + medianMillis + "-" + p99Millis;
+            }
+        };
+    }
+
+    /**
+     * Parses a distribution written as {@code fixed:MILLIS}, {@code uniform:MIN-MAX} or {@code lognormal:MEDIAN-P99}.
+     *
+     * @param value the text to parse.
+     * @return the distribution.
+     */
+    public static LatencyDistribution parse(String value) {
+        final int colon = value.indexOf(':');
+        if (colon == -1) {
+            throw new IllegalArgumentException("Invalid latency '" + value + "'. Use fixed:MILLIS, uniform:MIN-MAX or lognormal:MEDIAN-P99.");
+        }
+        final String type = value.substring(0, colon);
+        final String[] bounds = value.substring(colon + 1).split("-");
+        switch (type) {
+            case "fixed":
+                return fixed(Long.parseLong(bounds[0]));
+            case "uniform":
+                return uniform(Long.parseLong(bounds[0]), Long.parseLong(bounds[1]));
+            case "lognormal":
+                return logNormal(Long.parseLong(bounds[0]), Long.parseLong(bounds[1]));
+            default:
+                throw new IllegalArgumentException("Unknown latency distribution '" + type + "'.");
+        }
+    }
+}
@@ -0,0 +1,453 @@
+package com.auth0.android.load;
+
+import com.auth0.android.Auth0;
+import com.auth0.android.Auth0Exception;
+import com.auth0.android.authentication.AuthenticationAPIClient;
+import com.auth0.android.authentication.AuthenticationException;
+import com.auth0.android.authentication.PasswordlessType;
+import com.auth0.android.authentication.storage.CredentialsManager;
+import com.auth0.android.authentication.storage.CredentialsManagerException;
+import com.auth0.android.callback.BaseCallback;
+import com.auth0.android.management.UsersAPIClient;
+import com.auth0.android.request.Request;
+import com.auth0.android.request.RetryPolicy;
+import com.auth0.android.request.internal.HttpClientOptions;
+import com.auth0.android.request.internal.OkHttpClientFactory;
+import com.auth0.android.result.Credentials;
+import com.auth0.android.result.DatabaseUser;
+import com.squareup.okhttp.ConnectionPool;
+import com.squareup.okhttp.OkHttpClient;
+
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Drives concurrent simulated users against a {@link FakeTenant} through the Authentication and Management API clients
+ * and the {@link CredentialsManager}, and reports the throughput and latency percentiles of every operation.
+ * Useful to size the connection pool and the dispatcher limits, and to catch regressions in credentials renewals
+ * when many callers find the credentials expired at once.
+ */
+public class LoadTest {
+
+    private static final String CLIENT_ID = "lEqU5MhUrbyQHSVWjZSTCBUFABLbJAS3";
+    private static final String USER_ID = "auth0|5c3e1c3e45ab1b2b1f9c5a4e";
+    private static final String EMAIL = "john.doe@example.com";
+    private static final String PASSWORD = "secret-password";
+    private static final String CONNECTION = "Username-Password-Authentication";
+    private static final String ACCESS_TOKEN = "access-token";
+    private static final String ID_TOKEN = "id-token";
+    private static final String REFRESH_TOKEN = "refresh-token";
+
+    private final Options options;
+    private final Map<String, OperationStats> stats;
+    private volatile RuntimeException failure;
+
+    public LoadTest(Options options) {
+        this.options = options;
+        this.stats = new LinkedHashMap<>();
+    }
+
+    public static void main(String[] args) throws Exception {
+        if (Arrays.asList(args).contains("--help")) {
+            System.out.println(Options.USAGE);
+            return;
+        }
+        final Options options;
+        try {
+            options = Options.parse(args);
+        } catch (RuntimeException e) {
+            System.err.println(e.getMessage());
+            System.err.println(Options.USAGE);
+            System.exit(2);
+            return;
+        }
+        new LoadTest(options).run(System.out);
+        //The OkHttp dispatcher threads outlive the test for a minute
+        System.exit(0);
+    }
+
+    /**
+     * Runs the load test and prints the results.
+     *
+     * @param out where to print the results.
+     */
+    public void run(PrintStream out) throws Exception {
+        final FakeTenant tenant = new FakeTenant(options.latency, options.errorRate, options.throttleRate, options.tokenLifetimeSeconds);
+        tenant.start();
+        try {
+            final Auth0 auth0 = new Auth0(CLIENT_ID, tenant.getDomain());
+            auth0.setOIDCConformant(true);
+            auth0.doNotSendTelemetry();
+            auth0.setRetryPolicy(new RetryPolicy(options.maxAttempts, 100, 1000, 0));
+            configureClient(auth0);
+
+            final AuthenticationAPIClient authClient = new AuthenticationAPIClient(auth0);
+            final UsersAPIClient usersClient = new UsersAPIClient(auth0, ACCESS_TOKEN);
+            final CredentialsManager sharedManager = options.sharedCredentials ? newCredentialsManager(authClient) : null;
+
+            final long startedAt = System.nanoTime();
+            final long measureFrom = startedAt + TimeUnit.SECONDS.toNanos(options.warmupSeconds);
+            final long deadline = measureFrom + TimeUnit.SECONDS.toNanos(options.durationSeconds);
+            final CountDownLatch finished = new CountDownLatch(options.users);
+            for (int i = 0; i < options.users; i++) {
+                final CredentialsManager manager = sharedManager != null ? sharedManager : newCredentialsManager(authClient);
+                final List<Operation> operations = operations(authClient, usersClient, manager);
+                final Thread user = new Thread(new SimulatedUser(operations, measureFrom, deadline, finished), "SimulatedUser-" + i);
+                user.start();
+            }
+            finished.await();
+            if (failure != null) {
+                throw failure;
+            }
+            final double elapsedSeconds = (System.nanoTime() - startedAt) / 1e9;
+            printReport(out, tenant, elapsedSeconds);
+        } finally {
+            tenant.shutdown();
+        }
+    }
+
+    /**
+     * Applies the pool and dispatcher limits to the client that the API clients of the given account share.
+     */
+    private void configureClient(Auth0 auth0) {
+        final OkHttpClient client = new OkHttpClientFactory().getSharedClient(HttpClientOptions.from(auth0));
+        client.getDispatcher().setMaxRequests(options.maxRequests);
+        client.getDispatcher().setMaxRequestsPerHost(options.maxRequestsPerHost);
+        client.setConnectionPool(new ConnectionPool(options.maxIdleConnections, TimeUnit.SECONDS.toMillis(options.keepAliveSeconds)));
+    }
+
+    private CredentialsManager newCredentialsManager(AuthenticationAPIClient authClient) {
+        final CredentialsManager manager = new CredentialsManager(authClient, new InMemoryStorage());
+        manager.setInMemoryCacheEnabled(true);
+        final Date expiresAt = new Date(System.currentTimeMillis() + TimeUnit.SECONDS.toMillis(options.tokenLifetimeSeconds));
+        manager.saveCredentials(new Credentials(ID_TOKEN, ACCESS_TOKEN, "Bearer", REFRESH_TOKEN, expiresAt, "openid profile email offline_access"));
+        return manager;
+    }
+
+    private List<Operation> operations(final AuthenticationAPIClient authClient, final UsersAPIClient usersClient, final CredentialsManager manager) {
+        final Map<String, Object> metadata = Collections.<String, Object>singletonMap("theme", "dark");
+        final List<Operation> operations = new ArrayList<>();
+        operations.add(new Operation(stats("getCredentials"), 20) {
+            @Override
+            void start(Completion completion) {
+                manager.getCredentials(completion.<Credentials, CredentialsManagerException>callback());
+            }
+        });
+        operations.add(new Operation(stats("login"), 2) {
+            @Override
+            void start(Completion completion) {
+                completion.start(authClient.login(EMAIL, PASSWORD, CONNECTION));
+            }
+        });
+        operations.add(new Operation(stats("userInfo"), 5) {
+            @Override
+            void start(Completion completion) {
+                completion.start(authClient.userInfo(ACCESS_TOKEN));
+            }
+        });
+        operations.add(new Operation(stats("tokenInfo"), 1) {
+            @Override
+            void start(Completion completion) {
+                completion.start(authClient.tokenInfo(ID_TOKEN));
+            }
+        });
+        operations.add(new Operation(stats("signUp"), 1) {
+            @Override
+            void start(Completion completion) {
+                authClient.createUser(EMAIL, PASSWORD, CONNECTION).start(completion.<DatabaseUser, AuthenticationException>callback());
+            }
+        });
+        operations.add(new Operation(stats("resetPassword"), 1) {
+            @Override
+            void start(Completion completion) {
+                authClient.resetPassword(EMAIL, CONNECTION).start(completion.<Void, AuthenticationException>callback());
+            }
+        });
+        operations.add(new Operation(stats("passwordlessStart"), 1) {
+            @Override
+            void start(Completion completion) {
+                completion.start(authClient.passwordlessWithEmail(EMAIL, PasswordlessType.CODE));
+            }
+        });
+        operations.add(new Operation(stats("getProfile"), 5) {
+            @Override
+            void start(Completion completion) {
+                completion.start(usersClient.getProfile(USER_ID));
+            }
+        });
+        operations.add(new Operation(stats("updateMetadata"), 2) {
+            @Override
+            void start(Completion completion) {
+                completion.start(usersClient.updateMetadata(USER_ID, metadata));
+            }
+        });
+        operations.add(new Operation(stats("link"), 1) {
+            @Override
+            void start(Completion completion) {
+                completion.start(usersClient.link(USER_ID, ID_TOKEN));
+            }
+        });
+        operations.add(new Operation(stats("unlink"), 1) {
+            @Override
+            void start(Completion completion) {
+                completion.start(usersClient.unlink(USER_ID, "1234567890", "auth0"));
+            }
+        });
+        return operations;
+    }
+
+    private synchronized OperationStats stats(String name) {
+        OperationStats operationStats = stats.get(name);
+        if (operationStats == null) {
+            operationStats = new OperationStats(name);
+            stats.put(name, operationStats);
+        }
+        return operationStats;
+    }
+
+    private void printReport(PrintStream out, FakeTenant tenant, double elapsedSeconds) {
+        out.println();
+        out.printf("%d users for %ds after a %ds warm-up. Latency %s, %.1f%% server errors, %.1f%% throttled.%n",
+                options.users, options.durationSeconds, options.warmupSeconds, options.latency, options.errorRate * 100, options.throttleRate * 100);
+        out.printf("Dispatcher: %d requests, %d per host. Connection pool: %d idle, %ds keep-alive. Max attempts: %d.%n",
+                options.maxRequests, options.maxRequestsPerHost, options.maxIdleConnections, options.keepAliveSeconds, options.maxAttempts);
+        out.println();
+        out.printf("%-18s %9s %7s %9s %9s %9s %9s%n", "operation", "count", "failed", "ops/s", "p50 ms", "p95 ms", "p99 ms");
+        long total = 0;
+        long failed = 0;
+        for (OperationStats operationStats : stats.values()) {
+            final int count = operationStats.getCount();
+            final double[] percentiles = operationStats.percentilesMillis(50, 95, 99);
+            out.printf("%-18s %9d %7d %9.1f %9.2f %9.2f %9.2f%n", operationStats.getName(), count, operationStats.getFailures(),
+                    count / (double) options.durationSeconds, percentiles[0], percentiles[1], percentiles[2]);
+            total += count;
+            failed += operationStats.getFailures();
+        }
+        out.printf("%-18s %9d %7d %9.1f%n", "total", total, failed, total / (double) options.durationSeconds);
+        out.println();
+
+        final long managers = options.sharedCredentials ? 1 : options.users;
+        final long expectedRenewals = managers * (long) (elapsedSeconds / tenant.getTokenLifetimeSeconds());
+        out.printf("Tenant: %d requests, %d server errors, %d throttled, %d credentials renewals (at most %d expected with %d credentials managers).%n",
+                tenant.getRequestCount(), tenant.getErrorCount(), tenant.getThrottledCount(), tenant.getRefreshGrantCount(), expectedRenewals, managers);
+    }
+
+    /**
+     * Runs randomly chosen operations, one at a time, until the deadline.
+     */
+    private class SimulatedUser implements Runnable {
+
+        private final List<Operation> operations;
+        private final long measureFrom;
+        private final long deadline;
+        private final CountDownLatch finished;
+        private final Random random;
+        private final int totalWeight;
+
+        SimulatedUser(List<Operation> operations, long measureFrom, long deadline, CountDownLatch finished) {
+            this.operations = operations;
+            this.measureFrom = measureFrom;
+            this.deadline = deadline;
+            this.finished = finished;
+            this.random = new Random();
+            int weight = 0;
+            for (Operation operation : operations) {
+                weight += operation.weight;
+            }
+            this.totalWeight = weight;
+        }
+
+        @Override
+        public void run() {
+            try {
+                long start;
+                while ((start = System.nanoTime()) < deadline && failure == null) {
+                    final Operation operation = pick();
+                    final Completion completion = new Completion();
+                    operation.start(completion);
+                    final boolean succeeded = completion.await(options.timeoutSeconds);
+                    if (start >= measureFrom) {
+                        operation.stats.record(System.nanoTime() - start, succeeded);
+                    }
+                    if (options.thinkTimeMillis > 0) {
+                        Thread.sleep(options.thinkTimeMillis);
+                    }
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } catch (RuntimeException e) {
+                //A bug in the SDK or in the test, not a failed request. Stop every user
+                failure = e;
+            } finally {
+                finished.countDown();
+            }
+        }
+
+        private Operation pick() {
+            int value = random.nextInt(totalWeight);
+            for (Operation operation : operations) {
+                value -= operation.weight;
+                if (value < 0) {
+                    return operation;
+                }
+            }
+            throw new IllegalStateException("The operation weights changed.");
+        }
+    }
+
+    private abstract static class Operation {
+        final OperationStats stats;
+        final int weight;
+
+        Operation(OperationStats stats, int weight) {
+            this.stats = stats;
+            this.weight = weight;
+        }
+
+        abstract void start(Completion completion);
+    }
+
+    /**
+     * Waits for the result of an operation delivered to a callback.
+     */
+    private static final class Completion {
+        private final CountDownLatch latch = new CountDownLatch(1);
+        private volatile boolean succeeded;
+
+        <T, U extends Auth0Exception> void start(Request<T, U> request) {
+            request.start(this.<T, U>callback());
+        }
+
+        <T, U extends Auth0Exception> BaseCallback<T, U> callback() {
+            return new BaseCallback<T, U>() {
+                @Override
+                public void onSuccess(T payload) {
+                    succeeded = true;
+                    latch.countDown();
+                }
+
+                @Override
+                public void onFailure(U error) {
+                    latch.countDown();
+                }
+            };
+        }
+
+        boolean await(long timeoutSeconds) throws InterruptedException {
+            return latch.await(timeoutSeconds, TimeUnit.SECONDS) && succeeded;
+        }
+    }
+
+    /**
+     * The configuration of a load test, parsed from {@code --name=value} arguments.
+     */
+    public static class Options {
+
+        static final String USAGE = "Options:\n" +
+                "  --users=N                    concurrent simulated users (50)\n" +
+                "  --duration=SECONDS           measured duration (30)\n" +
+                "  --warmup=SECONDS             duration before measuring (5)\n" +
+                "  --think-time=MILLIS          pause of each user between operations (0)\n" +
+                "  --timeout=SECONDS            time to wait for an operation before counting it as failed (30)\n" +
+                "  --latency=DISTRIBUTION       fixed:MILLIS, uniform:MIN-MAX or lognormal:MEDIAN-P99 (lognormal:40-250)\n" +
+                "  --error-rate=FRACTION        responses replaced by a 500 error (0.01)\n" +
+                "  --throttle-rate=FRACTION     responses replaced by a 429 error (0.01)\n" +
+                "  --token-lifetime=SECONDS     expires_in of the issued credentials (5)\n" +
+                "  --shared-credentials=BOOL    share one credentials manager between every user (true)\n" +
+                "  --max-attempts=N             attempts per request, retrying network failures (1)\n" +
+                "  --max-requests=N             dispatcher limit of concurrent requests (64)\n" +
+                "  --max-requests-per-host=N    dispatcher limit of concurrent requests per host (5)\n" +
+                "  --max-idle-connections=N     idle connections kept in the pool (5)\n" +
+                "  --keep-alive=SECONDS         time an idle connection is kept in the pool (300)";
+
+        int users = 50;
+        int durationSeconds = 30;
+        int warmupSeconds = 5;
+        long thinkTimeMillis = 0;
+        long timeoutSeconds = 30;
+        LatencyDistribution latency = LatencyDistribution.logNormal(40, 250);
+        double errorRate = 0.01;
+        double throttleRate = 0.01;
+        long tokenLifetimeSeconds = 5;
+        boolean sharedCredentials = true;
+        int maxAttempts = 1;
+        int maxRequests = 64;
+        int maxRequestsPerHost = 5;
+        int maxIdleConnections = 5;
+        int keepAliveSeconds = 300;
+
+        static Options parse(String[] args) {
+            final Options options = new Options();
+            for (String arg : args) {
+                final int equals = arg.indexOf('=');
+                if (!arg.startsWith("--") || equals == -1) {
+                    throw new IllegalArgumentException("Invalid argument '" + arg + "'.");
+                }
+                final String name = arg.substring(2, equals);
+                final String value = arg.substring(equals + 1);
+                switch (name) {
+                    case "users":
+                        options.users = Integer.parseInt(value);
+                        break;
+                    case "duration":
+                        options.durationSeconds = Integer.parseInt(value);
+                        break;
+                    case "warmup":
+                        options.warmupSeconds = Integer.parseInt(value);
+                        break;
+                    case "think-time":
+                        options.thinkTimeMillis = Long.parseLong(value);
+                        break;
+                    case "timeout":
+                        options.timeoutSeconds = Long.parseLong(value);
+                        break;
+                    case "latency":
+                        options.latency = LatencyDistribution.parse(value);
+                        break;
+                    case "error-rate":
+                        options.errorRate = Double.parseDouble(value);
+                        break;
+                    case "throttle-rate":
+                        options.throttleRate = Double.parseDouble(value);
+                        break;
+                    case "token-lifetime":
+                        options.tokenLifetimeSeconds = Long.parseLong(value);
+                        break;
+                    case "shared-credentials":
+                        options.sharedCredentials = Boolean.parseBoolean(value);
+                        break;
+                    case "max-attempts":
+                        options.maxAttempts = Integer.parseInt(value);
+                        break;
+                    case "max-requests":
+                        options.maxRequests = Integer.parseInt(value);
+                        break;
+                    case "max-requests-per-host":
+                        options.maxRequestsPerHost = Integer.parseInt(value);
+                        break;
+                    case "max-idle-connections":
+                        options.maxIdleConnections = Integer.parseInt(value);
+                        break;
+                    case "keep-alive":
+                        options.keepAliveSeconds = Integer.parseInt(value);
+                        break;
+                    default:
+                        throw new IllegalArgumentException("Unknown option '" + name + "'.");
+                }
+            }
+            if (options.users < 1 || options.durationSeconds < 1 || options.tokenLifetimeSeconds < 1) {
+                throw new IllegalArgumentException("The users, duration and token lifetime must be greater than 0.");
+            }
+            return options;
+        }
+    }
+}
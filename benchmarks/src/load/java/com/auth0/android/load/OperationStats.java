@@ -0,0 +1,70 @@
+package com.auth0.android.load;
+
+import java.util.Arrays;
+
+/**
+ * Latencies and failures of one operation run by the simulated users. Thread safe.
+ */
+class OperationStats {
+
+    private final String name;
+    private long[] latencies = new long[1024];
+    private int count;
+    private int failures;
+
+    OperationStats(String name) {
+        this.name = name;
+    }
+
+    String getName() {
+        return name;
+    }
+
+    /**
+     * Records a completed operation.
+     *
+     * @param latencyNanos the time the operation took to complete.
+     * @param succeeded    whether the operation yielded a result.
+     */
+    synchronized void record(long latencyNanos, boolean succeeded) {
+        if (count == latencies.length) {
+            latencies = Arrays.copyOf(latencies, count * 2);
+        }
+        latencies[count++] = latencyNanos;
+        if (!succeeded) {
+            failures++;
+        }
+    }
+
+    synchronized int getCount() {
+        return count;
+    }
+
+    synchronized int getFailures() {
+        return failures;
+    }
+
+    /**
+     * Computes the latencies of the given percentiles using the nearest-rank method.
+     *
+     * @param percentiles the percentiles to compute, between 0 and 100.
+     * @return the latency of each percentile in milliseconds, or -1 if no operation completed.
+     */
+    double[] percentilesMillis(double... percentiles) {
+        final long[] sorted;
+        synchronized (this) {
+            sorted = Arrays.copyOf(latencies, count);
+        }
+        Arrays.sort(sorted);
+        final double[] result = new double[percentiles.length];
+        for (int i = 0; i < percentiles.length; i++) {
+            if (sorted.length == 0) {
+                result[i] = -1;
+                continue;
+            }
+            final int rank = (int) Math.ceil(percentiles[i] / 100 * sorted.length);
+            result[i] = sorted[Math.max(rank, 1) - 1] / 1e6;
+        }
+        return result;
+    }
+}
@@ -0,0 +1,34 @@
+package com.auth0.android.benchmark;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Loads the JSON payloads the benchmarks and the fake tenant work on from the {@code fixtures} folder of the classpath.
+ */
+public abstract class Fixtures {
+
+    public static String read(String name) {
+        InputStream input = Fixtures.class.getClassLoader().getResourceAsStream("fixtures/" + name);
+        if (input == null) {
+            throw new IllegalArgumentException("Missing fixture " + name);
+        }
+        try {
+            ByteArrayOutputStream output = new ByteArrayOutputStream();
+            byte[] buffer = new byte[4096];
+            int read;
+            while ((read = input.read(buffer)) != -1) {
+                output.write(buffer, 0, read);
+            }
+            return output.toString("UTF-8");
+        } catch (IOException e) {
+            throw new IllegalStateException("Failed to read fixture " + name, e);
+        } finally {
+            try {
+                input.close();
+            } catch (IOException ignored) {
+            }
+        }
+    }
+}